@@ -85,6 +85,7 @@ import com.hazelcast.client.impl.protocol.codec.MapValuesWithPredicateCodec;
 import com.hazelcast.client.impl.querycache.ClientQueryCacheContext;
 import com.hazelcast.client.impl.querycache.subscriber.ClientQueryCacheEndToEndConstructor;
 import com.hazelcast.client.map.impl.ClientMapPartitionIterator;
+import com.hazelcast.client.map.impl.ClientMapQueryIterator;
 import com.hazelcast.client.map.impl.ClientMapQueryPartitionIterator;
 import com.hazelcast.client.spi.ClientContext;
 import com.hazelcast.client.spi.ClientPartitionService;
@@ -171,6 +172,7 @@ import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.MapUtil.createHashMap;
 import static com.hazelcast.util.Preconditions.checkNotInstanceOf;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
 import static com.hazelcast.util.SortingUtil.getSortedQueryResultSet;
 import static com.hazelcast.util.ThreadUtil.getThreadId;
 import static java.util.Collections.emptyMap;
@@ -1645,6 +1647,43 @@ public class ClientMapProxy<K, V> extends ClientProxy
                 predicate, projection);
     }
 
+    /**
+     * Returns an iterator streaming the result of the projection on all the entries of the map which
+     * satisfy the {@code predicate}. The {@link Iterator#remove()} method is not supported and will throw an
+     * {@link UnsupportedOperationException}.
+     * <p>
+     * Unlike {@link #project(Projection, Predicate)}, the result is never materialized as a whole and the
+     * query is not limited by the query result size limit. The values are fetched from the partitions
+     * in batches of about {@code fetchSize} values, at most {@code maxInFlightPages} batches are requested
+     * or buffered at a time, and the next batches are requested only when the previous ones are consumed.
+     * The order of the values is not defined.
+     * Predicates of type {@link PagingPredicate} are not supported.
+     * <p>
+     * <b>NOTE</b>
+     * Iterating the map should be done only when the {@link IMap} is not being
+     * mutated and the cluster is stable (there are no migrations or membership changes).
+     * In other cases, the iterator may not return some entries or may return an entry twice.
+     *
+     * @param fetchSize        the size of the batches which will be sent when iterating the data
+     * @param maxInFlightPages the maximum number of batches requested or buffered at a time
+     * @param projection       the projection to apply before returning the value. {@code null} value is not allowed
+     * @param predicate        the predicate which the entries must match. {@code null} value is not allowed
+     * @param <R>              the return type
+     * @return the iterator for the projected entries
+     * @throws IllegalArgumentException if the predicate is of type {@link PagingPredicate} or
+     *                                  {@code fetchSize} or {@code maxInFlightPages} is not positive
+     * @since 3.10
+     */
+    public <R> Iterator<R> queryIterator(int fetchSize, int maxInFlightPages, Projection<Map.Entry<K, V>, R> projection,
+                                         Predicate<K, V> predicate) {
+        checkPositive(fetchSize, "fetchSize should be positive");
+        checkPositive(maxInFlightPages, "maxInFlightPages should be positive");
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkNotPagingPredicate(predicate, "queryIterator");
+        return new ClientMapQueryIterator<K, V, R>(this, getContext(), fetchSize, maxInFlightPages, predicate, projection);
+    }
+
     @Override
     public ICompletableFuture<EventJournalInitialSubscriberState> subscribeToEventJournal(int partitionId) {
         final ClientMessage request = MapEventJournalSubscribeCodec.encodeRequest(name);
@@ -138,7 +138,13 @@ public abstract class AbstractClientInvocationService implements ClientInvocatio
 
     private boolean writeToConnection(ClientConnection connection, ClientMessage clientMessage) {
         clientMessage.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
-        return connection.write(clientMessage);
+        // the invocation keeps its own reference to the message for retries, the written one is released by the encoder
+        clientMessage.retain();
+        if (connection.write(clientMessage)) {
+            return true;
+        }
+        clientMessage.release();
+        return false;
     }
 
     private boolean isAllowedToSendRequest(ClientConnection connection, ClientInvocation invocation) {
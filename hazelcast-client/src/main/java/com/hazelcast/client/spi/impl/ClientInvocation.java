@@ -189,7 +189,7 @@ public class ClientInvocation implements Runnable {
         try {
             invokeOnSelection();
         } catch (Throwable e) {
-            clientInvocationFuture.complete(e);
+            complete(e);
         }
     }
 
@@ -197,17 +197,24 @@ public class ClientInvocation implements Runnable {
         if (clientMessage == null) {
             throw new IllegalArgumentException("response can't be null");
         }
-        clientInvocationFuture.complete(clientMessage);
+        complete(clientMessage);
+    }
+
+    private void complete(Object response) {
+        if (clientInvocationFuture.complete(response)) {
+            // the request won't be sent again; its buffer returns to the pool once a pending write has finished
+            clientMessage.release();
+        }
     }
 
     public void notifyException(Throwable exception) {
         if (!lifecycleService.isRunning()) {
-            clientInvocationFuture.complete(new HazelcastClientNotActiveException(exception.getMessage(), exception));
+            complete(new HazelcastClientNotActiveException(exception.getMessage(), exception));
             return;
         }
 
         if (isNotAllowedToRetryOnSelection(exception)) {
-            clientInvocationFuture.complete(exception);
+            complete(exception);
             return;
         }
 
@@ -215,7 +222,7 @@ public class ClientInvocation implements Runnable {
                 || invocationService.isRedoOperation()
                 || (exception instanceof TargetDisconnectedException && clientMessage.isRetryable());
         if (!retry) {
-            clientInvocationFuture.complete(exception);
+            complete(exception);
             return;
         }
 
@@ -225,14 +232,14 @@ public class ClientInvocation implements Runnable {
                 logger.finest("Exception will not be retried because invocation timed out", exception);
             }
 
-            clientInvocationFuture.complete(newOperationTimeoutException(exception));
+            complete(newOperationTimeoutException(exception));
             return;
         }
 
         try {
             execute();
         } catch (RejectedExecutionException e) {
-            clientInvocationFuture.complete(exception);
+            complete(exception);
         }
 
     }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Sends messages with pooled buffers over a real network, so the buffers are returned to the pool and reused once the
+ * messages have been written to the socket.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientMessageBufferPoolingTest extends HazelcastTestSupport {
+
+    private static final int[] VALUE_SIZES = {100, 1000, 3000, 10000, 70000};
+    private static final int THREAD_COUNT = 4;
+    private static final int ITERATIONS = 200;
+
+    private IMap<String, byte[]> map;
+
+    @Before
+    public void setup() {
+        Hazelcast.newHazelcastInstance();
+        HazelcastInstance client = HazelcastClient.newHazelcastClient();
+        map = client.getMap(randomMapName());
+    }
+
+    @After
+    public void cleanUp() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void putAndGet_whenConcurrentRequestsOfVariousSizes() throws Exception {
+        Future[] futures = new Future[THREAD_COUNT];
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            final int thread = t;
+            futures[t] = spawn(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        String key = thread + "-" + i;
+                        byte[] value = value(VALUE_SIZES[i % VALUE_SIZES.length], thread + i);
+                        map.set(key, value);
+                        assertArrayEquals(value, map.get(key));
+                    }
+                }
+            });
+        }
+
+        for (Future future : futures) {
+            future.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS);
+        }
+        assertEquals(THREAD_COUNT * ITERATIONS, map.size());
+    }
+
+    @Test
+    public void entryEvents_whenLargeValues() {
+        final ConcurrentMap<String, byte[]> received = new ConcurrentHashMap<String, byte[]>();
+        map.addEntryListener(new EntryAddedListener<String, byte[]>() {
+            @Override
+            public void entryAdded(EntryEvent<String, byte[]> event) {
+                received.put(event.getKey(), event.getValue());
+            }
+        }, true);
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            map.set(String.valueOf(i), value(VALUE_SIZES[i % VALUE_SIZES.length], i));
+        }
+
+        assertSizeEventually(ITERATIONS, received);
+        for (int i = 0; i < ITERATIONS; i++) {
+            byte[] expected = value(VALUE_SIZES[i % VALUE_SIZES.length], i);
+            assertArrayEquals("value of " + i, expected, received.get(String.valueOf(i)));
+        }
+    }
+
+    private static byte[] value(int size, int seed) {
+        byte[] value = new byte[size];
+        Arrays.fill(value, (byte) seed);
+        value[0] = (byte) size;
+        return value;
+    }
+}
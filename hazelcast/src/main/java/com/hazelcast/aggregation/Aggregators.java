@@ -26,6 +26,7 @@ import com.hazelcast.aggregation.impl.DoubleAverageAggregator;
 import com.hazelcast.aggregation.impl.DoubleSumAggregator;
 import com.hazelcast.aggregation.impl.FixedSumAggregator;
 import com.hazelcast.aggregation.impl.FloatingPointSumAggregator;
+import com.hazelcast.aggregation.impl.GroupByAggregator;
 import com.hazelcast.aggregation.impl.IntegerAverageAggregator;
 import com.hazelcast.aggregation.impl.IntegerSumAggregator;
 import com.hazelcast.aggregation.impl.LongAverageAggregator;
@@ -38,8 +39,11 @@ import com.hazelcast.aggregation.impl.NumberAverageAggregator;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
 /**
  * A utility class to create basic {@link com.hazelcast.aggregation.Aggregator} instances.
  * <p>
@@ -705,4 +709,25 @@ public final class Aggregators {
     public static <I> Aggregator<I, Double> floatingPointSum(String attributePath) {
         return new FloatingPointSumAggregator<I>(attributePath);
     }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // group by aggregators
+    // ---------------------------------------------------------------------------------------------------------
+
+    /**
+     * @param attributePath the attributePath of the value the input is grouped by.
+     * @param aggregator    the aggregator applied to the input values of each group.
+     * @param <I>           type of the input object.
+     * @param <K>           type of the group key.
+     * @param <R>           type of the result of the aggregation of a single group.
+     * @return an aggregator that groups the input values by the value extracted from the given attributePath
+     * and aggregates each group with a separate copy of the given aggregator.
+     * Accepts null extracted values, which form a group of their own.
+     * Aggregation result type is a Map of the group keys to the results of their aggregation.
+     * @since 3.10
+     */
+    public static <I, K, R> Aggregator<I, Map<K, R>> groupBy(String attributePath, Aggregator<I, R> aggregator) {
+        checkNotNull(aggregator, "aggregator cannot be null");
+        return new GroupByAggregator<I, K, R>(attributePath, aggregator);
+    }
 }
@@ -49,9 +49,10 @@ public final class AggregatorDataSerializerHook implements DataSerializerHook {
     public static final int NUMBER_AVG = 16;
     public static final int MAX_BY = 17;
     public static final int MIN_BY = 18;
+    public static final int GROUP_BY = 19;
 
 
-    private static final int LEN = MIN_BY + 1;
+    private static final int LEN = GROUP_BY + 1;
 
     @Override
     public int getFactoryId() {
@@ -157,6 +158,11 @@ public final class AggregatorDataSerializerHook implements DataSerializerHook {
                 return new MinByAggregator();
             }
         };
+        constructors[GROUP_BY] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new GroupByAggregator();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
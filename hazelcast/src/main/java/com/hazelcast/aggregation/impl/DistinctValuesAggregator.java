@@ -20,13 +20,34 @@ import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.util.collection.LongHashSet;
+import com.hazelcast.util.collection.LongIterator;
 
 import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Aggregator collecting the distinct values of the accumulated attribute.
+ * <p>
+ * As long as all accumulated values are {@link Long}s they are kept unboxed in a {@link LongHashSet}, which
+ * avoids an object and a hash table node per distinct value. The first value of any other type (or {@code null})
+ * moves the collected values to a regular {@link HashSet}.
+ *
+ * @param <I> input type
+ * @param <R> type of the distinct values
+ */
+@SuppressWarnings("unchecked")
 public final class DistinctValuesAggregator<I, R> extends AbstractAggregator<I, R, Set<R>> implements IdentifiedDataSerializable {
-    Set<R> values = new HashSet<R>();
+
+    private static final int INITIAL_LONG_CAPACITY = 16;
+    private static final long MISSING_VALUE = Long.MIN_VALUE;
+
+    private LongHashSet longValues = new LongHashSet(INITIAL_LONG_CAPACITY, MISSING_VALUE);
+    private int longCapacity = INITIAL_LONG_CAPACITY;
+    // the long set cannot hold its missing value, so it is tracked separately
+    private boolean containsMissingValue;
+    private Set<R> values;
 
     public DistinctValuesAggregator() {
         super();
@@ -38,17 +59,87 @@ public final class DistinctValuesAggregator<I, R> extends AbstractAggregator<I,
 
     @Override
     public void accumulateExtracted(I entry, R value) {
-        values.add(value);
+        addValue(value);
     }
 
     @Override
     public void combine(Aggregator aggregator) {
         DistinctValuesAggregator distinctValuesAggregator = (DistinctValuesAggregator) aggregator;
-        this.values.addAll(distinctValuesAggregator.values);
+        if (distinctValuesAggregator.values != null) {
+            genericValues().addAll(distinctValuesAggregator.values);
+            return;
+        }
+        LongIterator iterator = distinctValuesAggregator.longValues.iterator();
+        while (iterator.hasNext()) {
+            addLong(iterator.nextValue());
+        }
+        if (distinctValuesAggregator.containsMissingValue) {
+            addLong(MISSING_VALUE);
+        }
     }
 
     @Override
     public Set<R> aggregate() {
+        return genericValues();
+    }
+
+    private int size() {
+        if (values != null) {
+            return values.size();
+        }
+        return longValues.size() + (containsMissingValue ? 1 : 0);
+    }
+
+    private void addValue(R value) {
+        if (values == null && value instanceof Long) {
+            addLong((Long) value);
+        } else {
+            genericValues().add(value);
+        }
+    }
+
+    private void addLong(long value) {
+        if (values != null) {
+            values.add((R) Long.valueOf(value));
+        } else if (value == MISSING_VALUE) {
+            containsMissingValue = true;
+        } else if (longValues.size() < longCapacity || growLongValues()) {
+            longValues.add(value);
+        } else {
+            genericValues().add((R) Long.valueOf(value));
+        }
+    }
+
+    private boolean growLongValues() {
+        if (longCapacity == LongHashSet.MAX_CAPACITY) {
+            return false;
+        }
+        int newCapacity = (int) Math.min((long) longCapacity << 1, LongHashSet.MAX_CAPACITY);
+        LongHashSet newLongValues = new LongHashSet(newCapacity, MISSING_VALUE);
+        LongIterator iterator = longValues.iterator();
+        while (iterator.hasNext()) {
+            newLongValues.add(iterator.nextValue());
+        }
+        longValues = newLongValues;
+        longCapacity = newCapacity;
+        return true;
+    }
+
+    /**
+     * Returns the generic set of values, moving the values collected in the long lane to it on first use.
+     */
+    private Set<R> genericValues() {
+        if (values == null) {
+            values = new HashSet<R>(size());
+            LongIterator iterator = longValues.iterator();
+            while (iterator.hasNext()) {
+                values.add((R) Long.valueOf(iterator.nextValue()));
+            }
+            if (containsMissingValue) {
+                values.add((R) Long.valueOf(MISSING_VALUE));
+            }
+            longValues = null;
+        }
         return values;
     }
 
@@ -65,9 +156,19 @@ public final class DistinctValuesAggregator<I, R> extends AbstractAggregator<I,
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(attributePath);
-        out.writeInt(values.size());
-        for (Object value : values) {
-            out.writeObject(value);
+        out.writeInt(size());
+        if (values != null) {
+            for (Object value : values) {
+                out.writeObject(value);
+            }
+            return;
+        }
+        LongIterator iterator = longValues.iterator();
+        while (iterator.hasNext()) {
+            out.writeObject(iterator.nextValue());
+        }
+        if (containsMissingValue) {
+            out.writeObject(MISSING_VALUE);
         }
     }
 
@@ -75,9 +176,12 @@ public final class DistinctValuesAggregator<I, R> extends AbstractAggregator<I,
     public void readData(ObjectDataInput in) throws IOException {
         this.attributePath = in.readUTF();
         int count = in.readInt();
-        this.values = new HashSet<R>(count);
+        this.longCapacity = Math.max(INITIAL_LONG_CAPACITY, Math.min(count, LongHashSet.MAX_CAPACITY));
+        this.longValues = new LongHashSet(longCapacity, MISSING_VALUE);
+        this.containsMissingValue = false;
+        this.values = null;
         for (int i = 0; i < count; i++) {
-            values.add((R) in.readObject());
+            addValue((R) in.readObject());
         }
     }
 
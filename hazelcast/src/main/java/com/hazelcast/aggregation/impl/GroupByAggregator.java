@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aggregator grouping the input by the value extracted from the attributePath and aggregating each group
+ * with its own copy of the given aggregator.
+ * <p>
+ * The copies are created on the members by serializing the given aggregator, so a grouping aggregator is able
+ * to accumulate only after it has been deserialized by a Hazelcast instance. Partial results of the groups
+ * are combined per group, so only the final group table is returned to the caller.
+ *
+ * @param <I> input type
+ * @param <K> group key type
+ * @param <R> result type of the aggregation of a single group
+ */
+@SuppressWarnings("unchecked")
+public final class GroupByAggregator<I, K, R> extends AbstractAggregator<I, K, Map<K, R>>
+        implements IdentifiedDataSerializable, HazelcastInstanceAware {
+
+    private Aggregator<I, R> aggregator;
+    private Map<K, Aggregator<I, R>> groups = new HashMap<K, Aggregator<I, R>>();
+    private transient SerializationService serializationService;
+
+    public GroupByAggregator() {
+        super();
+    }
+
+    public GroupByAggregator(String attributePath, Aggregator<I, R> aggregator) {
+        super(attributePath);
+        this.aggregator = aggregator;
+    }
+
+    @Override
+    public void setHazelcastInstance(HazelcastInstance hazelcastInstance) {
+        if (hazelcastInstance instanceof SerializationServiceSupport) {
+            serializationService = ((SerializationServiceSupport) hazelcastInstance).getSerializationService();
+        }
+    }
+
+    @Override
+    public void accumulateExtracted(I entry, K groupKey) {
+        Aggregator<I, R> groupAggregator = groups.get(groupKey);
+        if (groupAggregator == null) {
+            groupAggregator = newGroupAggregator();
+            groups.put(groupKey, groupAggregator);
+        }
+        groupAggregator.accumulate(entry);
+    }
+
+    private Aggregator<I, R> newGroupAggregator() {
+        if (serializationService == null) {
+            throw new IllegalStateException("Grouping aggregator can accumulate only after it has been deserialized"
+                    + " by a Hazelcast instance");
+        }
+        return serializationService.toObject(serializationService.toData(aggregator));
+    }
+
+    @Override
+    public void onAccumulationFinished() {
+        for (Aggregator<I, R> groupAggregator : groups.values()) {
+            groupAggregator.onAccumulationFinished();
+        }
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        GroupByAggregator<I, K, R> groupByAggregator = (GroupByAggregator<I, K, R>) aggregator;
+        for (Map.Entry<K, Aggregator<I, R>> group : groupByAggregator.groups.entrySet()) {
+            Aggregator<I, R> groupAggregator = groups.get(group.getKey());
+            if (groupAggregator == null) {
+                // the other aggregator is not used after the combination, so its group can be taken over as is
+                groups.put(group.getKey(), group.getValue());
+            } else {
+                groupAggregator.combine(group.getValue());
+            }
+        }
+    }
+
+    @Override
+    public void onCombinationFinished() {
+        for (Aggregator<I, R> groupAggregator : groups.values()) {
+            groupAggregator.onCombinationFinished();
+        }
+    }
+
+    @Override
+    public Map<K, R> aggregate() {
+        Map<K, R> result = new HashMap<K, R>(groups.size());
+        for (Map.Entry<K, Aggregator<I, R>> group : groups.entrySet()) {
+            result.put(group.getKey(), group.getValue().aggregate());
+        }
+        return result;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return AggregatorDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return AggregatorDataSerializerHook.GROUP_BY;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attributePath);
+        out.writeObject(aggregator);
+        out.writeInt(groups.size());
+        for (Map.Entry<K, Aggregator<I, R>> group : groups.entrySet()) {
+            out.writeObject(group.getKey());
+            out.writeObject(group.getValue());
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        this.attributePath = in.readUTF();
+        this.aggregator = in.readObject();
+        int count = in.readInt();
+        this.groups = new HashMap<K, Aggregator<I, R>>(count);
+        for (int i = 0; i < count; i++) {
+            K groupKey = in.readObject();
+            Aggregator<I, R> groupAggregator = in.readObject();
+            groups.put(groupKey, groupAggregator);
+        }
+    }
+
+}
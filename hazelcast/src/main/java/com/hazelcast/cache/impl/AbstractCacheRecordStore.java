@@ -478,6 +478,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected long onRecordAccess(Data key, R record, ExpiryPolicy expiryPolicy, long now) {
         record.setAccessTime(now);
         record.incrementAccessHit();
+        evictionPolicyEvaluator.onAccess(key);
         return updateAccessDuration(key, record, expiryPolicy, now);
     }
 
@@ -926,6 +927,11 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
 
     protected R doPutRecord(Data key, R record, String source, boolean updateJournal) {
         R oldRecord = records.put(key, record);
+        if (oldRecord == null) {
+            evictionPolicyEvaluator.onAdd(key, records.size());
+        } else {
+            evictionPolicyEvaluator.onAccess(key);
+        }
         if (updateJournal) {
             if (oldRecord != null) {
                 cacheService.eventJournal.writeUpdateEvent(
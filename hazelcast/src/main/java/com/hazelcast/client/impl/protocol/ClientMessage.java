@@ -18,6 +18,7 @@ package com.hazelcast.client.impl.protocol;
 
 import com.hazelcast.client.impl.protocol.exception.MaxMessageSizeExceeded;
 import com.hazelcast.client.impl.protocol.util.ClientProtocolBuffer;
+import com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool;
 import com.hazelcast.client.impl.protocol.util.MessageFlyweight;
 import com.hazelcast.client.impl.protocol.util.SafeBuffer;
 import com.hazelcast.client.impl.protocol.util.UnsafeBuffer;
@@ -25,6 +26,7 @@ import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.nio.Bits;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * <p>
@@ -92,6 +94,10 @@ public class ClientMessage
     private static final String PROP_HAZELCAST_PROTOCOL_UNSAFE = "hazelcast.protocol.unsafe.enabled";
     private static final boolean USE_UNSAFE = Boolean.getBoolean(PROP_HAZELCAST_PROTOCOL_UNSAFE);
 
+    private static final ClientProtocolBufferPool BUFFER_POOL = new ClientProtocolBufferPool(USE_UNSAFE);
+    private static final AtomicIntegerFieldUpdater<ClientMessage> REF_COUNT
+            = AtomicIntegerFieldUpdater.newUpdater(ClientMessage.class, "refCount");
+
     private static final int FRAME_LENGTH_FIELD_OFFSET = 0;
     private static final int VERSION_FIELD_OFFSET = FRAME_LENGTH_FIELD_OFFSET + Bits.INT_SIZE_IN_BYTES;
     private static final int FLAGS_FIELD_OFFSET = VERSION_FIELD_OFFSET + Bits.BYTE_SIZE_IN_BYTES;
@@ -108,6 +114,9 @@ public class ClientMessage
     private transient int writeOffset;
     private transient boolean isRetryable;
     private transient String operationName;
+    // only set if the buffer was taken from the pool
+    private transient ClientProtocolBufferPool bufferPool;
+    private transient volatile int refCount;
 
     protected ClientMessage() {
     }
@@ -121,6 +130,21 @@ public class ClientMessage
         setPartitionId(-1);
     }
 
+    private void wrapForEncode(ClientProtocolBuffer buffer, ClientProtocolBufferPool bufferPool) {
+        super.wrap(buffer, 0);
+        this.bufferPool = bufferPool;
+        this.refCount = 1;
+        // a pooled buffer still contains the header of the message it was used for before
+        setVersion((short) 0);
+        uint8Put(FLAGS_FIELD_OFFSET, (short) 0);
+        setMessageType(0);
+        setCorrelationId(0);
+        setDataOffset(HEADER_SIZE);
+        setFrameLength(HEADER_SIZE);
+        index(getDataOffset());
+        setPartitionId(-1);
+    }
+
     private void ensureHeaderSize(int offset, int length) {
         if (length - offset < HEADER_SIZE) {
             throw new IndexOutOfBoundsException("ClientMessage buffer must contain at least "
@@ -320,6 +344,39 @@ public class ClientMessage
         return done;
     }
 
+    /**
+     * Retains an additional reference to the pooled buffer of this message, so the message can be used after it has
+     * been written, e.g. to send it again. Each retain must be matched by a {@link #release()}. It has no effect if the
+     * buffer is not pooled.
+     *
+     * @return this message
+     */
+    public ClientMessage retain() {
+        if (bufferPool != null) {
+            REF_COUNT.incrementAndGet(this);
+        }
+        return this;
+    }
+
+    /**
+     * Releases a reference to the pooled buffer of this message. A message created by {@link #createForEncode(int)}
+     * holds a single reference, which is released once the message has been written to a connection. When the last
+     * reference is released the buffer is returned to the pool and the message must not be used anymore. It has no
+     * effect if the buffer is not pooled.
+     */
+    public void release() {
+        if (bufferPool == null) {
+            return;
+        }
+
+        int remaining = REF_COUNT.decrementAndGet(this);
+        if (remaining == 0) {
+            bufferPool.release(buffer);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("ClientMessage has been released more often than retained: " + this);
+        }
+    }
+
     public boolean readFrom(ByteBuffer src) {
         int frameLength = 0;
         if (this.buffer == null) {
@@ -402,9 +459,20 @@ public class ClientMessage
         return new ClientMessage();
     }
 
+    /**
+     * Creates a message for encoding. The buffer of a message that is large enough is taken from a pool and returned
+     * to it when the message is {@link #release() released}.
+     *
+     * @param initialCapacity the size of the message in bytes
+     * @return the created message
+     */
     public static ClientMessage createForEncode(int initialCapacity) {
         initialCapacity = findSuitableMessageSize(initialCapacity);
-        if (USE_UNSAFE) {
+        if (BUFFER_POOL.isPooled(initialCapacity)) {
+            ClientMessage clientMessage = new ClientMessage();
+            clientMessage.wrapForEncode(BUFFER_POOL.allocate(initialCapacity), BUFFER_POOL);
+            return clientMessage;
+        } else if (USE_UNSAFE) {
             return createForEncode(new UnsafeBuffer(new byte[initialCapacity]), 0);
         } else {
             return createForEncode(new SafeBuffer(new byte[initialCapacity]), 0);
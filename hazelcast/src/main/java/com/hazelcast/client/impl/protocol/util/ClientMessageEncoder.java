@@ -23,11 +23,17 @@ import java.nio.ByteBuffer;
 
 /**
  * A {@link ChannelOutboundHandler} for the new-client. It writes ClientMessages to the ByteBuffer.
+ *
+ * Once a message has been written, its pooled buffer is released, see {@link ClientMessage#release()}.
  */
 public class ClientMessageEncoder implements ChannelOutboundHandler<ClientMessage> {
 
     @Override
     public boolean onWrite(ClientMessage message, ByteBuffer dst) {
-        return message.writeTo(dst);
+        if (message.writeTo(dst)) {
+            message.release();
+            return true;
+        }
+        return false;
     }
 }
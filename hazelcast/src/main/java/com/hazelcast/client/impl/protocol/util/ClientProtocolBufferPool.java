@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.spi.annotation.PrivateApi;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A pool of {@link ClientProtocolBuffer} instances for encoding client messages.
+ *
+ * A buffer is taken by the thread that encodes a message and returned by the thread that finished writing it to the
+ * connection, so unlike the thread local pools of the serialization output buffers this pool is shared between the
+ * threads, see {@link com.hazelcast.client.impl.protocol.ClientMessage#release()}.
+ *
+ * Buffers are pooled in power of two size classes from {@value #MIN_POOLED_SIZE} bytes up to {@value #MAX_POOLED_SIZE}
+ * bytes; at most {@value #MAX_POOLED_BYTES_PER_SIZE_CLASS} bytes are kept per size class. Messages outside of this
+ * range get a buffer of exactly the requested size. A buffer that is never returned, e.g. because its message was
+ * dropped on a closed connection, is simply garbage collected.
+ */
+@PrivateApi
+public final class ClientProtocolBufferPool {
+
+    /**
+     * Smaller messages are cheaper to allocate than to pool.
+     */
+    static final int MIN_POOLED_SIZE = 1024;
+    static final int MAX_POOLED_SIZE = 1024 * 1024;
+    static final int MAX_POOLED_BYTES_PER_SIZE_CLASS = 4 * 1024 * 1024;
+
+    private static final int MIN_SIZE_CLASS_SHIFT = log2(MIN_POOLED_SIZE);
+
+    private final boolean useUnsafe;
+    private final ArrayBlockingQueue<ClientProtocolBuffer>[] sizeClasses;
+
+    /**
+     * @param useUnsafe {@code true} if the buffers should be {@link UnsafeBuffer} instances, {@code false} for
+     *                  {@link SafeBuffer} instances
+     */
+    @SuppressWarnings("unchecked")
+    public ClientProtocolBufferPool(boolean useUnsafe) {
+        this.useUnsafe = useUnsafe;
+        int sizeClassCount = log2(MAX_POOLED_SIZE) - MIN_SIZE_CLASS_SHIFT + 1;
+        sizeClasses = new ArrayBlockingQueue[sizeClassCount];
+        for (int k = 0; k < sizeClassCount; k++) {
+            int capacity = MAX_POOLED_BYTES_PER_SIZE_CLASS / capacityOf(k);
+            sizeClasses[k] = new ArrayBlockingQueue<ClientProtocolBuffer>(capacity);
+        }
+    }
+
+    /**
+     * Checks if a buffer of the given size is served from the pool.
+     *
+     * @param size the size of the buffer in bytes
+     * @return {@code true} if the buffer is pooled, {@code false} otherwise.
+     */
+    public boolean isPooled(int size) {
+        return size >= MIN_POOLED_SIZE && size <= MAX_POOLED_SIZE;
+    }
+
+    /**
+     * Allocates a buffer. If the size is pooled, the buffer is taken from the pool and its capacity is the size rounded
+     * up to the next power of two. The content of a pooled buffer is not cleared.
+     *
+     * @param size the minimum capacity of the buffer in bytes
+     * @return the buffer
+     */
+    public ClientProtocolBuffer allocate(int size) {
+        if (!isPooled(size)) {
+            return newBuffer(size);
+        }
+
+        int sizeClass = sizeClassOf(size);
+        ClientProtocolBuffer buffer = sizeClasses[sizeClass].poll();
+        return buffer != null ? buffer : newBuffer(capacityOf(sizeClass));
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers that were not allocated from the pool are ignored.
+     *
+     * @param buffer the buffer to return
+     */
+    public void release(ClientProtocolBuffer buffer) {
+        int capacity = buffer.capacity();
+        if (isPooled(capacity) && Integer.bitCount(capacity) == 1) {
+            // when the size class is full, the buffer is left to the garbage collector
+            sizeClasses[sizeClassOf(capacity)].offer(buffer);
+        }
+    }
+
+    private ClientProtocolBuffer newBuffer(int size) {
+        byte[] bytes = new byte[size];
+        return useUnsafe ? new UnsafeBuffer(bytes) : new SafeBuffer(bytes);
+    }
+
+    private static int sizeClassOf(int size) {
+        return log2(nextPowerOfTwo(size)) - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    private static int capacityOf(int sizeClass) {
+        return 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT);
+    }
+}
@@ -59,6 +59,13 @@ public class MessageFlyweight {
         return this;
     }
 
+    public MessageFlyweight wrap(ClientProtocolBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.index = 0;
+        return this;
+    }
+
     public int index() {
         return index;
     }
@@ -24,6 +24,7 @@ import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
 import com.hazelcast.map.eviction.LFUEvictionPolicy;
 import com.hazelcast.map.eviction.LRUEvictionPolicy;
 import com.hazelcast.map.eviction.RandomEvictionPolicy;
+import com.hazelcast.map.eviction.TinyLFUEvictionPolicy;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.util.ConstructorFunction;
@@ -93,8 +94,9 @@ public final class ConfigDataSerializerHook implements DataSerializerHook {
     public static final int MERGE_POLICY_CONFIG = 51;
     public static final int COUNT_DOWN_LATCH_CONFIG = 52;
     public static final int PN_COUNTER_CONFIG = 53;
+    public static final int TINY_LFU_EVICTION_POLICY = 54;
 
-    private static final int LEN = PN_COUNTER_CONFIG + 1;
+    private static final int LEN = TINY_LFU_EVICTION_POLICY + 1;
 
     @Override
     public int getFactoryId() {
@@ -439,6 +441,13 @@ public final class ConfigDataSerializerHook implements DataSerializerHook {
                         return new PNCounterConfig();
                     }
                 };
+        constructors[TINY_LFU_EVICTION_POLICY] =
+                new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+                    @Override
+                    public IdentifiedDataSerializable createNew(Integer arg) {
+                        return new TinyLFUEvictionPolicy();
+                    }
+                };
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -840,7 +840,8 @@ public class ConfigXmlGenerator {
         if (!mapIndexConfigs.isEmpty()) {
             gen.open("indexes");
             for (MapIndexConfig indexCfg : mapIndexConfigs) {
-                gen.node("index", indexCfg.getAttribute(), "ordered", indexCfg.isOrdered());
+                gen.node("index", indexCfg.getAttribute(), "ordered", indexCfg.isOrdered(),
+                        "storage-type", indexCfg.getStorageType(), "bitmap", indexCfg.isBitmap());
             }
             gen.close();
         }
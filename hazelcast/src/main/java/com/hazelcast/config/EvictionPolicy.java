@@ -34,5 +34,13 @@ public enum EvictionPolicy {
     /**
      * Randomly
      */
-    RANDOM
+    RANDOM,
+    /**
+     * Window TinyLFU: evicts the entries least frequently used over a long period, estimated
+     * with an aging frequency sketch, while protecting recently added entries in an admission window.
+     * Resists scans better than {@link #LRU} and adapts to changing popularity better than {@link #LFU}.
+     * For maps, an entry leaving the admission window of a full map is evicted instead of the chosen victim
+     * if it is not estimated to be more popular than the victim.
+     */
+    TINY_LFU
 }
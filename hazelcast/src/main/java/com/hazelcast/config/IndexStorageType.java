@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.config;
+
+/**
+ * Defines where the entries of a map index are stored.
+ *
+ * @see MapIndexConfig#setStorageType(IndexStorageType)
+ */
+public enum IndexStorageType {
+
+    /**
+     * Index is stored on-heap. Default storage type, can be used with any in-memory format.
+     */
+    ON_HEAP,
+
+    /**
+     * Index is stored in native memory, referencing the native records of the map.
+     * Can be used only with maps of {@link InMemoryFormat#NATIVE} in-memory format.
+     */
+    NATIVE
+}
@@ -21,6 +21,7 @@ import com.hazelcast.map.eviction.LFUEvictionPolicy;
 import com.hazelcast.map.eviction.LRUEvictionPolicy;
 import com.hazelcast.map.eviction.MapEvictionPolicy;
 import com.hazelcast.map.eviction.RandomEvictionPolicy;
+import com.hazelcast.map.eviction.TinyLFUEvictionPolicy;
 import com.hazelcast.map.merge.PutIfAbsentMapMergePolicy;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -474,6 +475,8 @@ public class MapConfig implements IdentifiedDataSerializable, Versioned {
                 return LFUEvictionPolicy.INSTANCE;
             case RANDOM:
                 return RandomEvictionPolicy.INSTANCE;
+            case TINY_LFU:
+                return TinyLFUEvictionPolicy.INSTANCE;
             case NONE:
                 return null;
             default:
@@ -26,6 +26,7 @@ import java.io.IOException;
 
 import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
 import static com.hazelcast.util.Preconditions.checkHasText;
+import static com.hazelcast.util.Preconditions.checkNotNull;
 
 /**
  * Contains the configuration for an index in a map. This class should be used in combination
@@ -34,10 +35,17 @@ import static com.hazelcast.util.Preconditions.checkHasText;
  */
 public class MapIndexConfig implements IdentifiedDataSerializable {
 
+    /**
+     * Default storage type of the index.
+     */
+    public static final IndexStorageType DEFAULT_STORAGE_TYPE = IndexStorageType.ON_HEAP;
+
     private static final ILogger LOG = Logger.getLogger(MapIndexConfig.class);
 
     private String attribute;
     private boolean ordered;
+    private IndexStorageType storageType = DEFAULT_STORAGE_TYPE;
+    private boolean bitmap;
     private transient MapIndexConfigReadOnly readOnly;
 
     /**
@@ -62,6 +70,8 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
     public MapIndexConfig(MapIndexConfig config) {
         attribute = config.getAttribute();
         ordered = config.isOrdered();
+        storageType = config.getStorageType();
+        bitmap = config.isBitmap();
     }
 
     /**
@@ -89,6 +99,12 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
 
     /**
      * Sets the attribute that is going to be indexed.
+     * <p>
+     * A composite index over several attributes is configured by their comma separated
+     * names, e.g. {@code "tenantId, status"}. A composite index can be used by queries
+     * comparing all of its attributes for equality and, if the index is ordered, also by
+     * queries comparing its leading attributes for equality followed by a range on the
+     * next attribute, e.g. {@code tenantId = 1 and status > 2}.
      *
      * @param attribute the attribute that is going to be indexed
      * @return the updated MapIndexConfig
@@ -122,9 +138,60 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
         return this;
     }
 
+    /**
+     * Gets the storage type of the index.
+     *
+     * @return the storage type of the index
+     * @see #setStorageType(IndexStorageType)
+     */
+    public IndexStorageType getStorageType() {
+        return storageType;
+    }
+
+    /**
+     * Sets the storage type of the index. An index of {@link IndexStorageType#NATIVE NATIVE} storage type keeps
+     * the indexed attribute values in native memory, in a binary comparable form, and references the native
+     * records of the map, so it does not put any pressure on the heap no matter how many entries are indexed.
+     * It can be used only with maps of {@link InMemoryFormat#NATIVE NATIVE} in-memory format.
+     *
+     * @param storageType the storage type of the index
+     * @return the updated MapIndexConfig
+     * @throws NullPointerException if storageType is {@code null}
+     */
+    public MapIndexConfig setStorageType(IndexStorageType storageType) {
+        this.storageType = checkNotNull(storageType, "Index storage type cannot be null");
+        return this;
+    }
+
+    /**
+     * Checks if the index is a bitmap index.
+     *
+     * @return {@code true} if the index is a bitmap index, {@code false} otherwise
+     * @see #setBitmap(boolean)
+     */
+    public boolean isBitmap() {
+        return bitmap;
+    }
+
+    /**
+     * Configures the index to be a bitmap index or not. A bitmap index keeps a compressed bitmap of the
+     * matching entries per distinct attribute value, so it suits attributes with a few distinct values
+     * like statuses, regions or flags. Equality, {@code in} and not-equal predicates over bitmap indexes
+     * combined by {@code and}, {@code or} and {@code not} are evaluated as bitmap operations.
+     * A bitmap index can't be ordered and is always stored on-heap.
+     *
+     * @param bitmap if the index should be a bitmap index
+     * @return the updated MapIndexConfig
+     */
+    public MapIndexConfig setBitmap(boolean bitmap) {
+        this.bitmap = bitmap;
+        return this;
+    }
+
     @Override
     public String toString() {
-        return "MapIndexConfig{attribute='" + attribute + "', ordered=" + ordered + '}';
+        return "MapIndexConfig{attribute='" + attribute + "', ordered=" + ordered + ", storageType=" + storageType
+                + ", bitmap=" + bitmap + '}';
     }
 
     /**
@@ -159,12 +226,16 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(attribute);
         out.writeBoolean(ordered);
+        out.writeUTF(storageType.name());
+        out.writeBoolean(bitmap);
     }
 
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         attribute = in.readUTF();
         ordered = in.readBoolean();
+        storageType = IndexStorageType.valueOf(in.readUTF());
+        bitmap = in.readBoolean();
     }
 
     @Override
@@ -177,7 +248,10 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
         }
 
         MapIndexConfig that = (MapIndexConfig) o;
-        if (ordered != that.ordered) {
+        if (ordered != that.ordered || bitmap != that.bitmap) {
+            return false;
+        }
+        if (storageType != that.storageType) {
             return false;
         }
         return attribute != null ? attribute.equals(that.attribute) : that.attribute == null;
@@ -187,6 +261,8 @@ public class MapIndexConfig implements IdentifiedDataSerializable {
     public final int hashCode() {
         int result = attribute != null ? attribute.hashCode() : 0;
         result = 31 * result + (ordered ? 1 : 0);
+        result = 31 * result + (storageType != null ? storageType.hashCode() : 0);
+        result = 31 * result + (bitmap ? 1 : 0);
         return result;
     }
 }
@@ -1709,7 +1709,16 @@ public class XmlConfigBuilder extends AbstractConfigBuilder implements ConfigBui
                 NamedNodeMap attrs = indexNode.getAttributes();
                 boolean ordered = getBooleanValue(getTextContent(attrs.getNamedItem("ordered")));
                 String attribute = getTextContent(indexNode);
-                mapConfig.addMapIndexConfig(new MapIndexConfig(attribute, ordered));
+                MapIndexConfig indexConfig = new MapIndexConfig(attribute, ordered);
+                Node storageType = attrs.getNamedItem("storage-type");
+                if (storageType != null) {
+                    indexConfig.setStorageType(IndexStorageType.valueOf(upperCaseInternal(getTextContent(storageType))));
+                }
+                Node bitmap = attrs.getNamedItem("bitmap");
+                if (bitmap != null) {
+                    indexConfig.setBitmap(getBooleanValue(getTextContent(bitmap)));
+                }
+                mapConfig.addMapIndexConfig(indexConfig);
             }
         }
     }
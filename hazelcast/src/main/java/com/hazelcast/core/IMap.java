@@ -2026,6 +2026,11 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, LegacyAsyncMap<K, V> {
      *   imap.addIndex("age", true);        // ordered, since we have ranged queries for this field
      *   imap.addIndex("active", false);    // not ordered, because boolean field cannot have range
      * </pre>
+     * If your queries mostly filter on several fields together, a composite index over
+     * those fields can answer them by a single lookup.
+     * <pre>
+     *   imap.addIndex("active, age", true); // used by "active = true and age > 30"
+     * </pre>
      * Index attribute should either have a getter method or be public.
      * You should also make sure to add the indexes before adding
      * entries to this map.
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.core;
+
+/**
+ * A {@link MapLoader} which loads the keys of each partition separately.
+ * <p>
+ * With a plain {@link MapLoader}, the initial load of a map calls {@link #loadAllKeys()} on a
+ * single member, which then sends the keys to the owners of their partitions. With this
+ * extension, the owner of each partition calls {@link #loadAllKeys(int)} for that partition
+ * instead, so the keys of a map are loaded by all members at the same time and are not sent
+ * over the network. The number of partitions loaded at the same time on a member is the pool size
+ * of the {@link com.hazelcast.spi.ExecutionService#MAP_LOAD_ALL_KEYS_EXECUTOR} executor, which
+ * can be configured with an {@link com.hazelcast.config.ExecutorConfig} of that name.
+ * <p>
+ * {@link #loadAllKeys()} is still used by {@link IMap#loadAll(boolean)}.
+ *
+ * @param <K> type of the MapLoader key
+ * @param <V> type of the MapLoader value
+ * @see PartitionService#getPartition(Object)
+ * @since 3.10
+ */
+public interface PartitionedMapLoader<K, V> extends MapLoader<K, V> {
+
+    /**
+     * Loads the keys of the given partition. The partition of a key is the one returned by
+     * {@code hazelcastInstance.getPartitionService().getPartition(key)}; an implementation
+     * usually stores it next to the key when the entry is written, so that the keys of a
+     * partition can be queried directly. Keys which do not belong to the given partition
+     * are still loaded, but have to be sent to the owner of their partition.
+     * <p>
+     * As for {@link #loadAllKeys()}, the returned {@link Iterable} may return the keys lazily and
+     * its {@link java.util.Iterator} may implement {@link java.io.Closeable}, in which case it will
+     * be closed once iteration is over. The returned Iterable should not contain any {@code null} keys.
+     *
+     * @param partitionId the ID of the partition
+     * @return the keys of the given partition. Keys inside the Iterable cannot be null.
+     */
+    Iterable<K> loadAllKeys(int partitionId);
+}
@@ -40,6 +40,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.channels.ServerSocketChannel;
 import java.util.Properties;
 
+import static com.hazelcast.spi.properties.GroupProperty.IO_WRITE_GATHERING_ENABLED;
+
 @PrivateApi
 public class DefaultNodeContext implements NodeContext {
 
@@ -161,6 +163,7 @@ public class DefaultNodeContext implements NodeContext {
                         .inputThreadCount(ioService.getInputSelectorThreadCount())
                         .outputThreadCount(ioService.getOutputSelectorThreadCount())
                         .balancerIntervalSeconds(ioService.getBalancerIntervalSeconds())
+                        .gatheringWrites(node.getProperties().getBoolean(IO_WRITE_GATHERING_ENABLED))
                         .channelInitializer(initializer));
     }
 }
@@ -256,12 +256,13 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public ChannelInboundHandler createInboundHandler(TcpIpConnection connection, IOService ioService) {
         NodeEngineImpl nodeEngine = node.nodeEngine;
-        return new PacketDecoder(connection, nodeEngine.getPacketDispatcher());
+        boolean batching = node.getProperties().getBoolean(GroupProperty.IO_INBOUND_PACKET_BATCHING_ENABLED);
+        return new PacketDecoder(connection, nodeEngine.getPacketDispatcher(), batching);
     }
 
     @Override
     public ChannelOutboundHandler createOutboundHandler(TcpIpConnection connection, IOService ioService) {
-        return new PacketEncoder();
+        return new PacketEncoder(connection);
     }
 
     @Override
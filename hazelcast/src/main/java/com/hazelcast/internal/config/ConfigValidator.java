@@ -23,7 +23,9 @@ import com.hazelcast.config.CollectionConfig;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexStorageType;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
 import com.hazelcast.config.MultiMapConfig;
 import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
@@ -46,6 +48,7 @@ import java.util.List;
 
 import static com.hazelcast.config.EvictionPolicy.LFU;
 import static com.hazelcast.config.EvictionPolicy.LRU;
+import static com.hazelcast.config.EvictionPolicy.TINY_LFU;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.MapConfig.DEFAULT_EVICTION_PERCENTAGE;
 import static com.hazelcast.config.MapConfig.DEFAULT_MIN_EVICTION_CHECK_MILLIS;
@@ -65,7 +68,7 @@ public final class ConfigValidator {
     private static final EnumSet<EvictionConfig.MaxSizePolicy> SUPPORTED_ON_HEAP_NEAR_CACHE_MAXSIZE_POLICIES
             = EnumSet.of(EvictionConfig.MaxSizePolicy.ENTRY_COUNT);
 
-    private static final EnumSet<EvictionPolicy> SUPPORTED_EVICTION_POLICIES = EnumSet.of(LRU, LFU);
+    private static final EnumSet<EvictionPolicy> SUPPORTED_EVICTION_POLICIES = EnumSet.of(LRU, LFU, TINY_LFU);
 
     private static final List<String> STATISTIC_MERGE_POLICIES = new ArrayList<String>(asList(
             HigherHitsMergePolicy.class.getName(),
@@ -90,12 +93,79 @@ public final class ConfigValidator {
      * @param mapConfig the {@link MapConfig}
      */
     public static void checkMapConfig(MapConfig mapConfig) {
+        checkMapConfig(mapConfig, null);
+    }
+
+    /**
+     * Checks preconditions to create a map proxy.
+     *
+     * @param mapConfig          the {@link MapConfig}
+     * @param nativeMemoryConfig native memory configuration, required by {@link InMemoryFormat#NATIVE} maps
+     */
+    public static void checkMapConfig(MapConfig mapConfig, NativeMemoryConfig nativeMemoryConfig) {
         checkMergePolicy(mapConfig.isStatisticsEnabled(), mapConfig.getMergePolicyConfig().getPolicy());
-        checkNotNative(mapConfig.getInMemoryFormat());
+        checkMapNativeMemoryConfig(mapConfig.getInMemoryFormat(), nativeMemoryConfig);
+        checkMapIndexStorageTypes(mapConfig);
+        checkBitmapIndexes(mapConfig);
 
         logIgnoredConfig(mapConfig);
     }
 
+    /**
+     * Checks that {@link IndexStorageType#NATIVE} indexes are used only with {@link InMemoryFormat#NATIVE} maps,
+     * since they reference the native records of the map.
+     *
+     * @param mapConfig the {@link MapConfig}
+     */
+    private static void checkMapIndexStorageTypes(MapConfig mapConfig) {
+        if (mapConfig.getInMemoryFormat() == NATIVE) {
+            return;
+        }
+        for (MapIndexConfig indexConfig : mapConfig.getMapIndexConfigs()) {
+            if (indexConfig.getStorageType() == IndexStorageType.NATIVE) {
+                throw new IllegalArgumentException("Index storage type " + IndexStorageType.NATIVE + " of index on attribute '"
+                        + indexConfig.getAttribute() + "' can be used only with " + NATIVE + " in-memory format, but map '"
+                        + mapConfig.getName() + "' is configured with " + mapConfig.getInMemoryFormat());
+            }
+        }
+    }
+
+    /**
+     * Checks that bitmap indexes are neither ordered nor stored in native memory.
+     *
+     * @param mapConfig the {@link MapConfig}
+     */
+    private static void checkBitmapIndexes(MapConfig mapConfig) {
+        for (MapIndexConfig indexConfig : mapConfig.getMapIndexConfigs()) {
+            if (!indexConfig.isBitmap()) {
+                continue;
+            }
+            if (indexConfig.isOrdered() || indexConfig.getStorageType() != IndexStorageType.ON_HEAP) {
+                throw new IllegalArgumentException("Bitmap index on attribute '" + indexConfig.getAttribute()
+                        + "' of map '" + mapConfig.getName() + "' can't be ordered and must be stored "
+                        + IndexStorageType.ON_HEAP);
+            }
+        }
+    }
+
+    /**
+     * Checks precondition to use {@link InMemoryFormat#NATIVE} for an IMap.
+     *
+     * @param nativeMemoryConfig native memory configuration
+     */
+    private static void checkMapNativeMemoryConfig(InMemoryFormat inMemoryFormat, NativeMemoryConfig nativeMemoryConfig) {
+        if (inMemoryFormat != NATIVE) {
+            return;
+        }
+
+        if (nativeMemoryConfig != null && nativeMemoryConfig.isEnabled()) {
+            return;
+        }
+
+        checkNotNative(inMemoryFormat);
+        throw new IllegalArgumentException("Enable native memory config to use NATIVE in-memory-format for IMap");
+    }
+
     /**
      * Checks preconditions to create a map proxy with Near Cache.
      *
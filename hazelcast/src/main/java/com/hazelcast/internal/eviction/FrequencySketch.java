@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A count-min sketch estimating how often a key has been seen, with 4-bit counters and periodic aging.
+ * <p>
+ * Each key is counted in four counters picked by independent hashes and its frequency is the minimum of them,
+ * so the estimate can be too high because of collisions but never too low. The counters saturate at 15.
+ * After {@code 10 * capacity} increments all counters are halved, so that keys which were popular a long time
+ * ago lose their weight to recently popular ones.
+ * <p>
+ * Sixteen counters are packed into each {@code long}; the four counters of a key are in different longs
+ * but at the same quarter of them. There are four longs per unit of capacity, so the sketch takes 32 bytes
+ * per unit of capacity, four times the usual sizing of one {@code long} per unit. The sampling eviction ranks
+ * the sampled entries by frequency first, so it suffers more from overestimated keys than an admission filter
+ * alone: in {@code EvictionPolicyHitRatioBenchmark}, with one or two longs per unit the hit ratio falls behind
+ * the one of {@code LFU} on the Zipf traces with and without scans, with four longs per unit it is ahead of both
+ * {@code LRU} and {@code LFU} on all traces. The capacity follows the number of entries of the store, so the
+ * sketch adds 32 bytes to each entry, which is well below the footprint of a record, its key and its value.
+ * <p>
+ * This class is not thread-safe, but it can be used by multiple threads if some lost increments are tolerable:
+ * a racy update can only lose increments, it cannot corrupt the sketch.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public final class FrequencySketch {
+
+    /**
+     * The maximum frequency returned by {@link #frequency(int)}.
+     */
+    public static final int MAX_FREQUENCY = 15;
+
+    private static final int MAX_CAPACITY = 1 << 22;
+    private static final int TABLE_LENGTH_FACTOR = 4;
+    private static final int SAMPLE_SIZE_FACTOR = 10;
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+
+    private final long[] table;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param capacity the expected number of distinct keys to keep track of
+     */
+    public FrequencySketch(int capacity) {
+        int size = nextPowerOfTwo(Math.max(1, Math.min(capacity, MAX_CAPACITY)));
+        table = new long[TABLE_LENGTH_FACTOR * size];
+        sampleSize = SAMPLE_SIZE_FACTOR * size;
+    }
+
+    /**
+     * Returns the number of increments after which the counters are halved.
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the key, at most {@link #MAX_FREQUENCY}.
+     *
+     * @param hash the hash code of the key
+     */
+    public int frequency(int hash) {
+        int h = spread(hash);
+        int start = (h & 3) << 2;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(h, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts an occurrence of the key.
+     *
+     * @param hash the hash code of the key
+     */
+    public void increment(int hash) {
+        int h = spread(hash);
+        int start = (h & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(h, i), start + i);
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xFL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves all counters. The counters which were odd lose a fraction, which is accounted for
+     * in the number of additions.
+     */
+    private void reset() {
+        int oddCount = 0;
+        for (int i = 0; i < table.length; i++) {
+            oddCount += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = (additions >>> 1) - (oddCount >>> 2);
+    }
+
+    private int indexOf(int item, int i) {
+        long hash = (item + SEEDS[i]) * SEEDS[i];
+        hash += hash >>> 32;
+        return ((int) hash) & (table.length - 1);
+    }
+
+    /**
+     * Spreads the bits of poor quality hash codes, e.g. those of small integers.
+     */
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction;
+
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Frequency and recency bookkeeping of the {@link com.hazelcast.config.EvictionPolicy#TINY_LFU} policy.
+ * <p>
+ * Every added and accessed key is counted in a {@link FrequencySketch}, which lets evictions keep the keys
+ * that are popular over a long period instead of the ones accessed last. Keys added recently are in an admission
+ * window, which holds 1% of the capacity: until a key leaves the window it is evicted only after the keys
+ * outside of it, so that a new key gets a chance to build up frequency before it competes with the established ones.
+ * Keys which are added once and not accessed again, like in a scan, leave the window with the lowest frequency
+ * and are the first to be evicted. Stores can also filter the keys leaving the window like W-TinyLFU does: the
+ * key which left the window last, see {@link #pollWindowEvictee()}, is evicted in place of the chosen victim
+ * unless {@link #admit(Object, Object)} admits it.
+ * <p>
+ * The window is a ring of keys with a counting table of their hashes for membership, so it can report a key as
+ * windowed because of a hash collision.
+ * <p>
+ * The sketch and the window grow with the store. Since the counters of a sketch cannot be rehashed, the previous
+ * sketch is kept next to the larger one until it would have been aged, and a key is as frequent as the higher
+ * of its estimates. Like the sketch, this class tolerates racy updates at the cost of accuracy.
+ */
+public final class WindowTinyLFU {
+
+    private static final int WINDOW_PERCENTAGE = 1;
+    private static final int ONE_HUNDRED_PERCENT = 100;
+    private static final int WINDOW_TABLE_FACTOR = 16;
+    private static final int MIN_CAPACITY = 16;
+    private static final int HALF_INT_SHIFT = 16;
+
+    private volatile FrequencySketch sketch;
+    private volatile FrequencySketch previousSketch;
+    private volatile Window window;
+    private volatile Object windowEvictee;
+    private int capacity;
+    private int incrementsSinceGrowth;
+
+    public WindowTinyLFU(int capacity) {
+        this.capacity = Math.max(MIN_CAPACITY, capacity);
+        this.sketch = new FrequencySketch(this.capacity);
+        this.window = new Window(this.capacity, null);
+    }
+
+    /**
+     * Records a key added to the store.
+     *
+     * @param key  the key as stored
+     * @param size the number of entries in the store after the addition
+     */
+    public void onAdd(Object key, int size) {
+        if (size > capacity) {
+            grow(Math.max(size, capacity << 1));
+        }
+        increment(key.hashCode());
+        Object leaving = window.add(key);
+        if (leaving != null) {
+            windowEvictee = leaving;
+        }
+    }
+
+    /**
+     * Records an access to a key of the store.
+     *
+     * @param key the key as stored
+     */
+    public void onAccess(Object key) {
+        increment(key.hashCode());
+    }
+
+    /**
+     * Returns the estimated popularity of the key, from 0 to {@link FrequencySketch#MAX_FREQUENCY}.
+     */
+    public int frequency(Object key) {
+        return frequency(key.hashCode());
+    }
+
+    /**
+     * Tells whether the key has been added recently enough to be in the admission window.
+     */
+    public boolean isInWindow(Object key) {
+        return window.contains(key.hashCode());
+    }
+
+    /**
+     * Returns the key which left the admission window last and clears it, so each key leaving the window
+     * is judged by {@link #admit(Object, Object)} at most once.
+     *
+     * @return the key as stored, or {@code null} if no key left the window since the last call
+     */
+    public Object pollWindowEvictee() {
+        Object key = windowEvictee;
+        windowEvictee = null;
+        return key;
+    }
+
+    /**
+     * Decides whether a key leaving the admission window is kept in place of the entry chosen to be evicted.
+     * Like the admission filter of W-TinyLFU, the key is only admitted if it is estimated to be more popular than
+     * the victim, so keys which are used once, like those of a scan, don't push out the keys which are used often.
+     * New keys are not filtered: they are always admitted to the window.
+     *
+     * @param candidateKey the key which left the window as stored, see {@link #pollWindowEvictee()}
+     * @param victimKey    the key chosen to be evicted as stored
+     * @return {@code true} if the victim should be evicted, {@code false} if the candidate should be
+     */
+    public boolean admit(Object candidateKey, Object victimKey) {
+        return frequency(candidateKey.hashCode()) > frequency(victimKey.hashCode());
+    }
+
+    /**
+     * Compares two keys for eviction.
+     *
+     * @param key1     the first key as stored
+     * @param recency1 the last access or creation time of the first key
+     * @param key2     the second key as stored
+     * @param recency2 the last access or creation time of the second key
+     * @return {@link EvictionPolicyComparator#FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED} if the first key should
+     * be evicted, {@link EvictionPolicyComparator#SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED} if the second should
+     * be, {@link EvictionPolicyComparator#BOTH_OF_ENTRIES_HAVE_SAME_PRIORITY_TO_BE_EVICTED} if they are equal
+     */
+    public int compare(Object key1, long recency1, Object key2, long recency2) {
+        int hash1 = key1.hashCode();
+        int hash2 = key2.hashCode();
+        Window window = this.window;
+        boolean windowed1 = window.contains(hash1);
+        if (windowed1 != window.contains(hash2)) {
+            return windowed1
+                    ? EvictionPolicyComparator.SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED
+                    : EvictionPolicyComparator.FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+        }
+        int frequency1 = frequency(hash1);
+        int frequency2 = frequency(hash2);
+        if (frequency1 != frequency2) {
+            return frequency1 < frequency2
+                    ? EvictionPolicyComparator.FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED
+                    : EvictionPolicyComparator.SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+        }
+        if (recency1 != recency2) {
+            return recency1 < recency2
+                    ? EvictionPolicyComparator.FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED
+                    : EvictionPolicyComparator.SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+        }
+        return EvictionPolicyComparator.BOTH_OF_ENTRIES_HAVE_SAME_PRIORITY_TO_BE_EVICTED;
+    }
+
+    private void grow(int capacity) {
+        this.capacity = capacity;
+        previousSketch = sketch;
+        sketch = new FrequencySketch(capacity);
+        incrementsSinceGrowth = 0;
+        window = new Window(capacity, window);
+    }
+
+    private void increment(int hash) {
+        FrequencySketch sketch = this.sketch;
+        sketch.increment(hash);
+        if (previousSketch != null && ++incrementsSinceGrowth >= sketch.getSampleSize()) {
+            previousSketch = null;
+        }
+    }
+
+    private int frequency(int hash) {
+        int frequency = sketch.frequency(hash);
+        FrequencySketch previousSketch = this.previousSketch;
+        return previousSketch == null ? frequency : Math.max(frequency, previousSketch.frequency(hash));
+    }
+
+    /**
+     * The last added keys, in a ring, and the number of times each hash bucket of their hashes occurs in the ring.
+     */
+    private static final class Window {
+
+        private final Object[] ring;
+        private final int[] counts;
+        private int position;
+        private boolean full;
+
+        /**
+         * @param previous the window to take the last added keys from, can be {@code null}
+         */
+        Window(int capacity, Window previous) {
+            int length = Math.max(1, capacity / ONE_HUNDRED_PERCENT * WINDOW_PERCENTAGE);
+            ring = new Object[length];
+            counts = new int[nextPowerOfTwo(length * WINDOW_TABLE_FACTOR)];
+            if (previous != null) {
+                int previousLength = previous.full ? previous.ring.length : previous.position;
+                int start = previous.full ? previous.position : 0;
+                for (int i = 0; i < previousLength; i++) {
+                    add(previous.ring[(start + i) % previous.ring.length]);
+                }
+            }
+        }
+
+        /**
+         * Adds the key to the window.
+         *
+         * @return the key which left the window to make room for it, {@code null} if the window was not full
+         */
+        Object add(Object key) {
+            int position = this.position;
+            Object leaving = full ? ring[position] : null;
+            // the key can be missing after racy updates
+            if (leaving != null) {
+                int bucket = bucket(leaving.hashCode());
+                if (counts[bucket] > 0) {
+                    counts[bucket]--;
+                }
+            }
+            ring[position] = key;
+            counts[bucket(key.hashCode())]++;
+            if (++position == ring.length) {
+                position = 0;
+                full = true;
+            }
+            this.position = position;
+            return leaving;
+        }
+
+        boolean contains(int hash) {
+            return counts[bucket(hash)] > 0;
+        }
+
+        private int bucket(int hash) {
+            return (hash ^ (hash >>> HALF_INT_SHIFT)) & (counts.length - 1);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.internal.eviction.EvictableEntryView;
+import com.hazelcast.internal.eviction.EvictionPolicyComparator;
+import com.hazelcast.nio.serialization.SerializableByConvention;
+
+/**
+ * {@link com.hazelcast.config.EvictionPolicy#TINY_LFU} policy based {@link EvictionPolicyComparator}.
+ * <p>
+ * The frequency estimation of the policy is kept by the
+ * {@link com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator} which uses this comparator,
+ * since it needs to see all additions and accesses of the store. On its own this comparator only compares
+ * the access hits of the entries and, when they are equal, their recency.
+ */
+@SerializableByConvention
+public class TinyLFUEvictionPolicyComparator extends EvictionPolicyComparator {
+
+    @Override
+    public int compare(EvictableEntryView e1, EvictableEntryView e2) {
+        long hits1 = e1.getAccessHit();
+        long hits2 = e2.getAccessHit();
+        if (hits2 < hits1) {
+            return SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+        } else if (hits1 < hits2) {
+            return FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+        } else {
+            long recency1 = Math.max(e1.getLastAccessTime(), e1.getCreationTime());
+            long recency2 = Math.max(e2.getLastAccessTime(), e2.getCreationTime());
+            // if hits are same, we select the least recently used entry to evict
+            if (recency2 < recency1) {
+                return SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+            } else if (recency2 > recency1) {
+                return FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+            } else {
+                return BOTH_OF_ENTRIES_HAVE_SAME_PRIORITY_TO_BE_EVICTED;
+            }
+        }
+    }
+}
@@ -20,6 +20,8 @@ import com.hazelcast.internal.eviction.Evictable;
 import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.internal.eviction.EvictionPolicyComparator;
 import com.hazelcast.internal.eviction.Expirable;
+import com.hazelcast.internal.eviction.WindowTinyLFU;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.util.Clock;
 
 /**
@@ -32,15 +34,41 @@ import com.hazelcast.util.Clock;
 public class EvictionPolicyEvaluator<A, E extends Evictable> {
 
     private final EvictionPolicyComparator evictionPolicyComparator;
+    private final WindowTinyLFU tinyLFU;
 
     public EvictionPolicyEvaluator(EvictionPolicyComparator evictionPolicyComparator) {
         this.evictionPolicyComparator = evictionPolicyComparator;
+        this.tinyLFU = evictionPolicyComparator instanceof TinyLFUEvictionPolicyComparator ? new WindowTinyLFU(0) : null;
     }
 
     public EvictionPolicyComparator getEvictionPolicyComparator() {
         return evictionPolicyComparator;
     }
 
+    /**
+     * Notifies the evaluator of an entry added to the store, which the
+     * {@link com.hazelcast.config.EvictionPolicy#TINY_LFU} policy needs to estimate frequencies.
+     *
+     * @param accessor the accessor of the added entry, as the store returns it in eviction candidates
+     * @param size     the number of entries in the store after the addition
+     */
+    public void onAdd(A accessor, int size) {
+        if (tinyLFU != null) {
+            tinyLFU.onAdd(accessor, size);
+        }
+    }
+
+    /**
+     * Notifies the evaluator of an access to an entry of the store.
+     *
+     * @param accessor the accessor of the accessed entry, as the store returns it in eviction candidates
+     */
+    public void onAccess(A accessor) {
+        if (tinyLFU != null) {
+            tinyLFU.onAccess(accessor);
+        }
+    }
+
     /**
      * Selects the best candidate to be evicted.
      * The definition of the best depends on configured eviction policy. (LRU, LFU, custom, etc)
@@ -62,7 +90,7 @@ public class EvictionPolicyEvaluator<A, E extends Evictable> {
                     return currentEvictionCandidate;
                 }
 
-                int comparisonResult = evictionPolicyComparator.compare(selectedEvictionCandidate, currentEvictionCandidate);
+                int comparisonResult = compare(selectedEvictionCandidate, currentEvictionCandidate);
                 if (comparisonResult == EvictionPolicyComparator.SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED) {
                     selectedEvictionCandidate = currentEvictionCandidate;
                 }
@@ -71,6 +99,18 @@ public class EvictionPolicyEvaluator<A, E extends Evictable> {
         return selectedEvictionCandidate;
     }
 
+    private int compare(EvictionCandidate<A, E> candidate1, EvictionCandidate<A, E> candidate2) {
+        if (tinyLFU == null) {
+            return evictionPolicyComparator.compare(candidate1, candidate2);
+        }
+        return tinyLFU.compare(candidate1.getAccessor(), getRecency(candidate1.getEvictable()),
+                candidate2.getAccessor(), getRecency(candidate2.getEvictable()));
+    }
+
+    private static long getRecency(Evictable evictable) {
+        return Math.max(evictable.getCreationTime(), evictable.getLastAccessTime());
+    }
+
     private boolean isExpired(long now, Evictable evictable) {
         boolean expired = false;
         // check if evictable is also an expirable
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MemoryAllocator} decorator which keeps track of the total size of the blocks
+ * allocated through it and not yet freed. Used to attribute the memory of a shared
+ * allocator to one of its users, e.g. to a single record store.
+ * <p>
+ * Disposing this allocator does not dispose the delegate.
+ */
+public class CountingMemoryAllocator implements MemoryAllocator {
+
+    private final MemoryAllocator delegate;
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    public CountingMemoryAllocator(MemoryAllocator delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public long allocate(long size) {
+        long address = delegate.allocate(size);
+        allocatedBytes.addAndGet(size);
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        long newAddress = delegate.reallocate(address, currentSize, newSize);
+        allocatedBytes.addAndGet(newSize - currentSize);
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        delegate.free(address, size);
+        allocatedBytes.addAndGet(-size);
+    }
+
+    /**
+     * @return the total size of the blocks allocated through this allocator and not yet freed
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    @Override
+    public void dispose() {
+        // NOP intentionally, the delegate is shared
+    }
+}
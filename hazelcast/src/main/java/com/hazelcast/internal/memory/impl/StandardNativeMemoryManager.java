@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.memory.MemorySize.toPrettyString;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static java.lang.String.format;
+
+/**
+ * {@link MemoryManager} which allocates native memory blocks directly through
+ * {@code sun.misc.Unsafe#allocateMemory} and enforces an upper bound on the total
+ * amount of memory allocated through it, typically the {@link NativeMemoryConfig#getSize() configured}
+ * native memory size.
+ * <p>
+ * The allocator is thread-safe. It does not keep track of individual blocks, so
+ * {@link #dispose()} does not release any memory: every block must be freed by its owner.
+ */
+public class StandardNativeMemoryManager implements MemoryManager {
+
+    private final long maxNative;
+    private final AtomicLong usedNative = new AtomicLong();
+    private final Allocator malloc = new Allocator();
+    private final MemoryAccessor mem;
+
+    public StandardNativeMemoryManager(NativeMemoryConfig nativeMemoryConfig) {
+        this(nativeMemoryConfig.getSize().bytes());
+    }
+
+    public StandardNativeMemoryManager(long maxNative) {
+        if (!UNSAFE_AVAILABLE || !GlobalMemoryAccessorRegistry.MEM_AVAILABLE) {
+            throw new IllegalStateException("Native memory can only be allocated when sun.misc.Unsafe is available");
+        }
+        this.maxNative = checkPositive(maxNative, "Max native memory size should be positive");
+        this.mem = GlobalMemoryAccessorRegistry.MEM;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return mem;
+    }
+
+    @Override
+    public void dispose() {
+        // NOP intentionally, blocks are released by their owners.
+    }
+
+    /**
+     * @return the total size of the blocks currently allocated through this memory manager
+     */
+    public long getUsedNative() {
+        return usedNative.get();
+    }
+
+    /**
+     * @return the maximum amount of memory which can be allocated through this memory manager
+     */
+    public long getMaxNative() {
+        return maxNative;
+    }
+
+    /**
+     * @return the amount of memory which can still be allocated through this memory manager
+     */
+    public long getFreeNative() {
+        return maxNative - usedNative.get();
+    }
+
+    private void reserve(long size) {
+        for (;;) {
+            long used = usedNative.get();
+            long newUsed = used + size;
+            if (newUsed > maxNative) {
+                throw new NativeOutOfMemoryError(format("Not enough native memory available! Cannot allocate %s!"
+                        + " Max native: %s, used native: %s", toPrettyString(size), toPrettyString(maxNative),
+                        toPrettyString(used)));
+            }
+            if (usedNative.compareAndSet(used, newUsed)) {
+                return;
+            }
+        }
+    }
+
+    private void release(long size) {
+        usedNative.addAndGet(-size);
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            assert size > 0 : "Invalid allocation size: " + size;
+            reserve(size);
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                release(size);
+                throw new NativeOutOfMemoryError("Cannot allocate " + toPrettyString(size) + " of native memory", e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            assert newSize > 0 : "Invalid allocation size: " + newSize;
+            long diff = newSize - currentSize;
+            if (diff > 0) {
+                reserve(diff);
+            }
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                if (diff > 0) {
+                    release(diff);
+                }
+                throw new NativeOutOfMemoryError("Cannot reallocate " + toPrettyString(newSize) + " of native memory", e);
+            }
+            if (diff > 0) {
+                UNSAFE.setMemory(newAddress + currentSize, diff, (byte) 0);
+            } else if (diff < 0) {
+                release(-diff);
+            }
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            assert address != NULL_ADDRESS : "Cannot free the NULL address";
+            UNSAFE.freeMemory(address);
+            release(size);
+        }
+
+        @Override
+        public void dispose() {
+            // NOP intentionally, blocks are released by their owners.
+        }
+    }
+}
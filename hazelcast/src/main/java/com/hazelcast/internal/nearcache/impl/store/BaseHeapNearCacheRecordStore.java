@@ -83,10 +83,31 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         nearCacheStats.incrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, record));
         if (oldRecord != null) {
             nearCacheStats.decrementOwnedEntryMemoryCost(getTotalStorageMemoryCost(key, oldRecord));
+            onRecordAccess(key);
+        } else {
+            onRecordAdded(key);
         }
         return oldRecord;
     }
 
+    @Override
+    protected void onGet(K key, V value, R record) {
+        super.onGet(key, value, record);
+        onRecordAccess(key);
+    }
+
+    private void onRecordAdded(K key) {
+        if (evictionPolicyEvaluator != null) {
+            evictionPolicyEvaluator.onAdd(key, records.size());
+        }
+    }
+
+    private void onRecordAccess(K key) {
+        if (evictionPolicyEvaluator != null) {
+            evictionPolicyEvaluator.onAccess(key);
+        }
+    }
+
     @Override
     protected R removeRecord(K key) {
         R removedRecord = records.remove(key);
@@ -152,6 +173,9 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
         R existingRecord = records.applyIfPresent(key, new IBiFunction<K, R, R>() {
             @Override
             public R apply(K key, R reservedRecord) {
+                if (reservedRecord.getRecordState() == reservationId) {
+                    onRecordAdded(key);
+                }
                 return updateReservedRecordInternal(key, value, reservedRecord, reservationId);
             }
         });
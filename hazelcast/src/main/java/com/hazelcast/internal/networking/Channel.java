@@ -130,6 +130,22 @@ public interface Channel extends Closeable {
      */
     int write(ByteBuffer src) throws IOException;
 
+    /**
+     * Writes the remaining bytes of the buffers {@code srcs[offset]} up to {@code srcs[offset + length - 1]}
+     * to this channel in a single gathering write.
+     *
+     * Like {@link #write(ByteBuffer)}, the write can be partial; the positions of the buffers are advanced
+     * by the number of bytes written from each of them.
+     *
+     * @param srcs   the buffers to write from
+     * @param offset the index of the first buffer to write from
+     * @param length the number of buffers to write from
+     * @return the number of bytes written, possibly zero
+     * @throws IOException if the write fails
+     * @see java.nio.channels.SocketChannel#write(ByteBuffer[], int, int)
+     */
+    long write(ByteBuffer[] srcs, int offset, int length) throws IOException;
+
     /**
      * Closes inbound.
      *
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link ChannelOutboundHandler} that is able to leave the payload of a frame out of the destination
+ * ByteBuffer, so it can be written to the socket directly from its own buffer by a gathering write.
+ *
+ * For every frame {@link #getGatheredPayload(OutboundFrame)} is called first. If it returns a payload, the rest
+ * of the frame is written by {@link #onWriteHeader(OutboundFrame, ByteBuffer)} and the payload is written to the
+ * socket right after it; otherwise the frame is written by {@link #onWrite(OutboundFrame, ByteBuffer)} as usual.
+ * Both calls may be repeated for the same frame, so getGatheredPayload should not have any side effects.
+ * When the payload has been written, {@link #onGatheredPayloadWritten(OutboundFrame)} is called.
+ *
+ * @param <F>
+ * @see ChannelOutboundHandler
+ */
+public interface GatheringChannelOutboundHandler<F extends OutboundFrame> extends ChannelOutboundHandler<F> {
+
+    /**
+     * Returns the payload of the frame if it should be written from its own buffer instead of being copied
+     * to the destination ByteBuffer.
+     *
+     * @param frame the Frame to write
+     * @return the payload to write from its own buffer or {@code null} if the frame should be written by onWrite.
+     */
+    ByteBuffer getGatheredPayload(F frame);
+
+    /**
+     * Writes the content of the Frame preceding its gathered payload to the destination ByteBuffer.
+     *
+     * @param frame the Frame to write
+     * @param dst   the destination ByteBuffer
+     * @return true if the content is written, false if there is not enough space in the ByteBuffer. Nothing is
+     * written in the latter case and the call is repeated once the content of the ByteBuffer has been written.
+     * @throws Exception if something fails while writing to ByteBuffer. When an exception is thrown, the
+     *                   {@link ChannelErrorHandler} is called.
+     */
+    boolean onWriteHeader(F frame, ByteBuffer dst) throws Exception;
+
+    /**
+     * Called once the gathered payload of the frame has been completely written to the socket. From now on the
+     * payload is not accessed anymore, so e.g. pooled memory backing it can be released.
+     *
+     * @param frame the Frame whose payload has been written
+     */
+    void onGatheredPayloadWritten(F frame);
+}
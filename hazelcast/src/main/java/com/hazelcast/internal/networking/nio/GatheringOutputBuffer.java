@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.GatheringChannelOutboundHandler;
+import com.hazelcast.internal.networking.OutboundFrame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Collects the content of many frames for a single gathering write of the {@link NioOutboundPipeline}.
+ *
+ * Frame content written to the output buffer and payloads added by {@link #addPayload(ByteBuffer)} are kept as
+ * a sequence of buffers in the order they were added: every payload is preceded by a slice of the output buffer
+ * holding everything written to it since the previous payload. The output buffer is never compacted while any of
+ * its slices is pending; it's cleared once all buffers have been written. The handler is notified for every payload
+ * that has been written completely.
+ */
+final class GatheringOutputBuffer {
+
+    /**
+     * The maximum number of buffers written at once; well below the IOV_MAX limit of common platforms.
+     */
+    static final int MAX_BUFFERS = 128;
+
+    private final ByteBuffer outputBuffer;
+    private final GatheringChannelOutboundHandler handler;
+    private final ByteBuffer[] buffers = new ByteBuffer[MAX_BUFFERS];
+    // the frame of every payload at the same index in buffers; null for slices of the output buffer
+    private final OutboundFrame[] frames = new OutboundFrame[MAX_BUFFERS];
+    // index of the first buffer not completely written
+    private int first;
+    private int count;
+    // position in the output buffer where the content not covered by a slice yet starts
+    private int sliceStart;
+
+    GatheringOutputBuffer(ByteBuffer outputBuffer, GatheringChannelOutboundHandler handler) {
+        this.outputBuffer = outputBuffer;
+        this.handler = handler;
+    }
+
+    ByteBuffer outputBuffer() {
+        return outputBuffer;
+    }
+
+    /**
+     * Checks if another payload can be added. There must be space left for the slice preceding the payload,
+     * the payload itself and the slice with the content written after it.
+     */
+    boolean isFull() {
+        return count + 2 >= MAX_BUFFERS;
+    }
+
+    boolean isDirty() {
+        return first < count || outputBuffer.position() > sliceStart;
+    }
+
+    void addPayload(OutboundFrame frame, ByteBuffer payload) {
+        addSlice();
+        frames[count] = frame;
+        buffers[count++] = payload;
+    }
+
+    /**
+     * Writes as much of the pending content as the channel accepts in a single gathering write.
+     *
+     * @return the number of bytes written.
+     */
+    long writeTo(Channel channel) throws IOException {
+        addSlice();
+        long written = channel.write(buffers, first, count - first);
+        while (first < count && !buffers[first].hasRemaining()) {
+            onWritten(first++);
+        }
+        if (first == count) {
+            first = 0;
+            count = 0;
+            sliceStart = 0;
+            outputBuffer.clear();
+        }
+        return written;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onWritten(int index) {
+        buffers[index] = null;
+        OutboundFrame frame = frames[index];
+        if (frame != null) {
+            frames[index] = null;
+            handler.onGatheredPayloadWritten(frame);
+        }
+    }
+
+    private void addSlice() {
+        int position = outputBuffer.position();
+        if (position > sliceStart) {
+            ByteBuffer slice = outputBuffer.duplicate();
+            slice.limit(position);
+            slice.position(sliceStart);
+            buffers[count++] = slice;
+            sliceStart = position;
+        }
+    }
+}
@@ -25,7 +25,7 @@ import com.hazelcast.internal.networking.EventLoopGroup;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.LoggingService;
-import com.hazelcast.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.util.concurrent.IdleStrategy;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
@@ -82,8 +82,9 @@ public class NioEventLoopGroup implements EventLoopGroup {
     private final Set<NioChannel> channels = newSetFromMap(new ConcurrentHashMap<NioChannel, Boolean>());
     private final ChannelCloseListener channelCloseListener = new ChannelCloseListenerImpl();
     private final SelectorMode selectorMode;
-    private final BackoffIdleStrategy idleStrategy;
+    private final IdleStrategy idleStrategy;
     private final boolean selectorWorkaroundTest;
+    private final boolean gatheringWrites;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
     private volatile NioThread[] outputThreads;
@@ -101,6 +102,7 @@ public class NioEventLoopGroup implements EventLoopGroup {
         this.selectorMode = ctx.selectorMode;
         this.selectorWorkaroundTest = ctx.selectorWorkaroundTest;
         this.idleStrategy = ctx.idleStrategy;
+        this.gatheringWrites = ctx.gatheringWrites;
     }
 
     @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "used only for testing")
@@ -235,7 +237,8 @@ public class NioEventLoopGroup implements EventLoopGroup {
                 threads[index],
                 loggingService.getLogger(NioOutboundPipeline.class),
                 ioBalancer,
-                channelInitializer);
+                channelInitializer,
+                gatheringWrites);
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
@@ -297,7 +300,7 @@ public class NioEventLoopGroup implements EventLoopGroup {
     }
 
     public static class Context {
-        private BackoffIdleStrategy idleStrategy;
+        private IdleStrategy idleStrategy;
         private LoggingService loggingService;
         private MetricsRegistry metricsRegistry;
         private String threadNamePrefix = "hz";
@@ -307,7 +310,9 @@ public class NioEventLoopGroup implements EventLoopGroup {
         private int balancerIntervalSeconds;
         // The selector mode determines how IO threads will block (or not) on the Selector:
         //  select:         this is the default mode, uses Selector.select(long timeout)
-        //  selectnow:      use Selector.selectNow()
+        //  selectnow:      use Selector.selectNow(); the IO threads busy spin on the selector unless an idle strategy
+        //                  is set, e.g. by selectnow,<maxSpins>,<maxYields>,<minParkPeriodNs>,<maxParkPeriodNs>
+        //                  which backs off as configured when there is nothing to do
         //  selectwithfix:  use Selector.select(timeout) with workaround for bug occurring when
         //                  SelectorImpl.select returns immediately with no channels selected,
         //                  resulting in 100% CPU usage while doing no progress.
@@ -316,6 +321,7 @@ public class NioEventLoopGroup implements EventLoopGroup {
         private SelectorMode selectorMode = SelectorMode.getConfiguredValue();
         private boolean selectorWorkaroundTest = Boolean.getBoolean("hazelcast.io.selector.workaround.test");
         private ChannelInitializer channelInitializer;
+        private boolean gatheringWrites;
 
         public Context() {
             String selectorModeString = SelectorMode.getConfiguredString();
@@ -334,6 +340,16 @@ public class NioEventLoopGroup implements EventLoopGroup {
             return this;
         }
 
+        /**
+         * Sets the strategy used by the IO threads to idle when there is nothing to do in {@link SelectorMode#SELECT_NOW}
+         * mode; {@code null} makes them busy spin. The same instance is used by all IO threads, so it should be
+         * stateless.
+         */
+        public Context idleStrategy(IdleStrategy idleStrategy) {
+            this.idleStrategy = idleStrategy;
+            return this;
+        }
+
         public Context loggingService(LoggingService loggingService) {
             this.loggingService = loggingService;
             return this;
@@ -369,6 +385,11 @@ public class NioEventLoopGroup implements EventLoopGroup {
             return this;
         }
 
+        public Context gatheringWrites(boolean gatheringWrites) {
+            this.gatheringWrites = gatheringWrites;
+            return this;
+        }
+
         public Context channelInitializer(ChannelInitializer channelInitializer) {
             this.channelInitializer = channelInitializer;
             return this;
@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.ChannelOutboundHandler;
+import com.hazelcast.internal.networking.GatheringChannelOutboundHandler;
 import com.hazelcast.internal.networking.InitResult;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
@@ -52,8 +53,12 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
     @Probe(name = "priorityWriteQueueSize")
     public final Queue<OutboundFrame> urgentWriteQueue = new ConcurrentLinkedQueue<OutboundFrame>();
     private final ChannelInitializer initializer;
+    private final boolean gatheringWrites;
 
     private ByteBuffer outputBuffer;
+    // only set when gathering writes are enabled and supported by the outbound handler
+    private GatheringOutputBuffer gatheringOutputBuffer;
+    private GatheringChannelOutboundHandler gatheringHandler;
 
     private final AtomicBoolean scheduled = new AtomicBoolean(false);
     @Probe(name = "bytesWritten")
@@ -62,6 +67,8 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = "priorityFramesWritten")
     private final SwCounter priorityFramesWritten = newSwCounter();
+    @Probe(name = "writeCount")
+    private final SwCounter writeCount = newSwCounter();
     private ChannelOutboundHandler outboundHandler;
 
     private OutboundFrame currentFrame;
@@ -81,9 +88,11 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
                                NioThread ioThread,
                                ILogger logger,
                                IOBalancer balancer,
-                               ChannelInitializer initializer) {
+                               ChannelInitializer initializer,
+                               boolean gatheringWrites) {
         super(channel, ioThread, OP_WRITE, logger, balancer);
         this.initializer = initializer;
+        this.gatheringWrites = gatheringWrites;
     }
 
     @Override
@@ -128,6 +137,24 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
         return bytesPending;
     }
 
+    /**
+     * Returns the average number of frames written to the socket by a single write call.
+     */
+    @Probe(level = DEBUG)
+    private long framesPerWrite() {
+        long writes = writeCount.get();
+        return writes == 0 ? 0 : (normalFramesWritten.get() + priorityFramesWritten.get()) / writes;
+    }
+
+    /**
+     * Returns the average number of bytes written to the socket by a single write call.
+     */
+    @Probe(level = DEBUG)
+    private long bytesPerWrite() {
+        long writes = writeCount.get();
+        return writes == 0 ? 0 : bytesWritten.get() / writes;
+    }
+
     @Probe
     private long idleTimeMs() {
         return max(currentTimeMillis() - lastWriteTime, 0);
@@ -258,7 +285,11 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
             return;
         }
 
-        fillOutputBuffer();
+        if (gatheringHandler != null) {
+            fillGatheringOutputBuffer();
+        } else {
+            fillOutputBuffer();
+        }
 
         if (dirtyOutputBuffer()) {
             writeOutputBufferToSocket();
@@ -287,6 +318,10 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
 
         this.outputBuffer = init.getByteBuffer();
         this.outboundHandler = init.getHandler();
+        if (gatheringWrites && outboundHandler instanceof GatheringChannelOutboundHandler) {
+            this.gatheringHandler = (GatheringChannelOutboundHandler) outboundHandler;
+            this.gatheringOutputBuffer = new GatheringOutputBuffer(outputBuffer, gatheringHandler);
+        }
         registerOp(OP_WRITE);
         return true;
     }
@@ -303,6 +338,9 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
      * @return true if dirty, false otherwise.
      */
     private boolean dirtyOutputBuffer() {
+        if (gatheringOutputBuffer != null) {
+            return gatheringOutputBuffer.isDirty();
+        }
         return outputBuffer != null && outputBuffer.position() > 0;
     }
 
@@ -310,6 +348,12 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
      * Writes to content of the outputBuffer to the socket.
      */
     private void writeOutputBufferToSocket() throws IOException {
+        writeCount.inc();
+        if (gatheringOutputBuffer != null) {
+            bytesWritten.inc(gatheringOutputBuffer.writeTo(channel));
+            return;
+        }
+
         // So there is data for writing, so lets prepare the buffer for writing and then write it to the channel.
         outputBuffer.flip();
         int written = channel.write(outputBuffer);
@@ -341,6 +385,34 @@ public final class NioOutboundPipeline extends NioPipeline implements Runnable {
         }
     }
 
+    /**
+     * Fills the gathering output buffer with frames. Payloads returned by the gathering handler are not copied to
+     * the outputBuffer, they are written directly from the frame. This is done till there are no more frames, till
+     * there is no more space in the outputBuffer or till the maximum number of buffers for a single write is reached.
+     */
+    @SuppressWarnings("unchecked")
+    private void fillGatheringOutputBuffer() throws Exception {
+        if (currentFrame == null) {
+            currentFrame = poll();
+        }
+
+        while (currentFrame != null && !gatheringOutputBuffer.isFull()) {
+            ByteBuffer payload = gatheringHandler.getGatheredPayload(currentFrame);
+            if (payload == null) {
+                if (!outboundHandler.onWrite(currentFrame, outputBuffer)) {
+                    return;
+                }
+            } else {
+                if (!gatheringHandler.onWriteHeader(currentFrame, outputBuffer)) {
+                    return;
+                }
+                gatheringOutputBuffer.addPayload(currentFrame, payload);
+            }
+
+            currentFrame = poll();
+        }
+    }
+
     @Override
     public void run() {
         try {
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Provides the {@link ByteBuffer} an object is serialized into by
+ * {@link InternalSerializationService#toByteBuffer(Object, ByteBufferAllocator)}. It makes it possible to serialize
+ * into pooled or direct memory instead of into a newly allocated byte array.
+ */
+public interface ByteBufferAllocator {
+
+    /**
+     * Allocates a buffer for the given number of bytes.
+     *
+     * @param size the number of bytes the buffer needs to hold
+     * @return the buffer; its position is 0 and it has at least {@code size} bytes remaining.
+     */
+    ByteBuffer allocate(int size);
+}
@@ -29,6 +29,7 @@ import com.hazelcast.nio.serialization.PortableReader;
 import com.hazelcast.spi.serialization.SerializationService;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 public interface InternalSerializationService extends SerializationService, Disposable {
@@ -67,6 +68,17 @@ public interface InternalSerializationService extends SerializationService, Disp
      */
     byte[] toBytes(Object obj, int leftPadding, boolean insertPartitionHash);
 
+    /**
+     * Writes the obj to a {@link ByteBuffer} taken from the given allocator. The content of the buffer is exactly the
+     * same as the byte array returned by {@link #toBytes(Object)}, but the buffer is only allocated once the size of
+     * the serialized object is known, so it can be pooled or direct memory.
+     *
+     * @param obj       object to write
+     * @param allocator the allocator providing the buffer
+     * @return the buffer containing the serialized object, ready to be read from (position 0, limit the size).
+     */
+    ByteBuffer toByteBuffer(Object obj, ByteBufferAllocator allocator);
+
     <B extends Data> B toData(Object obj, DataType type);
 
     <B extends Data> B toData(Object obj, DataType type, PartitioningStrategy strategy);
@@ -19,6 +19,7 @@ package com.hazelcast.internal.serialization.impl;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.serialization.ByteBufferAllocator;
 import com.hazelcast.internal.serialization.InputOutputFactory;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
@@ -39,7 +40,9 @@ import com.hazelcast.nio.serialization.Serializer;
 import com.hazelcast.util.function.Supplier;
 
 import java.io.Externalizable;
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
@@ -146,17 +149,35 @@ public abstract class AbstractSerializationService implements InternalSerializat
         BufferObjectDataOutput out = pool.takeOutputBuffer();
         try {
             out.position(leftPadding);
+            write(out, obj, writeHash, strategy, serializerTypeIdByteOrder);
+            return out.toByteArray();
+        } catch (Throwable e) {
+            throw handleSerializeException(obj, e);
+        } finally {
+            pool.returnOutputBuffer(out);
+        }
+    }
 
-            SerializerAdapter serializer = serializerFor(obj);
-            if (writeHash) {
-                int partitionHash = calculatePartitionHash(obj, strategy);
-                out.writeInt(partitionHash, BIG_ENDIAN);
-            }
-
-            out.writeInt(serializer.getTypeId(), serializerTypeIdByteOrder);
+    @Override
+    public ByteBuffer toByteBuffer(Object obj, ByteBufferAllocator allocator) {
+        checkNotNull(obj);
+        checkNotNull(allocator);
 
-            serializer.write(out, obj);
-            return out.toByteArray();
+        BufferPool pool = bufferPoolThreadLocal.get();
+        BufferObjectDataOutput out = pool.takeOutputBuffer();
+        try {
+            write(out, obj, true, globalPartitioningStrategy, BIG_ENDIAN);
+
+            int size = out.position();
+            ByteBuffer dst = allocator.allocate(size);
+            if (out instanceof ByteArrayObjectDataOutput) {
+                // copy straight from the pooled output; no intermediate byte array
+                dst.put(((ByteArrayObjectDataOutput) out).buffer, 0, size);
+            } else {
+                dst.put(out.toByteArray());
+            }
+            dst.flip();
+            return dst;
         } catch (Throwable e) {
             throw handleSerializeException(obj, e);
         } finally {
@@ -164,6 +185,19 @@ public abstract class AbstractSerializationService implements InternalSerializat
         }
     }
 
+    private void write(BufferObjectDataOutput out, Object obj, boolean writeHash, PartitioningStrategy strategy,
+                       ByteOrder serializerTypeIdByteOrder) throws IOException {
+        SerializerAdapter serializer = serializerFor(obj);
+        if (writeHash) {
+            int partitionHash = calculatePartitionHash(obj, strategy);
+            out.writeInt(partitionHash, BIG_ENDIAN);
+        }
+
+        out.writeInt(serializer.getTypeId(), serializerTypeIdByteOrder);
+
+        serializer.write(out, obj);
+    }
+
     @Override
     public final <T> T toObject(final Object object) {
         if (!(object instanceof Data)) {
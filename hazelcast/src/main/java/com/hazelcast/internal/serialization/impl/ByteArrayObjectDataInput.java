@@ -42,6 +42,8 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
     int pos;
     int mark;
     char[] charBuffer;
+    // if the underlying array is the content of a data, so nested data may be read as slices of it
+    boolean dataSlicing;
 
     private final InternalSerializationService service;
     private final boolean bigEndian;
@@ -65,12 +67,27 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
         this.pos = offset;
     }
 
+    /**
+     * Initializes this input to read the content of the given data.
+     * <p>
+     * Since the content of a data doesn't change, the nested data read from this input by {@link #readDataSlice()}
+     * are {@link HeapDataSlice slices} of the content instead of copies.
+     *
+     * @param data the data to read
+     */
+    void init(Data data) {
+        // a slice is read from its own copy, since e.g. portables contain positions relative to the start of the data
+        init(data.toByteArray(), HeapData.DATA_OFFSET);
+        this.dataSlicing = true;
+    }
+
     @Override
     public void clear() {
         data = null;
         size = 0;
         pos = 0;
         mark = 0;
+        dataSlicing = false;
         if (charBuffer != null && charBuffer.length > UTF_BUFFER_SIZE * 8) {
             charBuffer = new char[UTF_BUFFER_SIZE * 8];
         }
@@ -593,6 +610,34 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
         return bytes == null ? null : new HeapData(bytes);
     }
 
+    /**
+     * Reads a data like {@link #readData()}, but as a {@link HeapDataSlice slice} of the underlying array if this input
+     * was initialized with {@link #init(Data)}. Otherwise the data is copied.
+     * <p>
+     * The slice keeps the whole underlying array alive, so it must be copied before it is retained, see
+     * {@link com.hazelcast.internal.util.ToHeapDataConverter#toHeapData(Data)}.
+     *
+     * @return the data read, or {@code null}
+     * @throws IOException if the data can't be read
+     */
+    final Data readDataSlice() throws IOException {
+        if (!dataSlicing) {
+            return readData();
+        }
+
+        int len = readInt();
+        if (len == NULL_ARRAY_LENGTH) {
+            return null;
+        }
+        if (len == 0) {
+            return new HeapData(EMPTY_BYTE_ARRAY);
+        }
+        checkAvailable(pos, len);
+        Data slice = new HeapDataSlice(data, pos, len);
+        pos += len;
+        return slice;
+    }
+
     @Override
     public final long skip(long n) {
         if (n <= 0 || n >= Integer.MAX_VALUE) {
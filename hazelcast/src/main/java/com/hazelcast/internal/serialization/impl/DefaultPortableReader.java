@@ -20,6 +20,7 @@ import com.hazelcast.nio.Bits;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.FieldDefinition;
 import com.hazelcast.nio.serialization.FieldType;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.Portable;
@@ -35,7 +36,9 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 
+import static com.hazelcast.internal.serialization.impl.PortablePositionFactory.createSinglePrimitivePosition;
 import static com.hazelcast.internal.serialization.impl.PortableUtils.getPortableArrayCellPosition;
+import static com.hazelcast.internal.serialization.impl.PortableUtils.getStreamPositionOfTheField;
 
 /**
  * Can't be accessed concurrently.
@@ -74,6 +77,13 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
         this.offset = ctx.getCurrentOffset();
     }
 
+    /**
+     * @return the class definition of the portable this reader reads from
+     */
+    public ClassDefinition getClassDefinition() {
+        return cd;
+    }
+
     @Override
     public int getVersion() {
         return cd.getVersion();
@@ -115,71 +125,107 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
 
     @Override
     public byte readByte(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.BYTE);
-        return in.readByte(pos.getStreamPosition());
+        int fieldPos = findDirectFieldPosition(path, FieldType.BYTE);
+        if (fieldPos < 0) {
+            PortablePosition pos = findPositionForReading(path);
+            validatePrimitive(pos, FieldType.BYTE);
+            fieldPos = pos.getStreamPosition();
+        }
+        return in.readByte(fieldPos);
     }
 
     @Override
     public short readShort(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.SHORT);
-        return in.readShort(pos.getStreamPosition());
+        int fieldPos = findDirectFieldPosition(path, FieldType.SHORT);
+        if (fieldPos < 0) {
+            PortablePosition pos = findPositionForReading(path);
+            validatePrimitive(pos, FieldType.SHORT);
+            fieldPos = pos.getStreamPosition();
+        }
+        return in.readShort(fieldPos);
     }
 
     @Override
     public int readInt(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.INT);
-        return in.readInt(pos.getStreamPosition());
+        int fieldPos = findDirectFieldPosition(path, FieldType.INT);
+        if (fieldPos < 0) {
+            PortablePosition pos = findPositionForReading(path);
+            validatePrimitive(pos, FieldType.INT);
+            fieldPos = pos.getStreamPosition();
+        }
+        return in.readInt(fieldPos);
     }
 
     @Override
     public long readLong(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.LONG);
-        return in.readLong(pos.getStreamPosition());
+        int fieldPos = findDirectFieldPosition(path, FieldType.LONG);
+        if (fieldPos < 0) {
+            PortablePosition pos = findPositionForReading(path);
+            validatePrimitive(pos, FieldType.LONG);
+            fieldPos = pos.getStreamPosition();
+        }
+        return in.readLong(fieldPos);
     }
 
     @Override
     public float readFloat(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.FLOAT);
-        return in.readFloat(pos.getStreamPosition());
+        int fieldPos = findDirectFieldPosition(path, FieldType.FLOAT);
+        if (fieldPos < 0) {
+            PortablePosition pos = findPositionForReading(path);
+            validatePrimitive(pos, FieldType.FLOAT);
+            fieldPos = pos.getStreamPosition();
+        }
+        return in.readFloat(fieldPos);
     }
 
     @Override
     public double readDouble(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.DOUBLE);
-        return in.readDouble(pos.getStreamPosition());
+        int fieldPos = findDirectFieldPosition(path, FieldType.DOUBLE);
+        if (fieldPos < 0) {
+            PortablePosition pos = findPositionForReading(path);
+            validatePrimitive(pos, FieldType.DOUBLE);
+            fieldPos = pos.getStreamPosition();
+        }
+        return in.readDouble(fieldPos);
     }
 
     @Override
     public boolean readBoolean(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.BOOLEAN);
-        return in.readBoolean(pos.getStreamPosition());
+        int fieldPos = findDirectFieldPosition(path, FieldType.BOOLEAN);
+        if (fieldPos < 0) {
+            PortablePosition pos = findPositionForReading(path);
+            validatePrimitive(pos, FieldType.BOOLEAN);
+            fieldPos = pos.getStreamPosition();
+        }
+        return in.readBoolean(fieldPos);
     }
 
     @Override
     public char readChar(String path) throws IOException {
-        PortablePosition pos = findPositionForReading(path);
-        validatePrimitive(pos, FieldType.CHAR);
-        return in.readChar(pos.getStreamPosition());
+        int fieldPos = findDirectFieldPosition(path, FieldType.CHAR);
+        if (fieldPos < 0) {
+            PortablePosition pos = findPositionForReading(path);
+            validatePrimitive(pos, FieldType.CHAR);
+            fieldPos = pos.getStreamPosition();
+        }
+        return in.readChar(fieldPos);
     }
 
     @Override
     public String readUTF(String path) throws IOException {
         final int currentPos = in.position();
         try {
-            PortablePosition position = findPositionForReading(path);
-            if (position.isNullOrEmpty()) {
-                return null;
+            int fieldPos = findDirectFieldPosition(path, FieldType.UTF);
+            if (fieldPos < 0) {
+                PortablePosition position = findPositionForReading(path);
+                if (position.isNullOrEmpty()) {
+                    return null;
+                }
+                validateNotMultiPosition(position);
+                validateType(position, FieldType.UTF);
+                fieldPos = position.getStreamPosition();
             }
-            validateNotMultiPosition(position);
-            validateType(position, FieldType.UTF);
-            in.position(position.getStreamPosition());
+            in.position(fieldPos);
             return in.readUTF();
         } finally {
             in.position(currentPos);
@@ -208,6 +254,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public byte[] readByteArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.BYTE_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readByteArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -242,6 +293,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public boolean[] readBooleanArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.BOOLEAN_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readBooleanArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -276,6 +332,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public char[] readCharArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.CHAR_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readCharArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -310,6 +371,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public int[] readIntArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.INT_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readIntArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -344,6 +410,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public long[] readLongArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.LONG_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readLongArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -378,6 +449,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public double[] readDoubleArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.DOUBLE_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readDoubleArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -412,6 +488,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public float[] readFloatArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.FLOAT_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readFloatArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -446,6 +527,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public short[] readShortArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.SHORT_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readShortArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -480,6 +566,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public String[] readUTFArray(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            int fieldPos = findDirectFieldPosition(path, FieldType.UTF_ARRAY);
+            if (fieldPos >= 0) {
+                in.position(fieldPos);
+                return in.readUTFArray();
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isNullOrEmpty()) {
                 return null;
@@ -602,6 +693,11 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
     public Object read(String path) throws IOException {
         final int currentPos = in.position();
         try {
+            FieldDefinition fd = findDirectField(path);
+            if (fd != null && fd.getType() != FieldType.PORTABLE && fd.getType() != FieldType.PORTABLE_ARRAY) {
+                int fieldPos = getStreamPositionOfTheField(fd, in, offset);
+                return readSinglePositionFromNonArray(createSinglePrimitivePosition(fd, fieldPos, -1, true));
+            }
             PortablePosition position = findPositionForReading(path);
             if (position.isMultiPosition()) {
                 return readMultiPosition(position.asMultiPosition());
@@ -648,10 +744,32 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
         return readSinglePositionFromNonArray(position);
     }
 
-    private PortablePosition findPositionForReading(String path) throws IOException {
-        if (raw) {
-            throw new HazelcastSerializationException("Cannot read Portable fields after getRawDataInput() is called!");
+    /**
+     * Fast track for a path that is just the name of a field of this portable. Such a field is resolved with a single
+     * class definition lookup, without initialising the path cursor and the navigator context.
+     *
+     * @param path the path of the field to read
+     * @return the definition of the field or null if the path has to be resolved by the {@link PortablePositionNavigator}
+     */
+    private FieldDefinition findDirectField(String path) {
+        checkNotRaw();
+        return cd.getField(path);
+    }
+
+    /**
+     * @return the stream position of the value of the given field if it is a field of this portable with the expected
+     * type, -1 otherwise
+     */
+    private int findDirectFieldPosition(String path, FieldType expectedType) throws IOException {
+        FieldDefinition fd = findDirectField(path);
+        if (fd == null || fd.getType() != expectedType) {
+            return -1;
         }
+        return getStreamPositionOfTheField(fd, in, offset);
+    }
+
+    private PortablePosition findPositionForReading(String path) throws IOException {
+        checkNotRaw();
         try {
             return PortablePositionNavigator.findPositionForReading(ctx, path, pathCursor);
         } finally {
@@ -752,6 +870,12 @@ public class DefaultPortableReader extends ValueReader implements PortableReader
         }
     }
 
+    private void checkNotRaw() {
+        if (raw) {
+            throw new HazelcastSerializationException("Cannot read Portable fields after getRawDataInput() is called!");
+        }
+    }
+
     private void validatePrimitive(PortablePosition position, FieldType expectedType) {
         validateNonNullOrEmptyPosition(position);
         validateNotMultiPosition(position);
@@ -26,11 +26,9 @@ import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.PortableWriter;
 
 import java.io.IOException;
-import java.util.Set;
 
 import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.nio.Bits.NULL_ARRAY_LENGTH;
-import static com.hazelcast.util.SetUtil.createHashSet;
 
 public class DefaultPortableWriter implements PortableWriter {
 
@@ -39,7 +37,8 @@ public class DefaultPortableWriter implements PortableWriter {
     private final BufferObjectDataOutput out;
     private final int begin;
     private final int offset;
-    private final Set<String> writtenFields;
+    // indexed by the field index of the class definition, so checking for a duplicate write does not hash the name
+    private final boolean[] writtenFields;
 
     private boolean raw;
 
@@ -47,7 +46,7 @@ public class DefaultPortableWriter implements PortableWriter {
         this.serializer = serializer;
         this.out = out;
         this.cd = cd;
-        this.writtenFields = createHashSet(cd.getFieldCount());
+        this.writtenFields = new boolean[cd.getFieldCount()];
         this.begin = out.position();
 
         // room for final offset
@@ -239,9 +238,10 @@ public class DefaultPortableWriter implements PortableWriter {
             throw new HazelcastSerializationException("Invalid field name: '" + fieldName
                     + "' for ClassDefinition {id: " + cd.getClassId() + ", version: " + cd.getVersion() + "}");
         }
-        if (writtenFields.add(fieldName)) {
+        int index = fd.getIndex();
+        if (!writtenFields[index]) {
+            writtenFields[index] = true;
             int pos = out.position();
-            int index = fd.getIndex();
             out.writeInt(offset + index * INT_SIZE_IN_BYTES, pos);
             out.writeShort(fieldName.length());
             out.writeBytes(fieldName);
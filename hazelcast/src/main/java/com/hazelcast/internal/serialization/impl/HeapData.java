@@ -107,13 +107,15 @@ public class HeapData implements Data {
         if (this == o) {
             return true;
         }
-        if (o == null) {
-            return false;
-        }
         if (!(o instanceof Data)) {
             return false;
         }
 
+        if (o instanceof HeapDataSlice) {
+            // compares the content without copying it out of the slice
+            return o.equals(this);
+        }
+
         Data data = (Data) o;
         if (getType() != data.getType()) {
             return false;
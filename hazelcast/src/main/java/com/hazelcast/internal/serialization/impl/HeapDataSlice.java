@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.nio.Bits;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.HashUtil;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A {@link Data} implementation which is a window of a larger byte array, e.g. a {@link Data} nested in the payload of
+ * a packet.
+ * <p>
+ * The content is only copied when {@link #toByteArray()} is called; this is done by the code that needs the content as
+ * an array of its own, e.g. when the data is deserialized or before it is stored, see
+ * {@link com.hazelcast.internal.util.ToHeapDataConverter}. Hashing, comparing and writing the data is done on the
+ * window itself. So the many nested data of a bulk operation, which are mostly hashed, compared and written to backups,
+ * don't need to be copied when the operation is read.
+ * <p>
+ * The backing array must not be modified as long as the slice is in use.
+ */
+public final class HeapDataSlice implements Data {
+
+    // array (12: array header, 4: length)
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private final byte[] buffer;
+    private final int offset;
+    private final int length;
+
+    // the copy of the content, created on the first call of toByteArray()
+    private volatile byte[] payload;
+
+    /**
+     * @param buffer the backing array
+     * @param offset the offset of the data in the backing array
+     * @param length the total size of the data in bytes
+     * @throws IllegalArgumentException if the length is not 0 and not more than the {@link HeapData#HEAP_DATA_OVERHEAD}
+     */
+    public HeapDataSlice(byte[] buffer, int offset, int length) {
+        if (length > 0 && length < HEAP_DATA_OVERHEAD) {
+            throw new IllegalArgumentException("Data should be either empty or should contain more than "
+                    + HEAP_DATA_OVERHEAD + " bytes! -> " + length);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public int dataSize() {
+        return Math.max(length - HEAP_DATA_OVERHEAD, 0);
+    }
+
+    @Override
+    public int totalSize() {
+        return length;
+    }
+
+    @Override
+    public void copyTo(byte[] dest, int destPos) {
+        if (length > 0) {
+            System.arraycopy(buffer, offset, dest, destPos, length);
+        }
+    }
+
+    @Override
+    public int getPartitionHash() {
+        if (hasPartitionHash()) {
+            return Bits.readIntB(buffer, offset + PARTITION_HASH_OFFSET);
+        }
+        return hashCode();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return length >= HEAP_DATA_OVERHEAD && Bits.readIntB(buffer, offset + PARTITION_HASH_OFFSET) != 0;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        byte[] copy = payload;
+        if (copy == null) {
+            copy = new byte[length];
+            copyTo(copy, 0);
+            payload = copy;
+        }
+        return copy;
+    }
+
+    @Override
+    public int getType() {
+        if (length == 0) {
+            return SerializationConstants.CONSTANT_TYPE_NULL;
+        }
+        return Bits.readIntB(buffer, offset + TYPE_OFFSET);
+    }
+
+    @Override
+    public int getHeapCost() {
+        // the cost of the content once it is copied; the backing array is accounted for by its owner
+        return REFERENCE_COST_IN_BYTES + ARRAY_HEADER_SIZE_IN_BYTES + length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Data)) {
+            return false;
+        }
+
+        Data data = (Data) o;
+        if (getType() != data.getType()) {
+            return false;
+        }
+
+        int dataSize = dataSize();
+        if (dataSize != data.dataSize()) {
+            return false;
+        }
+        return dataSize == 0 || contentEquals(data);
+    }
+
+    private boolean contentEquals(Data data) {
+        if (data instanceof HeapDataSlice) {
+            HeapDataSlice that = (HeapDataSlice) data;
+            return equals(buffer, offset, that.buffer, that.offset, length);
+        }
+        return equals(buffer, offset, data.toByteArray(), 0, length);
+    }
+
+    // same as HeapData.equals(byte[], byte[]); the loop order is reversed and the header is skipped
+    private static boolean equals(byte[] data1, int offset1, byte[] data2, int offset2, int length) {
+        for (int i = length - 1; i >= DATA_OFFSET; i--) {
+            if (data1[offset1 + i] != data2[offset2 + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return HashUtil.MurmurHash3_x86_32(buffer, offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public long hash64() {
+        return HashUtil.MurmurHash3_x64_64(buffer, offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == getType();
+    }
+
+    @Override
+    public String toString() {
+        return "HeapDataSlice{"
+                + "type=" + getType()
+                + ", hashCode=" + hashCode()
+                + ", partitionHash=" + getPartitionHash()
+                + ", totalSize=" + totalSize()
+                + ", dataSize=" + dataSize()
+                + ", heapCost=" + getHeapCost()
+                + '}';
+    }
+}
@@ -19,6 +19,7 @@ package com.hazelcast.internal.serialization.impl;
 import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.instance.OutOfMemoryErrorDispatcher;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.ByteArraySerializer;
@@ -98,6 +99,42 @@ public final class SerializationUtil {
         }
     }
 
+    /**
+     * Initializes the given input to read the content of the given data.
+     * <p>
+     * If the input supports it, the nested data read from the input by {@link #readDataSlice(ObjectDataInput)} are
+     * {@link HeapDataSlice slices} of the content of the given data instead of copies.
+     *
+     * @param in   the input to initialize
+     * @param data the data to read
+     */
+    public static void initDataInput(BufferObjectDataInput in, Data data) {
+        if (in instanceof ByteArrayObjectDataInput) {
+            ((ByteArrayObjectDataInput) in).init(data);
+        } else {
+            in.init(data.toByteArray(), HeapData.DATA_OFFSET);
+        }
+    }
+
+    /**
+     * Reads a data from the given input as a {@link HeapDataSlice slice} of the content of the data the input was
+     * initialized with, see {@link #initDataInput(BufferObjectDataInput, Data)}. If that is not possible, the data
+     * is read by {@link ObjectDataInput#readData()}.
+     * <p>
+     * The slice keeps the whole content alive, so the caller must copy it before it is retained, e.g. when it is
+     * stored, see {@link com.hazelcast.internal.util.ToHeapDataConverter#toHeapData(Data)}.
+     *
+     * @param in the input to read from
+     * @return the data read, or {@code null}
+     * @throws IOException if the data can't be read
+     */
+    public static Data readDataSlice(ObjectDataInput in) throws IOException {
+        if (in instanceof ByteArrayObjectDataInput) {
+            return ((ByteArrayObjectDataInput) in).readDataSlice();
+        }
+        return in.readData();
+    }
+
     static int indexForDefaultType(final int typeId) {
         return -typeId;
     }
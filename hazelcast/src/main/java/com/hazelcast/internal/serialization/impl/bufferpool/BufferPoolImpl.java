@@ -17,7 +17,6 @@
 package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
-import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -26,6 +25,7 @@ import java.io.Closeable;
 import java.util.ArrayDeque;
 import java.util.Queue;
 
+import static com.hazelcast.internal.serialization.impl.SerializationUtil.initDataInput;
 import static com.hazelcast.nio.IOUtil.closeResource;
 
 /**
@@ -72,7 +72,7 @@ public class BufferPoolImpl implements BufferPool {
         if (in == null) {
             in = serializationService.createObjectDataInput((byte[]) null);
         }
-        in.init(data.toByteArray(), HeapData.DATA_OFFSET);
+        initDataInput(in, data);
         return in;
     }
 
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util;
+
+import static com.hazelcast.nio.Bits.readIntL;
+
+/**
+ * Compression and decompression of byte arrays in the LZ4 block format.
+ * <p>
+ * The compressor is a simple greedy one: it looks up every position in a hash table of the last positions of 4-byte
+ * sequences, and takes the match if one is found. It trades compression ratio for speed, which makes it suitable to
+ * compress data on the fly, e.g. before it is written to a socket.
+ * <p>
+ * A block consists of sequences of a token, literals, a match offset and a match length. The last 5 bytes of a block
+ * are always literals, and the last match starts at least 12 bytes before the end of the block.
+ */
+public final class LZ4BlockCodec {
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MF_LIMIT = 12;
+    private static final int MAX_DISTANCE = 0xFFFF;
+    private static final int HASH_LOG = 12;
+    private static final int HASH_MULTIPLIER = -1640531535;
+    private static final int RUN_MASK = 0x0F;
+    private static final int ML_BITS = 4;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int EXTENSION_BYTE = 0xFF;
+    private static final int BITS_PER_BYTE = 8;
+
+    private LZ4BlockCodec() {
+    }
+
+    /**
+     * Returns the maximum length of the compressed form of the given number of bytes.
+     *
+     * @param length the number of bytes to compress
+     * @return the maximum compressed length
+     */
+    public static int maxCompressedLength(int length) {
+        return length + length / EXTENSION_BYTE + MIN_MATCH * MIN_MATCH;
+    }
+
+    /**
+     * Compresses the source bytes into the destination array.
+     *
+     * @param src    the array containing the bytes to compress
+     * @param srcOff the offset of the first byte to compress
+     * @param srcLen the number of bytes to compress
+     * @param dst    the array to write the compressed bytes to
+     * @param dstOff the offset to start writing at; at least {@link #maxCompressedLength(int)} bytes need to be
+     *               available from this offset on
+     * @return the number of compressed bytes written
+     */
+    public static int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        int srcEnd = srcOff + srcLen;
+        int anchor = srcOff;
+        int dp = dstOff;
+
+        if (srcLen > MF_LIMIT) {
+            int matchLimit = srcEnd - LAST_LITERALS;
+            int mfLimit = srcEnd - MF_LIMIT;
+            // positions are stored + 1, so a zero entry means there is no position
+            int[] hashTable = new int[1 << HASH_LOG];
+            int sp = srcOff;
+            while (sp < mfLimit) {
+                int hash = hash(readIntL(src, sp));
+                int ref = hashTable[hash] - 1;
+                hashTable[hash] = sp + 1;
+                if (ref < 0 || sp - ref > MAX_DISTANCE || readIntL(src, ref) != readIntL(src, sp)) {
+                    sp++;
+                    continue;
+                }
+
+                // extend the match backwards over literals that have not been written yet
+                while (sp > anchor && ref > srcOff && src[sp - 1] == src[ref - 1]) {
+                    sp--;
+                    ref--;
+                }
+                int matchLen = MIN_MATCH;
+                while (sp + matchLen < matchLimit && src[ref + matchLen] == src[sp + matchLen]) {
+                    matchLen++;
+                }
+
+                dp = writeSequence(src, anchor, sp - anchor, sp - ref, matchLen, dst, dp);
+                sp += matchLen;
+                anchor = sp;
+            }
+        }
+
+        dp = writeLiterals(src, anchor, srcEnd - anchor, dst, dp);
+        return dp - dstOff;
+    }
+
+    /**
+     * Decompresses the source bytes into the destination array.
+     *
+     * @param src    the array containing the compressed bytes
+     * @param srcOff the offset of the first compressed byte
+     * @param srcLen the number of compressed bytes
+     * @param dst    the array to write the decompressed bytes to
+     * @param dstOff the offset to start writing at
+     * @param dstLen the maximum number of bytes to write
+     * @return the number of decompressed bytes written
+     * @throws IllegalArgumentException if the source bytes are not a valid block, or if they decompress to more
+     *                                  than dstLen bytes
+     */
+    public static int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        int sp = srcOff;
+        int srcEnd = srcOff + srcLen;
+        int dp = dstOff;
+        int dstEnd = dstOff + dstLen;
+
+        while (sp < srcEnd) {
+            int token = src[sp++] & BYTE_MASK;
+
+            int literalLen = token >>> ML_BITS;
+            if (literalLen == RUN_MASK) {
+                int extension = readLengthExtension(src, sp, srcEnd);
+                sp += extension / EXTENSION_BYTE + 1;
+                literalLen += extension;
+            }
+            checkBlock(literalLen <= srcEnd - sp && literalLen <= dstEnd - dp);
+            System.arraycopy(src, sp, dst, dp, literalLen);
+            sp += literalLen;
+            dp += literalLen;
+            if (sp == srcEnd) {
+                // the last sequence only has literals
+                break;
+            }
+
+            checkBlock(srcEnd - sp >= 2);
+            int offset = (src[sp] & BYTE_MASK) | (src[sp + 1] & BYTE_MASK) << BITS_PER_BYTE;
+            sp += 2;
+            checkBlock(offset > 0 && offset <= dp - dstOff);
+
+            int matchLen = token & RUN_MASK;
+            if (matchLen == RUN_MASK) {
+                int extension = readLengthExtension(src, sp, srcEnd);
+                sp += extension / EXTENSION_BYTE + 1;
+                matchLen += extension;
+            }
+            matchLen += MIN_MATCH;
+            checkBlock(matchLen <= dstEnd - dp);
+            copyMatch(dst, dp - offset, dp, matchLen);
+            dp += matchLen;
+        }
+        return dp - dstOff;
+    }
+
+    private static int hash(int sequence) {
+        return (sequence * HASH_MULTIPLIER) >>> (Integer.SIZE - HASH_LOG);
+    }
+
+    private static int writeSequence(byte[] src, int literalOff, int literalLen, int offset, int matchLen,
+                                     byte[] dst, int dp) {
+        int tokenPos = dp++;
+        dp = writeLiteralBytes(src, literalOff, literalLen, dst, dp);
+
+        dst[dp++] = (byte) offset;
+        dst[dp++] = (byte) (offset >>> BITS_PER_BYTE);
+
+        int matchLenCode = matchLen - MIN_MATCH;
+        if (matchLenCode >= RUN_MASK) {
+            dp = writeLengthExtension(matchLenCode - RUN_MASK, dst, dp);
+            matchLenCode = RUN_MASK;
+        }
+        dst[tokenPos] = (byte) (tokenOf(literalLen) | matchLenCode);
+        return dp;
+    }
+
+    private static int writeLiterals(byte[] src, int literalOff, int literalLen, byte[] dst, int dp) {
+        dst[dp] = (byte) tokenOf(literalLen);
+        return writeLiteralBytes(src, literalOff, literalLen, dst, dp + 1);
+    }
+
+    private static int tokenOf(int literalLen) {
+        return Math.min(literalLen, RUN_MASK) << ML_BITS;
+    }
+
+    private static int writeLiteralBytes(byte[] src, int literalOff, int literalLen, byte[] dst, int dp) {
+        if (literalLen >= RUN_MASK) {
+            dp = writeLengthExtension(literalLen - RUN_MASK, dst, dp);
+        }
+        System.arraycopy(src, literalOff, dst, dp, literalLen);
+        return dp + literalLen;
+    }
+
+    private static int writeLengthExtension(int extension, byte[] dst, int dp) {
+        int remaining = extension;
+        while (remaining >= EXTENSION_BYTE) {
+            dst[dp++] = (byte) EXTENSION_BYTE;
+            remaining -= EXTENSION_BYTE;
+        }
+        dst[dp++] = (byte) remaining;
+        return dp;
+    }
+
+    private static int readLengthExtension(byte[] src, int sp, int srcEnd) {
+        int extension = 0;
+        int b;
+        do {
+            checkBlock(sp < srcEnd);
+            b = src[sp++] & BYTE_MASK;
+            extension += b;
+        } while (b == EXTENSION_BYTE);
+        return extension;
+    }
+
+    private static void copyMatch(byte[] dst, int from, int to, int length) {
+        if (to - from >= length) {
+            System.arraycopy(dst, from, dst, to, length);
+            return;
+        }
+        // the match overlaps with the bytes being written, so it repeats a pattern and needs to be copied byte by byte
+        for (int k = 0; k < length; k++) {
+            dst[to + k] = dst[from + k];
+        }
+    }
+
+    private static void checkBlock(boolean valid) {
+        if (!valid) {
+            throw new IllegalArgumentException("Malformed LZ4 block");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.bitmap;
+
+import java.util.Arrays;
+
+/**
+ * Container of a few values stored as a sorted array.
+ */
+final class ArrayContainer extends Container {
+
+    /**
+     * Maximum number of values of an array container, bigger sets are stored
+     * in {@link BitmapContainer}s which take the same 8 KB at this size.
+     */
+    static final int MAX_SIZE = 4096;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private char[] values;
+    private int size;
+
+    ArrayContainer() {
+        this.values = new char[INITIAL_CAPACITY];
+    }
+
+    ArrayContainer(char[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    @Override
+    int cardinality() {
+        return size;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return this;
+        }
+        if (size == MAX_SIZE) {
+            return toBitmap().add(value);
+        }
+        index = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.min(MAX_SIZE, Math.max(INITIAL_CAPACITY, size * 2)));
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            System.arraycopy(values, index + 1, values, index, size - index - 1);
+            size--;
+        }
+        return this;
+    }
+
+    @Override
+    int next(int from) {
+        if (from >= CAPACITY) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(values, 0, size, (char) from);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < size ? values[index] : -1;
+    }
+
+    @Override
+    Container and(Container other) {
+        char[] result = new char[Math.min(size, other.cardinality())];
+        int resultSize = 0;
+        for (int i = 0; i < size && resultSize < result.length; i++) {
+            if (other.contains(values[i])) {
+                result[resultSize++] = values[i];
+            }
+        }
+        return new ArrayContainer(result, resultSize);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:npathcomplexity")
+    Container or(Container other) {
+        if (!(other instanceof ArrayContainer)) {
+            return other.or(this);
+        }
+        ArrayContainer array = (ArrayContainer) other;
+        if (size + array.size > MAX_SIZE) {
+            return toBitmap().or(other);
+        }
+        char[] result = new char[size + array.size];
+        int resultSize = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < array.size) {
+            char left = values[i];
+            char right = array.values[j];
+            if (left <= right) {
+                result[resultSize++] = left;
+                i++;
+                if (left == right) {
+                    j++;
+                }
+            } else {
+                result[resultSize++] = right;
+                j++;
+            }
+        }
+        while (i < size) {
+            result[resultSize++] = values[i++];
+        }
+        while (j < array.size) {
+            result[resultSize++] = array.values[j++];
+        }
+        return new ArrayContainer(result, resultSize);
+    }
+
+    @Override
+    Container andNot(Container other) {
+        char[] result = new char[size];
+        int resultSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (!other.contains(values[i])) {
+                result[resultSize++] = values[i];
+            }
+        }
+        return new ArrayContainer(result, resultSize);
+    }
+
+    @Override
+    Container copy() {
+        return new ArrayContainer(Arrays.copyOf(values, Math.max(size, INITIAL_CAPACITY)), size);
+    }
+
+    BitmapContainer toBitmap() {
+        BitmapContainer bitmap = new BitmapContainer();
+        for (int i = 0; i < size; i++) {
+            bitmap.add(values[i]);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.bitmap;
+
+/**
+ * Container of many values stored as a plain bitmap of {@link Container#CAPACITY} bits.
+ */
+final class BitmapContainer extends Container {
+
+    private static final int WORD_BITS = Long.SIZE;
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_COUNT = CAPACITY / WORD_BITS;
+
+    private final long[] words;
+    private int cardinality;
+
+    BitmapContainer() {
+        this.words = new long[WORD_COUNT];
+    }
+
+    private BitmapContainer(long[] words, int cardinality) {
+        this.words = words;
+        this.cardinality = cardinality;
+    }
+
+    @Override
+    int cardinality() {
+        return cardinality;
+    }
+
+    @Override
+    boolean contains(char value) {
+        return (words[value >>> WORD_SHIFT] & (1L << value)) != 0;
+    }
+
+    @Override
+    Container add(char value) {
+        int index = value >>> WORD_SHIFT;
+        long word = words[index];
+        long updated = word | (1L << value);
+        if (updated != word) {
+            words[index] = updated;
+            cardinality++;
+        }
+        return this;
+    }
+
+    @Override
+    Container remove(char value) {
+        remove0(value);
+        return cardinality <= ArrayContainer.MAX_SIZE ? toArray() : this;
+    }
+
+    @Override
+    int next(int from) {
+        int index = from >>> WORD_SHIFT;
+        if (index >= WORD_COUNT) {
+            return -1;
+        }
+        long word = words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == WORD_COUNT) {
+                return -1;
+            }
+            word = words[index];
+        }
+        return index * WORD_BITS + Long.numberOfTrailingZeros(word);
+    }
+
+    @Override
+    Container and(Container other) {
+        if (!(other instanceof BitmapContainer)) {
+            return other.and(this);
+        }
+        long[] otherWords = ((BitmapContainer) other).words;
+        long[] result = new long[WORD_COUNT];
+        int resultCardinality = 0;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            result[i] = words[i] & otherWords[i];
+            resultCardinality += Long.bitCount(result[i]);
+        }
+        return compact(result, resultCardinality);
+    }
+
+    @Override
+    Container or(Container other) {
+        long[] result = words.clone();
+        int resultCardinality = 0;
+        if (other instanceof BitmapContainer) {
+            long[] otherWords = ((BitmapContainer) other).words;
+            for (int i = 0; i < WORD_COUNT; i++) {
+                result[i] |= otherWords[i];
+                resultCardinality += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, resultCardinality);
+        }
+        BitmapContainer bitmap = new BitmapContainer(result, cardinality);
+        for (int value = other.next(0); value >= 0; value = other.next(value + 1)) {
+            bitmap.add((char) value);
+        }
+        return bitmap;
+    }
+
+    @Override
+    Container andNot(Container other) {
+        long[] result = words.clone();
+        if (other instanceof BitmapContainer) {
+            long[] otherWords = ((BitmapContainer) other).words;
+            int resultCardinality = 0;
+            for (int i = 0; i < WORD_COUNT; i++) {
+                result[i] &= ~otherWords[i];
+                resultCardinality += Long.bitCount(result[i]);
+            }
+            return compact(result, resultCardinality);
+        }
+        BitmapContainer bitmap = new BitmapContainer(result, cardinality);
+        for (int value = other.next(0); value >= 0; value = other.next(value + 1)) {
+            bitmap.remove0((char) value);
+        }
+        return bitmap.cardinality <= ArrayContainer.MAX_SIZE ? bitmap.toArray() : bitmap;
+    }
+
+    @Override
+    Container copy() {
+        return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    private void remove0(char value) {
+        int index = value >>> WORD_SHIFT;
+        long word = words[index];
+        long updated = word & ~(1L << value);
+        if (updated != word) {
+            words[index] = updated;
+            cardinality--;
+        }
+    }
+
+    private static Container compact(long[] words, int cardinality) {
+        BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+        return cardinality <= ArrayContainer.MAX_SIZE ? bitmap.toArray() : bitmap;
+    }
+
+    private ArrayContainer toArray() {
+        char[] values = new char[cardinality];
+        int size = 0;
+        for (int i = 0; i < WORD_COUNT; i++) {
+            long word = words[i];
+            while (word != 0) {
+                values[size++] = (char) (i * WORD_BITS + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return new ArrayContainer(values, size);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.bitmap;
+
+/**
+ * Set of the 16 low bits of the values of a {@link SparseBitmap} sharing the same high bits.
+ * <p>
+ * The mutating methods return the container holding the result, which is either this
+ * container or a container of another type if the cardinality crossed
+ * {@link ArrayContainer#MAX_SIZE}. The set operations always return new containers.
+ */
+abstract class Container {
+
+    /**
+     * Number of the values a container may hold.
+     */
+    static final int CAPACITY = 1 << Character.SIZE;
+
+    abstract int cardinality();
+
+    abstract boolean contains(char value);
+
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    /**
+     * Returns the lowest value greater than or equal to the given one
+     * or {@code -1} if there is none.
+     */
+    abstract int next(int from);
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract Container copy();
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.bitmap;
+
+import java.util.Arrays;
+
+/**
+ * Compressed bitmap of non-negative int values in the style of roaring bitmaps.
+ * <p>
+ * Values are partitioned by their 16 high bits into containers holding their 16 low bits.
+ * Sparse containers are sorted arrays, dense ones plain bitmaps, so {@link #and},
+ * {@link #or} and {@link #andNot} are merges of small arrays or word-level operations.
+ * <p>
+ * Not thread-safe. The set operations return new bitmaps not sharing any state with
+ * their operands.
+ */
+public final class SparseBitmap {
+
+    private static final int CONTAINER_SHIFT = Character.SIZE;
+    private static final int LOW_MASK = Container.CAPACITY - 1;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public SparseBitmap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private SparseBitmap(int capacity) {
+        this.keys = new char[capacity];
+        this.containers = new Container[capacity];
+    }
+
+    /**
+     * Adds the given value to this bitmap.
+     *
+     * @param value the non-negative value to add
+     */
+    public void add(int value) {
+        assert value >= 0 : value;
+        char key = (char) (value >>> CONTAINER_SHIFT);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new ArrayContainer());
+        }
+        containers[index] = containers[index].add((char) (value & LOW_MASK));
+    }
+
+    /**
+     * Removes the given value from this bitmap if it's present.
+     */
+    public void remove(int value) {
+        char key = (char) (value >>> CONTAINER_SHIFT);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            return;
+        }
+        Container container = containers[index].remove((char) (value & LOW_MASK));
+        if (container.cardinality() == 0) {
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+            containers[--size] = null;
+        } else {
+            containers[index] = container;
+        }
+    }
+
+    public boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> CONTAINER_SHIFT));
+        return index >= 0 && containers[index].contains((char) (value & LOW_MASK));
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    /**
+     * Returns the lowest value of this bitmap greater than or equal to the given one
+     * or {@code -1} if there is none, the values can be iterated as:
+     * <pre>
+     * for (int value = bitmap.next(0); value >= 0; value = bitmap.next(value + 1)) {
+     *     ...
+     * }
+     * </pre>
+     */
+    public int next(int from) {
+        if (from < 0) {
+            return -1;
+        }
+        char key = (char) (from >>> CONTAINER_SHIFT);
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        int low = from & LOW_MASK;
+        if (index < 0) {
+            index = -index - 1;
+            low = 0;
+        }
+        for (; index < size; index++, low = 0) {
+            int next = containers[index].next(low);
+            if (next >= 0) {
+                return keys[index] << CONTAINER_SHIFT | next;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the intersection of this bitmap and the given one.
+     */
+    public SparseBitmap and(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap(Math.max(INITIAL_CAPACITY, Math.min(size, other.size)));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                result.append(keys[i], containers[i].and(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the union of this bitmap and the given one.
+     */
+    public SparseBitmap or(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap(Math.max(INITIAL_CAPACITY, size + other.size));
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                result.append(keys[i], containers[i].copy());
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        for (; i < size; i++) {
+            result.append(keys[i], containers[i].copy());
+        }
+        for (; j < other.size; j++) {
+            result.append(other.keys[j], other.containers[j].copy());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values of this bitmap which are not in the given one.
+     */
+    public SparseBitmap andNot(SparseBitmap other) {
+        SparseBitmap result = new SparseBitmap(Math.max(INITIAL_CAPACITY, size));
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.size && other.keys[j] == keys[i]) {
+                result.append(keys[i], containers[i].andNot(other.containers[j]));
+            } else {
+                result.append(keys[i], containers[i].copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of this bitmap.
+     */
+    public SparseBitmap copy() {
+        SparseBitmap copy = new SparseBitmap(Math.max(INITIAL_CAPACITY, size));
+        for (int i = 0; i < size; i++) {
+            copy.append(keys[i], containers[i].copy());
+        }
+        return copy;
+    }
+
+    public void clear() {
+        Arrays.fill(containers, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SparseBitmap{cardinality=" + cardinality() + '}';
+    }
+
+    /**
+     * Appends a container with a key greater than the keys of all the other containers.
+     */
+    private void append(char key, Container container) {
+        if (container.cardinality() > 0) {
+            insert(size, key, container);
+        }
+    }
+
+    private void insert(int index, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+}
@@ -0,0 +1,518 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.bplustree;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.nio.Disposable;
+
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * B+tree mapping binary keys to {@code long} values, where all the nodes and keys live in
+ * memory allocated from a {@link MemoryManager}, typically native memory.
+ * <p>
+ * Keys are ordered lexicographically, comparing their bytes as unsigned values; a key
+ * which is a prefix of another key is ordered before it. Each key is copied into its own
+ * block of memory, laid out as its {@code int} length followed by its bytes. A node is a
+ * fixed-size block holding a header and up to {@code nodeCapacity} entries, each entry
+ * being a (key address, value) pair:
+ * <ul>
+ * <li>entries of a leaf node are the mappings themselves, in key order; leaves are linked
+ * to their right sibling, so ranges are scanned without going back to the inner nodes</li>
+ * <li>the value of an entry of an inner node is the address of a child node and its key
+ * is the lowest key that can be found in that child; the key of the first entry is never
+ * set, the first child covers all the keys lower than the key of the second entry</li>
+ * </ul>
+ * Removals never merge nodes: a leaf may become empty and stays linked, so that the height
+ * of the tree never decreases. Nodes are released only by {@link #clear()} and {@link #dispose()}.
+ * <p>
+ * This class is not thread-safe, the caller must ensure that no update runs concurrently
+ * with any other access.
+ */
+public final class BPlusTree implements Disposable {
+
+    /**
+     * Default maximum number of entries in a node.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private static final int MIN_NODE_CAPACITY = 4;
+
+    private static final int LEVEL_OFFSET = 0;
+    private static final int COUNT_OFFSET = LEVEL_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int NEXT_OFFSET = COUNT_OFFSET + INT_SIZE_IN_BYTES;
+    private static final int ENTRIES_OFFSET = NEXT_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private static final int ENTRY_KEY_OFFSET = 0;
+    private static final int ENTRY_VALUE_OFFSET = ENTRY_KEY_OFFSET + LONG_SIZE_IN_BYTES;
+    private static final int ENTRY_SIZE = ENTRY_VALUE_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private static final int INITIAL_PATH_LENGTH = 4;
+    private static final int BYTE_MASK = 0xFF;
+
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final int nodeCapacity;
+    private final long nodeSize;
+
+    private long root;
+    private long size;
+
+    // nodes and child indexes visited by the last descent from the root, reused to avoid litter
+    private long[] pathNodes = new long[INITIAL_PATH_LENGTH];
+    private int[] pathIndexes = new int[INITIAL_PATH_LENGTH];
+
+    public BPlusTree(MemoryManager memoryManager) {
+        this(memoryManager, DEFAULT_NODE_CAPACITY);
+    }
+
+    public BPlusTree(MemoryManager memoryManager, int nodeCapacity) {
+        checkTrue(nodeCapacity >= MIN_NODE_CAPACITY, "Node capacity must be at least " + MIN_NODE_CAPACITY);
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.nodeCapacity = nodeCapacity;
+        this.nodeSize = ENTRIES_OFFSET + (long) nodeCapacity * ENTRY_SIZE;
+        this.root = newNode(0);
+    }
+
+    /**
+     * @return the number of mappings in this tree
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Maps the given key to the given value, replacing the value of the key if it is already present.
+     *
+     * @return {@code true} if the key was not present in this tree
+     */
+    public boolean put(byte[] key, long value) {
+        assertValid();
+        int depth = descend(key);
+        long leaf = depth == 0 ? root : valueAt(pathNodes[depth - 1], pathIndexes[depth - 1]);
+        int index = leafIndexOf(leaf, key);
+        if (index < count(leaf) && compare(keyAt(leaf, index), key) == 0) {
+            setValueAt(leaf, index, value);
+            return false;
+        }
+        insert(leaf, index, allocateKey(key), value, depth);
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the value mapped to the given key or {@link MemoryAllocator#NULL_ADDRESS} if the key is not present
+     */
+    public long get(byte[] key) {
+        assertValid();
+        long leaf = findLeaf(key);
+        int index = leafIndexOf(leaf, key);
+        if (index < count(leaf) && compare(keyAt(leaf, index), key) == 0) {
+            return valueAt(leaf, index);
+        }
+        return NULL_ADDRESS;
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     *
+     * @return {@code true} if the key was present in this tree
+     */
+    public boolean remove(byte[] key) {
+        assertValid();
+        long leaf = findLeaf(key);
+        int index = leafIndexOf(leaf, key);
+        int count = count(leaf);
+        if (index == count || compare(keyAt(leaf, index), key) != 0) {
+            return false;
+        }
+        freeKey(keyAt(leaf, index));
+        copyEntries(leaf, index + 1, leaf, index, count - index - 1);
+        setCount(leaf, count - 1);
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns a cursor positioned before the first mapping whose key is greater than or equal
+     * to the given key. The cursor is valid until the next update of this tree.
+     *
+     * @param fromKey the lowest key to visit or {@code null} to visit all the mappings
+     */
+    public Cursor cursor(byte[] fromKey) {
+        assertValid();
+        if (fromKey == null) {
+            long node = root;
+            while (level(node) > 0) {
+                node = valueAt(node, 0);
+            }
+            return new Cursor(node, 0);
+        }
+        long leaf = findLeaf(fromKey);
+        return new Cursor(leaf, leafIndexOf(leaf, fromKey));
+    }
+
+    /**
+     * Removes all the mappings and releases all the nodes but the root.
+     */
+    public void clear() {
+        assertValid();
+        free(root);
+        root = newNode(0);
+        size = 0;
+    }
+
+    @Override
+    public void dispose() {
+        if (root == NULL_ADDRESS) {
+            return;
+        }
+        free(root);
+        root = NULL_ADDRESS;
+        size = 0;
+    }
+
+    /**
+     * Descends from the root towards the leaf which should contain the given key, recording
+     * the visited inner nodes in {@link #pathNodes} and {@link #pathIndexes}.
+     *
+     * @return the number of the visited inner nodes
+     */
+    private int descend(byte[] key) {
+        int height = level(root);
+        if (pathNodes.length < height) {
+            pathNodes = new long[height];
+            pathIndexes = new int[height];
+        }
+        long node = root;
+        int depth = 0;
+        while (level(node) > 0) {
+            int childIndex = childIndexOf(node, key);
+            pathNodes[depth] = node;
+            pathIndexes[depth] = childIndex;
+            depth++;
+            node = valueAt(node, childIndex);
+        }
+        return depth;
+    }
+
+    private long findLeaf(byte[] key) {
+        long node = root;
+        while (level(node) > 0) {
+            node = valueAt(node, childIndexOf(node, key));
+        }
+        return node;
+    }
+
+    /**
+     * Inserts the entry at the given index of the node, splitting the node and inserting
+     * the new right sibling into the parent if the node is full.
+     */
+    private void insert(long node, int index, long keyAddress, long value, int depth) {
+        int count = count(node);
+        if (count < nodeCapacity) {
+            copyEntries(node, index, node, index + 1, count - index);
+            setEntry(node, index, keyAddress, value);
+            setCount(node, count + 1);
+            return;
+        }
+
+        int level = level(node);
+        long right = newNode(level);
+        int leftCount = (nodeCapacity + 1) / 2;
+        if (index < leftCount) {
+            int moved = nodeCapacity - leftCount + 1;
+            copyEntries(node, leftCount - 1, right, 0, moved);
+            setCount(right, moved);
+            copyEntries(node, index, node, index + 1, leftCount - 1 - index);
+            setEntry(node, index, keyAddress, value);
+        } else {
+            int moved = nodeCapacity - leftCount;
+            int rightIndex = index - leftCount;
+            copyEntries(node, leftCount, right, 0, rightIndex);
+            setEntry(right, rightIndex, keyAddress, value);
+            copyEntries(node, index, right, rightIndex + 1, moved - rightIndex);
+            setCount(right, moved + 1);
+        }
+        setCount(node, leftCount);
+
+        long separator;
+        if (level == 0) {
+            mem.putLong(right + NEXT_OFFSET, mem.getLong(node + NEXT_OFFSET));
+            mem.putLong(node + NEXT_OFFSET, right);
+            separator = copyKey(keyAt(right, 0));
+        } else {
+            // the lowest key of the right node moves up, its first entry covers everything below the separator
+            separator = keyAt(right, 0);
+            setKeyAt(right, 0, NULL_ADDRESS);
+        }
+
+        if (depth == 0) {
+            long newRoot = newNode(level + 1);
+            setEntry(newRoot, 0, NULL_ADDRESS, node);
+            setEntry(newRoot, 1, separator, right);
+            setCount(newRoot, 2);
+            root = newRoot;
+        } else {
+            insert(pathNodes[depth - 1], pathIndexes[depth - 1] + 1, separator, right, depth - 1);
+        }
+    }
+
+    /**
+     * @return the index of the first entry of the leaf whose key is greater than or equal to the given key
+     */
+    private int leafIndexOf(long leaf, byte[] key) {
+        int low = 0;
+        int high = count(leaf);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(keyAt(leaf, mid), key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the last entry of the inner node whose key is lower than or equal to the given key
+     */
+    private int childIndexOf(long node, byte[] key) {
+        int low = 1;
+        int high = count(node);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(keyAt(node, mid), key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private int compare(long keyAddress, byte[] key) {
+        int length = mem.getInt(keyAddress);
+        int commonLength = Math.min(length, key.length);
+        long base = keyAddress + INT_SIZE_IN_BYTES;
+        for (int i = 0; i < commonLength; i++) {
+            int diff = (mem.getByte(base + i) & BYTE_MASK) - (key[i] & BYTE_MASK);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    private boolean startsWith(long keyAddress, byte[] prefix) {
+        if (mem.getInt(keyAddress) < prefix.length) {
+            return false;
+        }
+        long base = keyAddress + INT_SIZE_IN_BYTES;
+        for (int i = 0; i < prefix.length; i++) {
+            if (mem.getByte(base + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long newNode(int level) {
+        long node = malloc.allocate(nodeSize);
+        mem.putInt(node + LEVEL_OFFSET, level);
+        mem.putInt(node + COUNT_OFFSET, 0);
+        mem.putLong(node + NEXT_OFFSET, NULL_ADDRESS);
+        return node;
+    }
+
+    private void free(long node) {
+        int count = count(node);
+        boolean leaf = level(node) == 0;
+        for (int i = 0; i < count; i++) {
+            freeKey(keyAt(node, i));
+            if (!leaf) {
+                free(valueAt(node, i));
+            }
+        }
+        malloc.free(node, nodeSize);
+    }
+
+    private long allocateKey(byte[] key) {
+        long address = malloc.allocate(INT_SIZE_IN_BYTES + key.length);
+        mem.putInt(address, key.length);
+        mem.copyFromByteArray(key, 0, address + INT_SIZE_IN_BYTES, key.length);
+        return address;
+    }
+
+    private long copyKey(long keyAddress) {
+        long length = INT_SIZE_IN_BYTES + mem.getInt(keyAddress);
+        long address = malloc.allocate(length);
+        mem.copyMemory(keyAddress, address, length);
+        return address;
+    }
+
+    private void freeKey(long keyAddress) {
+        if (keyAddress != NULL_ADDRESS) {
+            malloc.free(keyAddress, INT_SIZE_IN_BYTES + mem.getInt(keyAddress));
+        }
+    }
+
+    private int level(long node) {
+        return mem.getInt(node + LEVEL_OFFSET);
+    }
+
+    private int count(long node) {
+        return mem.getInt(node + COUNT_OFFSET);
+    }
+
+    private void setCount(long node, int count) {
+        mem.putInt(node + COUNT_OFFSET, count);
+    }
+
+    private long entryAddress(long node, int index) {
+        return node + ENTRIES_OFFSET + (long) index * ENTRY_SIZE;
+    }
+
+    private long keyAt(long node, int index) {
+        return mem.getLong(entryAddress(node, index) + ENTRY_KEY_OFFSET);
+    }
+
+    private void setKeyAt(long node, int index, long keyAddress) {
+        mem.putLong(entryAddress(node, index) + ENTRY_KEY_OFFSET, keyAddress);
+    }
+
+    private long valueAt(long node, int index) {
+        return mem.getLong(entryAddress(node, index) + ENTRY_VALUE_OFFSET);
+    }
+
+    private void setValueAt(long node, int index, long value) {
+        mem.putLong(entryAddress(node, index) + ENTRY_VALUE_OFFSET, value);
+    }
+
+    private void setEntry(long node, int index, long keyAddress, long value) {
+        setKeyAt(node, index, keyAddress);
+        setValueAt(node, index, value);
+    }
+
+    private void copyEntries(long fromNode, int fromIndex, long toNode, int toIndex, int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (fromNode != toNode) {
+            mem.copyMemory(entryAddress(fromNode, fromIndex), entryAddress(toNode, toIndex), (long) count * ENTRY_SIZE);
+        } else if (toIndex > fromIndex) {
+            // shifting right within the node, copy backwards not to overwrite the entries yet to be copied
+            for (int i = count - 1; i >= 0; i--) {
+                setEntry(toNode, toIndex + i, keyAt(fromNode, fromIndex + i), valueAt(fromNode, fromIndex + i));
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                setEntry(toNode, toIndex + i, keyAt(fromNode, fromIndex + i), valueAt(fromNode, fromIndex + i));
+            }
+        }
+    }
+
+    private void assertValid() {
+        assert root != NULL_ADDRESS : "B+tree is already disposed";
+    }
+
+    /**
+     * Cursor over the mappings of a {@link BPlusTree} in ascending key order.
+     * Initially positioned before its first mapping, {@link #advance()} must
+     * be called before accessing the mapping under the cursor.
+     */
+    public final class Cursor {
+
+        private long leaf;
+        private int nextIndex;
+        private int index = -1;
+
+        private Cursor(long leaf, int nextIndex) {
+            this.leaf = leaf;
+            this.nextIndex = nextIndex;
+        }
+
+        /**
+         * Moves the cursor to the next mapping.
+         *
+         * @return {@code true} if there is a mapping under the cursor after the move
+         */
+        public boolean advance() {
+            while (leaf != NULL_ADDRESS) {
+                if (nextIndex < count(leaf)) {
+                    index = nextIndex++;
+                    return true;
+                }
+                leaf = mem.getLong(leaf + NEXT_OFFSET);
+                nextIndex = 0;
+            }
+            index = -1;
+            return false;
+        }
+
+        /**
+         * @return the key of the mapping under the cursor
+         */
+        public byte[] key() {
+            long keyAddress = keyAt(current(), index);
+            byte[] key = new byte[mem.getInt(keyAddress)];
+            mem.copyToByteArray(keyAddress + INT_SIZE_IN_BYTES, key, 0, key.length);
+            return key;
+        }
+
+        /**
+         * @return the value of the mapping under the cursor
+         */
+        public long value() {
+            return valueAt(current(), index);
+        }
+
+        /**
+         * Compares the key of the mapping under the cursor with the given key.
+         *
+         * @return a negative integer, zero or a positive integer as the key under the cursor
+         * is lower than, equal to or greater than the given key
+         */
+        public int compareKeyTo(byte[] key) {
+            return compare(keyAt(current(), index), key);
+        }
+
+        /**
+         * @return {@code true} if the key of the mapping under the cursor starts with the given bytes
+         */
+        public boolean keyStartsWith(byte[] prefix) {
+            return startsWith(keyAt(current(), index), prefix);
+        }
+
+        private long current() {
+            if (index < 0) {
+                throw new NoSuchElementException("Cursor is not positioned on a mapping");
+            }
+            return leaf;
+        }
+    }
+}
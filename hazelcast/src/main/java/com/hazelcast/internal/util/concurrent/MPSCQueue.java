@@ -105,21 +105,69 @@ public final class MPSCQueue<E> extends AbstractQueue<E> implements BlockingQueu
     public boolean offer(E item) {
         checkNotNull(item, "item can't be null");
 
-        AtomicReference<Node> putStack = this.putStack;
         Node newHead = new Node();
         newHead.item = item;
+        push(newHead, newHead, 1);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}.
+     *
+     * All items are put on the put-stack using a single CAS, so the consumer is notified at most once and will see
+     * either none or all of the items.
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        checkNotNull(c, "c can't be null");
+        if (c == this) {
+            throw new IllegalArgumentException("Can't add a queue to itself");
+        }
+
+        // the items are chained in reverse order, like they would have been by individual offers
+        Node bottom = null;
+        Node top = null;
+        int count = 0;
+        for (E item : c) {
+            checkNotNull(item, "item can't be null");
+            Node node = new Node();
+            node.item = item;
+            node.next = top;
+            if (bottom == null) {
+                bottom = node;
+            }
+            top = node;
+            count++;
+        }
+
+        if (top == null) {
+            return false;
+        }
 
+        push(top, bottom, count);
+        return true;
+    }
+
+    /**
+     * Pushes a chain of nodes on the put-stack and notifies the consumer if it is blocked.
+     *
+     * @param top    the node that becomes the new head of the put-stack
+     * @param bottom the last node of the chain; its next is linked to the current head
+     * @param count  the number of nodes in the chain
+     */
+    private void push(Node top, Node bottom, int count) {
+        AtomicReference<Node> putStack = this.putStack;
         for (; ; ) {
             Node oldHead = putStack.get();
             if (oldHead == null || oldHead == BLOCKED) {
-                newHead.next = null;
-                newHead.size = 1;
+                bottom.next = null;
+                top.size = count;
             } else {
-                newHead.next = oldHead;
-                newHead.size = oldHead.size + 1;
+                bottom.next = oldHead;
+                top.size = oldHead.size + count;
             }
 
-            if (!putStack.compareAndSet(oldHead, newHead)) {
+            if (!putStack.compareAndSet(oldHead, top)) {
                 continue;
             }
 
@@ -127,7 +175,7 @@ public final class MPSCQueue<E> extends AbstractQueue<E> implements BlockingQueu
                 unpark(consumerThread);
             }
 
-            return true;
+            return;
         }
     }
 
@@ -331,6 +379,7 @@ public final class MPSCQueue<E> extends AbstractQueue<E> implements BlockingQueu
     private static final class Node<E> {
         Node next;
         E item;
+        // only read for the head of the put-stack; nodes below the head of a batch are left at 0
         int size;
     }
 }
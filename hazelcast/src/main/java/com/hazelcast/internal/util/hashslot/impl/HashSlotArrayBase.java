@@ -195,7 +195,23 @@ public abstract class HashSlotArrayBase implements HashSlotArray {
     }
 
 
-    // Additional non-interface public method. Has a specific use case in Hot Restart.
+    // Additional non-interface public methods.
+
+    /**
+     * Returns the address of the value block of the given slot or {@link MemoryAllocator#NULL_ADDRESS}
+     * if the slot is not assigned. Unlike a cursor, traversal by slot index can be resumed from an
+     * arbitrary slot and survives resizing of the array (at the price of possibly missing or repeating
+     * some slots).
+     *
+     * @param slot index of the slot, must be less than {@link #capacity()}
+     */
+    public final long valueAddressOfSlot(long slot) {
+        assertValid();
+        assert slot >= 0 && slot < capacity() : "Slot index out of range: " + slot;
+        return isSlotAssigned(slot) ? valueAddrOfSlot(slot) : NULL_ADDRESS;
+    }
+
+    // Has a specific use case in Hot Restart.
 
     /**
      * Migrates the backing memory region to a new allocator, freeing the current region. Memory allocated by the
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.eviction;
+
+import com.hazelcast.config.ConfigDataSerializerHook;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * Window TinyLFU eviction policy for an {@link com.hazelcast.core.IMap IMap}.
+ * <p>
+ * The record stores of a map with this policy estimate the frequency of their keys and protect recently added
+ * keys, see {@link com.hazelcast.config.EvictionPolicy#TINY_LFU}. This comparator is used only where that
+ * estimation is not available: it compares the hits of the entries and then their last access times.
+ */
+public class TinyLFUEvictionPolicy extends MapEvictionPolicy implements IdentifiedDataSerializable {
+
+    /**
+     * TinyLFU eviction policy instance.
+     */
+    public static final TinyLFUEvictionPolicy INSTANCE = new TinyLFUEvictionPolicy();
+
+    @Override
+    public int compare(EntryView entryView1, EntryView entryView2) {
+        long hits1 = entryView1.getHits();
+        long hits2 = entryView2.getHits();
+        if (hits1 != hits2) {
+            return hits1 < hits2 ? -1 : 1;
+        }
+        long time1 = Math.max(entryView1.getCreationTime(), entryView1.getLastAccessTime());
+        long time2 = Math.max(entryView2.getCreationTime(), entryView2.getLastAccessTime());
+        return (time1 < time2) ? -1 : ((time1 == time2) ? 0 : 1);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return ConfigDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return ConfigDataSerializerHook.TINY_LFU_EVICTION_POLICY;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        //no-op
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        //no-op
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        return this.getClass().equals(obj.getClass());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.getClass().hashCode();
+    }
+}
@@ -38,7 +38,11 @@ public final class ExpirationTimeSetter {
         record.setExpirationTime(expirationTime);
     }
 
-    private static long calculateExpirationTime(Record record, long maxIdleMillis) {
+    /**
+     * Returns the time the record expires at according to its TTL and the given max-idle,
+     * or {@link Long#MAX_VALUE} if it never expires.
+     */
+    public static long calculateExpirationTime(Record record, long maxIdleMillis) {
         // calculate TTL expiration time
         long ttl = checkedTime(record.getTtl());
         long ttlExpirationTime = sumForExpiration(ttl, getLifeStartTime(record));
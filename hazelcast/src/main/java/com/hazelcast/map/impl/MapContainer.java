@@ -31,6 +31,7 @@ import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.nio.ClassLoaderUtil;
@@ -58,6 +59,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
+import static com.hazelcast.map.impl.eviction.Evictor.BATCH_PERCENTAGE;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
 import static java.lang.System.getProperty;
@@ -138,8 +140,10 @@ public class MapContainer {
         } else {
             MemoryInfoAccessor memoryInfoAccessor = getMemoryInfoAccessor();
             EvictionChecker evictionChecker = new EvictionChecker(memoryInfoAccessor, mapServiceContext);
-            IPartitionService partitionService = mapServiceContext.getNodeEngine().getPartitionService();
-            evictor = new EvictorImpl(mapEvictionPolicy, evictionChecker, partitionService);
+            NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+            IPartitionService partitionService = nodeEngine.getPartitionService();
+            int batchPercentage = nodeEngine.getProperties().getInteger(BATCH_PERCENTAGE);
+            evictor = new EvictorImpl(mapEvictionPolicy, evictionChecker, partitionService, batchPercentage);
         }
     }
 
@@ -176,6 +180,9 @@ public class MapContainer {
                         return new DataRecordFactory(mapConfig, serializationService, partitioningStrategy);
                     case OBJECT:
                         return new ObjectRecordFactory(mapConfig, serializationService);
+                    case NATIVE:
+                        return new NativeRecordFactory(mapConfig, serializationService, partitioningStrategy,
+                                mapServiceContext.getNativeMemoryManager());
                     default:
                         throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
                 }
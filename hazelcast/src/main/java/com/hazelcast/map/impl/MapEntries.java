@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.internal.serialization.impl.SerializationUtil;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.Data;
@@ -30,6 +31,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import static com.hazelcast.internal.serialization.impl.SerializationUtil.readDataSlice;
+
 /**
  * MapEntries is a collection of {@link Data} instances for keys and values of a {@link java.util.Map.Entry}.
  */
@@ -152,4 +155,25 @@ public final class MapEntries implements IdentifiedDataSerializable {
             values.add(in.readData());
         }
     }
+
+    /**
+     * Reads the entries like {@link #readData(ObjectDataInput)}, but the keys and values are slices of the content
+     * of the input, if the input supports it. So reading the entries doesn't copy each key and value.
+     * <p>
+     * The slices keep the whole content of the input alive, so the caller must copy a key or value before it is
+     * retained, see {@link com.hazelcast.internal.util.ToHeapDataConverter#toHeapData(Data)}.
+     *
+     * @param in the input to read from
+     * @throws IOException if the entries can't be read
+     * @see SerializationUtil#readDataSlice(ObjectDataInput)
+     */
+    public void readDataSlices(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        keys = new ArrayList<Data>(size);
+        values = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(readDataSlice(in));
+            values.add(readDataSlice(in));
+        }
+    }
 }
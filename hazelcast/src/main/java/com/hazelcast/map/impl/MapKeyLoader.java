@@ -20,6 +20,7 @@ import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.IFunction;
 import com.hazelcast.core.MapLoader;
 import com.hazelcast.core.Member;
+import com.hazelcast.core.PartitionedMapLoader;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
@@ -70,6 +71,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 /**
  * Loads keys from a {@link MapLoader} and sends them to all partitions for loading
  */
+@SuppressWarnings("checkstyle:methodcount")
 public class MapKeyLoader {
 
     private static final long LOADING_TRIGGER_DELAY = SECONDS.toMillis(5);
@@ -119,6 +121,7 @@ public class MapKeyLoader {
      */
     private LoadFinishedFuture keyLoadFinished = new LoadFinishedFuture(true);
     private MapOperationProvider operationProvider;
+    private PartitionedKeyLoadStats partitionedKeyLoadStats;
 
     /**
      * Role of this {@link MapKeyLoader}
@@ -128,7 +131,9 @@ public class MapKeyLoader {
         /**
          * Loads keys from the map loader and dispatches them to the partition owners.
          * The sender map key loader is equal to the partition owner for the
-         * partition containing the map name.
+         * partition containing the map name. With a {@link PartitionedMapLoader},
+         * the owner of each partition is the sender of the keys of its partition
+         * on initial load.
          *
          * @see MapLoader#loadAllKeys()
          * @see com.hazelcast.map.impl.operation.LoadMapOperation
@@ -185,7 +190,8 @@ public class MapKeyLoader {
     public Future startInitialLoad(MapStoreContext mapStoreContext, int partitionId) {
         this.partitionId = partitionId;
         this.mapNamePartition = partitionService.getPartitionId(toData.apply(mapName));
-        Role newRole = calculateRole();
+        boolean partitioned = mapStoreContext.isPartitionedMapLoader();
+        Role newRole = partitioned ? calculatePartitionedRole() : calculateRole();
 
         role.nextOrStay(newRole);
         state.next(State.LOADING);
@@ -194,6 +200,10 @@ public class MapKeyLoader {
             logger.finest("startInitialLoad invoked " + getStateMessage());
         }
 
+        if (partitioned) {
+            return newRole == Role.SENDER ? sendPartitionKeys(mapStoreContext) : keyLoadFinished;
+        }
+
         switch (newRole) {
             case SENDER:
                 return sendKeys(mapStoreContext, false);
@@ -223,6 +233,14 @@ public class MapKeyLoader {
         return assignRole(isPartitionOwner, isMapNamePartition, isMapNamePartitionFirstReplica);
     }
 
+    /**
+     * Calculates and returns the role for the map key loader on this partition
+     * when each partition owner loads the keys of its partition
+     */
+    private Role calculatePartitionedRole() {
+        return partitionService.isPartitionOwner(partitionId) ? Role.SENDER : Role.NONE;
+    }
+
     /**
      * Triggers key loading if there is no ongoing key loading task, otherwise
      * does nothing. The actual loading is done on the
@@ -236,16 +254,42 @@ public class MapKeyLoader {
      * @see #sendKeysInBatches(MapStoreContext, boolean)
      */
     private Future<?> sendKeys(final MapStoreContext mapStoreContext, final boolean replaceExistingValues) {
+        return submitKeyLoading(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                sendKeysInBatches(mapStoreContext, replaceExistingValues);
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Triggers loading of the keys of this partition if there is no ongoing key
+     * loading task, otherwise does nothing. The actual loading is done on the
+     * {@link ExecutionService#MAP_LOAD_ALL_KEYS_EXECUTOR} executor, so the pool
+     * size of that executor limits the number of partitions loading their keys
+     * at the same time on this member.
+     *
+     * @param mapStoreContext the map store context for this map
+     * @return a future representing pending completion of the key loading task
+     * @see PartitionedMapLoader#loadAllKeys(int)
+     * @see #sendPartitionKeysInBatches(MapStoreContext)
+     */
+    private Future<?> sendPartitionKeys(final MapStoreContext mapStoreContext) {
+        return submitKeyLoading(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                sendPartitionKeysInBatches(mapStoreContext);
+                return false;
+            }
+        });
+    }
+
+    private Future<?> submitKeyLoading(Callable<Boolean> keyLoadingTask) {
         if (keyLoadFinished.isDone()) {
             keyLoadFinished = new LoadFinishedFuture();
 
-            Future<Boolean> sent = execService.submit(MAP_LOAD_ALL_KEYS_EXECUTOR, new Callable<Boolean>() {
-                @Override
-                public Boolean call() throws Exception {
-                    sendKeysInBatches(mapStoreContext, replaceExistingValues);
-                    return false;
-                }
-            });
+            Future<Boolean> sent = execService.submit(MAP_LOAD_ALL_KEYS_EXECUTOR, keyLoadingTask);
 
             execService.asCompletableFuture(sent).andThen(keyLoadFinished);
         }
@@ -466,6 +510,64 @@ public class MapKeyLoader {
         }
     }
 
+    /**
+     * Loads the keys of this partition from the {@link PartitionedMapLoader} and sends them
+     * in batches for value loading, like {@link #sendKeysInBatches(MapStoreContext, boolean)}
+     * does for all keys. Keys which belong to another partition are sent to its owner.
+     * Once all batches have been acknowledged, only the record store of this partition is
+     * notified that the key loading has finished.
+     * If there is a configured max size policy per node, at most the share of this partition
+     * of the max size of the map is loaded.
+     *
+     * @param mapStoreContext the map store context for this map
+     * @see PartitionedMapLoader#loadAllKeys(int)
+     */
+    private void sendPartitionKeysInBatches(MapStoreContext mapStoreContext) {
+        if (logger.isFinestEnabled()) {
+            logger.finest("sendPartitionKeysInBatches invoked " + getStateMessage());
+        }
+
+        partitionedKeyLoadStats.onPartitionStarted();
+        Iterator<Object> keys = null;
+        Throwable loadError = null;
+
+        try {
+            Iterable<Object> partitionKeys = mapStoreContext.loadAllKeys(partitionId);
+            keys = partitionKeys.iterator();
+            Iterator<Data> dataKeys = map(keys, toData);
+            int clusterSize = partitionService.getMemberPartitionsMap().size();
+            int partitionMaxSize = (int) Math.ceil((double) clusterSize * maxSizePerNode / partitionService.getPartitionCount());
+
+            if (partitionMaxSize > 0) {
+                dataKeys = limit(dataKeys, partitionMaxSize);
+            }
+
+            Iterator<Entry<Integer, Data>> partitionsAndKeys = map(dataKeys, toPartition(partitionService));
+            Iterator<Map<Integer, List<Data>>> batches = toBatches(partitionsAndKeys, maxBatch);
+
+            List<Future> futures = new ArrayList<Future>();
+            while (batches.hasNext()) {
+                Map<Integer, List<Data>> batch = batches.next();
+                futures.addAll(sendBatch(batch, false));
+                for (List<Data> batchKeys : batch.values()) {
+                    partitionedKeyLoadStats.onKeysLoaded(batchKeys.size());
+                }
+            }
+
+            // same barrier as in sendKeysInBatches, the load status must not overtake the keys
+            FutureUtil.waitForever(futures);
+        } catch (Exception caught) {
+            loadError = caught;
+        } finally {
+            updateLocalKeyLoadStatus(loadError);
+            partitionedKeyLoadStats.onPartitionCompleted(loadError != null);
+
+            if (keys instanceof Closeable) {
+                closeResource((Closeable) keys);
+            }
+        }
+    }
+
     /**
      * Sends the key batches to the partition owners for value loading.
      * The returned futures represent pending offloading of the value loading on the
@@ -572,6 +674,10 @@ public class MapKeyLoader {
         this.operationProvider = operationProvider;
     }
 
+    public void setPartitionedKeyLoadStats(PartitionedKeyLoadStats partitionedKeyLoadStats) {
+        this.partitionedKeyLoadStats = partitionedKeyLoadStats;
+    }
+
     /**
      * Returns {@code true} if there is no ongoing key loading and dispatching
      * task on this map key loader.
@@ -46,7 +46,7 @@ class MapRemoteService implements RemoteService {
     public DistributedObject createDistributedObject(String name) {
         Config config = nodeEngine.getConfig();
         MapConfig mapConfig = config.findMapConfig(name);
-        checkMapConfig(mapConfig);
+        checkMapConfig(mapConfig, config.getNativeMemoryConfig());
 
         if (mapConfig.isNearCacheEnabled()) {
             checkNearCacheConfig(name, mapConfig.getNearCacheConfig(), config.getNativeMemoryConfig(), false);
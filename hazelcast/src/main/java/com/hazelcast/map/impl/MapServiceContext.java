@@ -21,6 +21,7 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.impl.StandardNativeMemoryManager;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
 import com.hazelcast.map.impl.journal.MapEventJournal;
@@ -134,6 +135,8 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     ExpirationManager getExpirationManager();
 
+    PartitionedKeyLoadStats getPartitionedKeyLoadStats();
+
     void setService(MapService mapService);
 
     NodeEngine getNodeEngine();
@@ -156,8 +159,23 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     MapOperationProvider getMapOperationProvider(MapConfig mapConfig);
 
+    /**
+     * Returns the provider of the indexes of the given map. Must be called for each
+     * {@link com.hazelcast.query.impl.Indexes} instance, a provider may keep state
+     * shared by the indexes it creates.
+     */
     IndexProvider getIndexProvider(MapConfig mapConfig);
 
+    /**
+     * Returns the node-wide memory manager used by the record stores of
+     * {@link InMemoryFormat#NATIVE NATIVE} maps. It is created on first use
+     * according to the {@link com.hazelcast.config.NativeMemoryConfig}.
+     *
+     * @return the native memory manager
+     * @throws IllegalStateException if native memory is not enabled
+     */
+    StandardNativeMemoryManager getNativeMemoryManager();
+
     Extractors getExtractors(String mapName);
 
     void incrementOperationStats(long startTime, LocalMapStatsImpl localMapStats, String mapName, Operation operation);
@@ -19,8 +19,10 @@ package com.hazelcast.map.impl;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.impl.StandardNativeMemoryManager;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.impl.event.MapEventPublisher;
@@ -39,11 +41,13 @@ import com.hazelcast.map.impl.operation.MapPartitionDestroyTask;
 import com.hazelcast.map.impl.query.AccumulationExecutor;
 import com.hazelcast.map.impl.query.AggregationResult;
 import com.hazelcast.map.impl.query.AggregationResultProcessor;
+import com.hazelcast.map.impl.query.BitmapIndexProvider;
 import com.hazelcast.map.impl.query.CallerRunsAccumulationExecutor;
 import com.hazelcast.map.impl.query.CallerRunsPartitionScanExecutor;
 import com.hazelcast.map.impl.query.DefaultIndexProvider;
 import com.hazelcast.map.impl.query.IndexProvider;
 import com.hazelcast.map.impl.query.MapQueryEngine;
+import com.hazelcast.map.impl.query.NativeIndexProvider;
 import com.hazelcast.map.impl.query.MapQueryEngineImpl;
 import com.hazelcast.map.impl.query.ParallelAccumulationExecutor;
 import com.hazelcast.map.impl.query.ParallelPartitionScanExecutor;
@@ -136,6 +140,7 @@ class MapServiceContextImpl implements MapServiceContext {
     protected final ConstructorFunction<String, MapContainer> mapConstructor;
     protected final PartitionContainer[] partitionContainers;
     protected final ExpirationManager expirationManager;
+    protected final PartitionedKeyLoadStats partitionedKeyLoadStats;
     protected final MapNearCacheManager mapNearCacheManager;
     protected final LocalMapStatsProvider localMapStatsProvider;
     protected final MergePolicyProvider mergePolicyProvider;
@@ -153,6 +158,10 @@ class MapServiceContextImpl implements MapServiceContext {
 
     protected MapService mapService;
 
+    private final Object nativeMemoryManagerMutex = new Object();
+    private volatile StandardNativeMemoryManager nativeMemoryManager;
+
+    @SuppressWarnings("checkstyle:executablestatementcount")
     MapServiceContextImpl(NodeEngine nodeEngine) {
         this.nodeEngine = nodeEngine;
         this.serializationService = nodeEngine.getSerializationService();
@@ -160,6 +169,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.queryCacheContext = new NodeQueryCacheContext(this);
         this.partitionContainers = createPartitionContainers();
         this.expirationManager = new ExpirationManager(partitionContainers, nodeEngine);
+        this.partitionedKeyLoadStats = new PartitionedKeyLoadStats(nodeEngine);
         this.mapNearCacheManager = createMapNearCacheManager();
         this.localMapStatsProvider = createLocalMapStatsProvider();
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
@@ -206,6 +216,7 @@ class MapServiceContextImpl implements MapServiceContext {
     void initRecordComparators() {
         recordComparatorMap.put(InMemoryFormat.OBJECT, new ObjectRecordComparator(serializationService));
         recordComparatorMap.put(InMemoryFormat.BINARY, new DataRecordComparator(serializationService));
+        recordComparatorMap.put(InMemoryFormat.NATIVE, new DataRecordComparator(serializationService));
     }
 
     private MapEventJournal createEventJournal() {
@@ -470,6 +481,11 @@ class MapServiceContextImpl implements MapServiceContext {
         return expirationManager;
     }
 
+    @Override
+    public PartitionedKeyLoadStats getPartitionedKeyLoadStats() {
+        return partitionedKeyLoadStats;
+    }
+
     @Override
     public NodeEngine getNodeEngine() {
         return nodeEngine;
@@ -709,7 +725,42 @@ class MapServiceContextImpl implements MapServiceContext {
 
     @Override
     public IndexProvider getIndexProvider(MapConfig mapConfig) {
-        return indexProvider;
+        IndexProvider provider = indexProvider;
+        if (BitmapIndexProvider.hasBitmapIndex(mapConfig)) {
+            // a new provider per call, the bitmap indexes of each Indexes instance share their own ordinals
+            provider = new BitmapIndexProvider(mapConfig, provider);
+        }
+        if (mapConfig.getInMemoryFormat() == InMemoryFormat.NATIVE) {
+            provider = new NativeIndexProvider(this, mapConfig, provider);
+        }
+        return provider;
+    }
+
+    @Override
+    public StandardNativeMemoryManager getNativeMemoryManager() {
+        StandardNativeMemoryManager memoryManager = nativeMemoryManager;
+        if (memoryManager != null) {
+            return memoryManager;
+        }
+        synchronized (nativeMemoryManagerMutex) {
+            if (nativeMemoryManager == null) {
+                nativeMemoryManager = createNativeMemoryManager();
+            }
+            return nativeMemoryManager;
+        }
+    }
+
+    private StandardNativeMemoryManager createNativeMemoryManager() {
+        NativeMemoryConfig nativeMemoryConfig = nodeEngine.getConfig().getNativeMemoryConfig();
+        if (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled()) {
+            throw new IllegalStateException("Enable native memory config to use NATIVE in-memory-format for IMap");
+        }
+        if (nativeMemoryConfig.getAllocatorType() != NativeMemoryConfig.MemoryAllocatorType.STANDARD) {
+            ILogger logger = nodeEngine.getLogger(getClass());
+            logger.info("Native memory allocator type " + nativeMemoryConfig.getAllocatorType() + " is not available, "
+                    + NativeMemoryConfig.MemoryAllocatorType.STANDARD + " allocator will be used for IMap");
+        }
+        return new StandardNativeMemoryManager(nativeMemoryConfig);
     }
 
     @Override
@@ -20,6 +20,7 @@ import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.MapLoader;
 import com.hazelcast.core.MapLoaderLifecycleSupport;
 import com.hazelcast.core.MapStore;
+import com.hazelcast.core.PartitionedMapLoader;
 import com.hazelcast.core.PostProcessingMapStore;
 import com.hazelcast.internal.diagnostics.Diagnostics;
 import com.hazelcast.internal.diagnostics.StoreLatencyPlugin;
@@ -159,6 +160,26 @@ public class MapStoreWrapper implements MapStore, MapLoaderLifecycleSupport {
         return null;
     }
 
+    /**
+     * @return {@code true} if a {@link PartitionedMapLoader} is configured for this map
+     */
+    public boolean isPartitionedMapLoader() {
+        return impl instanceof PartitionedMapLoader;
+    }
+
+    /**
+     * Returns an {@link Iterable} of the keys of the given partition or {@code null}
+     * if a {@link PartitionedMapLoader} is not configured for this map.
+     *
+     * @see PartitionedMapLoader#loadAllKeys(int)
+     */
+    public Iterable<Object> loadAllKeys(int partitionId) {
+        if (isPartitionedMapLoader()) {
+            return ((PartitionedMapLoader) impl).loadAllKeys(partitionId);
+        }
+        return null;
+    }
+
     @Override
     public Object load(Object key) {
         if (isMapLoader()) {
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Progress of the initial loads of the maps with a {@link com.hazelcast.core.PartitionedMapLoader}
+ * on this member. Each owned partition of such a map loads its own keys, so the initial load of
+ * the map on this member is done once {@link #partitionsCompleted} reaches the number of its
+ * owned partitions.
+ */
+public final class PartitionedKeyLoadStats {
+
+    @Probe(name = "partitionsStarted")
+    private final MwCounter partitionsStarted = newMwCounter();
+    @Probe(name = "partitionsCompleted")
+    private final MwCounter partitionsCompleted = newMwCounter();
+    @Probe(name = "partitionsFailed")
+    private final MwCounter partitionsFailed = newMwCounter();
+    /**
+     * Number of keys loaded and sent to their partitions for value loading.
+     */
+    @Probe(name = "keysLoaded")
+    private final MwCounter keysLoaded = newMwCounter();
+
+    PartitionedKeyLoadStats(NodeEngine nodeEngine) {
+        if (nodeEngine instanceof NodeEngineImpl) {
+            ((NodeEngineImpl) nodeEngine).getMetricsRegistry().scanAndRegister(this, "map.partitionedLoad");
+        }
+    }
+
+    void onPartitionStarted() {
+        partitionsStarted.inc();
+    }
+
+    void onKeysLoaded(int count) {
+        keysLoaded.inc(count);
+    }
+
+    void onPartitionCompleted(boolean failed) {
+        if (failed) {
+            partitionsFailed.inc();
+        }
+        partitionsCompleted.inc();
+    }
+
+    public long getPartitionsStarted() {
+        return partitionsStarted.get();
+    }
+
+    public long getPartitionsCompleted() {
+        return partitionsCompleted.get();
+    }
+
+    public long getPartitionsFailed() {
+        return partitionsFailed.get();
+    }
+
+    public long getKeysLoaded() {
+        return keysLoaded.get();
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.eviction;
 
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.internal.memory.impl.StandardNativeMemoryManager;
 import com.hazelcast.internal.nearcache.NearCache;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapContainer;
@@ -75,6 +76,7 @@ public class EvictionChecker {
     }
 
 
+    @SuppressWarnings("checkstyle:returncount")
     public boolean checkEvictable(RecordStore recordStore) {
         if (recordStore.size() == 0) {
             return false;
@@ -100,6 +102,14 @@ public class EvictionChecker {
                 return checkFreeHeapPercentageEviction(maxSizeConfig);
             case FREE_HEAP_SIZE:
                 return checkFreeHeapSizeEviction(maxSizeConfig);
+            case USED_NATIVE_MEMORY_SIZE:
+                return checkNativeMemorySizeEviction(mapName, maxSizeConfig);
+            case USED_NATIVE_MEMORY_PERCENTAGE:
+                return checkNativeMemoryPercentageEviction(mapName, maxSizeConfig);
+            case FREE_NATIVE_MEMORY_SIZE:
+                return checkFreeNativeMemorySizeEviction(maxSizeConfig);
+            case FREE_NATIVE_MEMORY_PERCENTAGE:
+                return checkFreeNativeMemoryPercentageEviction(maxSizeConfig);
             default:
                 throw new IllegalArgumentException("Not an appropriate max size policy [" + maxSizePolicy + ']');
         }
@@ -207,6 +217,45 @@ public class EvictionChecker {
         return evictable;
     }
 
+    protected boolean checkNativeMemorySizeEviction(String mapName, MaxSizeConfig maxSizeConfig) {
+        long usedNativeBytes = getUsedNativeMemoryInBytes(mapName);
+        int maxUsableNativeMegaBytes = maxSizeConfig.getSize();
+
+        return MEGABYTES.toBytes(maxUsableNativeMegaBytes) < usedNativeBytes;
+    }
+
+    protected boolean checkNativeMemoryPercentageEviction(String mapName, MaxSizeConfig maxSizeConfig) {
+        long usedNativeBytes = getUsedNativeMemoryInBytes(mapName);
+        double maxOccupiedNativePercentage = maxSizeConfig.getSize();
+        long maxNativeMemory = mapServiceContext.getNativeMemoryManager().getMaxNative();
+
+        if (maxNativeMemory <= 0) {
+            return true;
+        }
+
+        return maxOccupiedNativePercentage < (ONE_HUNDRED_PERCENT * usedNativeBytes / maxNativeMemory);
+    }
+
+    protected boolean checkFreeNativeMemorySizeEviction(MaxSizeConfig maxSizeConfig) {
+        long freeNativeBytes = mapServiceContext.getNativeMemoryManager().getFreeNative();
+        int minFreeNativeMegaBytes = maxSizeConfig.getSize();
+
+        return MEGABYTES.toBytes(minFreeNativeMegaBytes) > freeNativeBytes;
+    }
+
+    protected boolean checkFreeNativeMemoryPercentageEviction(MaxSizeConfig maxSizeConfig) {
+        StandardNativeMemoryManager nativeMemoryManager = mapServiceContext.getNativeMemoryManager();
+        long maxNativeMemory = nativeMemoryManager.getMaxNative();
+
+        if (maxNativeMemory <= 0) {
+            return true;
+        }
+
+        double configuredFreePercentage = maxSizeConfig.getSize();
+        double actualFreePercentage = ONE_HUNDRED_PERCENT * nativeMemoryManager.getFreeNative() / maxNativeMemory;
+        return configuredFreePercentage > actualFreePercentage;
+    }
+
     protected long getTotalMemory() {
         return memoryInfoAccessor.getTotalMemory();
     }
@@ -250,6 +299,23 @@ public class EvictionChecker {
         return heapCost;
     }
 
+    /**
+     * Returns the native memory used by the record-stores of the given
+     * {@link com.hazelcast.config.InMemoryFormat#NATIVE NATIVE} map on this member.
+     */
+    protected long getUsedNativeMemoryInBytes(String mapName) {
+        long nativeCost = 0L;
+        final List<Integer> partitionIds = findPartitionIds();
+        for (int partitionId : partitionIds) {
+            final PartitionContainer container = mapServiceContext.getPartitionContainer(partitionId);
+            if (container == null) {
+                continue;
+            }
+            nativeCost += getRecordStoreHeapCost(mapName, container);
+        }
+        return nativeCost;
+    }
+
     protected int getRecordStoreSize(String mapName, PartitionContainer partitionContainer) {
         final RecordStore existingRecordStore = partitionContainer.getExistingRecordStore(mapName);
         if (existingRecordStore == null) {
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.eviction;
 
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.properties.HazelcastProperty;
 
 import static java.lang.Integer.getInteger;
 
@@ -26,6 +27,11 @@ import static java.lang.Integer.getInteger;
  * <p>
  * When the {@link RecordStore} needs to be evicted according to {@link Evictor#checkEvictable},
  * {@link Evictor} removes records from {@link RecordStore}.
+ * <p>
+ * By default a single record is removed each time the limit is exceeded. When
+ * {@value #PROP_BATCH_PERCENTAGE} is set, records are removed in batches until the
+ * {@link RecordStore} is that percentage below its limit, so that sampling and backup
+ * traffic are paid once per batch instead of on every put near the limit.
  */
 public interface Evictor {
 
@@ -35,6 +41,11 @@ public interface Evictor {
 
         }
 
+        @Override
+        public void evictEntries(RecordStore recordStore, Data excludedKey) {
+
+        }
+
         @Override
         public boolean checkEvictable(RecordStore recordStore) {
             return false;
@@ -47,6 +58,12 @@ public interface Evictor {
 
     int SAMPLE_COUNT = getInteger(SYSTEM_PROPERTY_SAMPLE_COUNT, DEFAULT_SAMPLE_COUNT);
 
+    String PROP_BATCH_PERCENTAGE = "hazelcast.internal.map.eviction.batch.percentage";
+
+    int DEFAULT_BATCH_PERCENTAGE = 0;
+
+    HazelcastProperty BATCH_PERCENTAGE = new HazelcastProperty(PROP_BATCH_PERCENTAGE, DEFAULT_BATCH_PERCENTAGE);
+
     /**
      * Evict supplied record-store.
      *
@@ -55,6 +72,16 @@ public interface Evictor {
      */
     void evict(RecordStore recordStore, Data excludedKey);
 
+    /**
+     * Evict supplied record-store on its write path, after {@link #checkEvictable} reported that
+     * it exceeds its limit. Depending on {@value #PROP_BATCH_PERCENTAGE}, this evicts a single
+     * record like {@link #evict} or a batch of records down to a low-water mark.
+     *
+     * @param recordStore the recordStore
+     * @param excludedKey this key has lowest priority to be selected for eviction and it is nullable.
+     */
+    void evictEntries(RecordStore recordStore, Data excludedKey);
+
     /**
      * Check whether the supplied record-store needs eviction.
      *
@@ -16,9 +16,13 @@
 
 package com.hazelcast.map.impl.eviction;
 
+import com.hazelcast.config.MaxSizeConfig;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.eviction.WindowTinyLFU;
+import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.map.eviction.MapEvictionPolicy;
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.ExpiredKey;
 import com.hazelcast.map.impl.recordstore.LazyEntryViewFromRecord;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.impl.recordstore.Storage;
@@ -27,7 +31,10 @@ import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.util.Clock;
 
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+import static com.hazelcast.map.impl.eviction.EvictionChecker.ONE_HUNDRED_PERCENT;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkTrue;
 
 /**
  * Evictor helper methods.
@@ -37,12 +44,22 @@ public class EvictorImpl implements Evictor {
     protected final EvictionChecker evictionChecker;
     protected final IPartitionService partitionService;
     protected final MapEvictionPolicy mapEvictionPolicy;
+    protected final int batchPercentage;
 
     public EvictorImpl(MapEvictionPolicy mapEvictionPolicy,
                        EvictionChecker evictionChecker, IPartitionService partitionService) {
+        this(mapEvictionPolicy, evictionChecker, partitionService, DEFAULT_BATCH_PERCENTAGE);
+    }
+
+    public EvictorImpl(MapEvictionPolicy mapEvictionPolicy,
+                       EvictionChecker evictionChecker, IPartitionService partitionService, int batchPercentage) {
+        checkTrue(batchPercentage >= 0 && batchPercentage < ONE_HUNDRED_PERCENT,
+                "Eviction batch percentage should be in range [0, 100), but found " + batchPercentage);
+
         this.evictionChecker = checkNotNull(evictionChecker);
         this.partitionService = checkNotNull(partitionService);
         this.mapEvictionPolicy = checkNotNull(mapEvictionPolicy);
+        this.batchPercentage = batchPercentage;
     }
 
     @Override
@@ -52,11 +69,81 @@ public class EvictorImpl implements Evictor {
             return;
         }
 
-        evictEntry(recordStore, evictableEntry);
+        Record record = admit(recordStore, getRecordFromEntryView(evictableEntry), excludedKey);
+        evictEntry(recordStore, record, isBackup(recordStore), false);
+    }
+
+    @Override
+    public void evictEntries(RecordStore recordStore, Data excludedKey) {
+        if (batchPercentage == 0) {
+            evict(recordStore, excludedKey);
+            return;
+        }
+
+        boolean backup = isBackup(recordStore);
+        ExpirationManager expirationManager = recordStore.getMapContainer().getMapServiceContext().getExpirationManager();
+        boolean ownerDrivesBackups = expirationManager.canPrimaryDriveExpiration()
+                && getMaxRecordStoreSize(recordStore) > 0;
+        if (backup && ownerDrivesBackups) {
+            // backup replicas follow the batches of the owner, which are sent by EvictBatchBackupOperation
+            return;
+        }
+
+        boolean sendToBackups = ownerDrivesBackups && recordStore.getMapContainer().getTotalBackupCount() > 0;
+        int batchSize = calculateBatchSize(recordStore);
+        for (int i = 0; i < batchSize; i++) {
+            EntryView evictableEntry = selectEvictableEntry(recordStore, excludedKey);
+            if (evictableEntry == null) {
+                break;
+            }
+
+            Record record = getRecordFromEntryView(evictableEntry);
+            if (i == 0) {
+                record = admit(recordStore, record, excludedKey);
+            }
+            evictEntry(recordStore, record, backup, sendToBackups);
+        }
+
+        if (sendToBackups) {
+            expirationManager.sendExpiredKeysToBackups(recordStore, false);
+        }
+    }
+
+    /**
+     * Returns the number of records to evict in a batch, which brings the size of the
+     * supplied record-store down to the batch percentage below its limit. When the
+     * limit is not an entry count, that percentage of the current size is evicted.
+     */
+    private int calculateBatchSize(RecordStore recordStore) {
+        int size = recordStore.size();
+        double maxSize = getMaxRecordStoreSize(recordStore);
+        if (maxSize < 0) {
+            return Math.max(1, (int) (size * batchPercentage / ONE_HUNDRED_PERCENT));
+        }
+
+        double lowWaterMark = maxSize * (ONE_HUNDRED_PERCENT - batchPercentage) / ONE_HUNDRED_PERCENT;
+        return Math.max(1, size - (int) lowWaterMark);
+    }
+
+    /**
+     * Returns the maximum entry count of the supplied record-store or {@code -1}
+     * when the configured max-size-policy does not limit the entry count.
+     */
+    private double getMaxRecordStoreSize(RecordStore recordStore) {
+        MaxSizeConfig maxSizeConfig = recordStore.getMapContainer().getMapConfig().getMaxSizeConfig();
+        switch (maxSizeConfig.getMaxSizePolicy()) {
+            case PER_NODE:
+                return evictionChecker.calculatePerNodeMaxRecordStoreSize(recordStore);
+            case PER_PARTITION:
+                return maxSizeConfig.getSize();
+            default:
+                return -1;
+        }
     }
 
     private EntryView selectEvictableEntry(RecordStore recordStore, Data excludedKey) {
         Iterable<EntryView> samples = getSamples(recordStore);
+        WindowTinyLFU tinyLFU = recordStore.getTinyLFU();
         EntryView excluded = null;
         EntryView selected = null;
 
@@ -68,7 +155,7 @@ public class EvictorImpl implements Evictor {
 
             if (selected == null) {
                 selected = candidate;
-            } else if (mapEvictionPolicy.compare(candidate, selected) < 0) {
+            } else if (compare(tinyLFU, candidate, selected) < 0) {
                 selected = candidate;
             }
         }
@@ -76,19 +163,48 @@ public class EvictorImpl implements Evictor {
         return selected == null ? excluded : selected;
     }
 
+    private int compare(WindowTinyLFU tinyLFU, EntryView candidate, EntryView selected) {
+        if (tinyLFU == null) {
+            return mapEvictionPolicy.compare(candidate, selected);
+        }
+        return tinyLFU.compare(getDataKey(candidate), getRecency(candidate), getDataKey(selected), getRecency(selected));
+    }
+
+    /**
+     * Returns the record to evict: the selected one, or with the {@link com.hazelcast.config.EvictionPolicy#TINY_LFU}
+     * policy the record of the key which left the admission window last, if it is not admitted in place of the
+     * selected one. The key which caused the eviction has just been added to the window, so it is never rejected.
+     */
+    private Record admit(RecordStore recordStore, Record selected, Data excludedKey) {
+        WindowTinyLFU tinyLFU = recordStore.getTinyLFU();
+        Object candidateKey = tinyLFU == null ? null : tinyLFU.pollWindowEvictee();
+        if (candidateKey == null || candidateKey.equals(excludedKey) || candidateKey.equals(selected.getKey())
+                || tinyLFU.admit(candidateKey, selected.getKey())) {
+            return selected;
+        }
+        Record candidate = recordStore.getRecord((Data) candidateKey);
+        return candidate == null ? selected : candidate;
+    }
+
+    private static long getRecency(EntryView entryView) {
+        return Math.max(entryView.getCreationTime(), entryView.getLastAccessTime());
+    }
+
     private Data getDataKey(EntryView candidate) {
         return getRecordFromEntryView(candidate).getKey();
     }
 
-    private void evictEntry(RecordStore recordStore, EntryView selectedEntry) {
-        Record record = getRecordFromEntryView(selectedEntry);
+    private void evictEntry(RecordStore recordStore, Record record, boolean backup, boolean sendToBackups) {
         Data key = record.getKey();
 
         if (recordStore.isLocked(record.getKey())) {
             return;
         }
 
-        boolean backup = isBackup(recordStore);
+        if (sendToBackups) {
+            InvalidationQueue<ExpiredKey> evictedKeys = recordStore.getExpiredKeys();
+            evictedKeys.offer(new ExpiredKey(toHeapData(key), record.getCreationTime()));
+        }
         recordStore.evict(key, backup);
 
         if (!backup) {
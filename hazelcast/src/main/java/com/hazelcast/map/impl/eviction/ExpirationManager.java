@@ -20,6 +20,8 @@ import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.core.LifecycleEvent;
 import com.hazelcast.core.LifecycleListener;
 import com.hazelcast.internal.cluster.ClusterService;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.PartitionContainer;
@@ -33,6 +35,7 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationResponseHandler;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.TaskScheduler;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.spi.partition.IPartition;
 import com.hazelcast.spi.partition.IPartitionService;
@@ -50,8 +53,10 @@ import java.util.Queue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.hazelcast.internal.cluster.Versions.V3_9;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.util.CollectionUtil.isEmpty;
 import static com.hazelcast.util.Preconditions.checkPositive;
@@ -88,6 +93,13 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * {@value com.hazelcast.map.impl.eviction.ExpirationManager#PROP_PRIMARY_DRIVES_BACKUP}: Used to enable/disable
  * management of backup expiration from primary. This can only be used with max idle seconds expiration.
  * </li>
+ * <li>
+ * {@value com.hazelcast.map.impl.eviction.ExpirationManager#PROP_INDEX_ENABLED}: Used to enable an index of the
+ * expiration times of the entries in each partition. With the index, a round only visits the entries whose
+ * expiration time has passed instead of a percentage of all entries; in exchange, the index takes some memory
+ * per expirable entry and has to be updated on each write.
+ * Disabled by default.
+ * </li>
  * </ul>
  * <p>
  * These parameters can be set node-wide or system-wide
@@ -117,10 +129,12 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
     public static final String PROP_TASK_PERIOD_SECONDS = "hazelcast.internal.map.expiration.task.period.seconds";
     public static final String PROP_CLEANUP_PERCENTAGE = "hazelcast.internal.map.expiration.cleanup.percentage";
     public static final String PROP_CLEANUP_OPERATION_COUNT = "hazelcast.internal.map.expiration.cleanup.operation.count";
+    public static final String PROP_INDEX_ENABLED = "hazelcast.internal.map.expiration.index.enabled";
 
     public static final boolean DEFAULT_PRIMARY_DRIVES_BACKUP = true;
     public static final int DEFAULT_TASK_PERIOD_SECONDS = 5;
     public static final int DEFAULT_CLEANUP_PERCENTAGE = 10;
+    public static final boolean DEFAULT_INDEX_ENABLED = false;
     public static final int MAX_EXPIRED_KEY_COUNT_IN_BATCH = 100;
     public static final int DIFFERENCE_BETWEEN_TWO_SUBSEQUENT_PARTITION_CLEANUP_MILLIS = 1000;
 
@@ -132,8 +146,11 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
             = new HazelcastProperty(PROP_CLEANUP_PERCENTAGE, DEFAULT_CLEANUP_PERCENTAGE);
     public static final HazelcastProperty CLEANUP_OPERATION_COUNT
             = new HazelcastProperty(PROP_CLEANUP_OPERATION_COUNT);
+    public static final HazelcastProperty INDEX_ENABLED
+            = new HazelcastProperty(PROP_INDEX_ENABLED, DEFAULT_INDEX_ENABLED);
 
     private final boolean primaryDrivesEviction;
+    private final boolean indexEnabled;
     private final int taskPeriodSeconds;
     private final int partitionCount;
     private final int cleanupPercentage;
@@ -157,6 +174,17 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
     private final AtomicBoolean scheduled = new AtomicBoolean(false);
     private final ClearExpiredRecordsTask task = new ClearExpiredRecordsTask();
 
+    @Probe(name = "indexExpiredCount")
+    private final MwCounter indexExpiredCount = newMwCounter();
+    /**
+     * Sum of the delays between the expiration time of an entry and its removal by the expiration task, for the
+     * entries found through the expiration index. Divided by {@link #indexExpiredCount} it gives the average lag.
+     */
+    @Probe(name = "indexExpiryLagTotalMillis")
+    private final MwCounter indexExpiryLagTotalMillis = newMwCounter();
+    @Probe(name = "indexExpiryLagMaxMillis")
+    private final AtomicLong indexExpiryLagMaxMillis = new AtomicLong();
+
     private volatile ScheduledFuture<?> expirationTask;
 
     @SuppressWarnings("checkstyle:magicnumber")
@@ -180,7 +208,11 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
                 = calculateCleanupOperationCount(properties, partitionCount, operationService.getPartitionThreadCount());
         checkPositive(cleanupOperationCount, "cleanupOperationCount should be a positive number");
         this.primaryDrivesEviction = properties.getBoolean(PRIMARY_DRIVES_BACKUP);
+        this.indexEnabled = properties.getBoolean(INDEX_ENABLED);
         this.nodeEngine.getHazelcastInstance().getLifecycleService().addLifecycleListener(this);
+        if (nodeEngine instanceof NodeEngineImpl) {
+            ((NodeEngineImpl) nodeEngine).getMetricsRegistry().scanAndRegister(this, "map.expiration");
+        }
     }
 
     /**
@@ -472,6 +504,31 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
         }
     }
 
+    /**
+     * Returns {@code true} if record stores should index the expiration times of their entries.
+     *
+     * @see #PROP_INDEX_ENABLED
+     */
+    public boolean isIndexEnabled() {
+        return indexEnabled;
+    }
+
+    /**
+     * Records the removal of an expired entry found through the expiration index of a record store.
+     *
+     * @param lagMillis the time passed between the expiration time of the entry and its removal
+     */
+    public void onIndexedEntryExpired(long lagMillis) {
+        indexExpiredCount.inc();
+        indexExpiryLagTotalMillis.inc(lagMillis);
+        for (; ; ) {
+            long max = indexExpiryLagMaxMillis.get();
+            if (lagMillis <= max || indexExpiryLagMaxMillis.compareAndSet(max, lagMillis)) {
+                return;
+            }
+        }
+    }
+
     public boolean canPrimaryDriveExpiration() {
         if (!primaryDrivesEviction) {
             return false;
@@ -561,6 +618,11 @@ public final class ExpirationManager implements OperationResponseHandler, Lifecy
         return cleanupOperationCount;
     }
 
+    // only used for testing purposes
+    long getIndexExpiredCount() {
+        return indexExpiredCount.get();
+    }
+
     // only used for testing purposes
     boolean isScheduled() {
         return scheduled.get();
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.query.Query;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.util.IterationType;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+
+/**
+ * Base class for streaming the result of a query with a {@link Predicate} and a {@link Projection}
+ * over all the partitions of a map.
+ * <p>
+ * The results are fetched in pages of about {@code fetchSize} rows from the partition owners, by
+ * the same cursor based operation used by the {@link AbstractMapQueryPartitionIterator}. At most
+ * {@code maxInFlightPages} partitions are queried concurrently, each of them with a single page
+ * requested or buffered at a time. When the consumer stops pulling, the fetching stops too, so
+ * the memory used by the iterator is bounded by {@code maxInFlightPages + 1} pages regardless of
+ * the size of the whole result.
+ * <p>
+ * The rows of different partitions are interleaved, the iteration order is not defined.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @param <R> the return type of the projection
+ * @param <T> the type of the response to a page request
+ */
+public abstract class AbstractMapQueryIterator<K, V, R, T> implements Iterator<R> {
+
+    protected final IMap<K, V> map;
+    protected final int fetchSize;
+    protected final Query query;
+
+    private final int partitionCount;
+    private final int maxInFlightPages;
+    private final Queue<PartitionCursor> cursors;
+
+    private int nextPartitionId;
+    private List<Data> page = Collections.emptyList();
+    private int index;
+
+    public AbstractMapQueryIterator(IMap<K, V> map, int partitionCount, int fetchSize, int maxInFlightPages,
+                                    Predicate<K, V> predicate, Projection<Entry<K, V>, R> projection) {
+        this.map = map;
+        this.partitionCount = partitionCount;
+        this.fetchSize = fetchSize;
+        this.maxInFlightPages = maxInFlightPages;
+        this.cursors = new ArrayDeque<PartitionCursor>(maxInFlightPages);
+        this.query = Query.of()
+                          .mapName(map.getName())
+                          .iterationType(IterationType.VALUE)
+                          .predicate(predicate)
+                          .projection(projection)
+                          .build();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index >= page.size()) {
+            if (!advance()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public R next() {
+        if (hasNext()) {
+            return getSerializationService().toObject(page.get(index++));
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing when iterating map with query is not supported");
+    }
+
+    /**
+     * Waits for the oldest requested page and requests the next page of its partition, or starts
+     * querying the next partition if that partition is exhausted.
+     *
+     * @return {@code false} if all the partitions are exhausted
+     */
+    private boolean advance() {
+        startCursors();
+        PartitionCursor cursor = cursors.poll();
+        if (cursor == null) {
+            return false;
+        }
+        Page fetched = await(cursor.pendingPage);
+        page = fetched.rows;
+        index = 0;
+        if (!page.isEmpty() && fetched.nextTableIndex >= 0) {
+            cursor.pendingPage = fetchPage(cursor.partitionId, fetched.nextTableIndex);
+            cursors.offer(cursor);
+        } else {
+            cursor.pendingPage = null;
+        }
+        return true;
+    }
+
+    private void startCursors() {
+        while (cursors.size() < maxInFlightPages && nextPartitionId < partitionCount) {
+            int partitionId = nextPartitionId++;
+            cursors.offer(new PartitionCursor(partitionId, fetchPage(partitionId, Integer.MAX_VALUE)));
+        }
+    }
+
+    private Page await(Future<T> pendingPage) {
+        try {
+            return toPage(pendingPage.get());
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Requests a page of the results of the given partition, starting from the given table index.
+     * The iteration of a partition starts from {@link Integer#MAX_VALUE}, the index is then
+     * converted to the table size on the partition owner.
+     */
+    protected abstract Future<T> fetchPage(int partitionId, int tableIndex);
+
+    protected abstract Page toPage(T response);
+
+    protected abstract SerializationService getSerializationService();
+
+    /**
+     * The serialized rows of a page and the table index from which the next page can be fetched.
+     * A negative index means that the partition is exhausted.
+     */
+    protected static final class Page {
+
+        final List<Data> rows;
+        final int nextTableIndex;
+
+        public Page(List<Data> rows, int nextTableIndex) {
+            this.rows = rows;
+            this.nextTableIndex = nextTableIndex;
+        }
+    }
+
+    private final class PartitionCursor {
+
+        final int partitionId;
+        Future<T> pendingPage;
+
+        PartitionCursor(int partitionId, Future<T> pendingPage) {
+            this.partitionId = partitionId;
+            this.pendingPage = pendingPage;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.query.QueryResult;
+import com.hazelcast.map.impl.query.QueryResultRow;
+import com.hazelcast.map.impl.query.ResultSegment;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.Future;
+
+/**
+ * Iterator streaming the result of a query over all the partitions of a map. The values are fetched
+ * in batches, at most {@code maxInFlightPages} of them are requested or buffered at a time.
+ * The {@link Iterator#remove()} method is not supported and will throw an {@link UnsupportedOperationException}.
+ * <b>NOTE</b>
+ * Iterating the map should be done only when the {@link IMap} is not being
+ * mutated and the cluster is stable (there are no migrations or membership changes).
+ * In other cases, the iterator may not return some entries or may return an entry twice.
+ */
+public class MapQueryIterator<K, V, R> extends AbstractMapQueryIterator<K, V, R, ResultSegment> {
+
+    private final MapProxyImpl<K, V> mapProxy;
+
+    public MapQueryIterator(MapProxyImpl<K, V> mapProxy, int fetchSize, int maxInFlightPages,
+                            Predicate<K, V> predicate, Projection<Entry<K, V>, R> projection) {
+        super(mapProxy, mapProxy.getNodeEngine().getPartitionService().getPartitionCount(), fetchSize, maxInFlightPages,
+                predicate, projection);
+        this.mapProxy = mapProxy;
+    }
+
+    @Override
+    protected Future<ResultSegment> fetchPage(int partitionId, int tableIndex) {
+        MapOperation op = mapProxy.getOperationProvider()
+                                  .createFetchWithQueryOperation(mapProxy.getName(), tableIndex, fetchSize, query);
+        return mapProxy.getOperationService().invokeOnPartition(mapProxy.getServiceName(), op, partitionId);
+    }
+
+    @Override
+    protected Page toPage(ResultSegment segment) {
+        QueryResult queryResult = (QueryResult) segment.getResult();
+        List<Data> rows = new ArrayList<Data>(queryResult.size());
+        for (QueryResultRow row : queryResult) {
+            rows.add(row.getValue());
+        }
+        return new Page(rows, segment.getNextTableIndexToReadFrom());
+    }
+
+    @Override
+    protected SerializationService getSerializationService() {
+        return mapProxy.getNodeEngine().getSerializationService();
+    }
+}
@@ -41,6 +41,7 @@ import static com.hazelcast.core.EntryEventType.ADDED;
 import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.REMOVED;
 import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 
 /**
  * The map event journal implementation based on the {@link com.hazelcast.ringbuffer.Ringbuffer}.
@@ -177,7 +178,8 @@ public class RingbufferMapEventJournalImpl implements MapEventJournal {
     }
 
     private Data toData(Object val) {
-        return getSerializationService().toData(val, DataType.HEAP);
+        // a data may be a slice of an operation payload, the journal needs a copy of its own
+        return toHeapData(getSerializationService().<Data>toData(val, DataType.HEAP));
     }
 
     private RingbufferContainer<InternalEventJournalMapEvent, Object> getRingbufferOrFail(ObjectNamespace namespace,
@@ -22,7 +22,6 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.spi.serialization.SerializationService;
 
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -55,27 +54,6 @@ abstract class AbstractWriteBehindProcessor<T> implements WriteBehindProcessor<T
         return serializationService.toObject(obj);
     }
 
-    /**
-     * Used to partition the list to chunks.
-     *
-     * @param list        to be paged.
-     * @param batchSize   batch operation size.
-     * @param chunkNumber batch chunk number.
-     * @return sub-list of list if any or null.
-     */
-    protected List<T> getBatchChunk(List<T> list, int batchSize, int chunkNumber) {
-        if (list == null || list.isEmpty()) {
-            return null;
-        }
-
-        final int start = chunkNumber * batchSize;
-        final int end = Math.min(start + batchSize, list.size());
-        if (start >= end) {
-            return null;
-        }
-        return list.subList(start, end);
-    }
-
     /**
      * Used to group store operations.
      */
@@ -26,10 +26,12 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static com.hazelcast.spi.properties.GroupProperty.MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS;
 import static com.hazelcast.util.CollectionUtil.isNotEmpty;
 import static com.hazelcast.util.MapUtil.createHashMap;
 import static java.lang.Thread.currentThread;
@@ -38,6 +40,7 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 /**
  * Processes store operations.
  */
+@SuppressWarnings("checkstyle:methodcount")
 class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEntry> {
 
     private static final Comparator<DelayedEntry> DELAYED_ENTRY_COMPARATOR = new Comparator<DelayedEntry>() {
@@ -56,9 +59,24 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     private final List<StoreListener> storeListeners;
 
+    /**
+     * Target latency of a single batch, when the batch size is adapted to the latency of the map-store.
+     *
+     * @see com.hazelcast.spi.properties.GroupProperty#MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS
+     */
+    private final long batchTargetLatencyNanos;
+
+    /**
+     * Current batch size, between {@code 1} and {@link #writeBatchSize}.
+     */
+    private volatile int adaptiveBatchSize;
+
     DefaultWriteBehindProcessor(MapStoreContext mapStoreContext) {
         super(mapStoreContext);
         this.storeListeners = new ArrayList<StoreListener>(2);
+        this.batchTargetLatencyNanos = mapStoreContext.getMapServiceContext().getNodeEngine().getProperties()
+                .getNanos(MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS);
+        this.adaptiveBatchSize = writeBatchSize;
     }
 
     @Override
@@ -131,23 +149,48 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         if (size == 0) {
             return Collections.emptyList();
         }
-        // if we want to write all store operations on a key into the MapStore, not same as write-coalescing, we don't call
-        // batch processing methods e.g., MapStore{#storeAll,#deleteAll}, instead we call methods which process single entries
-        // e.g. MapStore{#store,#delete}. This is because MapStore#storeAll requires a Map type in its signature and Map type
-        // can only contain one store operation type per key, so only last update on a key can be included when batching.
-        // Due to that limitation it is not possible to provide a correct no-write-coalescing write-behind behavior.
-        // Under that limitation of current MapStore interface, we are making a workaround and persisting all
-        // entries one by one for no-write-coalescing write-behind map-stores and as a result not doing batching
-        // when writeCoalescing is false.
-        if (size == 1 || !writeCoalescing) {
+        if (size == 1) {
             return processEntriesOneByOne(delayedEntries, operationType);
         }
+        // if we want to write all store operations on a key into the MapStore, not same as write-coalescing, we can't
+        // pass all entries to batch processing methods e.g., MapStore{#storeAll,#deleteAll} at once. This is because
+        // MapStore#storeAll requires a Map type in its signature and Map type can only contain one store operation type
+        // per key, so only last update on a key can be included when batching. Instead, we split entries into runs of
+        // distinct keys and pass each run to batch processing methods in order.
+        if (!writeCoalescing) {
+            return processDistinctKeyRuns(delayedEntries, operationType);
+        }
         final DelayedEntry[] delayedEntriesArray = delayedEntries.toArray(new DelayedEntry[delayedEntries.size()]);
         final Map<Object, DelayedEntry> batchMap = prepareBatchMap(delayedEntriesArray);
+        return callBatchOrSingleStore(batchMap, operationType);
+    }
+
+    private List<DelayedEntry> processDistinctKeyRuns(Collection<DelayedEntry> delayedEntries,
+                                                      StoreOperationType operationType) {
+        List<DelayedEntry> totalFailures = new ArrayList<DelayedEntry>();
+        Map<Object, DelayedEntry> batchMap = new LinkedHashMap<Object, DelayedEntry>();
+        for (DelayedEntry delayedEntry : delayedEntries) {
+            Object key = delayedEntry.getKey();
+            if (batchMap.containsKey(key)) {
+                totalFailures.addAll(callBatchOrSingleStore(batchMap, operationType));
+                batchMap = new LinkedHashMap<Object, DelayedEntry>();
+            }
+            batchMap.put(key, delayedEntry);
+        }
+        totalFailures.addAll(callBatchOrSingleStore(batchMap, operationType));
+        return totalFailures;
+    }
 
+    /**
+     * Stores entries of the given batch map, which contains at most one entry per key, by using
+     * batch processing methods. Entries of a failed batch are retried one by one.
+     *
+     * @return failed entry list if any.
+     */
+    private List<DelayedEntry> callBatchOrSingleStore(Map<Object, DelayedEntry> batchMap, StoreOperationType operationType) {
         // if all batch is on same key, call single store.
         if (batchMap.size() == 1) {
-            final DelayedEntry delayedEntry = delayedEntriesArray[delayedEntriesArray.length - 1];
+            final DelayedEntry delayedEntry = batchMap.values().iterator().next();
             return callSingleStoreWithListeners(delayedEntry, operationType);
         }
         final List<DelayedEntry> failedEntryList = callBatchStoreWithListeners(batchMap, operationType);
@@ -341,32 +384,58 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
     }
 
     /**
-     * Store chunk by chunk using write batch size {@link #writeBatchSize}
+     * Store chunk by chunk using write batch size {@link #writeBatchSize}, or a smaller
+     * batch size adapted to the latency of the map-store if a target latency is set.
      *
      * @param sortedDelayedEntries entries to be stored.
      * @return not-stored entries per partition.
      */
     private Map<Integer, List<DelayedEntry>> doStoreUsingBatchSize(List<DelayedEntry> sortedDelayedEntries) {
         final Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<Integer, List<DelayedEntry>>();
-        int page = 0;
-        List<DelayedEntry> delayedEntryList;
-        while ((delayedEntryList = getBatchChunk(sortedDelayedEntries, writeBatchSize, page++)) != null) {
-            final Map<Integer, List<DelayedEntry>> fails = processInternal(delayedEntryList);
+        final int size = sortedDelayedEntries.size();
+        int start = 0;
+        while (start < size) {
+            final int end = Math.min(start + adaptiveBatchSize, size);
+            final long startNanos = System.nanoTime();
+            final Map<Integer, List<DelayedEntry>> fails = processInternal(sortedDelayedEntries.subList(start, end));
+            adaptBatchSize(System.nanoTime() - startNanos);
             final Set<Map.Entry<Integer, List<DelayedEntry>>> entries = fails.entrySet();
             for (Map.Entry<Integer, List<DelayedEntry>> entry : entries) {
                 final Integer partitionId = entry.getKey();
                 final List<DelayedEntry> tmpFailList = entry.getValue();
-                List<DelayedEntry> failList = failsPerPartition.get(partitionId);
-                if (failList == null || failList.isEmpty()) {
+                final List<DelayedEntry> failList = failsPerPartition.get(partitionId);
+                if (failList == null) {
                     failsPerPartition.put(partitionId, tmpFailList);
-                    failList = failsPerPartition.get(partitionId);
+                } else {
+                    failList.addAll(tmpFailList);
                 }
-                failList.addAll(tmpFailList);
             }
+            start = end;
         }
         return failsPerPartition;
     }
 
+    /**
+     * Halves the batch size when storing a batch took longer than the target latency
+     * and doubles it, up to {@link #writeBatchSize}, when it took less than half of it.
+     */
+    private void adaptBatchSize(long elapsedNanos) {
+        if (batchTargetLatencyNanos <= 0) {
+            return;
+        }
+        final int batchSize = adaptiveBatchSize;
+        if (elapsedNanos > batchTargetLatencyNanos) {
+            adaptiveBatchSize = Math.max(1, batchSize >> 1);
+        } else if (elapsedNanos < batchTargetLatencyNanos >> 1) {
+            adaptiveBatchSize = (int) Math.min(writeBatchSize, 2L * batchSize);
+        }
+    }
+
+    // only used for testing purposes
+    int getAdaptiveBatchSize() {
+        return adaptiveBatchSize;
+    }
+
     private List<DelayedEntry> retryCall(RetryTask task) {
         boolean result = false;
         Exception exception = null;
@@ -33,10 +33,17 @@ import com.hazelcast.util.Clock;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import static com.hazelcast.spi.ExecutionService.MAP_WRITE_BEHIND_EXECUTOR;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_WRITE_BEHIND_PARALLELISM;
 import static com.hazelcast.util.CollectionUtil.isEmpty;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -45,7 +52,9 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * That thread uses this runnable task to process write-behind-queues. This task collects entries from
  * write behind queues and passes them to {@link #writeBehindProcessor}.
  * <p/>
- * Only one {@link StoreWorker} task is created for a map on a member.
+ * Only one {@link StoreWorker} task is created for a map on a member. When
+ * {@link GroupProperty#MAP_WRITE_BEHIND_PARALLELISM} is greater than one, the entries
+ * of owned partitions are split by partition and stored by that many threads.
  */
 public class StoreWorker implements Runnable {
 
@@ -60,6 +69,7 @@ public class StoreWorker implements Runnable {
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    private final int parallelism;
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
      * has a store-time which is smaller than or equal to the highestStoreTime, it will be processed.
@@ -80,6 +90,7 @@ public class StoreWorker implements Runnable {
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.parallelism = nodeEngine.getProperties().getInteger(MAP_WRITE_BEHIND_PARALLELISM);
     }
 
 
@@ -145,7 +156,7 @@ public class StoreWorker implements Runnable {
         }
 
         if (!isEmpty(ownersList)) {
-            Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
+            Map<Integer, List<DelayedEntry>> failuresPerPartition = process(ownersList);
             removeFinishedStoreOperationsFromQueues(mapName, ownersList);
             reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
         }
@@ -158,6 +169,85 @@ public class StoreWorker implements Runnable {
 
     }
 
+    /**
+     * Passes entries to {@link #writeBehindProcessor}. When {@link #parallelism} is greater than one,
+     * entries are split into groups of partitions, each of which is processed by another thread
+     * of the {@link com.hazelcast.spi.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR} executor. All
+     * store operations on a key are in the same group, so they are still processed in order.
+     *
+     * @param delayedEntries entries to be processed.
+     * @return failed entries per partition.
+     */
+    private Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> delayedEntries) {
+        if (parallelism <= 1 || delayedEntries.size() == 1) {
+            return writeBehindProcessor.process(delayedEntries);
+        }
+
+        List<List<DelayedEntry>> groups = groupByPartition(delayedEntries);
+        List<Future<Map<Integer, List<DelayedEntry>>>> futures
+                = new ArrayList<Future<Map<Integer, List<DelayedEntry>>>>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            List<DelayedEntry> group = groups.get(i);
+            if (!group.isEmpty()) {
+                futures.add(submit(group));
+            }
+        }
+
+        // each partition is processed by a single group, so failures of groups don't overlap
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = new HashMap<Integer, List<DelayedEntry>>();
+        List<DelayedEntry> ownGroup = groups.get(0);
+        if (!ownGroup.isEmpty()) {
+            failuresPerPartition.putAll(writeBehindProcessor.process(ownGroup));
+        }
+        for (Future<Map<Integer, List<DelayedEntry>>> future : futures) {
+            failuresPerPartition.putAll(getUninterruptibly(future));
+        }
+        return failuresPerPartition;
+    }
+
+    private List<List<DelayedEntry>> groupByPartition(List<DelayedEntry> delayedEntries) {
+        List<List<DelayedEntry>> groups = new ArrayList<List<DelayedEntry>>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            groups.add(new ArrayList<DelayedEntry>());
+        }
+        for (DelayedEntry delayedEntry : delayedEntries) {
+            groups.get(delayedEntry.getPartitionId() % parallelism).add(delayedEntry);
+        }
+        return groups;
+    }
+
+    private Future<Map<Integer, List<DelayedEntry>>> submit(final List<DelayedEntry> group) {
+        return executionService.submit(MAP_WRITE_BEHIND_EXECUTOR, new Callable<Map<Integer, List<DelayedEntry>>>() {
+            @Override
+            public Map<Integer, List<DelayedEntry>> call() {
+                return writeBehindProcessor.process(group);
+            }
+        });
+    }
+
+    /**
+     * Waits for a group of entries to be processed even if this thread is interrupted, since the
+     * entries are removed from the write-behind-queues afterwards.
+     */
+    private static <V> V getUninterruptibly(Future<V> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    throw rethrow(e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                currentThread().interrupt();
+            }
+        }
+    }
+
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
         if (list == null) {
             list = new ArrayList<DelayedEntry>(capacity);
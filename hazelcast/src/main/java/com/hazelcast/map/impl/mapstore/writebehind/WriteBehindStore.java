@@ -32,6 +32,7 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -42,17 +43,21 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.spi.impl.OperationResponseHandlerFactory.createEmptyResponseHandler;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_WRITE_BEHIND_BACKPRESSURE_MAX_DELAY_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_WRITE_BEHIND_BACKPRESSURE_THRESHOLD;
 import static com.hazelcast.util.MapUtil.createHashMap;
 
 /**
  * Write behind map data store implementation.
  * Created per every record-store. Only called from one thread.
  */
+@SuppressWarnings("checkstyle:methodcount")
 public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
 
     /**
@@ -108,6 +113,18 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
     private final String mapName;
     private final int partitionId;
 
+    /**
+     * Size of {@link #writeBehindQueue} above which writes on the owner replica are slowed down.
+     *
+     * @see com.hazelcast.spi.properties.GroupProperty#MAP_WRITE_BEHIND_BACKPRESSURE_THRESHOLD
+     */
+    private final int backpressureThreshold;
+    private final long backpressureMaxDelayNanos;
+    /**
+     * Only incremented by the partition thread, volatile so that it can be read from others.
+     */
+    private volatile long throttledWriteCount;
+
     private WriteBehindProcessor writeBehindProcessor;
     private WriteBehindQueue<DelayedEntry> writeBehindQueue;
 
@@ -121,12 +138,20 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
         this.mapName = mapStoreContext.getMapName();
         this.nodeEngine = mapStoreContext.getMapServiceContext().getNodeEngine();
         this.operationService = nodeEngine.getOperationService();
+        HazelcastProperties properties = nodeEngine.getProperties();
+        this.backpressureThreshold = properties.getInteger(MAP_WRITE_BEHIND_BACKPRESSURE_THRESHOLD);
+        this.backpressureMaxDelayNanos = properties.getNanos(MAP_WRITE_BEHIND_BACKPRESSURE_MAX_DELAY_MILLIS);
     }
 
 
     @Override
     public Object add(Data key, Object value, long now) {
+        applyBackpressure();
+
+        return addInternal(key, value, now);
+    }
 
+    private Object addInternal(Data key, Object value, long now) {
         // When using format InMemoryFormat.NATIVE, just copy key & value to heap.
         if (NATIVE == inMemoryFormat) {
             value = toHeapData(value);
@@ -171,11 +196,17 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
 
     @Override
     public Object addBackup(Data key, Object value, long time) {
-        return add(key, value, time);
+        return addInternal(key, value, time);
     }
 
     @Override
     public void remove(Data key, long now) {
+        applyBackpressure();
+
+        removeInternal(key, now);
+    }
+
+    private void removeInternal(Data key, long now) {
         if (NATIVE == inMemoryFormat) {
             key = toHeapData(key);
         }
@@ -188,7 +219,47 @@ public class WriteBehindStore extends AbstractMapDataStore<Data, Object> {
 
     @Override
     public void removeBackup(Data key, long time) {
-        remove(key, time);
+        removeInternal(key, time);
+    }
+
+    /**
+     * Slows down the calling thread when the write-behind queue of this partition exceeds
+     * the back-pressure threshold, so that a slow map-store does not let the queue grow
+     * without bounds. Every write to the queue on the owner replica goes through here,
+     * whichever operation makes it. The wait of a single write is bounded, see
+     * {@link #getBackpressureDelayNanos(int, int, long)}. Backup replicas are never slowed
+     * down, they follow the owner.
+     */
+    private void applyBackpressure() {
+        long delayNanos = getBackpressureDelayNanos(writeBehindQueue.size(), backpressureThreshold, backpressureMaxDelayNanos);
+        if (delayNanos > 0) {
+            throttledWriteCount++;
+            LockSupport.parkNanos(delayNanos);
+        }
+    }
+
+    /**
+     * Returns the delay of a write to a write-behind queue of the given size: zero up to the threshold,
+     * then growing linearly to {@code maxDelayNanos} at twice the threshold and staying there.
+     *
+     * @param threshold the back-pressure threshold, back-pressure is disabled if it is not positive
+     */
+    static long getBackpressureDelayNanos(int queueSize, int threshold, long maxDelayNanos) {
+        if (threshold <= 0) {
+            return 0;
+        }
+        int overflow = queueSize - threshold;
+        if (overflow <= 0) {
+            return 0;
+        }
+        return overflow >= threshold ? maxDelayNanos : maxDelayNanos * overflow / threshold;
+    }
+
+    /**
+     * Returns the number of writes slowed down by back-pressure on this replica.
+     */
+    long getThrottledWriteCount() {
+        return throttledWriteCount;
     }
 
     @Override
@@ -48,7 +48,8 @@ public abstract class BasePutOperation extends LockAwareOperation implements Bac
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
+        super.afterRun();
         mapServiceContext.interceptAfterPut(name, dataValue);
         Object value = isPostProcessing(recordStore) ? recordStore.getRecord(dataKey).getValue() : dataValue;
         mapEventPublisher.publishEvent(getCallerAddress(), name, getEventType(),
@@ -46,7 +46,8 @@ public abstract class BaseRemoveOperation extends LockAwareOperation implements
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
+        super.afterRun();
         mapServiceContext.interceptAfterRemove(name, dataValue);
         mapEventPublisher.publishEvent(getCallerAddress(), name, EntryEventType.REMOVED, dataKey, dataOldValue, null);
         invalidateNearCache(dataKey);
@@ -44,7 +44,7 @@ public class DeleteOperation extends BaseRemoveOperation {
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (success) {
             super.afterRun();
         }
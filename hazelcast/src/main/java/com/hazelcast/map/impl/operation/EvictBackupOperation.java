@@ -58,6 +58,7 @@ public class EvictBackupOperation extends KeyBasedMapOperation implements Backup
 
     @Override
     public void afterRun() throws Exception {
+        super.afterRun();
         if (!disableWanReplicationEvent && mapContainer.isWanReplicationEnabled()) {
             mapEventPublisher.publishWanReplicationRemoveBackup(name, dataKey, Clock.currentTimeMillis());
         }
@@ -49,7 +49,8 @@ public class EvictOperation extends LockAwareOperation implements MutatingOperat
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
+        super.afterRun();
         if (!evicted) {
             return;
         }
@@ -42,7 +42,8 @@ public final class GetOperation extends ReadonlyKeyBasedMapOperation implements
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
+        super.afterRun();
         mapServiceContext.interceptAfterGet(name, result);
     }
 
@@ -84,7 +84,7 @@ public class LegacyMergeOperation extends BasePutOperation {
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (merged) {
             eventType = EntryEventType.MERGED;
             super.afterRun();
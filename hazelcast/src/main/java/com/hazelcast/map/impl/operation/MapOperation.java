@@ -83,6 +83,23 @@ public abstract class MapOperation extends AbstractNamedOperation implements Ide
         }
     }
 
+    @Override
+    public void afterRun() throws Exception {
+        super.afterRun();
+        disposeDeferredBlocks();
+    }
+
+    /**
+     * Frees the native memory blocks of the records removed by this operation.
+     * Those are kept until the operation completes, since a removed record may
+     * still be read in the meantime, e.g. to publish its value in an event.
+     */
+    protected final void disposeDeferredBlocks() {
+        if (recordStore != null) {
+            recordStore.disposeDeferredBlocks();
+        }
+    }
+
     @Override
     public String getServiceName() {
         return MapService.SERVICE_NAME;
@@ -86,7 +86,8 @@ public class PutAllBackupOperation extends MapOperation implements PartitionAwar
         super.readInternal(in);
 
         entries = new MapEntries();
-        entries.readData(in);
+        // the record store copies the keys and values it keeps
+        entries.readDataSlices(in);
         int size = entries.size();
         recordInfos = new ArrayList<RecordInfo>(size);
         for (int i = 0; i < size; i++) {
@@ -37,6 +37,7 @@ import java.util.Map;
 
 import static com.hazelcast.core.EntryEventType.ADDED;
 import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.EntryViews.createSimpleEntryView;
 import static com.hazelcast.map.impl.record.Records.buildRecordInfo;
 import static com.hazelcast.map.impl.recordstore.RecordStore.DEFAULT_TTL;
@@ -95,8 +96,10 @@ public class PutAllOperation extends MapOperation implements PartitionAwareOpera
         mapServiceContext.interceptAfterPut(name, dataValue);
 
         if (hasMapListener) {
+            // the key and value may be slices of the operation payload, events can outlive the operation
             EntryEventType eventType = (oldValue == null ? ADDED : UPDATED);
-            mapEventPublisher.publishEvent(getCallerAddress(), name, eventType, dataKey, oldValue, dataValue);
+            mapEventPublisher.publishEvent(getCallerAddress(), name, eventType, toHeapData(dataKey), oldValue,
+                    toHeapData(dataValue));
         }
 
         Record record = (hasWanReplication || hasBackups) ? recordStore.getRecord(dataKey) : null;
@@ -178,7 +181,8 @@ public class PutAllOperation extends MapOperation implements PartitionAwareOpera
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
         mapEntries = new MapEntries();
-        mapEntries.readData(in);
+        // the keys and values are copied when they are retained, see put(Data, Data)
+        mapEntries.readDataSlices(in);
     }
 
     @Override
@@ -80,6 +80,7 @@ public final class PutBackupOperation extends KeyBasedMapOperation implements Ba
 
     @Override
     public void afterRun() throws Exception {
+        super.afterRun();
         if (recordInfo != null) {
             evict(dataKey);
         }
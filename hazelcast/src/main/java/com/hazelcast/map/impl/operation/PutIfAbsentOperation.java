@@ -39,7 +39,7 @@ public class PutIfAbsentOperation extends BasePutOperation implements MutatingOp
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (successful) {
             super.afterRun();
         }
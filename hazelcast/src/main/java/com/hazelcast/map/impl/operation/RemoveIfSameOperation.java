@@ -42,7 +42,7 @@ public class RemoveIfSameOperation extends BaseRemoveOperation {
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (successful) {
             dataOldValue = testValue;
             super.afterRun();
@@ -37,7 +37,7 @@ public class RemoveOperation extends BaseRemoveOperation {
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (successful) {
             super.afterRun();
         }
@@ -46,7 +46,7 @@ public class ReplaceIfSameOperation extends BasePutOperation implements Mutating
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (successful) {
             super.afterRun();
         }
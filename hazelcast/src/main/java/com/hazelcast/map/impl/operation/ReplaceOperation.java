@@ -44,7 +44,7 @@ public class ReplaceOperation extends BasePutOperation implements MutatingOperat
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (successful) {
             super.afterRun();
         }
@@ -35,7 +35,7 @@ public class SetOperation extends BasePutOperation implements MutatingOperation
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         eventType = newRecord ? ADDED : UPDATED;
 
         super.afterRun();
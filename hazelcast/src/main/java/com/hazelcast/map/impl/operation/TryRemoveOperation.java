@@ -42,7 +42,7 @@ public class TryRemoveOperation extends BaseRemoveOperation {
     }
 
     @Override
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (successful) {
             super.afterRun();
         }
@@ -35,6 +35,7 @@ import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.impl.iterator.MapPartitionIterator;
+import com.hazelcast.map.impl.iterator.MapQueryIterator;
 import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
@@ -891,6 +892,52 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return new MapQueryPartitionIterator<K, V, R>(this, fetchSize, partitionId, predicate, projection);
     }
 
+    /**
+     * Returns an iterator streaming the result of the projection on all the entries of the map which
+     * satisfy the {@code predicate}. The {@link Iterator#remove()} method is not supported and will throw an
+     * {@link UnsupportedOperationException}.
+     * <p>
+     * Unlike {@link #project(Projection, Predicate)}, the result is never materialized as a whole and the
+     * query is not limited by the query result size limit. The values are fetched from the partitions
+     * in batches of about {@code fetchSize} values, at most {@code maxInFlightPages} batches are requested
+     * or buffered at a time, and the next batches are requested only when the previous ones are consumed.
+     * The order of the values is not defined.
+     * Predicates of type {@link PagingPredicate} are not supported.
+     * <p>
+     * <b>NOTE</b>
+     * Iterating the map should be done only when the {@link IMap} is not being
+     * mutated and the cluster is stable (there are no migrations or membership changes).
+     * In other cases, the iterator may not return some entries or may return an entry twice.
+     *
+     * @param fetchSize        the size of the batches which will be sent when iterating the data
+     * @param maxInFlightPages the maximum number of batches requested or buffered at a time
+     * @param projection       the projection to apply before returning the value. {@code null} value is not allowed
+     * @param predicate        the predicate which the entries must match. {@code null} value is not allowed
+     * @param <R>              the return type
+     * @return the iterator for the projected entries
+     * @throws UnsupportedOperationException when cluster version is less than {@link Versions#V3_9}
+     * @throws IllegalArgumentException      if the predicate is of type {@link PagingPredicate} or
+     *                                       {@code fetchSize} or {@code maxInFlightPages} is not positive
+     * @since 3.10
+     */
+    public <R> Iterator<R> queryIterator(int fetchSize, int maxInFlightPages, Projection<Map.Entry<K, V>, R> projection,
+                                         Predicate<K, V> predicate) {
+        if (getNodeEngine().getClusterService().getClusterVersion().isLessThan(Versions.V3_9)) {
+            throw new UnsupportedOperationException("Iterate map by query is available when cluster version is 3.9 or higher");
+        }
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Paging predicate is not allowed when iterating map by query");
+        }
+        checkPositive(fetchSize, "fetchSize should be positive");
+        checkPositive(maxInFlightPages, "maxInFlightPages should be positive");
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        // HazelcastInstanceAware handled by cloning
+        projection = serializationService.toObject(serializationService.toData(projection));
+        handleHazelcastInstanceAwareParams(predicate);
+        return new MapQueryIterator<K, V, R>(this, fetchSize, maxInFlightPages, predicate, projection);
+    }
+
     @Override
     public ICompletableFuture<EventJournalInitialSubscriberState> subscribeToEventJournal(int partitionId) {
         final MapEventJournalSubscribeOperation op = new MapEventJournalSubscribeOperation(name);
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.query.impl.BitmapIndex;
+import com.hazelcast.query.impl.EntryOrdinals;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexCopyBehavior;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.getters.Extractors;
+
+/**
+ * Index provider creating {@link BitmapIndex}es for the attributes whose {@link MapIndexConfig}
+ * is a {@link MapIndexConfig#isBitmap() bitmap} one and delegating to the given provider for
+ * the other ones.
+ * <p>
+ * All the bitmap indexes created by a provider share the same {@link EntryOrdinals}, so a
+ * provider must be used by a single {@link Indexes} instance.
+ */
+public class BitmapIndexProvider implements IndexProvider {
+
+    private final MapConfig mapConfig;
+    private final IndexProvider delegate;
+    private final EntryOrdinals entryOrdinals = new EntryOrdinals();
+
+    public BitmapIndexProvider(MapConfig mapConfig, IndexProvider delegate) {
+        this.mapConfig = mapConfig;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Checks if any index of the given map is a bitmap one.
+     */
+    public static boolean hasBitmapIndex(MapConfig mapConfig) {
+        for (MapIndexConfig indexConfig : mapConfig.getMapIndexConfigs()) {
+            if (indexConfig.isBitmap()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Index createIndex(String attributeName, boolean ordered, Extractors extractors,
+                             InternalSerializationService ss, IndexCopyBehavior copyBehavior) {
+        if (!isBitmapIndex(attributeName)) {
+            return delegate.createIndex(attributeName, ordered, extractors, ss, copyBehavior);
+        }
+        return new BitmapIndex(attributeName, ss, extractors, entryOrdinals);
+    }
+
+    private boolean isBitmapIndex(String attributeName) {
+        for (MapIndexConfig indexConfig : mapConfig.getMapIndexConfigs()) {
+            if (Indexes.canonicalizeAttribute(indexConfig.getAttribute()).equals(attributeName)) {
+                return indexConfig.isBitmap();
+            }
+        }
+        return false;
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
@@ -23,6 +24,11 @@ import com.hazelcast.spi.exception.RetryableHazelcastException;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.query.PagingPredicateAccessor.getNearestAnchorEntry;
+import static com.hazelcast.util.SortingUtil.getSortedSubList;
 
 /**
  * Implementation of the {@link PartitionScanExecutor} which executes the partition scan in a sequential-fashion
@@ -39,7 +45,7 @@ public class CallerRunsPartitionScanExecutor implements PartitionScanExecutor {
     @Override
     public Collection<QueryableEntry> execute(String mapName, Predicate predicate, Collection<Integer> partitions) {
         RetryableHazelcastException storedException = null;
-        Collection<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>();
         for (Integer partitionId : partitions) {
             try {
                 result.addAll(partitionScanRunner.run(mapName, predicate, partitionId));
@@ -55,6 +61,11 @@ public class CallerRunsPartitionScanExecutor implements PartitionScanExecutor {
         if (storedException != null) {
             throw storedException;
         }
+        if (predicate instanceof PagingPredicate) {
+            // only the top entries of all the partitions are needed, the other ones can't appear on the page
+            Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry((PagingPredicate) predicate);
+            return getSortedSubList(result, (PagingPredicate) predicate, nearestAnchorEntry);
+        }
         return result;
     }
 
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.IndexStorageType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexCopyBehavior;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.NativeSortedIndexStore;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.RecordAddressResolver;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.partition.IPartitionService;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+
+/**
+ * Index provider of {@link com.hazelcast.config.InMemoryFormat#NATIVE NATIVE} maps.
+ * <p>
+ * Creates a {@link NativeSortedIndexStore} backed index for the attributes whose
+ * {@link MapIndexConfig} requests {@link IndexStorageType#NATIVE} storage and
+ * delegates to the given provider for the other ones.
+ */
+public class NativeIndexProvider implements IndexProvider {
+
+    private final MapServiceContext mapServiceContext;
+    private final MapConfig mapConfig;
+    private final IndexProvider onHeapIndexProvider;
+    private final RecordAddressResolver recordResolver;
+
+    public NativeIndexProvider(MapServiceContext mapServiceContext, MapConfig mapConfig, IndexProvider onHeapIndexProvider) {
+        this.mapServiceContext = mapServiceContext;
+        this.mapConfig = mapConfig;
+        this.onHeapIndexProvider = onHeapIndexProvider;
+        this.recordResolver = new MapRecordAddressResolver(mapServiceContext, mapConfig.getName());
+    }
+
+    @Override
+    public Index createIndex(String attributeName, boolean ordered, Extractors extractors,
+                             InternalSerializationService ss, IndexCopyBehavior copyBehavior) {
+        if (!isNativeIndex(attributeName)) {
+            return onHeapIndexProvider.createIndex(attributeName, ordered, extractors, ss, copyBehavior);
+        }
+        NativeSortedIndexStore indexStore = new NativeSortedIndexStore(mapServiceContext.getNativeMemoryManager(),
+                recordResolver);
+        return new IndexImpl(attributeName, ordered, ss, extractors, copyBehavior, indexStore);
+    }
+
+    private boolean isNativeIndex(String attributeName) {
+        for (MapIndexConfig indexConfig : mapConfig.getMapIndexConfigs()) {
+            if (Indexes.canonicalizeAttribute(indexConfig.getAttribute()).equals(attributeName)) {
+                return indexConfig.getStorageType() == IndexStorageType.NATIVE;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves records from the record store of the partition which owns the key.
+     * Like the records themselves, must be used only from partition threads.
+     */
+    private static final class MapRecordAddressResolver implements RecordAddressResolver {
+
+        private final MapServiceContext mapServiceContext;
+        private final IPartitionService partitionService;
+        private final String mapName;
+
+        // initialized lazily, the map container is published before the record factory
+        private volatile MapContainer mapContainer;
+        // only used to create record views, never allocates
+        private volatile NativeRecordFactory recordFactory;
+
+        MapRecordAddressResolver(MapServiceContext mapServiceContext, String mapName) {
+            this.mapServiceContext = mapServiceContext;
+            this.partitionService = mapServiceContext.getNodeEngine().getPartitionService();
+            this.mapName = mapName;
+        }
+
+        @Override
+        public long getRecordAddress(Data key) {
+            RecordStore recordStore = mapServiceContext.getExistingRecordStore(partitionService.getPartitionId(key), mapName);
+            Record record = recordStore == null ? null : recordStore.getRecord(key);
+            return record == null ? NULL_ADDRESS : ((NativeRecord) record).address();
+        }
+
+        @Override
+        public QueryableEntry getEntry(long recordAddress) {
+            NativeRecord record = getRecordFactory().newRecordAt(recordAddress);
+            return mapContainer.newQueryEntry(record.getKey(), record.getValue());
+        }
+
+        private NativeRecordFactory getRecordFactory() {
+            NativeRecordFactory factory = recordFactory;
+            if (factory == null) {
+                mapContainer = mapServiceContext.getMapContainer(mapName);
+                factory = (NativeRecordFactory) mapContainer.getRecordFactoryConstructor().createNew(null);
+                recordFactory = factory;
+            }
+            return factory;
+        }
+    }
+}
@@ -32,7 +32,8 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Implementation of the {@link AccumulationExecutor} that runs the accumulation in a multi-threaded way.
- * Entries are split into chunks and each chunk is sent as a task to the underlying executor.
+ * Entries are split into contiguous chunks of a shared array and each chunk is sent as a task to the underlying
+ * executor, so no per-chunk copies of the entries are made.
  * At the end the result is merged to a single AggregationResult.
  */
 public class ParallelAccumulationExecutor implements AccumulationExecutor {
@@ -72,35 +73,33 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
 
     protected Collection<Aggregator> accumulateParallel(Aggregator aggregator, Collection<QueryableEntry> entries) {
         Collection<Future<Aggregator>> futures = new ArrayList<Future<Aggregator>>();
-        Collection<QueryableEntry>[] chunks = split(entries, THREAD_SPLIT_COUNT);
-        if (chunks == null) {
-            // not enough elements for split
-            AccumulatePartitionCallable task = new AccumulatePartitionCallable(clone(aggregator), entries);
+        QueryableEntry[] entryArray = entries.toArray(new QueryableEntry[0]);
+        int chunkCount = getChunkCount(entryArray.length);
+        int entriesPerChunk = entryArray.length / chunkCount;
+        int remainder = entryArray.length % chunkCount;
+        int from = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            // the first chunks take one entry more when the entries do not split evenly
+            int to = from + entriesPerChunk + (i < remainder ? 1 : 0);
+            AccumulatePartitionCallable task = new AccumulatePartitionCallable(clone(aggregator), entryArray, from, to);
             futures.add(executor.submit(task));
-        } else {
-            // split elements
-            for (Collection<QueryableEntry> chunk : chunks) {
-                AccumulatePartitionCallable task = new AccumulatePartitionCallable(clone(aggregator), chunk);
-                futures.add(executor.submit(task));
-            }
+            from = to;
         }
         return returnWithDeadline(futures, callTimeoutInMillis, MILLISECONDS, RETHROW_EVERYTHING);
     }
 
-    private Collection<QueryableEntry>[] split(Collection<QueryableEntry> entries, int chunkCount) {
-        if (entries.size() < chunkCount * 2) {
-            return null;
-        }
-        int counter = 0;
-        Collection<QueryableEntry>[] entriesSplit = new Collection[chunkCount];
-        int entriesPerChunk = entries.size() / chunkCount;
-        for (int i = 0; i < chunkCount; i++) {
-            entriesSplit[i] = new ArrayList<QueryableEntry>(entriesPerChunk);
-        }
-        for (QueryableEntry entry : entries) {
-            entriesSplit[counter++ % THREAD_SPLIT_COUNT].add(entry);
+    /**
+     * Returns the number of chunks the given amount of entries is split into. At least
+     * {@value #THREAD_SPLIT_COUNT} chunks are used when there are enough entries, more if the
+     * executor has more threads, so that members with many cores keep all of them busy.
+     */
+    private int getChunkCount(int entryCount) {
+        int chunkCount = Math.max(THREAD_SPLIT_COUNT, executor.getMaximumPoolSize());
+        if (entryCount < chunkCount * 2) {
+            // not enough elements for split
+            return 1;
         }
-        return entriesSplit;
+        return chunkCount;
     }
 
     private Aggregator clone(Aggregator aggregator) {
@@ -109,18 +108,22 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
 
     private static final class AccumulatePartitionCallable implements Callable<Aggregator> {
         private final Aggregator aggregator;
-        private final Collection<QueryableEntry> entries;
+        private final QueryableEntry[] entries;
+        private final int from;
+        private final int to;
 
-        private AccumulatePartitionCallable(Aggregator aggregator, Collection<QueryableEntry> entries) {
+        private AccumulatePartitionCallable(Aggregator aggregator, QueryableEntry[] entries, int from, int to) {
             this.aggregator = aggregator;
             this.entries = entries;
+            this.from = from;
+            this.to = to;
         }
 
         @Override
         public Aggregator call() throws Exception {
             try {
-                for (QueryableEntry entry : entries) {
-                    aggregator.accumulate(entry);
+                for (int i = from; i < to; i++) {
+                    aggregator.accumulate(entries[i]);
                 }
             } finally {
                 aggregator.onAccumulationFinished();
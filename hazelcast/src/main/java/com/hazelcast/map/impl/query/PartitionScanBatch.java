@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+
+import java.util.Collection;
+
+/**
+ * A batch of records scanned by the {@link PartitionScanRunner}.
+ * <p>
+ * The records are exposed to the predicate through flyweight entries which are reused for
+ * every batch, so no entry is allocated for the records not matching the predicate. The
+ * predicate is evaluated one batch at a time: the operands of an {@link AndPredicate} are
+ * applied one after another over the whole batch, each of them only to the entries which
+ * matched the previous ones, which keeps a single predicate and the getters it uses hot
+ * instead of interleaving all of them for every record.
+ * <p>
+ * Not thread-safe, an instance is used by a single partition scan.
+ */
+final class PartitionScanBatch {
+
+    static final int BATCH_SIZE = 128;
+
+    private final InternalSerializationService serializationService;
+    private final Extractors extractors;
+    private final Data[] keys = new Data[BATCH_SIZE];
+    private final Object[] values = new Object[BATCH_SIZE];
+    private final LazyMapEntry[] entries = new LazyMapEntry[BATCH_SIZE];
+    private final int[] selection = new int[BATCH_SIZE];
+
+    private int size;
+
+    PartitionScanBatch(InternalSerializationService serializationService, Extractors extractors) {
+        this.serializationService = serializationService;
+        this.extractors = extractors;
+    }
+
+    /**
+     * Adds a record to this batch.
+     *
+     * @return {@code true} if the batch is full and has to be {@link #evaluate evaluated}
+     */
+    boolean add(Data key, Object value) {
+        LazyMapEntry entry = entries[size];
+        if (entry == null) {
+            entry = new LazyMapEntry();
+            entries[size] = entry;
+        }
+        entry.init(serializationService, key, value, extractors);
+        keys[size] = key;
+        values[size] = value;
+        return ++size == BATCH_SIZE;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Evaluates the predicate over the records of this batch, adds the matching ones to the
+     * given result and empties the batch. The matching records are copied to new entries since
+     * the flyweight entries are reused by the next batch.
+     */
+    void evaluate(Predicate predicate, Collection<QueryableEntry> result) {
+        int selected = select(predicate);
+        for (int i = 0; i < selected; i++) {
+            int index = selection[i];
+            result.add(new LazyMapEntry(keys[index], values[index], serializationService, extractors));
+        }
+        clear();
+    }
+
+    private int select(Predicate predicate) {
+        for (int i = 0; i < size; i++) {
+            selection[i] = i;
+        }
+        int selected = size;
+        if (predicate instanceof AndPredicate) {
+            for (Predicate operand : ((AndPredicate) predicate).getPredicates()) {
+                selected = select(operand, selected);
+                if (selected == 0) {
+                    break;
+                }
+            }
+        } else {
+            selected = select(predicate, selected);
+        }
+        return selected;
+    }
+
+    private int select(Predicate predicate, int selected) {
+        int matched = 0;
+        for (int i = 0; i < selected; i++) {
+            int index = selection[i];
+            if (predicate.apply(entries[index])) {
+                selection[matched++] = index;
+            }
+        }
+        return matched;
+    }
+
+    private void clear() {
+        for (int i = 0; i < size; i++) {
+            keys[i] = null;
+            values[i] = null;
+        }
+        size = 0;
+    }
+}
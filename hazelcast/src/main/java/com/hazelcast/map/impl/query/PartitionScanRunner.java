@@ -21,7 +21,6 @@ import com.hazelcast.core.IMap;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
@@ -34,11 +33,11 @@ import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
-import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.partition.IPartitionService;
 import com.hazelcast.util.Clock;
+import com.hazelcast.util.collection.TopKCollector;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -49,10 +48,14 @@ import java.util.Map.Entry;
 
 import static com.hazelcast.query.PagingPredicateAccessor.getNearestAnchorEntry;
 import static com.hazelcast.util.SortingUtil.compareAnchor;
-import static com.hazelcast.util.SortingUtil.getSortedSubList;
+import static com.hazelcast.util.SortingUtil.getPagingLimit;
+import static com.hazelcast.util.SortingUtil.newComparator;
 
 /**
- * Responsible for running a full-partition scna for a single partition in the calling thread.
+ * Responsible for running a full-partition scan for a single partition in the calling thread.
+ * <p>
+ * The records are scanned in {@link PartitionScanBatch batches} exposed to the predicate
+ * through reused flyweight entries, so only the matching records are materialized.
  */
 public class PartitionScanRunner {
 
@@ -83,8 +86,9 @@ public class PartitionScanRunner {
         MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
         Iterator<Record> iterator = partitionContainer.getRecordStore(mapName).loadAwareIterator(getNow(), false);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry(pagingPredicate);
+        TopKCollector<QueryableEntry> topEntries = newTopEntriesCollector(pagingPredicate, nearestAnchorEntry);
         boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
-        Extractors extractors = mapServiceContext.getExtractors(mapName);
+        PartitionScanBatch batch = new PartitionScanBatch(serializationService, mapServiceContext.getExtractors(mapName));
         while (iterator.hasNext()) {
             Record record = iterator.next();
             Data key = (Data) toData(record.getKey());
@@ -93,14 +97,43 @@ public class PartitionScanRunner {
             if (value == null) {
                 continue;
             }
-            //we want to always use CachedQueryEntry as these are short-living objects anyway
-            QueryableEntry queryEntry = new LazyMapEntry(key, value, serializationService, extractors);
+            if (batch.add(key, value)) {
+                batch.evaluate(predicate, resultList);
+                collectTopEntries(resultList, topEntries, pagingPredicate, nearestAnchorEntry);
+            }
+        }
+        batch.evaluate(predicate, resultList);
+        if (topEntries == null) {
+            return resultList;
+        }
+        collectTopEntries(resultList, topEntries, pagingPredicate, nearestAnchorEntry);
+        return topEntries.drainSorted();
+    }
 
-            if (predicate.apply(queryEntry) && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
-                resultList.add(queryEntry);
+    /**
+     * Creates the collector of the entries which may appear on the page requested by the paging predicate,
+     * so the entries sorted after them are dropped during the scan instead of being sorted when it's done.
+     */
+    private static TopKCollector<QueryableEntry> newTopEntriesCollector(PagingPredicate pagingPredicate,
+                                                                        Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        if (pagingPredicate == null) {
+            return null;
+        }
+        return new TopKCollector<QueryableEntry>(getPagingLimit(pagingPredicate, nearestAnchorEntry),
+                newComparator(pagingPredicate));
+    }
+
+    private static void collectTopEntries(List<QueryableEntry> resultList, TopKCollector<QueryableEntry> topEntries,
+                                          PagingPredicate pagingPredicate, Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        if (topEntries == null) {
+            return;
+        }
+        for (QueryableEntry entry : resultList) {
+            if (compareAnchor(pagingPredicate, entry, nearestAnchorEntry)) {
+                topEntries.add(entry);
             }
         }
-        return getSortedSubList(resultList, pagingPredicate, nearestAnchorEntry);
+        resultList.clear();
     }
 
     /**
@@ -125,7 +158,8 @@ public class PartitionScanRunner {
         final List<QueryableEntry> resultList = new LinkedList<QueryableEntry>();
         final PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         final RecordStore recordStore = partitionContainer.getRecordStore(mapName);
-        final Extractors extractors = mapServiceContext.getExtractors(mapName);
+        final PartitionScanBatch batch = new PartitionScanBatch(serializationService,
+                mapServiceContext.getExtractors(mapName));
 
         while (resultList.size() < fetchSize && lastIndex >= 0) {
             final MapEntriesWithCursor cursor = recordStore.fetchEntries(lastIndex, fetchSize - resultList.size());
@@ -135,11 +169,13 @@ public class PartitionScanRunner {
                 break;
             }
             for (Entry<Data, Data> entry : entries) {
-                QueryableEntry queryEntry = new LazyMapEntry(entry.getKey(), entry.getValue(), serializationService, extractors);
-                if (predicate.apply(queryEntry)) {
-                    resultList.add(queryEntry);
+                if (batch.add(entry.getKey(), entry.getValue())) {
+                    batch.evaluate(predicate, resultList);
                 }
             }
+            if (!batch.isEmpty()) {
+                batch.evaluate(predicate, resultList);
+            }
         }
         return new QueryableEntriesSegment(resultList, lastIndex);
     }
@@ -22,6 +22,8 @@ import com.hazelcast.core.PartitioningStrategy;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.serialization.SerializationService;
 
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+
 public class DataRecordFactory implements RecordFactory<Data> {
 
     private final SerializationService serializationService;
@@ -41,7 +43,7 @@ public class DataRecordFactory implements RecordFactory<Data> {
     public Record<Data> newRecord(Object value) {
         assert value != null : "value can not be null";
 
-        final Data data = serializationService.toData(value, partitionStrategy);
+        final Data data = toHeapData(serializationService.<Data>toData(value, partitionStrategy));
         switch (cacheDeserializedValues) {
             case NEVER:
                 return statisticsEnabled ? new DataRecordWithStats(data) : new DataRecord(data);
@@ -56,7 +58,7 @@ public class DataRecordFactory implements RecordFactory<Data> {
 
         final Data v;
         if (value instanceof Data) {
-            v = (Data) value;
+            v = toHeapData((Data) value);
         } else {
             v = serializationService.toData(value, partitionStrategy);
         }
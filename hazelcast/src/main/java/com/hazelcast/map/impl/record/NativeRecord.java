@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Flyweight {@link Record} over a fixed-size record block allocated in native memory.
+ * <p>
+ * All the state of the record, including the addresses of the off-heap key and value blobs,
+ * lives in the native block; instances of this class are short-lived views which can be
+ * created and dropped freely. Two views are equal if they point to the same block.
+ * <p>
+ * Keys and values are copied on-heap when they are read. Like all records, a native record
+ * can be accessed only by its own partition thread.
+ *
+ * @see NativeRecordFactory
+ */
+@SuppressWarnings("checkstyle:methodcount")
+public final class NativeRecord implements Record<Data> {
+
+    static final int NEXT_OFFSET = 0;
+    static final int KEY_HASH_OFFSET = NEXT_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int KEY_ADDRESS_OFFSET = KEY_HASH_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int VALUE_ADDRESS_OFFSET = KEY_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int VERSION_OFFSET = VALUE_ADDRESS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int TTL_OFFSET = VERSION_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int CREATION_TIME_OFFSET = TTL_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_ACCESS_TIME_OFFSET = CREATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_UPDATE_TIME_OFFSET = LAST_ACCESS_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int HITS_OFFSET = LAST_UPDATE_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int LAST_STORED_TIME_OFFSET = HITS_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int EXPIRATION_TIME_OFFSET = LAST_STORED_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+
+    /**
+     * Size of a record block in bytes.
+     */
+    static final int SIZE = EXPIRATION_TIME_OFFSET + LONG_SIZE_IN_BYTES;
+
+    private final NativeRecordFactory factory;
+    private final MemoryAccessor mem;
+    private final long address;
+
+    NativeRecord(NativeRecordFactory factory, long address) {
+        assert address != NULL_ADDRESS : "Native record cannot point to the NULL address";
+        this.factory = factory;
+        this.mem = factory.mem();
+        this.address = address;
+    }
+
+    /**
+     * @return the base address of the record block
+     */
+    public long address() {
+        return address;
+    }
+
+    /**
+     * @return the address of the next record in the same hash bucket or
+     * {@link com.hazelcast.internal.memory.MemoryAllocator#NULL_ADDRESS} if this is the last one
+     */
+    public long getNext() {
+        return mem.getLong(address + NEXT_OFFSET);
+    }
+
+    public void setNext(long next) {
+        mem.putLong(address + NEXT_OFFSET, next);
+    }
+
+    public long getKeyHash() {
+        return mem.getLong(address + KEY_HASH_OFFSET);
+    }
+
+    public long getKeyAddress() {
+        return mem.getLong(address + KEY_ADDRESS_OFFSET);
+    }
+
+    /**
+     * Copies the key into native memory and attaches it to this record.
+     * Must be called only once, when the record is put into the storage.
+     */
+    public void setKey(Data key, long keyHash) {
+        assert getKeyAddress() == NULL_ADDRESS : "Key of a native record can be set only once";
+        mem.putLong(address + KEY_ADDRESS_OFFSET, factory.allocateBlob(key));
+        mem.putLong(address + KEY_HASH_OFFSET, keyHash);
+    }
+
+    /**
+     * @return {@code true} if the key of this record has exactly the same binary content as the given one
+     */
+    public boolean keyEquals(byte[] keyBytes) {
+        long keyAddress = getKeyAddress();
+        return keyAddress != NULL_ADDRESS && factory.blobEquals(keyAddress, keyBytes);
+    }
+
+    @Override
+    public Data getKey() {
+        return factory.readBlob(getKeyAddress());
+    }
+
+    @Override
+    public Data getValue() {
+        return factory.readBlob(getValueAddress());
+    }
+
+    long getValueAddress() {
+        return mem.getLong(address + VALUE_ADDRESS_OFFSET);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        long oldValueAddress = getValueAddress();
+        mem.putLong(address + VALUE_ADDRESS_OFFSET, value == null ? NULL_ADDRESS : factory.allocateBlob(value));
+        factory.freeBlob(oldValueAddress);
+    }
+
+    @Override
+    public void onAccess(long now) {
+        setHits(getHits() + 1);
+        setLastAccessTime(now);
+    }
+
+    @Override
+    public void onUpdate(long now) {
+        setVersion(getVersion() + 1);
+        setLastUpdateTime(now);
+    }
+
+    @Override
+    public void onStore() {
+        if (factory.isStatisticsEnabled()) {
+            setLastStoredTime(Clock.currentTimeMillis());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * For a native record this is the size of its native memory footprint.
+     */
+    @Override
+    public long getCost() {
+        return SIZE + factory.blobCost(getKeyAddress()) + factory.blobCost(getValueAddress());
+    }
+
+    @Override
+    public long getVersion() {
+        return mem.getLong(address + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        mem.putLong(address + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getTtl() {
+        return mem.getLong(address + TTL_OFFSET);
+    }
+
+    @Override
+    public void setTtl(long ttl) {
+        mem.putLong(address + TTL_OFFSET, ttl);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return mem.getLong(address + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        mem.putLong(address + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return mem.getLong(address + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        mem.putLong(address + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return mem.getLong(address + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        mem.putLong(address + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public long getHits() {
+        return mem.getLong(address + HITS_OFFSET);
+    }
+
+    @Override
+    public void setHits(long hits) {
+        mem.putLong(address + HITS_OFFSET, hits);
+    }
+
+    @Override
+    public long getExpirationTime() {
+        return factory.isStatisticsEnabled() ? mem.getLong(address + EXPIRATION_TIME_OFFSET) : NOT_AVAILABLE;
+    }
+
+    @Override
+    public void setExpirationTime(long expirationTime) {
+        if (factory.isStatisticsEnabled()) {
+            mem.putLong(address + EXPIRATION_TIME_OFFSET, expirationTime);
+        }
+    }
+
+    @Override
+    public long getLastStoredTime() {
+        return factory.isStatisticsEnabled() ? mem.getLong(address + LAST_STORED_TIME_OFFSET) : NOT_AVAILABLE;
+    }
+
+    @Override
+    public void setLastStoredTime(long lastStoredTime) {
+        if (factory.isStatisticsEnabled()) {
+            mem.putLong(address + LAST_STORED_TIME_OFFSET, lastStoredTime);
+        }
+    }
+
+    @Override
+    public long getSequence() {
+        return NOT_AVAILABLE;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NativeRecord)) {
+            return false;
+        }
+        return address == ((NativeRecord) o).address;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (address ^ (address >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "NativeRecord{address=" + address + '}';
+    }
+}
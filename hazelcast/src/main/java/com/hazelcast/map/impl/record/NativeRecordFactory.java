@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.memory.impl.CountingMemoryAllocator;
+import com.hazelcast.internal.memory.impl.MemoryManagerBean;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+
+/**
+ * Creates {@link NativeRecord}s whose keys and values are kept in native memory.
+ * <p>
+ * Created for every record store: all the native memory allocated for the records of
+ * a record store, including its index structures, is allocated through the
+ * {@link #getMemoryManager() memory manager} of its record factory, so the footprint
+ * of a record store is available via {@link #getUsedMemory()}.
+ * <p>
+ * A key or value blob is laid out as its {@code int} size followed by the bytes of the
+ * {@link Data}.
+ */
+public class NativeRecordFactory implements RecordFactory<Data> {
+
+    private final SerializationService serializationService;
+    private final PartitioningStrategy partitionStrategy;
+    private final boolean statisticsEnabled;
+    private final CountingMemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final MemoryManager memoryManager;
+
+    public NativeRecordFactory(MapConfig config, SerializationService serializationService,
+                               PartitioningStrategy partitionStrategy, MemoryManager nativeMemoryManager) {
+        this.serializationService = serializationService;
+        this.partitionStrategy = partitionStrategy;
+        this.statisticsEnabled = config.isStatisticsEnabled();
+        this.malloc = new CountingMemoryAllocator(nativeMemoryManager.getAllocator());
+        this.mem = nativeMemoryManager.getAccessor();
+        this.memoryManager = new MemoryManagerBean(malloc, mem);
+    }
+
+    @Override
+    public Record<Data> newRecord(Object value) {
+        assert value != null : "value can not be null";
+
+        Data data = toData(value);
+        NativeRecord record = new NativeRecord(this, malloc.allocate(NativeRecord.SIZE));
+        record.setValue(data);
+        return record;
+    }
+
+    @Override
+    public void setValue(Record<Data> record, Object value) {
+        assert value != null : "value can not be null";
+
+        record.setValue(toData(value));
+    }
+
+    /**
+     * Returns a new flyweight view of the record block at the given address.
+     */
+    public NativeRecord newRecordAt(long address) {
+        return new NativeRecord(this, address);
+    }
+
+    /**
+     * Frees the record block together with its key and value blobs.
+     */
+    public void free(long recordAddress) {
+        NativeRecord record = newRecordAt(recordAddress);
+        freeBlob(record.getKeyAddress());
+        freeBlob(record.getValueAddress());
+        malloc.free(recordAddress, NativeRecord.SIZE);
+    }
+
+    /**
+     * @return memory manager to be used for any native memory allocated on behalf of the record store
+     */
+    public MemoryManager getMemoryManager() {
+        return memoryManager;
+    }
+
+    /**
+     * @return the total size of the native memory allocated through this factory and not yet freed
+     */
+    public long getUsedMemory() {
+        return malloc.getAllocatedBytes();
+    }
+
+    boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    MemoryAccessor mem() {
+        return mem;
+    }
+
+    long allocateBlob(Data data) {
+        byte[] bytes = data.toByteArray();
+        long address = malloc.allocate(INT_SIZE_IN_BYTES + bytes.length);
+        mem.putInt(address, bytes.length);
+        mem.copyFromByteArray(bytes, 0, address + INT_SIZE_IN_BYTES, bytes.length);
+        return address;
+    }
+
+    Data readBlob(long address) {
+        if (address == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] bytes = new byte[mem.getInt(address)];
+        mem.copyToByteArray(address + INT_SIZE_IN_BYTES, bytes, 0, bytes.length);
+        return new HeapData(bytes);
+    }
+
+    boolean blobEquals(long address, byte[] bytes) {
+        if (mem.getInt(address) != bytes.length) {
+            return false;
+        }
+        long base = address + INT_SIZE_IN_BYTES;
+        for (int i = 0; i < bytes.length; i++) {
+            if (mem.getByte(base + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long blobCost(long address) {
+        return address == NULL_ADDRESS ? 0 : INT_SIZE_IN_BYTES + mem.getInt(address);
+    }
+
+    void freeBlob(long address) {
+        if (address != NULL_ADDRESS) {
+            malloc.free(address, INT_SIZE_IN_BYTES + mem.getInt(address));
+        }
+    }
+
+    private Data toData(Object value) {
+        if (value instanceof Data) {
+            return (Data) value;
+        }
+        return serializationService.toData(value, partitionStrategy);
+    }
+}
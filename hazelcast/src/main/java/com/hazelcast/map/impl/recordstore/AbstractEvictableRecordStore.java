@@ -18,7 +18,9 @@ package com.hazelcast.map.impl.recordstore;
 
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.eviction.WindowTinyLFU;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
+import com.hazelcast.map.eviction.TinyLFUEvictionPolicy;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.eviction.Evictor;
@@ -33,14 +35,17 @@ import com.hazelcast.spi.merge.MergingEntryHolder;
 import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static com.hazelcast.core.EntryEventType.EVICTED;
 import static com.hazelcast.core.EntryEventType.EXPIRED;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateExpirationTime;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateExpirationWithDelay;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.calculateMaxIdleMillis;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.getIdlenessStartTime;
@@ -56,6 +61,9 @@ import static com.hazelcast.util.Preconditions.checkInstanceOf;
  */
 abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
+    private static final long EXPIRATION_WHEEL_TICK_MILLIS = 1000;
+    private static final int EXPIRATION_WHEEL_SLOT_COUNT = 512;
+
     protected final long expiryDelayMillis;
     protected final EventService eventService;
     protected final MapEventPublisher mapEventPublisher;
@@ -67,6 +75,16 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
      * Used in expiration logic for traversing entries. Initializes lazily.
      */
     protected Iterator<Record> expirationIterator;
+    /**
+     * Index of the keys by expiration time, {@code null} if the expiration index is disabled.
+     *
+     * @see ExpirationManager#PROP_INDEX_ENABLED
+     */
+    protected final ExpirationWheel expirationWheel;
+    /**
+     * Frequency estimation of the keys, {@code null} unless the map uses {@link TinyLFUEvictionPolicy}.
+     */
+    protected final WindowTinyLFU tinyLFU;
     protected volatile boolean hasEntryWithCustomTTL;
 
     protected AbstractEvictableRecordStore(MapContainer mapContainer, int partitionId) {
@@ -78,6 +96,10 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         mapEventPublisher = mapServiceContext.getMapEventPublisher();
         thisAddress = nodeEngine.getThisAddress();
         expirationManager = mapServiceContext.getExpirationManager();
+        expirationWheel = expirationManager.isIndexEnabled()
+                ? new ExpirationWheel(EXPIRATION_WHEEL_TICK_MILLIS, EXPIRATION_WHEEL_SLOT_COUNT, getNow()) : null;
+        tinyLFU = mapContainer.getMapConfig().getMapEvictionPolicy() instanceof TinyLFUEvictionPolicy
+                ? new WindowTinyLFU(0) : null;
     }
 
     /**
@@ -95,6 +117,11 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         long now = getNow();
         int size = size();
         int maxIterationCount = getMaxIterationCount(size, percentage);
+        if (expirationWheel != null) {
+            evictIndexedExpiredEntries(maxIterationCount, now, backup);
+            accumulateOrSendExpiredKey(null);
+            return;
+        }
         int maxRetry = 3;
         int loop = 0;
         int evictedEntryCount = 0;
@@ -157,6 +184,81 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         return evictedEntryCount;
     }
 
+    /**
+     * Evicts the expired entries found through the {@link #expirationWheel}. The entries which turn
+     * out not to be expired, because they were accessed or updated since they have been scheduled,
+     * are scheduled again for their current expiration time.
+     */
+    private void evictIndexedExpiredEntries(int maxCount, long now, boolean backup) {
+        List<ExpirationWheel.Entry> due = new ArrayList<ExpirationWheel.Entry>();
+        expirationWheel.pollDue(now, maxCount, due);
+        for (ExpirationWheel.Entry entry : due) {
+            Record record = storage.get(entry.key);
+            if (record == null) {
+                continue;
+            }
+            if (getOrNullIfExpired(record, now, backup) == null) {
+                expirationManager.onIndexedEntryExpired(now - entry.deadline);
+                continue;
+            }
+            long deadline = getExpirationDeadline(record, backup);
+            if (deadline <= now) {
+                // not expired although due, e.g. locked; check again in the next round of the wheel
+                deadline = now + expirationWheel.getRoundMillis();
+            }
+            expirationWheel.schedule(record.getKey(), deadline);
+        }
+    }
+
+    private long getExpirationDeadline(Record record, boolean backup) {
+        long maxIdleMillis = calculateMaxIdleMillis(mapContainer.getMapConfig());
+        return calculateExpirationWithDelay(calculateExpirationTime(record, maxIdleMillis), expiryDelayMillis, backup);
+    }
+
+    /**
+     * Adds the record to the expiration index, if it is enabled. Has to be called whenever the record is
+     * created or its expiration time may have become earlier; later expiration times are picked up lazily.
+     */
+    protected void scheduleExpiration(Record record) {
+        if (expirationWheel != null) {
+            expirationWheel.schedule(record.getKey(), getExpirationDeadline(record, false));
+        }
+    }
+
+    /**
+     * Removes the key of the record from the expiration index, if it is enabled. Has to be called before the
+     * record is removed from the storage.
+     */
+    protected void onRecordRemoved(Record record) {
+        if (expirationWheel != null) {
+            expirationWheel.unschedule(record.getKey());
+        }
+    }
+
+    /**
+     * Removes all keys from the expiration index, if it is enabled.
+     */
+    protected void clearExpirationIndex() {
+        if (expirationWheel != null) {
+            expirationWheel.clear();
+        }
+    }
+
+    @Override
+    public WindowTinyLFU getTinyLFU() {
+        return tinyLFU;
+    }
+
+    /**
+     * Counts a key newly put into the storage in the frequency estimation, if it is enabled.
+     */
+    protected void onRecordAdded(Data key) {
+        if (tinyLFU != null) {
+            // the admission window keeps the key, which may be a slice of an operation payload
+            tinyLFU.onAdd(toHeapData(key), storage.size());
+        }
+    }
+
     private void initExpirationIterator() {
         if (expirationIterator == null || !expirationIterator.hasNext()) {
             expirationIterator = storage.mutationTolerantIterator();
@@ -166,7 +268,7 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     @Override
     public void evictEntries(Data excludedKey) {
         if (shouldEvict()) {
-            mapContainer.getEvictor().evict(this, excludedKey);
+            mapContainer.getEvictor().evictEntries(this, excludedKey);
         }
     }
 
@@ -317,6 +419,17 @@ abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         updateStatsOnGet(now);
         long maxIdleMillis = calculateMaxIdleMillis(mapContainer.getMapConfig());
         setExpirationTime(record, maxIdleMillis);
+        if (tinyLFU != null) {
+            tinyLFU.onAccess(record.getKey());
+        }
+    }
+
+    @Override
+    protected void updateRecord(Data key, Record record, Object value, long now, boolean countAsAccess) {
+        super.updateRecord(key, record, value, now, countAsAccess);
+        if (tinyLFU != null) {
+            tinyLFU.onAccess(key);
+        }
     }
 
     protected void mergeRecordExpiration(Record record, EntryView mergingEntry) {
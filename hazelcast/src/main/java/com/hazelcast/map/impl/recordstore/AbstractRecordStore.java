@@ -26,6 +26,7 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.journal.MapEventJournal;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordComparator;
 import com.hazelcast.map.impl.record.RecordFactory;
@@ -103,6 +104,9 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     @Override
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat == InMemoryFormat.NATIVE) {
+            return new NativeStorageImpl((NativeRecordFactory) recordFactory, serializationService);
+        }
         return new StorageImpl(recordFactory, memoryFormat, serializationService);
     }
 
@@ -158,6 +158,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void putRecord(Data key, Record record) {
         markRecordStoreExpirable(record.getTtl());
         storage.put(key, record);
+        onRecordAdded(key);
+        scheduleExpiration(record);
         updateStatsOnPut(record.getHits());
     }
 
@@ -175,11 +177,13 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            onRecordAdded(key);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, record.getValue());
         } else {
             updateRecord(key, record, value, now, true);
         }
+        scheduleExpiration(record);
         if (putTransient) {
             mapDataStore.addTransient(key, now);
         } else {
@@ -248,6 +252,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         } else {
             storage.clear(false);
         }
+        clearExpirationIndex();
     }
 
     /**
@@ -360,6 +365,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (value != null) {
             record = createRecord(value, DEFAULT_TTL, getNow());
             storage.put(key, record);
+            onRecordAdded(key);
+            scheduleExpiration(record);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, record.getValue());
             if (!backup) {
@@ -407,6 +414,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             Record record = iterator.next();
             eventJournal.writeRemoveEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
+            onRecordRemoved(record);
             storage.removeRecord(record);
             iterator.remove();
         }
@@ -441,6 +449,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void reset() {
         mapDataStore.reset();
         storage.clear(false);
+        clearExpirationIndex();
         stats.reset();
     }
 
@@ -454,6 +463,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             removeIndex(record);
             eventJournal.writeEvictEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, value);
+            onRecordRemoved(record);
             storage.removeRecord(record);
             if (!backup) {
                 mapServiceContext.interceptRemove(name, value);
@@ -482,6 +492,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }
         eventJournal.writeRemoveEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                 record.getKey(), record.getValue());
+        onRecordRemoved(record);
         storage.removeRecord(record);
         mapDataStore.removeBackup(key, now);
     }
@@ -527,6 +538,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             onStore(record);
             eventJournal.writeRemoveEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, oldValue);
+            onRecordRemoved(record);
             storage.removeRecord(record);
             removed = true;
         }
@@ -712,12 +724,14 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (record == null) {
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            onRecordAdded(key);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
         } else {
             updateRecord(key, record, value, now, countAsAccess);
             setTTLAndUpdateExpiryTime(ttl, record, mapContainer.getMapConfig(), false);
         }
+        scheduleExpiration(record);
 
         saveIndex(record, oldValue);
         return oldValue;
@@ -744,6 +758,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(newValue, DEFAULT_TTL, now);
             mergeRecordExpiration(record, mergingEntry);
             storage.put(key, record);
+            onRecordAdded(key);
+            scheduleExpiration(record);
             eventJournal.writeUpdateEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, null, record.getValue());
         } else {
@@ -758,11 +774,13 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 onStore(record);
                 eventJournal.writeUpdateEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(),
                         partitionId, key, oldValue, null);
+                onRecordRemoved(record);
                 storage.removeRecord(record);
                 return true;
             }
             if (newValue == mergingEntry.getValue()) {
                 mergeRecordExpiration(record, mergingEntry);
+                scheduleExpiration(record);
             }
             // same with the existing entry so no need to map-store etc operations.
             if (recordComparator.isEqual(newValue, oldValue)) {
@@ -798,6 +816,8 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             record = createRecord(newValue, DEFAULT_TTL, now);
             mergeRecordExpiration(record, mergingEntry);
             storage.put(key, record);
+            onRecordAdded(key);
+            scheduleExpiration(record);
             eventJournal.writeUpdateEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     key, null, record.getValue());
         } else {
@@ -812,11 +832,13 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                 onStore(record);
                 eventJournal.writeUpdateEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(),
                         partitionId, key, oldValue, null);
+                onRecordRemoved(record);
                 storage.removeRecord(record);
                 return true;
             }
             if (newValue == mergingEntry.getValue()) {
                 mergeRecordExpiration(record, mergingEntry);
+                scheduleExpiration(record);
             }
             // same with the existing entry so no need to map-store etc operations.
             if (recordComparator.isEqual(newValue, oldValue)) {
@@ -848,6 +870,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         onStore(record);
         updateRecord(key, record, update, now, true);
         setTTLAndUpdateExpiryTime(record.getTtl(), record, mapContainer.getMapConfig(), false);
+        scheduleExpiration(record);
         saveIndex(record, oldValue);
         return oldValue;
     }
@@ -871,6 +894,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         onStore(record);
         updateRecord(key, record, update, now, true);
         setTTLAndUpdateExpiryTime(record.getTtl(), record, mapContainer.getMapConfig(), false);
+        scheduleExpiration(record);
         saveIndex(record, current);
         return true;
     }
@@ -887,6 +911,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            onRecordAdded(key);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
         } else {
@@ -895,6 +920,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             updateRecord(key, record, value, now, true);
             setTTLAndUpdateExpiryTime(ttl, record, mapContainer.getMapConfig(), false);
         }
+        scheduleExpiration(record);
         saveIndex(record, oldValue);
         mapDataStore.addTransient(key, now);
         return oldValue;
@@ -929,6 +955,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             value = mapServiceContext.interceptPut(name, null, value);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            onRecordAdded(key);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
         } else {
@@ -937,6 +964,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             updateRecord(key, record, value, now, true);
             setTTLAndUpdateExpiryTime(ttl, record, mapContainer.getMapConfig(), false);
         }
+        scheduleExpiration(record);
         if (!backup) {
             saveIndex(record, oldValue);
         }
@@ -986,6 +1014,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             if (oldValue != null) {
                 record = createRecord(oldValue, DEFAULT_TTL, now);
                 storage.put(key, record);
+                onRecordAdded(key);
                 eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                         record.getKey(), record.getValue());
             }
@@ -999,10 +1028,14 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             onStore(record);
             record = createRecord(value, ttl, now);
             storage.put(key, record);
+            onRecordAdded(key);
             eventJournal.writeAddEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                     record.getKey(), record.getValue());
             setTTLAndUpdateExpiryTime(ttl, record, mapContainer.getMapConfig(), false);
         }
+        if (record != null) {
+            scheduleExpiration(record);
+        }
         saveIndex(record, oldValue);
         return oldValue;
     }
@@ -1017,6 +1050,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }
         eventJournal.writeRemoveEvent(mapContainer.getEventJournalConfig(), mapContainer.getObjectNamespace(), partitionId,
                 record.getKey(), record.getValue());
+        onRecordRemoved(record);
         storage.removeRecord(record);
         return oldValue;
     }
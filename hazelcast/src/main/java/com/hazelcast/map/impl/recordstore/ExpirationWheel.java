@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkTrue;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+
+/**
+ * A hierarchical timing wheel which indexes the keys of a record store by the time they are due to expire, so that
+ * the expiration task only needs to visit the keys whose deadline has passed instead of scanning the records.
+ * <p>
+ * Each level of the wheel has {@code slotCount} slots. A slot of the lowest level covers {@code tickMillis}, a slot
+ * of each higher level covers a whole round of the level below it. A key goes into the lowest level whose round
+ * contains its deadline, so the lowest level only holds deadlines of its current round, one tick per slot. When the
+ * cursor enters the time span of a higher level slot, the keys of that slot are moved down. Polling a tick therefore
+ * visits only the keys of that tick, and a key is moved at most once per level, whatever its deadline.
+ * <p>
+ * The index is maintained lazily: a deadline is only moved when it becomes earlier. When a deadline is extended,
+ * for example by an access to an entry with max-idle, the key stays where it is and the caller is expected to
+ * check the record when the key is returned by {@link #pollDue(long, int, List)} and schedule it again.
+ * Keys of removed records have to be {@link #unschedule(Data) unscheduled}, so the size of the index follows
+ * the number of the records which can expire.
+ * <p>
+ * This class is not thread-safe; it is accessed by the partition thread owning the record store.
+ */
+final class ExpirationWheel {
+
+    /**
+     * Enough levels to cover any deadline of epoch millis with the default slot count; deadlines beyond the
+     * highest level are kept in its slots and moved back there until their round comes.
+     */
+    private static final int LEVEL_COUNT = 4;
+
+    private final long tickMillis;
+    private final int slotBits;
+    private final int slotMask;
+    // the slots of the higher levels are created when they are first needed
+    private final Entry[][] levels = new Entry[LEVEL_COUNT][];
+    private final Map<Data, Entry> entries = new HashMap<Data, Entry>();
+
+    /**
+     * The tick visited by {@link #pollDue(long, int, List)}, keys of earlier ticks have been polled.
+     */
+    private long cursorTick;
+
+    ExpirationWheel(long tickMillis, int slotCount, long now) {
+        checkPositive(tickMillis, "tickMillis should be positive");
+        checkTrue(isPowerOfTwo(slotCount), "slotCount should be a power of two");
+        this.tickMillis = tickMillis;
+        this.slotBits = Integer.numberOfTrailingZeros(slotCount);
+        this.slotMask = slotCount - 1;
+        this.levels[0] = new Entry[slotCount];
+        this.cursorTick = now / tickMillis;
+    }
+
+    /**
+     * Schedules the key to be returned by {@link #pollDue(long, int, List)} once the deadline has passed.
+     * If the key is already scheduled for an earlier or the same deadline, the call has no effect.
+     *
+     * @param key      the key of the record
+     * @param deadline the expiration time of the record in millis, {@link Long#MAX_VALUE} if it never expires
+     */
+    void schedule(Data key, long deadline) {
+        if (deadline == Long.MAX_VALUE) {
+            return;
+        }
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(key);
+            entries.put(key, entry);
+        } else if (entry.deadline <= deadline) {
+            return;
+        } else {
+            unlink(entry);
+        }
+        entry.deadline = deadline;
+        link(entry);
+    }
+
+    /**
+     * Removes the key from the wheel, if it is scheduled.
+     *
+     * @param key the key of the removed record
+     */
+    void unschedule(Data key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unlink(entry);
+        }
+    }
+
+    /**
+     * Removes at most {@code maxCount} keys whose deadline is not after {@code now} from the wheel
+     * and adds them to {@code due}. Keys that are not drained because of the limit are returned
+     * by the next call.
+     *
+     * @return the number of keys added to {@code due}
+     */
+    int pollDue(long now, int maxCount, List<Entry> due) {
+        long nowTick = now / tickMillis;
+        int count = pollSlot(now, maxCount, due);
+        while (count < maxCount && cursorTick < nowTick) {
+            advance();
+            count += pollSlot(now, maxCount - count, due);
+        }
+        return count;
+    }
+
+    /**
+     * Polls the lowest level slot of the cursor tick. All of its keys are of that tick, so the walk only
+     * skips the keys expiring later within the tick.
+     */
+    private int pollSlot(long now, int maxCount, List<Entry> due) {
+        int count = 0;
+        Entry entry = levels[0][(int) cursorTick & slotMask];
+        while (entry != null && count < maxCount) {
+            Entry next = entry.next;
+            if (entry.deadline <= now) {
+                unlink(entry);
+                entries.remove(entry.key);
+                due.add(entry);
+                count++;
+            }
+            entry = next;
+        }
+        return count;
+    }
+
+    /**
+     * Moves the cursor to the next tick. If the tick starts the time span of higher level slots, their keys are
+     * moved down, starting from the highest level so that keys moved to a level in between are moved further.
+     */
+    private void advance() {
+        long tick = ++cursorTick;
+        for (int level = LEVEL_COUNT - 1; level > 0; level--) {
+            int shift = level * slotBits;
+            if ((tick & ((1L << shift) - 1)) == 0 && levels[level] != null) {
+                cascade(levels[level], (int) (tick >>> shift) & slotMask);
+            }
+        }
+    }
+
+    private void cascade(Entry[] slots, int slot) {
+        Entry entry = slots[slot];
+        slots[slot] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            link(entry);
+            entry = next;
+        }
+    }
+
+    /**
+     * Returns the time it takes the lowest level of the wheel to make a full round.
+     */
+    long getRoundMillis() {
+        return tickMillis * (slotMask + 1);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        entries.clear();
+        for (Entry[] slots : levels) {
+            if (slots != null) {
+                Arrays.fill(slots, null);
+            }
+        }
+    }
+
+    private void link(Entry entry) {
+        // keys which are already overdue go into the slot visited next
+        long tick = Math.max(entry.deadline / tickMillis, cursorTick);
+        int level = 0;
+        while (level < LEVEL_COUNT - 1 && (tick >>> ((level + 1) * slotBits)) != (cursorTick >>> ((level + 1) * slotBits))) {
+            level++;
+        }
+        Entry[] slots = levels[level];
+        if (slots == null) {
+            slots = new Entry[slotMask + 1];
+            levels[level] = slots;
+        }
+        int slot = (int) (tick >>> (level * slotBits)) & slotMask;
+        Entry head = slots[slot];
+        entry.level = level;
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        slots[slot] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        Entry prev = entry.prev;
+        Entry next = entry.next;
+        if (prev == null) {
+            levels[entry.level][entry.slot] = next;
+        } else {
+            prev.next = next;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    /**
+     * A key scheduled in the wheel together with its deadline.
+     */
+    static final class Entry {
+
+        final Data key;
+        long deadline;
+
+        private int level;
+        private int slot;
+        private Entry prev;
+        private Entry next;
+
+        Entry(Data key) {
+            this.key = key;
+        }
+    }
+}
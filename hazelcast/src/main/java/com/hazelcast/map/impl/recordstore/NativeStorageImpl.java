@@ -0,0 +1,525 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.util.hashslot.impl.CapacityUtil.DEFAULT_LOAD_FACTOR;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * {@link Storage} for {@link com.hazelcast.config.InMemoryFormat#NATIVE NATIVE} in-memory format,
+ * which keeps both the records and their index in native memory.
+ * <p>
+ * Records are indexed by the 64-bit hash of their keys in a {@link HashSlotArray8byteKeyImpl}; the value
+ * of a slot is the address of the first {@link NativeRecord} with that key hash, records with colliding
+ * hashes are chained through their {@code next} field.
+ * <p>
+ * Removed records are not freed immediately because their flyweights may still be in use by the running
+ * operation. They are freed by {@link #disposeDeferredBlocks()}, which must be called when the operation
+ * is done. Like all storages, it can be accessed only by its own partition thread, except for
+ * {@link #size()}, {@link #isEmpty()} and the entry cost estimate.
+ */
+public class NativeStorageImpl implements Storage<Data, Record> {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 256;
+    private static final int DEFAULT_DEFERRED_CAPACITY = 16;
+
+    private final NativeRecordFactory recordFactory;
+    private final SerializationService serializationService;
+    private final HashSlotArray8byteKeyImpl index;
+    private final MemoryAccessor mem;
+
+    private long[] deferredRecords = new long[DEFAULT_DEFERRED_CAPACITY];
+    private int deferredRecordCount;
+
+    @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT", justification = "Storage is updated only by its partition thread.")
+    private volatile int size;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator;
+
+    NativeStorageImpl(NativeRecordFactory recordFactory, SerializationService serializationService) {
+        this.recordFactory = recordFactory;
+        this.serializationService = serializationService;
+        this.mem = recordFactory.getMemoryManager().getAccessor();
+        this.index = new HashSlotArray8byteKeyImpl(NULL_ADDRESS, recordFactory.getMemoryManager(), LONG_SIZE_IN_BYTES,
+                DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+        this.index.gotoNew();
+        this.entryCostEstimator = new NativeMemoryCostEstimator(recordFactory);
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        NativeRecord newRecord = (NativeRecord) record;
+        long keyHash = key.hash64();
+        long slotAddress;
+        try {
+            if (newRecord.getKeyAddress() == NULL_ADDRESS) {
+                newRecord.setKey(key, keyHash);
+            }
+            slotAddress = index.ensure(keyHash);
+        } catch (NativeOutOfMemoryError e) {
+            recordFactory.free(newRecord.address());
+            throw e;
+        }
+        if (slotAddress > 0) {
+            newRecord.setNext(NULL_ADDRESS);
+            mem.putLong(slotAddress, newRecord.address());
+            size++;
+            return;
+        }
+
+        slotAddress = -slotAddress;
+        byte[] keyBytes = key.toByteArray();
+        long previous = NULL_ADDRESS;
+        long current = mem.getLong(slotAddress);
+        while (current != NULL_ADDRESS) {
+            NativeRecord existing = recordFactory.newRecordAt(current);
+            if (existing.keyEquals(keyBytes)) {
+                if (current != newRecord.address()) {
+                    newRecord.setNext(existing.getNext());
+                    link(slotAddress, previous, newRecord.address());
+                    deferDispose(current);
+                }
+                return;
+            }
+            previous = current;
+            current = existing.getNext();
+        }
+        newRecord.setNext(mem.getLong(slotAddress));
+        mem.putLong(slotAddress, newRecord.address());
+        size++;
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        recordFactory.setValue(record, value);
+    }
+
+    @Override
+    public Record get(Data key) {
+        long slotAddress = index.get(key.hash64());
+        if (slotAddress == NULL_ADDRESS) {
+            return null;
+        }
+        byte[] keyBytes = key.toByteArray();
+        long current = mem.getLong(slotAddress);
+        while (current != NULL_ADDRESS) {
+            NativeRecord record = recordFactory.newRecordAt(current);
+            if (record.keyEquals(keyBytes)) {
+                return record;
+            }
+            current = record.getNext();
+        }
+        return null;
+    }
+
+    @Override
+    public Record getIfSameKey(Data key) {
+        // keys are always copied into the storage, so the supplied key can only be equal to a stored key
+        return get(key);
+    }
+
+    @Override
+    public void removeRecord(Record record) {
+        if (record == null) {
+            return;
+        }
+
+        NativeRecord nativeRecord = (NativeRecord) record;
+        long keyHash = nativeRecord.getKeyHash();
+        long slotAddress = index.get(keyHash);
+        if (slotAddress == NULL_ADDRESS) {
+            return;
+        }
+        long previous = NULL_ADDRESS;
+        long current = mem.getLong(slotAddress);
+        while (current != NULL_ADDRESS) {
+            long next = recordFactory.newRecordAt(current).getNext();
+            if (current == nativeRecord.address()) {
+                if (previous == NULL_ADDRESS && next == NULL_ADDRESS) {
+                    index.remove(keyHash);
+                } else {
+                    link(slotAddress, previous, next);
+                }
+                size--;
+                deferDispose(current);
+                return;
+            }
+            previous = current;
+            current = next;
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns a snapshot of the records: the returned collection is not affected by later
+     * modifications of this storage.
+     */
+    @Override
+    public Collection<Record> values() {
+        long[] addresses = new long[size];
+        int count = 0;
+        long capacity = index.capacity();
+        for (long slot = 0; slot < capacity; slot++) {
+            long slotAddress = index.valueAddressOfSlot(slot);
+            if (slotAddress == NULL_ADDRESS) {
+                continue;
+            }
+            for (long current = mem.getLong(slotAddress); current != NULL_ADDRESS;
+                 current = recordFactory.newRecordAt(current).getNext()) {
+                if (count == addresses.length) {
+                    addresses = Arrays.copyOf(addresses, count * 2 + 1);
+                }
+                addresses[count++] = current;
+            }
+        }
+        return new RecordSnapshot(addresses, count);
+    }
+
+    @Override
+    public Iterator<Record> mutationTolerantIterator() {
+        return new MutationTolerantIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        freeAll();
+        index.dispose();
+        index.gotoNew();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        if (index.address() < 0) {
+            return;
+        }
+        freeAll();
+        index.dispose();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        for (int i = 0; i < deferredRecordCount; i++) {
+            recordFactory.free(deferredRecords[i]);
+        }
+        deferredRecordCount = 0;
+        if (deferredRecords.length > DEFAULT_DEFERRED_CAPACITY) {
+            deferredRecords = new long[DEFAULT_DEFERRED_CAPACITY];
+        }
+    }
+
+    @Override
+    public Iterable<LazyEntryViewFromRecord> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+        List<LazyEntryViewFromRecord> samples = new ArrayList<LazyEntryViewFromRecord>(sampleCount);
+        long capacity = index.capacity();
+        long firstSlot = ThreadLocalRandomProvider.get().nextInt((int) capacity);
+        for (long i = 0; i < capacity && samples.size() < sampleCount; i++) {
+            long slotAddress = index.valueAddressOfSlot((firstSlot + i) % capacity);
+            if (slotAddress == NULL_ADDRESS) {
+                continue;
+            }
+            for (long current = mem.getLong(slotAddress); current != NULL_ADDRESS && samples.size() < sampleCount;
+                 current = recordFactory.newRecordAt(current).getNext()) {
+                samples.add(new LazyEntryViewFromRecord<Record>(recordFactory.newRecordAt(current), serializationService));
+            }
+        }
+        return samples;
+    }
+
+    @Override
+    public MapKeysWithCursor fetchKeys(int tableIndex, int size) {
+        List<Data> keys = new ArrayList<Data>(size);
+        long slot = firstSlotToFetch(tableIndex);
+        while (slot >= 0 && keys.size() < size) {
+            long slotAddress = index.valueAddressOfSlot(slot--);
+            if (slotAddress == NULL_ADDRESS) {
+                continue;
+            }
+            for (long current = mem.getLong(slotAddress); current != NULL_ADDRESS;
+                 current = recordFactory.newRecordAt(current).getNext()) {
+                keys.add(recordFactory.newRecordAt(current).getKey());
+            }
+        }
+        return new MapKeysWithCursor(keys, (int) slot);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(int tableIndex, int size, SerializationService serializationService) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<Map.Entry<Data, Data>>(size);
+        long slot = firstSlotToFetch(tableIndex);
+        while (slot >= 0 && entries.size() < size) {
+            long slotAddress = index.valueAddressOfSlot(slot--);
+            if (slotAddress == NULL_ADDRESS) {
+                continue;
+            }
+            for (long current = mem.getLong(slotAddress); current != NULL_ADDRESS;
+                 current = recordFactory.newRecordAt(current).getNext()) {
+                NativeRecord record = recordFactory.newRecordAt(current);
+                entries.add(new AbstractMap.SimpleEntry<Data, Data>(record.getKey(), record.getValue()));
+            }
+        }
+        return new MapEntriesWithCursor(entries, (int) slot);
+    }
+
+    private long firstSlotToFetch(int tableIndex) {
+        long capacity = index.capacity();
+        return tableIndex >= 0 && tableIndex < capacity ? tableIndex : capacity - 1;
+    }
+
+    private void link(long slotAddress, long previous, long next) {
+        if (previous == NULL_ADDRESS) {
+            mem.putLong(slotAddress, next);
+        } else {
+            recordFactory.newRecordAt(previous).setNext(next);
+        }
+    }
+
+    private void deferDispose(long recordAddress) {
+        if (deferredRecordCount == deferredRecords.length) {
+            deferredRecords = Arrays.copyOf(deferredRecords, deferredRecordCount * 2);
+        }
+        deferredRecords[deferredRecordCount++] = recordAddress;
+    }
+
+    private void freeAll() {
+        disposeDeferredBlocks();
+        long capacity = index.capacity();
+        for (long slot = 0; slot < capacity; slot++) {
+            long slotAddress = index.valueAddressOfSlot(slot);
+            if (slotAddress == NULL_ADDRESS) {
+                continue;
+            }
+            long current = mem.getLong(slotAddress);
+            while (current != NULL_ADDRESS) {
+                long next = recordFactory.newRecordAt(current).getNext();
+                recordFactory.free(current);
+                current = next;
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the address of the record at the given position of the hash bucket
+     * of the given slot or {@code NULL_ADDRESS} if there is no such record.
+     */
+    private long recordAt(long slot, int chainPosition) {
+        long slotAddress = index.valueAddressOfSlot(slot);
+        if (slotAddress == NULL_ADDRESS) {
+            return NULL_ADDRESS;
+        }
+        long current = mem.getLong(slotAddress);
+        for (int i = 0; i < chainPosition && current != NULL_ADDRESS; i++) {
+            current = recordFactory.newRecordAt(current).getNext();
+        }
+        return current;
+    }
+
+    /**
+     * Iterator which keeps only its position (slot index and position in the hash bucket) between
+     * calls and resolves the record address from the current state of the storage on every call.
+     * It may therefore outlive the records it returned and be resumed after the storage was modified.
+     * <p>
+     * Slots are visited in descending order: removing a key from the index shifts conflicting keys
+     * to lower slots, so with the exception of a wrapped-around cluster, the keys moved by a removal
+     * are the ones which were already visited.
+     */
+    private final class MutationTolerantIterator implements Iterator<Record> {
+
+        private long slot = index.capacity() - 1;
+        private int chainPosition;
+        private long lastReturned = NULL_ADDRESS;
+
+        @Override
+        public boolean hasNext() {
+            return seek() != NULL_ADDRESS;
+        }
+
+        @Override
+        public Record next() {
+            long address = seek();
+            if (address == NULL_ADDRESS) {
+                throw new NoSuchElementException();
+            }
+            chainPosition++;
+            lastReturned = address;
+            return recordFactory.newRecordAt(address);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Removal is not supported");
+        }
+
+        private long seek() {
+            if (lastReturned != NULL_ADDRESS && recordAt(slot, chainPosition - 1) != lastReturned) {
+                // the last returned record was removed from the hash bucket, following ones moved up
+                chainPosition--;
+                lastReturned = NULL_ADDRESS;
+            }
+            while (slot >= 0 && slot < index.capacity()) {
+                long address = recordAt(slot, chainPosition);
+                if (address != NULL_ADDRESS) {
+                    return address;
+                }
+                slot--;
+                chainPosition = 0;
+            }
+            return NULL_ADDRESS;
+        }
+    }
+
+    private final class RecordSnapshot extends AbstractCollection<Record> {
+
+        private final long[] addresses;
+        private final int count;
+
+        RecordSnapshot(long[] addresses, int count) {
+            this.addresses = addresses;
+            this.count = count;
+        }
+
+        @Override
+        public Iterator<Record> iterator() {
+            return new Iterator<Record>() {
+                private int position;
+                private Record current;
+
+                @Override
+                public boolean hasNext() {
+                    return position < count;
+                }
+
+                @Override
+                public Record next() {
+                    if (position >= count) {
+                        throw new NoSuchElementException();
+                    }
+                    current = recordFactory.newRecordAt(addresses[position++]);
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    removeRecord(current);
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    /**
+     * Reports the native memory footprint of the storage, as tracked by its record factory.
+     */
+    private static final class NativeMemoryCostEstimator implements EntryCostEstimator<Data, Record> {
+
+        private final NativeRecordFactory recordFactory;
+
+        NativeMemoryCostEstimator(NativeRecordFactory recordFactory) {
+            this.recordFactory = recordFactory;
+        }
+
+        @Override
+        public long getEstimate() {
+            return recordFactory.getUsedMemory();
+        }
+
+        @Override
+        public void adjustEstimateBy(long adjustment) {
+        }
+
+        @Override
+        public long calculateValueCost(Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public long calculateEntryCost(Data key, Record record) {
+            return record.getCost();
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+}
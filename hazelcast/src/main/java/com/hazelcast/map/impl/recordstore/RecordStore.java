@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.recordstore;
 
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.eviction.WindowTinyLFU;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapEntries;
@@ -389,6 +390,15 @@ public interface RecordStore<R extends Record> {
 
     Storage getStorage();
 
+    /**
+     * Returns the frequency estimation of the keys of this record store, which is
+     * maintained only when the map is configured with the
+     * {@link com.hazelcast.config.EvictionPolicy#TINY_LFU TINY_LFU} eviction policy.
+     *
+     * @return the frequency estimation or {@code null} when the policy is not in use
+     */
+    WindowTinyLFU getTinyLFU();
+
     /**
      * Starts the map loader if there is a configured and enabled
      * {@link com.hazelcast.core.MapLoader} and the key loading has not already
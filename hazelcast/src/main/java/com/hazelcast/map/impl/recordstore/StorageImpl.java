@@ -33,6 +33,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSizeEstimator;
 
 /**
@@ -73,13 +74,15 @@ public class StorageImpl<R extends Record> implements Storage<Data, R> {
 
     @Override
     public void put(Data key, R record) {
+        // the key is kept by the storage, so it needs its own copy if it is a slice of an operation payload
+        Data heapKey = toHeapData(key);
 
-        ((AbstractRecord) record).setKey(key);
+        ((AbstractRecord) record).setKey(heapKey);
 
-        R previousRecord = records.put(key, record);
+        R previousRecord = records.put(heapKey, record);
 
         if (previousRecord == null) {
-            updateCostEstimate(entryCostEstimator.calculateEntryCost(key, record));
+            updateCostEstimate(entryCostEstimator.calculateEntryCost(heapKey, record));
         } else {
             updateCostEstimate(-entryCostEstimator.calculateValueCost(previousRecord));
             updateCostEstimate(entryCostEstimator.calculateValueCost(record));
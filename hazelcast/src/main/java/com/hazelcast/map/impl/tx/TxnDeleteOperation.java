@@ -70,7 +70,7 @@ public class TxnDeleteOperation extends BaseRemoveOperation implements MapTxnOpe
         return false;
     }
 
-    public void afterRun() {
+    public void afterRun() throws Exception {
         if (successful) {
             super.afterRun();
         }
@@ -20,6 +20,9 @@ import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.spi.annotation.PrivateApi;
 
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
 import static com.hazelcast.nio.PacketIOHelper.HEADER_SIZE;
 
 /**
@@ -45,6 +48,7 @@ public final class Packet extends HeapData implements OutboundFrame {
     // 1. URGENT (bit 4)
     // 2. Packet type (bits 0, 2, 5)
     // 3. Flags specific to a given packet type (bits 1, 6)
+    // 4. COMPRESSED (bit 7)
 
 
     // 1. URGENT flag
@@ -99,15 +103,40 @@ public final class Packet extends HeapData implements OutboundFrame {
     public static final int FLAG_JET_FLOW_CONTROL = 1 << 1;
 
 
+    // 3.c Bind packet flags
+
+    /**
+     * Marks a Bind packet as sent by a member which is able to decompress packets
+     */
+    public static final int FLAG_BIND_COMPRESSION = 1 << 1;
+
+
+    // 4. COMPRESSED flag
+
+    /**
+     * Marks the payload of the packet as compressed, see {@link com.hazelcast.nio.tcp.PacketCompressor}
+     */
+    public static final int FLAG_COMPRESSED = 1 << 7;
+
+
     //            END OF HEADER FLAG SECTION
 
 
+    private static final AtomicIntegerFieldUpdater<Packet> REF_COUNT
+            = AtomicIntegerFieldUpdater.newUpdater(Packet.class, "refCount");
+
     // char is a 16-bit unsigned integer. Here we use it as a bitfield.
     private char flags;
 
     private int partitionId;
     private transient Connection conn;
 
+    // only set for packets with a pooled payload, see PacketBufferPool
+    private transient ByteBuffer payloadBuffer;
+    private transient PacketBufferPool bufferPool;
+    private transient int payloadSize;
+    private transient volatile int refCount;
+
     public Packet() {
     }
 
@@ -120,6 +149,22 @@ public final class Packet extends HeapData implements OutboundFrame {
         this.partitionId = partitionId;
     }
 
+    /**
+     * Creates a packet with a pooled payload. The packet holds a single reference to the payload, which is returned
+     * to the pool when the packet is {@link #release() released}.
+     *
+     * @param payloadBuffer the payload, ready to be read from
+     * @param bufferPool    the pool the payload was allocated from
+     * @param partitionId   the partition ID of the packet
+     */
+    Packet(ByteBuffer payloadBuffer, PacketBufferPool bufferPool, int partitionId) {
+        this.payloadBuffer = payloadBuffer;
+        this.bufferPool = bufferPool;
+        this.payloadSize = payloadBuffer.remaining();
+        this.partitionId = partitionId;
+        this.refCount = 1;
+    }
+
     /**
      * Gets the Connection this Packet was send with.
      *
@@ -212,6 +257,74 @@ public final class Packet extends HeapData implements OutboundFrame {
         return partitionId;
     }
 
+    /**
+     * Returns a view of the pooled payload of this packet.
+     *
+     * @return a new buffer with the payload between position 0 and its limit, or {@code null} if the payload of this
+     * packet is not pooled.
+     */
+    public ByteBuffer getPayloadBuffer() {
+        if (payloadBuffer == null) {
+            return null;
+        }
+        ByteBuffer view = payloadBuffer.duplicate();
+        view.position(0);
+        view.limit(payloadSize);
+        return view;
+    }
+
+    /**
+     * Adds a reference to the pooled payload of this packet; e.g. when the packet is going to be written to an
+     * additional connection. Every reference needs to be released once. It has no effect if the payload is not pooled.
+     *
+     * @return {@code this} (for fluent interface)
+     */
+    public Packet retain() {
+        if (bufferPool != null) {
+            REF_COUNT.incrementAndGet(this);
+        }
+        return this;
+    }
+
+    /**
+     * Releases a reference to the pooled payload of this packet. When the last reference is released the payload is
+     * returned to the pool and the packet must not be used anymore. It has no effect if the payload is not pooled.
+     */
+    public void release() {
+        if (bufferPool == null) {
+            return;
+        }
+
+        int remaining = REF_COUNT.decrementAndGet(this);
+        if (remaining == 0) {
+            bufferPool.release(payloadBuffer);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Packet has been released more often than retained: " + this);
+        }
+    }
+
+    @Override
+    public int totalSize() {
+        return payloadBuffer != null ? payloadSize : super.totalSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * For a packet with a pooled payload this creates a heap copy of the payload, which is then also used by the other
+     * {@link com.hazelcast.nio.serialization.Data} methods. Such packets are meant to be written, not to be read, so
+     * this is only done by the rare readers of an outbound packet.
+     */
+    @Override
+    public byte[] toByteArray() {
+        if (payload == null && payloadBuffer != null) {
+            byte[] bytes = new byte[payloadSize];
+            getPayloadBuffer().get(bytes);
+            payload = bytes;
+        }
+        return payload;
+    }
+
     @Override
     public boolean isUrgent() {
         return isFlagRaised(FLAG_URGENT);
@@ -223,7 +336,7 @@ public final class Packet extends HeapData implements OutboundFrame {
      * @return the size of the packet.
      */
     public int packetSize() {
-        return (payload != null ? totalSize() : 0) + HEADER_SIZE;
+        return totalSize() + HEADER_SIZE;
     }
 
     @Override
@@ -263,6 +376,7 @@ public final class Packet extends HeapData implements OutboundFrame {
                 + ", conn=" + conn
                 + ", rawFlags=" + Integer.toBinaryString(flags)
                 + ", isUrgent=" + isUrgent()
+                + ", isCompressed=" + isFlagRaised(FLAG_COMPRESSED)
                 + ", packetType=" + type.name()
                 + ", typeSpecificFlags=" + type.describeFlags(flags)
                 + '}';
@@ -311,7 +425,12 @@ public final class Packet extends HeapData implements OutboundFrame {
          * <p>
          * {@code ordinal = 4}
          */
-        BIND,
+        BIND {
+            @Override
+            public String describeFlags(char flags) {
+                return "[isCompressionSupported=" + isFlagRaised(flags, FLAG_BIND_COMPRESSION) + ']';
+            }
+        },
         /**
          * Unused packet type. Available for future use.
          * <p>
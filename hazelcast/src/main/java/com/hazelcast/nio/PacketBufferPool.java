@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio;
+
+import com.hazelcast.internal.serialization.ByteBufferAllocator;
+import com.hazelcast.spi.annotation.PrivateApi;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A pool of direct {@link ByteBuffer} instances for the payload of outbound {@link Packet} instances.
+ *
+ * A payload that is serialized into a pooled buffer is written to the socket straight from that buffer, so large
+ * payloads don't cause a byte array to be allocated and copied for every packet. The buffer is returned to the pool
+ * once the packet has been written, see {@link Packet#release()}.
+ *
+ * Buffers are pooled in power of two size classes from {@value #MIN_POOLED_SIZE} bytes up to {@value #MAX_POOLED_SIZE}
+ * bytes; at most {@value #MAX_POOLED_BYTES_PER_SIZE_CLASS} bytes are kept per size class. Payloads outside of this
+ * range are served by plain heap buffers. A buffer that is never returned, e.g. because its packet was dropped on a
+ * closed connection, is simply garbage collected.
+ */
+@PrivateApi
+public final class PacketBufferPool implements ByteBufferAllocator {
+
+    /**
+     * Smaller payloads are cheaper to copy than to pool.
+     */
+    static final int MIN_POOLED_SIZE = 1024;
+    static final int MAX_POOLED_SIZE = 1024 * 1024;
+    static final int MAX_POOLED_BYTES_PER_SIZE_CLASS = 4 * 1024 * 1024;
+
+    private static final int MIN_SIZE_CLASS_SHIFT = log2(MIN_POOLED_SIZE);
+
+    private final ArrayBlockingQueue<ByteBuffer>[] sizeClasses;
+
+    @SuppressWarnings("unchecked")
+    public PacketBufferPool() {
+        int sizeClassCount = log2(MAX_POOLED_SIZE) - MIN_SIZE_CLASS_SHIFT + 1;
+        sizeClasses = new ArrayBlockingQueue[sizeClassCount];
+        for (int k = 0; k < sizeClassCount; k++) {
+            int capacity = MAX_POOLED_BYTES_PER_SIZE_CLASS / capacityOf(k);
+            sizeClasses[k] = new ArrayBlockingQueue<ByteBuffer>(capacity);
+        }
+    }
+
+    /**
+     * Checks if a payload of the given size is served from the pool.
+     *
+     * @param size the size of the payload in bytes
+     * @return {@code true} if the payload gets a pooled direct buffer, {@code false} otherwise.
+     */
+    public boolean isPooled(int size) {
+        return size >= MIN_POOLED_SIZE && size <= MAX_POOLED_SIZE;
+    }
+
+    /**
+     * Allocates a buffer for a payload. If the size is pooled, a direct buffer is taken from the pool; otherwise a heap
+     * buffer backed by an array of exactly the given size is returned.
+     *
+     * @param size the size of the payload in bytes
+     * @return the buffer with position 0 and limit {@code size}.
+     */
+    @Override
+    public ByteBuffer allocate(int size) {
+        if (!isPooled(size)) {
+            return ByteBuffer.allocate(size);
+        }
+
+        int sizeClass = sizeClassOf(size);
+        ByteBuffer buffer = sizeClasses[sizeClass].poll();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(capacityOf(sizeClass));
+        }
+        buffer.limit(size);
+        return buffer;
+    }
+
+    /**
+     * Creates a packet for a payload allocated by this pool. A pooled payload is returned to the pool when the packet
+     * is released; a heap payload becomes the byte array of a regular packet.
+     *
+     * @param payload     the payload, ready to be read from
+     * @param partitionId the partition ID of the packet
+     * @return the created packet
+     */
+    public Packet newPacket(ByteBuffer payload, int partitionId) {
+        if (payload.isDirect()) {
+            return new Packet(payload, this, partitionId);
+        }
+        return new Packet(payload.array(), partitionId);
+    }
+
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+        int capacity = buffer.capacity();
+        if (buffer.isDirect() && isPooled(capacity) && Integer.bitCount(capacity) == 1) {
+            // when the size class is full, the buffer is left to the garbage collector
+            sizeClasses[sizeClassOf(capacity)].offer(buffer);
+        }
+    }
+
+    private static int sizeClassOf(int size) {
+        return log2(nextPowerOfTwo(size)) - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    private static int capacityOf(int sizeClass) {
+        return 1 << (sizeClass + MIN_SIZE_CLASS_SHIFT);
+    }
+}
@@ -58,11 +58,7 @@ public class PacketIOHelper {
                 return false;
             }
 
-            dst.put(VERSION);
-            dst.putChar(packet.getFlags());
-            dst.putInt(packet.getPartitionId());
-            size = packet.totalSize();
-            dst.putInt(size);
+            size = writeHeader(packet, dst);
             headerComplete = true;
         }
 
@@ -74,6 +70,31 @@ public class PacketIOHelper {
         }
     }
 
+    /**
+     * Writes only the header of the packet to the supplied {@code ByteBuffer}; the payload is expected to be written
+     * by the caller. It doesn't change the state of this {@link PacketIOHelper}.
+     *
+     * @param dst the destination byte buffer
+     * @return {@code true} if the header is written; {@code false} if there is not enough space in the buffer.
+     */
+    public boolean writeHeaderTo(Packet packet, ByteBuffer dst) {
+        if (dst.remaining() < HEADER_SIZE) {
+            return false;
+        }
+
+        writeHeader(packet, dst);
+        return true;
+    }
+
+    private static int writeHeader(Packet packet, ByteBuffer dst) {
+        dst.put(VERSION);
+        dst.putChar(packet.getFlags());
+        dst.putInt(packet.getPartitionId());
+        int size = packet.totalSize();
+        dst.putInt(size);
+        return size;
+    }
+
     private boolean writeValue(Packet packet, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
@@ -94,8 +115,16 @@ public class PacketIOHelper {
                 done = false;
             }
 
-            byte[] byteArray = packet.toByteArray();
-            dst.put(byteArray, valueOffset, bytesWrite);
+            ByteBuffer payloadBuffer = packet.getPayloadBuffer();
+            if (payloadBuffer != null) {
+                // a pooled payload is copied straight from its buffer
+                payloadBuffer.limit(valueOffset + bytesWrite);
+                payloadBuffer.position(valueOffset);
+                dst.put(payloadBuffer);
+            } else {
+                byte[] byteArray = packet.toByteArray();
+                dst.put(byteArray, valueOffset, bytesWrite);
+            }
             valueOffset += bytesWrite;
 
             if (!done) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.LZ4BlockCodec;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.nio.Packet;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.readIntB;
+import static com.hazelcast.nio.Bits.writeIntB;
+import static com.hazelcast.nio.Packet.FLAG_COMPRESSED;
+import static java.lang.System.nanoTime;
+
+/**
+ * Compresses and decompresses the payload of member to member {@link Packet packets}.
+ * <p>
+ * The payload of a compressed packet consists of the length of the original payload followed by the
+ * {@link LZ4BlockCodec LZ4 block} of the original payload. The packet has the {@link Packet#FLAG_COMPRESSED} raised;
+ * all other flags and the partition ID are the same as of the original packet.
+ * <p>
+ * Compression is done by the IO thread writing the packet, see {@link PacketEncoder}, decompression by the IO thread
+ * reading it.
+ * The compressor is thread-safe.
+ */
+public final class PacketCompressor {
+
+    @Probe
+    private final MwCounter compressedCount = newMwCounter();
+    @Probe
+    private final MwCounter uncompressedBytes = newMwCounter();
+    @Probe
+    private final MwCounter compressedBytes = newMwCounter();
+    @Probe
+    private final MwCounter bytesSaved = newMwCounter();
+    @Probe
+    private final MwCounter compressionTimeNanos = newMwCounter();
+    @Probe
+    private final MwCounter incompressibleCount = newMwCounter();
+    @Probe
+    private final MwCounter decompressedCount = newMwCounter();
+    @Probe
+    private final MwCounter decompressionTimeNanos = newMwCounter();
+
+    private final boolean enabled;
+    private final int threshold;
+
+    /**
+     * @param enabled   if packets should be compressed before they are written
+     * @param threshold the minimum payload size of a packet to be compressed
+     */
+    public PacketCompressor(boolean enabled, int threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Checks if this member compresses packets to members which are able to decompress them.
+     *
+     * @return {@code true} if compression is enabled, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Compresses the given packet if its payload is large enough and it can be compressed.
+     *
+     * @param packet the packet to compress
+     * @return a new packet with the compressed payload, or the given packet if it is not compressed
+     */
+    public Packet compress(Packet packet) {
+        int length = packet.totalSize();
+        if (length < threshold || packet.isFlagRaised(FLAG_COMPRESSED)) {
+            return packet;
+        }
+
+        long startNanos = nanoTime();
+        byte[] payload = payloadOf(packet, length);
+        byte[] compressed = new byte[INT_SIZE_IN_BYTES + LZ4BlockCodec.maxCompressedLength(length)];
+        writeIntB(compressed, 0, length);
+        int compressedLength = INT_SIZE_IN_BYTES
+                + LZ4BlockCodec.compress(payload, 0, length, compressed, INT_SIZE_IN_BYTES);
+        if (compressedLength >= length) {
+            incompressibleCount.inc();
+            return packet;
+        }
+
+        Packet result = new Packet(Arrays.copyOf(compressed, compressedLength), packet.getPartitionId())
+                .resetFlagsTo(packet.getFlags() | FLAG_COMPRESSED);
+        compressionTimeNanos.inc(nanoTime() - startNanos);
+        compressedCount.inc();
+        uncompressedBytes.inc(length);
+        compressedBytes.inc(compressedLength);
+        bytesSaved.inc(length - compressedLength);
+        return result;
+    }
+
+    /**
+     * Decompresses the given packet.
+     *
+     * @param packet a packet with the {@link Packet#FLAG_COMPRESSED} raised
+     * @return a new packet with the original payload
+     * @throws IllegalArgumentException if the payload of the packet is not a valid compressed payload
+     */
+    public Packet decompress(Packet packet) {
+        assert packet.isFlagRaised(FLAG_COMPRESSED);
+
+        long startNanos = nanoTime();
+        byte[] compressed = packet.toByteArray();
+        if (compressed == null || compressed.length < INT_SIZE_IN_BYTES) {
+            throw new IllegalArgumentException("Compressed packet is too short: " + packet);
+        }
+        int length = readIntB(compressed, 0);
+        if (length < 0) {
+            throw new IllegalArgumentException("Invalid length of compressed packet: " + packet);
+        }
+
+        byte[] payload = new byte[length];
+        int decompressedLength = LZ4BlockCodec.decompress(compressed, INT_SIZE_IN_BYTES,
+                compressed.length - INT_SIZE_IN_BYTES, payload, 0, length);
+        if (decompressedLength != length) {
+            throw new IllegalArgumentException("Compressed packet decompressed to " + decompressedLength
+                    + " bytes instead of " + length + ": " + packet);
+        }
+
+        Packet result = new Packet(payload, packet.getPartitionId())
+                .resetFlagsTo(packet.getFlags() & ~FLAG_COMPRESSED);
+        decompressionTimeNanos.inc(nanoTime() - startNanos);
+        decompressedCount.inc();
+        return result;
+    }
+
+    private static byte[] payloadOf(Packet packet, int length) {
+        ByteBuffer payloadBuffer = packet.getPayloadBuffer();
+        if (payloadBuffer == null) {
+            return packet.toByteArray();
+        }
+        // a pooled payload is copied without caching the copy on the packet, since the packet is released after writing
+        byte[] payload = new byte[length];
+        payloadBuffer.get(payload);
+        return payload;
+    }
+}
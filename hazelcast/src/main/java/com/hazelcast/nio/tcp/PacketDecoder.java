@@ -20,10 +20,13 @@ import com.hazelcast.internal.networking.ChannelInboundHandler;
 import com.hazelcast.internal.networking.nio.ChannelInboundHandlerWithCounters;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.PacketIOHelper;
+import com.hazelcast.spi.impl.PacketBatchHandler;
 import com.hazelcast.spi.impl.PacketHandler;
 
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
+import static com.hazelcast.nio.Packet.FLAG_COMPRESSED;
 import static com.hazelcast.nio.Packet.FLAG_URGENT;
 
 /**
@@ -31,28 +34,54 @@ import static com.hazelcast.nio.Packet.FLAG_URGENT;
  *
  * It reads as many packets from the src ByteBuffer as possible, and each of the Packets is send to the {@link PacketHandler}.
  *
+ * When batching is enabled and the handler is a {@link PacketBatchHandler}, the packets read from the src ByteBuffer are
+ * collected and send to the handler as a single batch once the read is complete. This allows the handler to hand over
+ * the packets to other threads in bulk.
+ *
+ * Compressed packets are decompressed before they are send to the handler, see {@link PacketCompressor}.
+ *
  * @see PacketHandler
  * @see PacketEncoder
  */
 public class PacketDecoder extends ChannelInboundHandlerWithCounters {
 
+    static final int MAX_BATCH_SIZE = 64;
+
     protected final TcpIpConnection connection;
     private final PacketHandler handler;
+    private final PacketBatchHandler batchHandler;
+    private final Packet[] batch;
     private final PacketIOHelper packetReader = new PacketIOHelper();
+    private int batchSize;
 
     public PacketDecoder(TcpIpConnection connection, PacketHandler handler) {
+        this(connection, handler, false);
+    }
+
+    public PacketDecoder(TcpIpConnection connection, PacketHandler handler, boolean batching) {
         this.connection = connection;
         this.handler = handler;
+        if (batching && handler instanceof PacketBatchHandler) {
+            this.batchHandler = (PacketBatchHandler) handler;
+            this.batch = new Packet[MAX_BATCH_SIZE];
+        } else {
+            this.batchHandler = null;
+            this.batch = null;
+        }
     }
 
     @Override
     public void onRead(ByteBuffer src) throws Exception {
-        while (src.hasRemaining()) {
-            Packet packet = packetReader.readFrom(src);
-            if (packet == null) {
-                break;
+        try {
+            while (src.hasRemaining()) {
+                Packet packet = packetReader.readFrom(src);
+                if (packet == null) {
+                    break;
+                }
+                onPacketComplete(packet);
             }
-            onPacketComplete(packet);
+        } finally {
+            flushBatch();
         }
     }
 
@@ -63,8 +92,33 @@ public class PacketDecoder extends ChannelInboundHandlerWithCounters {
             normalPacketsRead.inc();
         }
 
+        if (packet.isFlagRaised(FLAG_COMPRESSED)) {
+            packet = connection.getConnectionManager().getPacketCompressor().decompress(packet);
+        }
         packet.setConn(connection);
 
-        handler.handle(packet);
+        if (batchHandler == null) {
+            handler.handle(packet);
+            return;
+        }
+
+        if (batchSize == batch.length) {
+            flushBatch();
+        }
+        batch[batchSize++] = packet;
+    }
+
+    private void flushBatch() throws Exception {
+        if (batchSize == 0) {
+            return;
+        }
+
+        try {
+            batchHandler.handle(batch, batchSize);
+        } finally {
+            // the handler is allowed to modify the batch, so all slots are cleared
+            Arrays.fill(batch, 0, batchSize, null);
+            batchSize = 0;
+        }
     }
 }
@@ -17,6 +17,7 @@
 package com.hazelcast.nio.tcp;
 
 import com.hazelcast.internal.networking.ChannelOutboundHandler;
+import com.hazelcast.internal.networking.GatheringChannelOutboundHandler;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.PacketIOHelper;
 
@@ -27,17 +28,95 @@ import java.nio.ByteBuffer;
  *
  * It writes {@link Packet} instances to the {@link ByteBuffer}.
  *
+ * Payloads of at least {@value #MIN_GATHERED_PAYLOAD_SIZE} bytes can be written to the socket by a gathering write
+ * directly from the packet, see {@link GatheringChannelOutboundHandler}. Once a packet has been written, its pooled
+ * payload is released, see {@link Packet#release()}.
+ *
  * It makes use of a flyweight to allow the sharing of a packet-instance over multiple connections. The flyweight contains
  * the actual 'position' state of what has been written.
  *
+ * Once the remote member announced that it can decompress packets, large packets are compressed by the IO thread right
+ * before they are written, see {@link PacketCompressor}. The packet itself is not modified since it may be shared; the
+ * compressed copy is written in its place.
+ *
  * @see PacketDecoder
  */
-public class PacketEncoder implements ChannelOutboundHandler<Packet> {
+public class PacketEncoder implements GatheringChannelOutboundHandler<Packet> {
+
+    /**
+     * Payloads smaller than this are cheaper to copy to the socket buffer than to write from their own buffer.
+     */
+    static final int MIN_GATHERED_PAYLOAD_SIZE = 1024;
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
+    private final TcpIpConnection connection;
+
+    // the packet being written and the packet written in its place; the same one if it isn't compressed
+    private Packet source;
+    private Packet encoded;
+
+    public PacketEncoder() {
+        this(null);
+    }
+
+    /**
+     * @param connection the connection the packets are written to, or {@code null} if they are never compressed
+     */
+    public PacketEncoder(TcpIpConnection connection) {
+        this.connection = connection;
+    }
 
     @Override
     public boolean onWrite(Packet packet, ByteBuffer dst) {
-        return packetWriter.writeTo(packet, dst);
+        if (packetWriter.writeTo(encode(packet), dst)) {
+            written();
+            packet.release();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public ByteBuffer getGatheredPayload(Packet packet) {
+        Packet encodedPacket = encode(packet);
+        int size = encodedPacket.totalSize();
+        if (size < MIN_GATHERED_PAYLOAD_SIZE) {
+            return null;
+        }
+
+        ByteBuffer payloadBuffer = encodedPacket.getPayloadBuffer();
+        return payloadBuffer != null ? payloadBuffer : ByteBuffer.wrap(encodedPacket.toByteArray(), 0, size);
+    }
+
+    @Override
+    public boolean onWriteHeader(Packet packet, ByteBuffer dst) {
+        if (packetWriter.writeHeaderTo(encode(packet), dst)) {
+            written();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void onGatheredPayloadWritten(Packet packet) {
+        packet.release();
+    }
+
+    /**
+     * Returns the packet to write in place of the given one. The packet is compressed at most once, even though
+     * it can take multiple calls to write it.
+     */
+    private Packet encode(Packet packet) {
+        if (packet != source) {
+            PacketCompressor compressor = connection == null ? null : connection.getPacketCompressor();
+            source = packet;
+            encoded = compressor == null ? packet : compressor.compress(packet);
+        }
+        return encoded;
+    }
+
+    private void written() {
+        source = null;
+        encoded = null;
     }
 }
@@ -65,6 +65,9 @@ public final class TcpIpConnection implements Connection {
 
     private volatile String closeReason;
 
+    // set once the remote member announced that it can decompress packets; null if packets are written as is
+    private volatile PacketCompressor compressor;
+
     public TcpIpConnection(TcpIpConnectionManager connectionManager,
                            int connectionId,
                            Channel channel) {
@@ -155,6 +158,28 @@ public final class TcpIpConnection implements Connection {
         return t != null && t != ConnectionType.NONE && t.isClient();
     }
 
+    /**
+     * Sets the compressor used to compress the packets written to this connection.
+     *
+     * @param compressor the compressor, or {@code null} to write the packets uncompressed
+     */
+    void setPacketCompressor(PacketCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    /**
+     * Returns the compressor used to compress the packets written to this connection.
+     *
+     * @return the compressor, or {@code null} if the packets are written uncompressed
+     */
+    PacketCompressor getPacketCompressor() {
+        return compressor;
+    }
+
+    boolean isCompressionEnabled() {
+        return compressor != null;
+    }
+
     @Override
     public boolean write(OutboundFrame frame) {
         if (channel.write(frame)) {
@@ -47,6 +47,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -60,6 +61,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.Packet.FLAG_BIND_COMPRESSION;
+import static com.hazelcast.nio.Packet.FLAG_OP_RESPONSE;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.ThreadUtil.createThreadPoolName;
 
@@ -76,6 +79,8 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
 
     private final boolean spoofingChecks;
 
+    private final int connectionsPerMember;
+
     private final IOService ioService;
 
     private final ConstructorFunction<Address, TcpIpConnectionErrorHandler> monitorConstructor
@@ -90,6 +95,10 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
     @Probe(name = "count", level = MANDATORY)
     private final ConcurrentHashMap<Address, Connection> connectionsMap = new ConcurrentHashMap<Address, Connection>(100);
 
+    // the additional connections to a member, next to the one in the connectionsMap. The arrays are copy-on-write.
+    private final ConcurrentHashMap<Address, TcpIpConnection[]> additionalConnectionsMap
+            = new ConcurrentHashMap<Address, TcpIpConnection[]>();
+
     @Probe(name = "monitorCount")
     private final ConcurrentHashMap<Address, TcpIpConnectionErrorHandler> monitors =
             new ConcurrentHashMap<Address, TcpIpConnectionErrorHandler>(100);
@@ -124,6 +133,8 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
 
     private final ScheduledExecutorService scheduler;
 
+    private final PacketCompressor packetCompressor;
+
     // accessed only in synchronized block
     private volatile TcpIpAcceptor acceptor;
 
@@ -156,10 +167,22 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         this.scheduler = new ScheduledThreadPoolExecutor(SCHEDULER_POOL_SIZE,
                 new ThreadFactoryImpl(createThreadPoolName(ioService.getHazelcastName(), "TcpIpConnectionManager")));
         this.spoofingChecks = properties != null && properties.getBoolean(GroupProperty.BIND_SPOOFING_CHECKS);
+        this.connectionsPerMember = properties == null
+                ? 1 : Math.max(1, properties.getInteger(GroupProperty.IO_CONNECTIONS_PER_MEMBER));
+        this.packetCompressor = newPacketCompressor(properties);
         metricsRegistry.scanAndRegister(this, "tcp.connection");
+        metricsRegistry.scanAndRegister(packetCompressor, "tcp.compression");
         checkSslAllowed();
     }
 
+    private static PacketCompressor newPacketCompressor(HazelcastProperties properties) {
+        if (properties == null) {
+            return new PacketCompressor(false, Integer.MAX_VALUE);
+        }
+        return new PacketCompressor(properties.getBoolean(GroupProperty.IO_COMPRESSION_ENABLED),
+                properties.getInteger(GroupProperty.IO_COMPRESSION_THRESHOLD));
+    }
+
     private void checkSslAllowed() {
         SSLConfig sslConfig = ioService.getSSLConfig();
         if (sslConfig != null && sslConfig.isEnabled()) {
@@ -177,6 +200,10 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         return eventLoopGroup;
     }
 
+    public PacketCompressor getPacketCompressor() {
+        return packetCompressor;
+    }
+
     // just for testing
     public Set<TcpIpConnection> getActiveConnections() {
         return activeConnections;
@@ -211,7 +238,12 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         assert packet.getPacketType() == Packet.Type.BIND;
 
         BindMessage bind = ioService.getSerializationService().toObject(packet);
-        bind((TcpIpConnection) packet.getConn(), bind.getLocalAddress(), bind.getTargetAddress(), bind.shouldReply());
+        TcpIpConnection connection = (TcpIpConnection) packet.getConn();
+        if (packetCompressor.isEnabled() && packet.isFlagRaised(FLAG_BIND_COMPRESSION)) {
+            // the remote member is able to decompress, so from now on the large packets to it are compressed
+            connection.setPacketCompressor(packetCompressor);
+        }
+        bind(connection, bind.getLocalAddress(), bind.getTargetAddress(), bind.shouldReply());
     }
 
     /**
@@ -248,7 +280,21 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
             return false;
         }
 
-        return registerConnection(remoteEndPoint, connection);
+        return registerAndConnectAdditional(remoteEndPoint, connection, reply);
+    }
+
+    private boolean registerAndConnectAdditional(Address remoteEndPoint, TcpIpConnection connection, boolean reply) {
+        if (!registerConnection(remoteEndPoint, connection)) {
+            return false;
+        }
+
+        // only the member that made the connection, and therefore receives a bind without reply, makes the additional ones
+        if (!reply) {
+            for (int k = 1; k < connectionsPerMember; k++) {
+                connector.asyncConnect(remoteEndPoint, true);
+            }
+        }
+        return true;
     }
 
     private boolean ensureValidBindSource(TcpIpConnection connection, Address remoteEndPoint) {
@@ -350,12 +396,121 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
                             + ", new one is " + connection);
                 }
                 activeConnections.add(connection);
+                if (!connection.isClient()) {
+                    connection.setErrorHandler(getErrorHandler(remoteEndPoint, true));
+                }
+                addAdditionalConnection(remoteEndPoint, connection);
             }
             return true;
         }
         return false;
     }
 
+    private void addAdditionalConnection(Address remoteEndPoint, TcpIpConnection connection) {
+        for (; ; ) {
+            TcpIpConnection[] connections = additionalConnectionsMap.get(remoteEndPoint);
+            if (connections == null) {
+                if (connectionsPerMember == 1
+                        || additionalConnectionsMap.putIfAbsent(remoteEndPoint, new TcpIpConnection[]{connection}) == null) {
+                    return;
+                }
+                continue;
+            }
+
+            if (connections.length >= connectionsPerMember - 1) {
+                // a duplicate connection; e.g. when both members connected to each other at the same time
+                destroySilently(connection, "Duplicate connection to " + remoteEndPoint);
+                return;
+            }
+
+            TcpIpConnection[] newConnections = Arrays.copyOf(connections, connections.length + 1);
+            newConnections[connections.length] = connection;
+            if (additionalConnectionsMap.replace(remoteEndPoint, connections, newConnections)) {
+                return;
+            }
+        }
+    }
+
+    private void removeAdditionalConnection(Address remoteEndPoint, Connection connection) {
+        for (; ; ) {
+            TcpIpConnection[] connections = additionalConnectionsMap.get(remoteEndPoint);
+            int index = connections == null ? -1 : indexOf(connections, connection);
+            if (index == -1) {
+                return;
+            }
+
+            if (connections.length == 1) {
+                if (additionalConnectionsMap.remove(remoteEndPoint, connections)) {
+                    return;
+                }
+                continue;
+            }
+
+            TcpIpConnection[] newConnections = new TcpIpConnection[connections.length - 1];
+            System.arraycopy(connections, 0, newConnections, 0, index);
+            System.arraycopy(connections, index + 1, newConnections, index, newConnections.length - index);
+            if (additionalConnectionsMap.replace(remoteEndPoint, connections, newConnections)) {
+                return;
+            }
+        }
+    }
+
+    private static int indexOf(TcpIpConnection[] connections, Connection connection) {
+        for (int k = 0; k < connections.length; k++) {
+            if (connections[k] == connection) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    private void closeAdditionalConnections(Address remoteEndPoint) {
+        TcpIpConnection[] connections = additionalConnectionsMap.remove(remoteEndPoint);
+        if (connections == null) {
+            return;
+        }
+
+        for (TcpIpConnection connection : connections) {
+            destroySilently(connection, "Connection to " + remoteEndPoint + " is closed");
+        }
+    }
+
+    /**
+     * Returns the connection a packet, that is going to be written to the given connection, should be written to.
+     *
+     * Operation packets for a partition that are written to the connection of a member are spread over the
+     * additional connections to that member based on the partition id. Every partition has a fixed slot, so its
+     * packets keep their order. The additional connections are only used once all of them are bound; until then,
+     * and after one of them is closed, every packet is written to the given connection.
+     */
+    Connection selectConnection(Packet packet, Connection connection) {
+        if (connectionsPerMember == 1 || !isPartitionSpecificOperation(packet)) {
+            return connection;
+        }
+
+        Address endPoint = connection.getEndPoint();
+        TcpIpConnection[] connections = endPoint == null ? null : additionalConnectionsMap.get(endPoint);
+        if (connections == null || connections.length < connectionsPerMember - 1
+                || connectionsMap.get(endPoint) != connection) {
+            return connection;
+        }
+
+        int index = packet.getPartitionId() % connectionsPerMember;
+        if (index == 0) {
+            return connection;
+        }
+
+        TcpIpConnection additional = connections[index - 1];
+        return additional.isAlive() ? additional : connection;
+    }
+
+    private static boolean isPartitionSpecificOperation(Packet packet) {
+        return packet.getPacketType() == Packet.Type.OPERATION
+                && packet.getPartitionId() >= 0
+                && !packet.isUrgent()
+                && !packet.isFlagRaised(FLAG_OP_RESPONSE);
+    }
+
     void sendBindRequest(TcpIpConnection connection, Address remoteEndPoint, boolean reply) {
         connection.setEndPoint(remoteEndPoint);
         ioService.onSuccessfulConnection(remoteEndPoint);
@@ -365,7 +520,8 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         }
         BindMessage bind = new BindMessage(ioService.getThisAddress(), remoteEndPoint, reply);
         byte[] bytes = ioService.getSerializationService().toBytes(bind);
-        Packet packet = new Packet(bytes).setPacketType(Packet.Type.BIND);
+        // every member is able to decompress packets, even if it doesn't compress the packets it writes itself
+        Packet packet = new Packet(bytes).setPacketType(Packet.Type.BIND).raiseFlags(FLAG_BIND_COMPRESSION);
         connection.write(packet);
         //now you can send anything...
     }
@@ -448,7 +604,11 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         Address endPoint = connection.getEndPoint();
         if (endPoint != null) {
             connectionsInProgress.remove(endPoint);
-            connectionsMap.remove(endPoint, connection);
+            if (connectionsMap.remove(endPoint, connection)) {
+                closeAdditionalConnections(endPoint);
+            } else {
+                removeAdditionalConnection(endPoint, connection);
+            }
             fireConnectionRemovedEvent(connection, endPoint);
         }
     }
@@ -520,6 +680,7 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
         acceptedSockets.clear();
         connectionsInProgress.clear();
         connectionsMap.clear();
+        additionalConnectionsMap.clear();
         monitors.clear();
         activeConnections.clear();
     }
@@ -588,7 +749,7 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
             return false;
         }
 
-        return connection.write(packet);
+        return selectConnection(packet, connection).write(packet);
     }
 
     /**
@@ -605,7 +766,7 @@ public class TcpIpConnectionManager implements ConnectionManager, PacketHandler
     private boolean send(Packet packet, Address target, SendTask sendTask) {
         Connection connection = getConnection(target);
         if (connection != null) {
-            return connection.write(packet);
+            return selectConnection(packet, connection).write(packet);
         }
 
         if (sendTask == null) {
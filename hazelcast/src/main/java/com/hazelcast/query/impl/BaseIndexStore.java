@@ -37,6 +37,7 @@ public abstract class BaseIndexStore implements IndexStore {
     private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
 
     private final CopyFunctor<Data, QueryableEntry> resultCopyFunctor;
+    private final IndexStatistics statistics = new IndexStatistics();
 
     private boolean multiResultHasToDetectDuplicates;
 
@@ -69,10 +70,12 @@ public abstract class BaseIndexStore implements IndexStore {
             for (Object o : results) {
                 Comparable sanitizedValue = sanitizeValue(o);
                 newIndexInternal(sanitizedValue, record);
+                statistics.onAdd(sanitizedValue);
             }
         } else {
             Comparable sanitizedValue = sanitizeValue(newValue);
             newIndexInternal(sanitizedValue, record);
+            statistics.onAdd(sanitizedValue);
         }
     }
 
@@ -92,10 +95,12 @@ public abstract class BaseIndexStore implements IndexStore {
             for (Object o : results) {
                 Comparable sanitizedValue = sanitizeValue(o);
                 removeIndexInternal(sanitizedValue, indexKey);
+                statistics.onRemove();
             }
         } else {
             Comparable sanitizedValue = sanitizeValue(oldValue);
             removeIndexInternal(sanitizedValue, indexKey);
+            statistics.onRemove();
         }
     }
 
@@ -111,6 +116,11 @@ public abstract class BaseIndexStore implements IndexStore {
         }
     }
 
+    @Override
+    public final IndexStatistics getStatistics() {
+        return statistics;
+    }
+
     @Override
     public void destroy() {
         // NOOP
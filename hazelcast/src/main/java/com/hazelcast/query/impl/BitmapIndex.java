@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.bitmap.SparseBitmap;
+import com.hazelcast.query.impl.getters.Extractors;
+
+/**
+ * Unordered index backed by a {@link BitmapIndexStore}. The bitmap indexes of an
+ * {@link Indexes} instance share the same {@link EntryOrdinals}, so equality
+ * predicates on them combined by {@code AND}, {@code OR} and {@code NOT} are
+ * evaluated as bitmap operations without materializing intermediate results.
+ */
+public class BitmapIndex extends IndexImpl {
+
+    private static final SparseBitmap EMPTY = new SparseBitmap();
+
+    private final EntryOrdinals entryOrdinals;
+    private final BitmapIndexStore bitmapStore;
+
+    public BitmapIndex(String attributeName, InternalSerializationService ss, Extractors extractors,
+                       EntryOrdinals entryOrdinals) {
+        this(attributeName, ss, extractors, entryOrdinals, new BitmapIndexStore(entryOrdinals));
+    }
+
+    private BitmapIndex(String attributeName, InternalSerializationService ss, Extractors extractors,
+                        EntryOrdinals entryOrdinals, BitmapIndexStore bitmapStore) {
+        super(attributeName, false, ss, extractors, IndexCopyBehavior.NEVER, bitmapStore);
+        this.entryOrdinals = entryOrdinals;
+        this.bitmapStore = bitmapStore;
+    }
+
+    public EntryOrdinals getEntryOrdinals() {
+        return entryOrdinals;
+    }
+
+    /**
+     * Returns the bitmap of the ordinals of the entries having the given value. Must be called
+     * under the {@link EntryOrdinals#readLock() read lock} of the entry ordinals and the returned
+     * bitmap must not be modified.
+     */
+    public SparseBitmap getBitmap(Comparable value) {
+        TypeConverter converter = getConverter();
+        return converter == null ? EMPTY : bitmapStore.getBitmap(converter.convert(value));
+    }
+
+    /**
+     * Returns the bitmap of the ordinals of the entries having any of the given values.
+     * Must be called under the {@link EntryOrdinals#readLock() read lock} of the entry ordinals.
+     */
+    public SparseBitmap getBitmap(Comparable[] values) {
+        SparseBitmap result = EMPTY;
+        for (Comparable value : values) {
+            result = result.or(getBitmap(value));
+        }
+        return result;
+    }
+}
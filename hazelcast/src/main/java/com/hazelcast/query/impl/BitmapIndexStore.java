@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.util.bitmap.SparseBitmap;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index store keeping a compressed bitmap of {@link EntryOrdinals entry ordinals}
+ * per distinct value. Meant for attributes with a few distinct values, where the
+ * bitmaps are small and predicates over several such attributes are evaluated as
+ * word-level bitmap operations, see {@link BitmapIndex}.
+ * <p>
+ * The store is guarded by the lock of the entry ordinals it shares with the other
+ * bitmap indexes of the same {@link Indexes}.
+ */
+public class BitmapIndexStore extends BaseIndexStore {
+
+    private static final SparseBitmap EMPTY = new SparseBitmap();
+
+    private final Map<Comparable, SparseBitmap> bitmaps = new HashMap<Comparable, SparseBitmap>();
+    private final EntryOrdinals entryOrdinals;
+
+    public BitmapIndexStore(EntryOrdinals entryOrdinals) {
+        // results are always built from scratch, there is nothing to copy
+        super(IndexCopyBehavior.NEVER);
+        this.entryOrdinals = entryOrdinals;
+    }
+
+    @Override
+    void newIndexInternal(Comparable newValue, QueryableEntry record) {
+        int ordinal = entryOrdinals.acquire(record);
+        SparseBitmap bitmap = bitmaps.get(newValue);
+        if (bitmap == null) {
+            bitmap = new SparseBitmap();
+            bitmaps.put(newValue, bitmap);
+        }
+        bitmap.add(ordinal);
+    }
+
+    @Override
+    void removeIndexInternal(Comparable oldValue, Data indexKey) {
+        int ordinal = entryOrdinals.getOrdinal(indexKey);
+        SparseBitmap bitmap = bitmaps.get(oldValue);
+        if (ordinal < 0 || bitmap == null) {
+            return;
+        }
+        bitmap.remove(ordinal);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(oldValue);
+        }
+    }
+
+    @Override
+    void takeWriteLock() {
+        entryOrdinals.takeWriteLock();
+    }
+
+    @Override
+    void releaseWriteLock() {
+        entryOrdinals.releaseWriteLock();
+    }
+
+    @Override
+    void takeReadLock() {
+        entryOrdinals.readLock().lock();
+    }
+
+    @Override
+    void releaseReadLock() {
+        entryOrdinals.readLock().unlock();
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            bitmaps.clear();
+            getStatistics().clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    /**
+     * Returns the bitmap of the given already converted value. Must be called under
+     * the {@link EntryOrdinals#readLock() read lock} of the entry ordinals and the
+     * returned bitmap must not be modified.
+     */
+    SparseBitmap getBitmap(Comparable value) {
+        SparseBitmap bitmap = bitmaps.get(value);
+        return bitmap == null ? EMPTY : bitmap;
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            return entryOrdinals.toEntries(getBitmap(value));
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            SparseBitmap result = EMPTY;
+            for (Comparable value : values) {
+                result = result.or(getBitmap(value));
+            }
+            return entryOrdinals.toEntries(result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        takeReadLock();
+        try {
+            SparseBitmap result = EMPTY;
+            for (Map.Entry<Comparable, SparseBitmap> entry : bitmaps.entrySet()) {
+                Comparable value = entry.getKey();
+                // like in the other stores ranges never match nulls
+                if (!(value instanceof IndexImpl.NullObject) && value.compareTo(from) >= 0 && value.compareTo(to) <= 0) {
+                    result = result.or(entry.getValue());
+                }
+            }
+            return entryOrdinals.toEntries(result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        takeReadLock();
+        try {
+            SparseBitmap result = EMPTY;
+            for (Map.Entry<Comparable, SparseBitmap> entry : bitmaps.entrySet()) {
+                Comparable value = entry.getKey();
+                if (!(value instanceof IndexImpl.NullObject) && matches(comparisonType, searchedValue.compareTo(value))) {
+                    result = result.or(entry.getValue());
+                }
+            }
+            return entryOrdinals.toEntries(result);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private static boolean matches(ComparisonType comparisonType, int searchedToValue) {
+        switch (comparisonType) {
+            case LESSER:
+                return searchedToValue > 0;
+            case LESSER_EQUAL:
+                return searchedToValue >= 0;
+            case GREATER:
+                return searchedToValue < 0;
+            case GREATER_EQUAL:
+                return searchedToValue <= 0;
+            case NOT_EQUAL:
+                return searchedToValue != 0;
+            default:
+                throw new IllegalStateException("Unrecognized comparisonType: " + comparisonType);
+        }
+    }
+}
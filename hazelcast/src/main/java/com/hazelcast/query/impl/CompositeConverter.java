@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+
+import static com.hazelcast.query.impl.TypeConverters.NULL_CONVERTER;
+
+/**
+ * Converts the components of {@link CompositeValue}s by the converters of the attributes
+ * of a composite index. The infinity markers are kept as they are.
+ */
+final class CompositeConverter implements TypeConverter {
+
+    private final TypeConverter[] converters;
+
+    CompositeConverter(TypeConverter[] converters) {
+        this.converters = converters;
+    }
+
+    /**
+     * @return {@code true} if the converter of some component is not known yet,
+     * because only {@code null} values were indexed for it so far
+     */
+    boolean isTransient() {
+        for (TypeConverter converter : converters) {
+            if (converter == NULL_CONVERTER) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return a copy of this converter having the unknown component converters replaced by the given ones
+     */
+    CompositeConverter complete(TypeConverter[] knownConverters) {
+        TypeConverter[] completed = new TypeConverter[converters.length];
+        for (int i = 0; i < converters.length; i++) {
+            completed[i] = converters[i] == NULL_CONVERTER ? knownConverters[i] : converters[i];
+        }
+        return new CompositeConverter(completed);
+    }
+
+    @Override
+    public Comparable convert(Comparable value) {
+        if (!(value instanceof CompositeValue)) {
+            throw new IllegalArgumentException("Only composite values can be used with a composite index: " + value);
+        }
+        Comparable[] components = ((CompositeValue) value).getComponents();
+        Comparable[] converted = new Comparable[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Comparable component = components[i];
+            if (component == CompositeValue.NEGATIVE_INFINITY || component == CompositeValue.POSITIVE_INFINITY) {
+                converted[i] = component;
+            } else {
+                converted[i] = i < converters.length ? converters[i].convert(component) : component;
+            }
+        }
+        return new CompositeValue(converted);
+    }
+}
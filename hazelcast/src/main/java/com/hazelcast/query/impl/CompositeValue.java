@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+
+/**
+ * Value of a composite index: the values of the indexed attributes in the order of
+ * the components of the index.
+ * <p>
+ * Composite values are ordered lexicographically by their components. Range bounds
+ * can be padded with the {@link #NEGATIVE_INFINITY} and {@link #POSITIVE_INFINITY}
+ * markers, which are lower and greater than any component value. A bound may have one
+ * more component than the values of the index: when all the other components are equal,
+ * the extra component decides if the bound is right below or right above the values,
+ * so a bound like {@code (1, 5, +inf)} is greater than all the values {@code (1, 5)}
+ * and lower than all the values {@code (1, 6)}. This way exclusive bounds on the last
+ * component can be expressed by inclusive ones.
+ */
+public final class CompositeValue implements Comparable<CompositeValue> {
+
+    /**
+     * Marker lower than any component value.
+     */
+    public static final Comparable NEGATIVE_INFINITY = new SpecialValue("-inf");
+
+    /**
+     * Marker greater than any component value.
+     */
+    public static final Comparable POSITIVE_INFINITY = new SpecialValue("+inf");
+
+    private final Comparable[] components;
+
+    public CompositeValue(Comparable[] components) {
+        this.components = components;
+    }
+
+    /**
+     * @return the components of this value; the returned array must not be modified
+     */
+    public Comparable[] getComponents() {
+        return components;
+    }
+
+    @Override
+    public int compareTo(CompositeValue other) {
+        Comparable[] otherComponents = other.components;
+        int length = Math.min(components.length, otherComponents.length);
+        for (int i = 0; i < length; i++) {
+            int result = compareComponents(components[i], otherComponents[i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        if (components.length == otherComponents.length) {
+            return 0;
+        }
+        return components.length > otherComponents.length
+                ? compareExtraComponent(components[length]) : -compareExtraComponent(otherComponents[length]);
+    }
+
+    private static int compareExtraComponent(Comparable extraComponent) {
+        return extraComponent == NEGATIVE_INFINITY ? -1 : 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compareComponents(Comparable left, Comparable right) {
+        if (left == right) {
+            return 0;
+        }
+        if (left == NEGATIVE_INFINITY || right == POSITIVE_INFINITY) {
+            return -1;
+        }
+        if (left == POSITIVE_INFINITY || right == NEGATIVE_INFINITY) {
+            return 1;
+        }
+        // nulls are lower than any other value, some comparables can't compare themselves with them
+        if (left instanceof IndexImpl.NullObject) {
+            return right instanceof IndexImpl.NullObject ? 0 : -1;
+        }
+        if (right instanceof IndexImpl.NullObject) {
+            return 1;
+        }
+        return left.compareTo(right);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompositeValue)) {
+            return false;
+        }
+        return Arrays.equals(components, ((CompositeValue) o).components);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(components);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(components);
+    }
+
+    /**
+     * Infinity marker, compared only by identity.
+     */
+    private static final class SpecialValue implements Comparable {
+
+        private final String name;
+
+        SpecialValue(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public int compareTo(Object o) {
+            return compareComponents(this, (Comparable) o);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.util.bitmap.SparseBitmap;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Dense int ordinals of the entries of an {@link Indexes} instance, shared by its
+ * {@link BitmapIndex}es so their bitmaps can be combined with each other. Ordinals
+ * of removed entries are reused to keep the bitmaps compact.
+ * <p>
+ * The lock of the ordinals guards all the bitmap indexes sharing them: updates take
+ * the write lock and evaluations of bitmap predicates take the read lock for the whole
+ * evaluation, so they see all the bitmaps in a consistent state.
+ */
+public final class EntryOrdinals {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Data, Integer> ordinals = new HashMap<Data, Integer>();
+    private final SparseBitmap all = new SparseBitmap();
+
+    private QueryableEntry[] entries = new QueryableEntry[INITIAL_CAPACITY];
+    private int[] freeOrdinals = new int[INITIAL_CAPACITY];
+    private int freeCount;
+    private int nextOrdinal;
+
+    /**
+     * Returns the lock to hold while reading the bitmaps of the indexes sharing these ordinals.
+     */
+    public Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Returns the ordinals of all the entries. Must be called under the {@link #readLock()}.
+     */
+    public SparseBitmap all() {
+        return all;
+    }
+
+    /**
+     * Returns the entries of the given ordinals. Must be called under the {@link #readLock()}.
+     */
+    public Set<QueryableEntry> toEntries(SparseBitmap bitmap) {
+        Map<Data, QueryableEntry> result = new HashMap<Data, QueryableEntry>();
+        for (int ordinal = bitmap.next(0); ordinal >= 0; ordinal = bitmap.next(ordinal + 1)) {
+            QueryableEntry entry = entries[ordinal];
+            result.put(entry.getKeyData(), entry);
+        }
+        return new SingleResultSet(result);
+    }
+
+    /**
+     * Returns the ordinal of the given entry, assigning a new one if the entry has none yet.
+     */
+    int acquire(QueryableEntry entry) {
+        lock.writeLock().lock();
+        try {
+            Data key = entry.getKeyData();
+            Integer ordinal = ordinals.get(key);
+            if (ordinal == null) {
+                ordinal = freeCount > 0 ? freeOrdinals[--freeCount] : nextOrdinal++;
+                ordinals.put(key, ordinal);
+                all.add(ordinal);
+                if (ordinal == entries.length) {
+                    entries = Arrays.copyOf(entries, entries.length * 2);
+                }
+            }
+            // keep the latest entry, it holds the current value
+            entries[ordinal] = entry;
+            return ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ordinal of the entry with the given key or {@code -1} if it has none.
+     */
+    int getOrdinal(Data key) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinals.get(key);
+            return ordinal == null ? -1 : ordinal;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Releases the ordinal of the entry with the given key. Must be called once the entry
+     * has been removed from all the bitmap indexes sharing these ordinals.
+     */
+    void release(Data key) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(key);
+            if (ordinal == null) {
+                return;
+            }
+            all.remove(ordinal);
+            entries[ordinal] = null;
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinals.length * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            ordinals.clear();
+            all.clear();
+            entries = new QueryableEntry[INITIAL_CAPACITY];
+            freeOrdinals = new int[INITIAL_CAPACITY];
+            freeCount = 0;
+            nextOrdinal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void takeWriteLock() {
+        lock.writeLock().lock();
+    }
+
+    void releaseWriteLock() {
+        lock.writeLock().unlock();
+    }
+}
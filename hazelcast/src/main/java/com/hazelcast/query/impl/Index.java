@@ -63,7 +63,44 @@ public interface Index {
 
     Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue);
 
+    /**
+     * Estimates the number of records {@link #getRecords(Comparable[])} would return
+     * using the statistics of this index, without querying it.
+     *
+     * @return the estimated number of records or {@link IndexStatistics#UNKNOWN}
+     */
+    long estimateRecords(Comparable[] values);
+
+    /**
+     * Estimates the number of records {@link #getRecords(Comparable)} would return.
+     *
+     * @return the estimated number of records or {@link IndexStatistics#UNKNOWN}
+     */
+    long estimateRecords(Comparable value);
+
+    /**
+     * Estimates the number of records {@link #getSubRecordsBetween(Comparable, Comparable)} would return.
+     *
+     * @return the estimated number of records or {@link IndexStatistics#UNKNOWN}
+     */
+    long estimateSubRecordsBetween(Comparable from, Comparable to);
+
+    /**
+     * Estimates the number of records {@link #getSubRecords(ComparisonType, Comparable)} would return.
+     *
+     * @return the estimated number of records or {@link IndexStatistics#UNKNOWN}
+     */
+    long estimateSubRecords(ComparisonType comparisonType, Comparable searchedValue);
+
     String getAttributeName();
 
+    /**
+     * Returns the attributes of a composite index, i.e. an index over several attributes whose
+     * values are {@link CompositeValue}s made of the values of the attributes in the returned order.
+     *
+     * @return the attributes of this index if it is a composite one, {@code null} otherwise
+     */
+    String[] getComponents();
+
     boolean isOrdered();
 }
@@ -44,12 +44,14 @@ public class IndexImpl implements Index {
     private volatile TypeConverter converter;
 
     private final String attributeName;
+    private final String[] components;
     private final boolean ordered;
     private final Extractors extractors;
 
     public IndexImpl(String attributeName, boolean ordered, InternalSerializationService ss, Extractors extractors,
                      IndexCopyBehavior copyQueryResultOn) {
         this.attributeName = attributeName;
+        this.components = Indexes.getComponents(attributeName);
         this.ordered = ordered;
         this.ss = ss;
         this.copyQueryResultOn = copyQueryResultOn;
@@ -57,6 +59,20 @@ public class IndexImpl implements Index {
         this.extractors = extractors;
     }
 
+    /**
+     * Creates an index backed by the given index store instead of the one created by {@link #createIndexStore(boolean)}.
+     */
+    public IndexImpl(String attributeName, boolean ordered, InternalSerializationService ss, Extractors extractors,
+                     IndexCopyBehavior copyQueryResultOn, IndexStore indexStore) {
+        this.attributeName = attributeName;
+        this.components = Indexes.getComponents(attributeName);
+        this.ordered = ordered;
+        this.ss = ss;
+        this.copyQueryResultOn = copyQueryResultOn;
+        this.indexStore = indexStore;
+        this.extractors = extractors;
+    }
+
     public IndexStore createIndexStore(boolean ordered) {
         return ordered ? new SortedIndexStore(copyQueryResultOn) : new UnsortedIndexStore(copyQueryResultOn);
     }
@@ -70,7 +86,9 @@ public class IndexImpl implements Index {
          * another thread can query over indexes without knowing the converter and
          * this causes to class cast exceptions.
          */
-        if (converter == null || converter == NULL_CONVERTER) {
+        if (components != null) {
+            initCompositeConverter(entry);
+        } else if (converter == null || converter == NULL_CONVERTER) {
             converter = entry.getConverter(attributeName);
         }
 
@@ -89,8 +107,41 @@ public class IndexImpl implements Index {
         indexStore.removeIndex(attributeValue, key);
     }
 
+    private void initCompositeConverter(QueryableEntry entry) {
+        TypeConverter current = converter;
+        if (current != null && !((CompositeConverter) current).isTransient()) {
+            return;
+        }
+        TypeConverter[] converters = new TypeConverter[components.length];
+        for (int i = 0; i < components.length; i++) {
+            converters[i] = entry.getConverter(components[i]);
+        }
+        converter = current == null
+                ? new CompositeConverter(converters) : ((CompositeConverter) current).complete(converters);
+    }
+
     private Object extractAttributeValue(Data key, Object value) {
-        return QueryableEntry.extractAttributeValue(extractors, ss, attributeName, key, value);
+        if (components == null) {
+            return QueryableEntry.extractAttributeValue(extractors, ss, attributeName, key, value);
+        }
+        Comparable[] values = new Comparable[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Object attributeValue = QueryableEntry.extractAttributeValue(extractors, ss, components[i], key, value);
+            values[i] = sanitizeComponent(components[i], attributeValue);
+        }
+        return new CompositeValue(values);
+    }
+
+    private static Comparable sanitizeComponent(String component, Object attributeValue) {
+        if (attributeValue == null) {
+            return NULL;
+        }
+        if (!(attributeValue instanceof Comparable)) {
+            throw new IllegalArgumentException("Attribute '" + component + "' of a composite index must have a single "
+                    + "Comparable value, found: " + attributeValue.getClass());
+        }
+        Comparable value = (Comparable) attributeValue;
+        return value.getClass().isEnum() ? TypeConverters.ENUM_CONVERTER.convert(value) : value;
     }
 
     @Override
@@ -133,6 +184,47 @@ public class IndexImpl implements Index {
         return indexStore.getSubRecordsBetween(convert(fromAttributeValue), convert(toAttributeValue));
     }
 
+    @Override
+    public long estimateRecords(Comparable[] values) {
+        if (converter == null) {
+            return 0;
+        }
+        IndexStatistics statistics = indexStore.getStatistics();
+        long estimate = 0;
+        for (Comparable value : values) {
+            long valueEstimate = statistics.estimateRecords(convert(value));
+            if (valueEstimate == IndexStatistics.UNKNOWN) {
+                return IndexStatistics.UNKNOWN;
+            }
+            estimate += valueEstimate;
+        }
+        return Math.min(estimate, statistics.getValueCount());
+    }
+
+    @Override
+    public long estimateRecords(Comparable attributeValue) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.getStatistics().estimateRecords(convert(attributeValue));
+    }
+
+    @Override
+    public long estimateSubRecordsBetween(Comparable fromAttributeValue, Comparable toAttributeValue) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.getStatistics().estimateSubRecordsBetween(convert(fromAttributeValue), convert(toAttributeValue));
+    }
+
+    @Override
+    public long estimateSubRecords(ComparisonType comparisonType, Comparable searchedAttributeValue) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.getStatistics().estimateSubRecords(comparisonType, convert(searchedAttributeValue));
+    }
+
     /**
      * Note: the fact that the given attributeValue is of type Comparable doesn't mean that this value is of the same
      * type as the one that's stored in the index, thus the conversion is needed.
@@ -160,7 +252,7 @@ public class IndexImpl implements Index {
 
     @Override
     public void destroy() {
-        // NOOP
+        indexStore.destroy();
     }
 
     @Override
@@ -168,6 +260,11 @@ public class IndexImpl implements Index {
         return attributeName;
     }
 
+    @Override
+    public String[] getComponents() {
+        return components;
+    }
+
     @Override
     public boolean isOrdered() {
         return ordered;
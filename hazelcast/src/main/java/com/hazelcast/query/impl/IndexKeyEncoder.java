@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Encodes attribute values into a binary form whose unsigned lexicographic order
+ * is the same as the natural order of the values.
+ * <p>
+ * An encoded value starts with a tag identifying the kind of the value, so values of
+ * different kinds never compare equal. The encoding is prefix-free: no encoded value is
+ * the prefix of another one. An index key, made of an encoded value followed by the
+ * bytes of an entry key, therefore starts with a given encoded value if and only if the
+ * indexed attribute value is equal to the value that was encoded.
+ *
+ * @see NativeSortedIndexStore
+ */
+final class IndexKeyEncoder {
+
+    /**
+     * Lower bound of all the encoded values but {@link IndexImpl#NULL}.
+     */
+    static final byte[] NON_NULL_LOWER_BOUND = {1};
+
+    private static final byte TAG_NULL = 0x00;
+    private static final byte TAG_BOOLEAN = 0x10;
+    private static final byte TAG_INTEGRAL = 0x20;
+    private static final byte TAG_FLOATING_POINT = 0x30;
+    private static final byte TAG_CHARACTER = 0x40;
+    private static final byte TAG_STRING = 0x50;
+    private static final byte TAG_DATE = 0x60;
+    private static final byte TAG_UUID = 0x70;
+
+    private static final byte ESCAPE = (byte) 0xFF;
+    private static final byte TERMINATOR = 0x01;
+
+    private static final int BYTE_MASK = 0xFF;
+    private static final int INITIAL_CAPACITY = 32;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int position;
+
+    private IndexKeyEncoder() {
+    }
+
+    /**
+     * @return the binary form of the given attribute value
+     * @throws IllegalArgumentException if values of the given type cannot be encoded
+     */
+    static byte[] encode(Comparable value) {
+        IndexKeyEncoder encoder = new IndexKeyEncoder();
+        encoder.writeValue(value);
+        return encoder.toByteArray();
+    }
+
+    /**
+     * @return the binary form of the given attribute value followed by the bytes of the given entry key
+     * @throws IllegalArgumentException if values of the given type cannot be encoded
+     */
+    static byte[] encode(Comparable value, Data entryKey) {
+        IndexKeyEncoder encoder = new IndexKeyEncoder();
+        encoder.writeValue(value);
+        encoder.writeBytes(entryKey.toByteArray());
+        return encoder.toByteArray();
+    }
+
+    private void writeValue(Comparable value) {
+        if (value instanceof IndexImpl.NullObject) {
+            writeByte(TAG_NULL);
+        } else if (value instanceof Number) {
+            writeNumber((Number) value);
+        } else if (value instanceof Boolean) {
+            writeByte(TAG_BOOLEAN);
+            writeByte((Boolean) value ? 1 : 0);
+        } else if (value instanceof Character) {
+            writeByte(TAG_CHARACTER);
+            writeChar((Character) value);
+        } else if (value instanceof String) {
+            writeByte(TAG_STRING);
+            writeString((String) value);
+        } else if (value instanceof Date) {
+            writeByte(TAG_DATE);
+            writeOrderedLong(((Date) value).getTime());
+            writeLong(value instanceof Timestamp ? ((Timestamp) value).getNanos() : 0);
+        } else if (value instanceof CompositeValue) {
+            writeComposite((CompositeValue) value);
+        } else if (value instanceof UUID) {
+            writeByte(TAG_UUID);
+            writeOrderedLong(((UUID) value).getMostSignificantBits());
+            writeOrderedLong(((UUID) value).getLeastSignificantBits());
+        } else {
+            throw unsupportedType(value);
+        }
+    }
+
+    /**
+     * Writes the components one after the other; the concatenation of prefix-free encodings keeps
+     * the lexicographic order of the components. The trailing infinity markers of a range bound are
+     * not written: the bound becomes the prefix of the values it is right below or right above,
+     * see {@link NativeSortedIndexStore#getSubRecordsBetween}.
+     */
+    private void writeComposite(CompositeValue value) {
+        for (Comparable component : value.getComponents()) {
+            if (component == CompositeValue.NEGATIVE_INFINITY || component == CompositeValue.POSITIVE_INFINITY) {
+                return;
+            }
+            writeValue(component);
+        }
+    }
+
+    private void writeNumber(Number value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeByte(TAG_INTEGRAL);
+            writeOrderedLong(value.longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            writeByte(TAG_FLOATING_POINT);
+            long bits = Double.doubleToLongBits(value.doubleValue());
+            // negative values are ordered backwards by their bits, flip all of them
+            writeLong(bits < 0 ? ~bits : bits ^ Long.MIN_VALUE);
+        } else {
+            throw unsupportedType(value);
+        }
+    }
+
+    private static IllegalArgumentException unsupportedType(Object value) {
+        return new IllegalArgumentException("Values of type " + value.getClass().getName()
+                + " cannot be stored in a native index");
+    }
+
+    /**
+     * Writes the UTF-16 code units of the string, which are the units compared by {@link String#compareTo},
+     * escaping zero bytes and appending a terminator lower than any escaped byte.
+     */
+    private void writeString(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            writeEscapedByte((byte) (c >>> Byte.SIZE));
+            writeEscapedByte((byte) c);
+        }
+        writeByte(0);
+        writeByte(TERMINATOR);
+    }
+
+    private void writeEscapedByte(byte b) {
+        writeByte(b);
+        if (b == 0) {
+            writeByte(ESCAPE);
+        }
+    }
+
+    private void writeChar(char c) {
+        writeByte(c >>> Byte.SIZE);
+        writeByte(c);
+    }
+
+    private void writeOrderedLong(long value) {
+        // flipping the sign bit orders signed values as unsigned ones
+        writeLong(value ^ Long.MIN_VALUE);
+    }
+
+    private void writeLong(long value) {
+        for (int shift = (LONG_SIZE_IN_BYTES - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            writeByte((int) (value >>> shift));
+        }
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) (b & BYTE_MASK);
+    }
+
+    private void ensureCapacity(int length) {
+        if (position + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+        }
+    }
+
+    private byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Cheap statistics of an index store used to estimate the number of records
+ * matched by an index lookup without executing it.
+ * <p>
+ * The statistics consist of the number of indexed values and a fixed size
+ * uniform sample of them maintained by reservoir sampling. The sorted sample
+ * is used as an equi-depth histogram: the fraction of sampled values matching
+ * a lookup estimates the fraction of all indexed values matching it.
+ * <p>
+ * Updates are expected to be done by a single thread at a time (the owning
+ * store updates statistics under its write lock), estimations may be done
+ * concurrently by any thread.
+ */
+public final class IndexStatistics {
+
+    /**
+     * Returned by estimations when the number of matching records can't be
+     * estimated.
+     */
+    public static final long UNKNOWN = -1;
+
+    static final int SAMPLE_SIZE = 128;
+
+    private static final Comparator<Comparable> VALUE_COMPARATOR = new ValueComparator();
+
+    /**
+     * Fraction of a sampled value assumed for lookups not matching any sampled
+     * value, they are not guaranteed to match nothing.
+     */
+    private static final double MISSING_VALUE_WEIGHT = 0.5;
+
+    private final Comparable[] sample = new Comparable[SAMPLE_SIZE];
+    private final Random random;
+
+    private int sampleCount;
+    private volatile long valueCount;
+    private Comparable[] histogram;
+
+    public IndexStatistics() {
+        this(new Random());
+    }
+
+    /**
+     * @param random the source of randomness of the sampling, seeded by tests
+     */
+    IndexStatistics(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Returns the number of values in the index store, an entry indexed by
+     * several values (e.g. from a collection attribute) is counted once per
+     * value.
+     */
+    public long getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * Estimates the number of records {@link IndexStore#getRecords(Comparable)}
+     * returns for the given already converted value.
+     */
+    public long estimateRecords(Comparable value) {
+        return estimate(value, true, value, true);
+    }
+
+    /**
+     * Estimates the number of records {@link IndexStore#getSubRecordsBetween}
+     * returns for the given already converted bounds.
+     */
+    public long estimateSubRecordsBetween(Comparable from, Comparable to) {
+        return estimate(from, true, to, true);
+    }
+
+    /**
+     * Estimates the number of records {@link IndexStore#getSubRecords} returns
+     * for the given comparison and already converted value.
+     */
+    public long estimateSubRecords(ComparisonType comparisonType, Comparable value) {
+        switch (comparisonType) {
+            case LESSER:
+                return estimate(null, false, value, false);
+            case LESSER_EQUAL:
+                return estimate(null, false, value, true);
+            case GREATER:
+                return estimate(value, false, null, false);
+            case GREATER_EQUAL:
+                return estimate(value, true, null, false);
+            case NOT_EQUAL:
+                long equal = estimateRecords(value);
+                return equal == UNKNOWN ? UNKNOWN : Math.max(0, valueCount - equal);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+        }
+    }
+
+    void onAdd(Comparable value) {
+        long count = valueCount + 1;
+        valueCount = count;
+        if (sampleCount < SAMPLE_SIZE) {
+            synchronized (this) {
+                sample[sampleCount++] = value;
+                histogram = null;
+            }
+        } else {
+            // the reservoir is sized against the current value count rather than the number of values
+            // ever added, so values which got removed from the store are gradually evicted from the sample
+            long slot = (long) (random.nextDouble() * count);
+            if (slot < SAMPLE_SIZE) {
+                synchronized (this) {
+                    sample[(int) slot] = value;
+                    histogram = null;
+                }
+            }
+        }
+    }
+
+    void onRemove() {
+        long count = valueCount;
+        if (count > 0) {
+            valueCount = count - 1;
+        }
+    }
+
+    synchronized void clear() {
+        Arrays.fill(sample, null);
+        sampleCount = 0;
+        valueCount = 0;
+        histogram = null;
+    }
+
+    private long estimate(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        long count = valueCount;
+        if (count == 0) {
+            return 0;
+        }
+        Comparable[] sortedSample = getHistogram();
+        if (sortedSample == null) {
+            return UNKNOWN;
+        }
+        if (sortedSample.length == 0) {
+            return 0;
+        }
+
+        int matching;
+        try {
+            // index stores never return nulls for unbounded ranges
+            int start = from == null ? bound(sortedSample, IndexImpl.NULL, true) : bound(sortedSample, from, !fromInclusive);
+            int end = to == null ? sortedSample.length : bound(sortedSample, to, toInclusive);
+            matching = Math.max(0, end - start);
+        } catch (ClassCastException e) {
+            // values of different types were indexed, the lookup is not estimable
+            return UNKNOWN;
+        }
+
+        double fraction = Math.max(matching, MISSING_VALUE_WEIGHT) / sortedSample.length;
+        return Math.min(count, (long) Math.ceil(fraction * count));
+    }
+
+    private synchronized Comparable[] getHistogram() {
+        Comparable[] sortedSample = histogram;
+        if (sortedSample == null) {
+            sortedSample = Arrays.copyOf(sample, sampleCount);
+            try {
+                Arrays.sort(sortedSample, VALUE_COMPARATOR);
+            } catch (ClassCastException e) {
+                // mutually incomparable values were indexed, nothing is estimable until the sample changes
+                return null;
+            }
+            histogram = sortedSample;
+        }
+        return sortedSample;
+    }
+
+    /**
+     * Returns the index of the first value greater than (if {@code afterEqual})
+     * or greater than or equal to the given one in the sorted values.
+     */
+    private static int bound(Comparable[] sortedValues, Comparable value, boolean afterEqual) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int order = VALUE_COMPARATOR.compare(sortedValues[middle], value);
+            if (order < 0 || afterEqual && order == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Orders nulls before any other value, not every comparable is able to
+     * compare itself with them.
+     */
+    private static final class ValueComparator implements Comparator<Comparable> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public int compare(Comparable left, Comparable right) {
+            boolean leftNull = left instanceof IndexImpl.NullObject;
+            boolean rightNull = right instanceof IndexImpl.NullObject;
+            if (leftNull || rightNull) {
+                return leftNull == rightNull ? 0 : leftNull ? -1 : 1;
+            }
+            return left.compareTo(right);
+        }
+    }
+}
@@ -35,4 +35,9 @@ public interface IndexStore {
     Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue);
     Set<QueryableEntry> getRecords(Comparable value);
     Set<QueryableEntry> getRecords(Set<Comparable> values);
+
+    /**
+     * Returns the statistics used to estimate the cost of lookups in this store.
+     */
+    IndexStatistics getStatistics();
 }
@@ -24,6 +24,9 @@ import com.hazelcast.query.Predicate;
 import com.hazelcast.query.QueryException;
 import com.hazelcast.query.impl.getters.Extractors;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -33,16 +36,24 @@ import java.util.concurrent.atomic.AtomicReference;
  * Contains all indexes for a data-structure, e.g. an IMap.
  */
 public class Indexes {
+    /**
+     * Separator of the attributes in the name of a composite index, e.g. {@code "tenantId, status"}.
+     */
+    public static final String COMPOSITE_SEPARATOR = ",";
+
     private static final Index[] EMPTY_INDEX = {};
+    private static final String CANONICAL_COMPOSITE_SEPARATOR = COMPOSITE_SEPARATOR + " ";
+
     private final ConcurrentMap<String, Index> mapIndexes = new ConcurrentHashMap<String, Index>(3);
     private final AtomicReference<Index[]> indexes = new AtomicReference<Index[]>(EMPTY_INDEX);
+    private final AtomicReference<Index[]> compositeIndexes = new AtomicReference<Index[]>(EMPTY_INDEX);
     private final IndexCopyBehavior copyBehavior;
     private volatile boolean hasIndex;
     private final InternalSerializationService serializationService;
     private final IndexProvider indexProvider;
     private final Extractors extractors;
     private final boolean global;
-
+    private volatile EntryOrdinals entryOrdinals;
 
     public Indexes(InternalSerializationService serializationService, IndexProvider indexProvider,
                    Extractors extractors, boolean global, IndexCopyBehavior copyBehavior) {
@@ -53,38 +64,114 @@ public class Indexes {
         this.copyBehavior = copyBehavior;
     }
 
+    /**
+     * Returns the canonical form of the given index attribute: the attributes of a composite
+     * index are separated by a comma and a space, other attributes are returned as they are.
+     */
+    public static String canonicalizeAttribute(String attribute) {
+        String[] components = getComponents(attribute);
+        if (components == null) {
+            return attribute;
+        }
+        StringBuilder sb = new StringBuilder(attribute.length());
+        for (String component : components) {
+            if (sb.length() > 0) {
+                sb.append(CANONICAL_COMPOSITE_SEPARATOR);
+            }
+            sb.append(component);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the attributes of a composite index in the order they are indexed.
+     *
+     * @param attribute the comma separated attributes of the index
+     * @return the attributes of the composite index or {@code null} if the given attribute
+     * is a single attribute
+     * @throws IllegalArgumentException if the attributes of the composite index are not distinct
+     */
+    public static String[] getComponents(String attribute) {
+        if (!attribute.contains(COMPOSITE_SEPARATOR)) {
+            return null;
+        }
+        String[] components = attribute.split(COMPOSITE_SEPARATOR);
+        Set<String> distinct = new HashSet<String>();
+        for (int i = 0; i < components.length; i++) {
+            components[i] = components[i].trim();
+            if (components[i].isEmpty() || !distinct.add(components[i])) {
+                throw new IllegalArgumentException("Composite index attribute must consist of distinct attributes: "
+                        + attribute);
+            }
+        }
+        return components;
+    }
+
     public synchronized Index destroyIndex(String attribute) {
-        return mapIndexes.remove(attribute);
+        return mapIndexes.remove(canonicalizeAttribute(attribute));
     }
 
     public synchronized Index addOrGetIndex(String attribute, boolean ordered) {
+        attribute = canonicalizeAttribute(attribute);
         Index index = mapIndexes.get(attribute);
         if (index != null) {
             return index;
         }
         index = indexProvider.createIndex(attribute, ordered, extractors, serializationService, copyBehavior);
+        if (index instanceof BitmapIndex) {
+            attachEntryOrdinals((BitmapIndex) index);
+        }
         mapIndexes.put(attribute, index);
         Object[] indexObjects = mapIndexes.values().toArray();
         Index[] newIndexes = new Index[indexObjects.length];
+        List<Index> newCompositeIndexes = new ArrayList<Index>();
         for (int i = 0; i < indexObjects.length; i++) {
             newIndexes[i] = (Index) indexObjects[i];
+            if (newIndexes[i].getComponents() != null) {
+                newCompositeIndexes.add(newIndexes[i]);
+            }
         }
         indexes.set(newIndexes);
+        compositeIndexes.set(newCompositeIndexes.toArray(EMPTY_INDEX));
         hasIndex = true;
         return index;
     }
 
+    private void attachEntryOrdinals(BitmapIndex index) {
+        EntryOrdinals ordinals = index.getEntryOrdinals();
+        if (entryOrdinals == null) {
+            entryOrdinals = ordinals;
+        } else if (entryOrdinals != ordinals) {
+            throw new IllegalStateException("Bitmap indexes of the same data structure must share entry ordinals: "
+                    + index.getAttributeName());
+        }
+    }
+
     public Index[] getIndexes() {
         return indexes.get();
     }
 
+    /**
+     * @return the composite indexes, i.e. the ones over several attributes
+     * @see Index#getComponents()
+     */
+    public Index[] getCompositeIndexes() {
+        return compositeIndexes.get();
+    }
+
     public void clearIndexes() {
         for (Index index : getIndexes()) {
             index.destroy();
         }
 
         indexes.set(EMPTY_INDEX);
+        compositeIndexes.set(EMPTY_INDEX);
         mapIndexes.clear();
+        EntryOrdinals ordinals = entryOrdinals;
+        if (ordinals != null) {
+            ordinals.clear();
+            entryOrdinals = null;
+        }
         hasIndex = false;
     }
 
@@ -95,6 +182,10 @@ public class Indexes {
         for (Index index : getIndexes()) {
             index.clear();
         }
+        EntryOrdinals ordinals = entryOrdinals;
+        if (ordinals != null) {
+            ordinals.clear();
+        }
     }
 
     public void removeEntryIndex(Data key, Object value) throws QueryException {
@@ -102,6 +193,11 @@ public class Indexes {
         for (Index index : indexes) {
             index.removeEntryIndex(key, value);
         }
+        // the entry is no longer in any bitmap, its ordinal may be reused
+        EntryOrdinals ordinals = entryOrdinals;
+        if (ordinals != null) {
+            ordinals.release(key);
+        }
     }
 
     public boolean hasIndex() {
@@ -110,6 +206,11 @@ public class Indexes {
 
     public void saveEntryIndex(QueryableEntry queryableEntry, Object oldValue) throws QueryException {
         Index[] indexes = getIndexes();
+        // every entry gets an ordinal, the negations evaluated on bitmaps match the entries missing from them
+        EntryOrdinals ordinals = entryOrdinals;
+        if (ordinals != null) {
+            ordinals.acquire(queryableEntry);
+        }
         for (Index index : indexes) {
             index.saveEntryIndex(queryableEntry, oldValue);
         }
@@ -133,7 +234,7 @@ public class Indexes {
      * @return Index for attribute or null if the index does not exist.
      */
     public Index getIndex(String attribute) {
-        return mapIndexes.get(attribute);
+        return mapIndexes.get(canonicalizeAttribute(attribute));
     }
 
     public Set<QueryableEntry> query(Predicate predicate) {
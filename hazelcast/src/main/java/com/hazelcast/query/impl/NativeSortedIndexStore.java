@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.internal.util.bplustree.BPlusTree;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.query.impl.IndexKeyEncoder.NON_NULL_LOWER_BOUND;
+import static com.hazelcast.query.impl.IndexKeyEncoder.encode;
+
+/**
+ * Store indexes rankly in native memory.
+ * <p>
+ * Index entries are kept in an off-heap {@link BPlusTree}: the key of an index entry is the
+ * attribute value encoded by {@link IndexKeyEncoder} followed by the bytes of the entry key,
+ * its value is the address of the native record of the entry. Nothing is kept on-heap per
+ * indexed entry; queryable entries are created from the native records only for the query
+ * results. Serves both ordered and unordered indexes.
+ * <p>
+ * The records must be accessed only from their partition thread, so a native index store can
+ * only be used as a partitioned index of a {@link com.hazelcast.config.InMemoryFormat#NATIVE NATIVE} map.
+ */
+public class NativeSortedIndexStore extends BaseIndexStore {
+
+    private final BPlusTree tree;
+    private final RecordAddressResolver recordResolver;
+
+    public NativeSortedIndexStore(MemoryManager memoryManager, RecordAddressResolver recordResolver) {
+        // results are created from the native records on every query, there is nothing to copy
+        super(IndexCopyBehavior.NEVER);
+        this.tree = new BPlusTree(memoryManager);
+        this.recordResolver = recordResolver;
+    }
+
+    @Override
+    void newIndexInternal(Comparable newValue, QueryableEntry record) {
+        Data key = record.getKeyData();
+        long recordAddress = recordResolver.getRecordAddress(key);
+        if (recordAddress != NULL_ADDRESS) {
+            tree.put(encode(newValue, key), recordAddress);
+        }
+    }
+
+    @Override
+    void removeIndexInternal(Comparable oldValue, Data indexKey) {
+        tree.remove(encode(oldValue, indexKey));
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            tree.clear();
+            getStatistics().clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        takeWriteLock();
+        try {
+            tree.dispose();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<Data, QueryableEntry>();
+            // the infinity markers of composite bounds are not encoded, they make the bounds exclusive or inclusive
+            boolean fromInclusive = lastComponent(from) != CompositeValue.POSITIVE_INFINITY;
+            boolean toInclusive = lastComponent(to) != CompositeValue.NEGATIVE_INFINITY;
+            scan(encode(from), fromInclusive, encode(to), toInclusive, null, results);
+            return new SingleResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<Data, QueryableEntry>();
+            byte[] searched = encode(searchedValue);
+            switch (comparisonType) {
+                case LESSER:
+                    scan(NON_NULL_LOWER_BOUND, true, searched, false, null, results);
+                    break;
+                case LESSER_EQUAL:
+                    scan(NON_NULL_LOWER_BOUND, true, searched, true, null, results);
+                    break;
+                case GREATER:
+                    scan(searched, false, null, false, null, results);
+                    break;
+                case GREATER_EQUAL:
+                    scan(searched, true, null, false, null, results);
+                    break;
+                case NOT_EQUAL:
+                    scan(NON_NULL_LOWER_BOUND, true, null, false, searched, results);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+            }
+            return new SingleResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<Data, QueryableEntry>();
+            scanEqual(encode(value), results);
+            return new SingleResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<Data, QueryableEntry>();
+            for (Comparable value : values) {
+                scanEqual(encode(value), results);
+            }
+            return new SingleResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private static Comparable lastComponent(Comparable value) {
+        if (!(value instanceof CompositeValue)) {
+            return value;
+        }
+        Comparable[] components = ((CompositeValue) value).getComponents();
+        return components[components.length - 1];
+    }
+
+    private void scanEqual(byte[] value, Map<Data, QueryableEntry> results) {
+        scan(value, true, value, true, null, results);
+    }
+
+    /**
+     * Adds the entries whose encoded attribute value is between the given bounds to the results.
+     * Since the encoding is prefix-free, an index key starts with an encoded value if and only
+     * if its attribute value is equal to that value.
+     *
+     * @param from          the lower bound
+     * @param fromInclusive {@code true} if the entries whose value is equal to the lower bound are included
+     * @param to            the upper bound or {@code null} if there is no upper bound
+     * @param toInclusive   {@code true} if the entries whose value is equal to the upper bound are included
+     * @param excluded      the value of the entries to be skipped or {@code null}
+     */
+    private void scan(byte[] from, boolean fromInclusive, byte[] to, boolean toInclusive, byte[] excluded,
+                      Map<Data, QueryableEntry> results) {
+        BPlusTree.Cursor cursor = tree.cursor(from);
+        while (cursor.advance()) {
+            if (!fromInclusive && cursor.keyStartsWith(from)) {
+                continue;
+            }
+            if (to != null) {
+                if (cursor.keyStartsWith(to)) {
+                    if (!toInclusive) {
+                        break;
+                    }
+                } else if (cursor.compareKeyTo(to) > 0) {
+                    break;
+                }
+            }
+            if (excluded != null && cursor.keyStartsWith(excluded)) {
+                continue;
+            }
+            QueryableEntry entry = recordResolver.getEntry(cursor.value());
+            results.put(entry.getKeyData(), entry);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "NativeSortedIndexStore{"
+                + "size=" + tree.size()
+                + '}';
+    }
+}
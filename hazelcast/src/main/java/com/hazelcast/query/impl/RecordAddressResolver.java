@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * Resolves the records referenced by a {@link NativeSortedIndexStore}: the index keeps
+ * only the addresses of the native records of the indexed entries.
+ */
+public interface RecordAddressResolver {
+
+    /**
+     * @param key the key of an entry
+     * @return the address of the native record of the entry or
+     * {@link com.hazelcast.internal.memory.MemoryAllocator#NULL_ADDRESS} if there is no such entry
+     */
+    long getRecordAddress(Data key);
+
+    /**
+     * @param recordAddress the address of a native record
+     * @return a queryable entry holding the key and the value of the record
+     */
+    QueryableEntry getEntry(long recordAddress);
+}
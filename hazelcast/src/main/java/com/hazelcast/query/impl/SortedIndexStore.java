@@ -69,6 +69,7 @@ public class SortedIndexStore extends BaseIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            getStatistics().clear();
         } finally {
             releaseWriteLock();
         }
@@ -79,6 +80,10 @@ public class SortedIndexStore extends BaseIndexStore {
         takeReadLock();
         try {
             MultiResultSet results = createMultiResultSet();
+            if (from.compareTo(to) > 0) {
+                // empty range, e.g. created from the exclusive bounds of a composite range query
+                return results;
+            }
             SortedMap<Comparable, Map<Data, QueryableEntry>> subMap =
                     recordMap.subMap(from, true, to, true);
             for (Map<Data, QueryableEntry> value : subMap.values()) {
@@ -67,6 +67,7 @@ public class UnsortedIndexStore extends BaseIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            getStatistics().clear();
         } finally {
             releaseWriteLock();
         }
@@ -19,10 +19,8 @@ package com.hazelcast.query.impl.getters;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.PortableContext;
 import com.hazelcast.internal.serialization.impl.DefaultPortableReader;
-import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.FieldDefinition;
-import com.hazelcast.nio.serialization.PortableReader;
 
 final class PortableGetter extends Getter {
 
@@ -36,13 +34,14 @@ final class PortableGetter extends Getter {
     @Override
     Object getValue(Object target, String fieldPath) throws Exception {
         Data data = (Data) target;
+        // the reader already resolves the class definition of the data, so it's created upfront instead of
+        // parsing the portable header twice
+        DefaultPortableReader reader = (DefaultPortableReader) serializationService.createPortableReader(data);
         PortableContext context = serializationService.getPortableContext();
-        PortableReader reader = serializationService.createPortableReader(data);
-        ClassDefinition classDefinition = context.lookupClassDefinition(data);
-        FieldDefinition fieldDefinition = context.getFieldDefinition(classDefinition, fieldPath);
+        FieldDefinition fieldDefinition = context.getFieldDefinition(reader.getClassDefinition(), fieldPath);
 
         if (fieldDefinition != null) {
-            return ((DefaultPortableReader) reader).read(fieldPath);
+            return reader.read(fieldPath);
         } else {
             return null;
         }
@@ -31,7 +31,7 @@ import java.util.Set;
  * Between Predicate
  */
 @BinaryInterface
-public class BetweenPredicate extends AbstractIndexAwarePredicate {
+public class BetweenPredicate extends AbstractIndexAwarePredicate implements EstimablePredicate {
 
     Comparable to;
     Comparable from;
@@ -67,6 +67,12 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate {
         return index.getSubRecordsBetween(from, to);
     }
 
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        Index index = getIndex(queryContext);
+        return index.estimateSubRecordsBetween(from, to);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.internal.util.bitmap.SparseBitmap;
+import com.hazelcast.nio.serialization.SerializableByConvention;
+import com.hazelcast.query.IndexAwarePredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.BitmapIndex;
+import com.hazelcast.query.impl.EntryOrdinals;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Equality, {@code in} and not-equal predicates on {@link BitmapIndex bitmap indexes} combined
+ * by {@link AndPredicate}, {@link OrPredicate} and {@link NotPredicate}, evaluated as AND, OR
+ * and ANDNOT operations of the bitmaps of the indexes. Only the final result is materialized.
+ *
+ * Created by {@link BitmapVisitor} only, it's never sent over the wire. When any of the indexes
+ * is not available the original predicate is evaluated.
+ */
+@SerializableByConvention
+public class BitmapPredicate implements IndexAwarePredicate {
+
+    final Predicate predicate;
+
+    BitmapPredicate(Predicate predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    public Set<QueryableEntry> filter(QueryContext queryContext) {
+        EntryOrdinals entryOrdinals = getAnyIndex(predicate, queryContext).getEntryOrdinals();
+        Lock lock = entryOrdinals.readLock();
+        lock.lock();
+        try {
+            return entryOrdinals.toEntries(evaluate(predicate, queryContext, entryOrdinals));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        return isEvaluable(predicate, queryContext);
+    }
+
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        return predicate.apply(mapEntry);
+    }
+
+    @Override
+    public String toString() {
+        return "bitmap(" + predicate + ")";
+    }
+
+    /**
+     * Checks if the given predicate is a tree of {@code and}, {@code or} and {@code not}
+     * predicates with equality, {@code in} and not-equal predicates on bitmap indexes as leaves.
+     */
+    static boolean isEvaluable(Predicate predicate, QueryContext queryContext) {
+        if (predicate instanceof AndPredicate) {
+            return areEvaluable(((AndPredicate) predicate).predicates, queryContext);
+        } else if (predicate instanceof OrPredicate) {
+            return areEvaluable(((OrPredicate) predicate).predicates, queryContext);
+        } else if (predicate instanceof NotPredicate) {
+            return isEvaluable(((NotPredicate) predicate).predicate, queryContext);
+        }
+        return isEvaluableLeaf(predicate, queryContext);
+    }
+
+    static boolean isEvaluableLeaf(Predicate predicate, QueryContext queryContext) {
+        if (predicate instanceof EqualPredicate || predicate instanceof InPredicate) {
+            Index index = queryContext.getIndex(((AbstractPredicate) predicate).attributeName);
+            return index instanceof BitmapIndex;
+        }
+        return false;
+    }
+
+    private static boolean areEvaluable(Predicate[] predicates, QueryContext queryContext) {
+        for (Predicate predicate : predicates) {
+            if (!isEvaluable(predicate, queryContext)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BitmapIndex getAnyIndex(Predicate predicate, QueryContext queryContext) {
+        if (predicate instanceof AndPredicate) {
+            return getAnyIndex(((AndPredicate) predicate).predicates[0], queryContext);
+        } else if (predicate instanceof OrPredicate) {
+            return getAnyIndex(((OrPredicate) predicate).predicates[0], queryContext);
+        } else if (predicate instanceof NotPredicate) {
+            return getAnyIndex(((NotPredicate) predicate).predicate, queryContext);
+        }
+        return (BitmapIndex) queryContext.getIndex(((AbstractPredicate) predicate).attributeName);
+    }
+
+    private static SparseBitmap evaluate(Predicate predicate, QueryContext queryContext, EntryOrdinals entryOrdinals) {
+        if (predicate instanceof AndPredicate) {
+            return evaluateAnd(((AndPredicate) predicate).predicates, queryContext, entryOrdinals);
+        } else if (predicate instanceof OrPredicate) {
+            SparseBitmap result = new SparseBitmap();
+            for (Predicate inner : ((OrPredicate) predicate).predicates) {
+                result = result.or(evaluate(inner, queryContext, entryOrdinals));
+            }
+            return result;
+        } else if (isNegation(predicate)) {
+            return entryOrdinals.all().andNot(evaluateNegated(predicate, queryContext, entryOrdinals));
+        }
+        BitmapIndex index = (BitmapIndex) queryContext.getIndex(((AbstractPredicate) predicate).attributeName);
+        if (predicate instanceof InPredicate) {
+            return index.getBitmap(((InPredicate) predicate).values);
+        }
+        return index.getBitmap(((EqualPredicate) predicate).value);
+    }
+
+    /**
+     * Intersects the positive predicates first, then removes the entries matched by the negated
+     * ones, so the bitmap of all the entries is used only when all the predicates are negations.
+     */
+    private static SparseBitmap evaluateAnd(Predicate[] predicates, QueryContext queryContext,
+                                            EntryOrdinals entryOrdinals) {
+        SparseBitmap result = null;
+        for (Predicate predicate : predicates) {
+            if (!isNegation(predicate)) {
+                SparseBitmap bitmap = evaluate(predicate, queryContext, entryOrdinals);
+                result = result == null ? bitmap : result.and(bitmap);
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+        }
+        if (result == null) {
+            result = entryOrdinals.all();
+        }
+        for (Predicate predicate : predicates) {
+            if (isNegation(predicate)) {
+                result = result.andNot(evaluateNegated(predicate, queryContext, entryOrdinals));
+                if (result.isEmpty()) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isNegation(Predicate predicate) {
+        return predicate instanceof NotPredicate || predicate instanceof NotEqualPredicate;
+    }
+
+    /**
+     * Evaluates the predicate negated by the given negation.
+     */
+    private static SparseBitmap evaluateNegated(Predicate negation, QueryContext queryContext,
+                                                EntryOrdinals entryOrdinals) {
+        if (negation instanceof NotPredicate) {
+            return evaluate(((NotPredicate) negation).predicate, queryContext, entryOrdinals);
+        }
+        NotEqualPredicate notEqual = (NotEqualPredicate) negation;
+        BitmapIndex index = (BitmapIndex) queryContext.getIndex(notEqual.attributeName);
+        return index.getBitmap(notEqual.value);
+    }
+}
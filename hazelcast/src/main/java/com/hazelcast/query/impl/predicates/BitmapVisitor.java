@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites {@code and}, {@code or} and {@code not} predicates over equality, {@code in} and
+ * not-equal predicates on bitmap indexes into {@link BitmapPredicate}s. The visitor works
+ * bottom-up, so the bitmap predicates created for the inner predicates are merged into
+ * the ones of the outer predicates, e.g.
+ * {@code status = 1 and (region = 'EU' or region = 'US') and not(deleted = true) and age > 10}
+ * becomes {@code bitmap(status = 1 and (region in ('EU', 'US')) and not(deleted = true)) and age > 10}.
+ * The predicates which can't be evaluated by bitmaps are kept as they are.
+ */
+public class BitmapVisitor extends AbstractVisitor {
+
+    @Override
+    public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
+        QueryContext queryContext = new QueryContext(indexes);
+        List<Predicate> evaluable = new ArrayList<Predicate>();
+        List<Predicate> others = new ArrayList<Predicate>();
+        boolean hasLeaf = false;
+        for (Predicate predicate : andPredicate.predicates) {
+            if (predicate instanceof BitmapPredicate) {
+                evaluable.add(((BitmapPredicate) predicate).predicate);
+            } else if (BitmapPredicate.isEvaluableLeaf(predicate, queryContext)) {
+                evaluable.add(predicate);
+                hasLeaf = true;
+            } else {
+                others.add(predicate);
+            }
+        }
+        // a single not-equal predicate is worth evaluating by bitmaps since it's not indexed otherwise
+        boolean worthRewriting = evaluable.size() > 1
+                || hasLeaf && evaluable.get(0) instanceof NotEqualPredicate;
+        if (!worthRewriting) {
+            return andPredicate;
+        }
+
+        Predicate bitmapPredicate = new BitmapPredicate(evaluable.size() == 1
+                ? evaluable.get(0) : new AndPredicate(evaluable.toArray(new Predicate[0])));
+        if (others.isEmpty()) {
+            return bitmapPredicate;
+        }
+        others.add(0, bitmapPredicate);
+        return new AndPredicate(others.toArray(new Predicate[0]));
+    }
+
+    @Override
+    public Predicate visit(OrPredicate orPredicate, Indexes indexes) {
+        QueryContext queryContext = new QueryContext(indexes);
+        Predicate[] predicates = orPredicate.predicates;
+        Predicate[] evaluable = new Predicate[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            Predicate predicate = predicates[i];
+            if (predicate instanceof BitmapPredicate) {
+                evaluable[i] = ((BitmapPredicate) predicate).predicate;
+            } else if (BitmapPredicate.isEvaluableLeaf(predicate, queryContext)) {
+                evaluable[i] = predicate;
+            } else {
+                return orPredicate;
+            }
+        }
+        return new BitmapPredicate(new OrPredicate(evaluable));
+    }
+
+    @Override
+    public Predicate visit(NotPredicate notPredicate, Indexes indexes) {
+        Predicate predicate = notPredicate.predicate;
+        if (predicate instanceof BitmapPredicate) {
+            return new BitmapPredicate(new NotPredicate(((BitmapPredicate) predicate).predicate));
+        } else if (BitmapPredicate.isEvaluableLeaf(predicate, new QueryContext(indexes))) {
+            return new BitmapPredicate(notPredicate);
+        }
+        return notPredicate;
+    }
+}
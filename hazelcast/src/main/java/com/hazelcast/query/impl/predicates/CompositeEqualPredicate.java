@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.nio.serialization.SerializableByConvention;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Equality of all the attributes of a composite index, e.g. (tenantId = 1 and status = 'ACTIVE')
+ * evaluated by a single lookup in the composite index (tenantId, status).
+ *
+ * Created by {@link CompositeIndexVisitor} only, it's never sent over the wire. When the index
+ * is not available the original predicates are evaluated.
+ */
+@SerializableByConvention
+public class CompositeEqualPredicate implements EstimablePredicate {
+
+    final String indexName;
+    final CompositeValue value;
+    final Predicate[] predicates;
+
+    CompositeEqualPredicate(String indexName, CompositeValue value, Predicate[] predicates) {
+        this.indexName = indexName;
+        this.value = value;
+        this.predicates = predicates;
+    }
+
+    @Override
+    public Set<QueryableEntry> filter(QueryContext queryContext) {
+        Index index = queryContext.getIndex(indexName);
+        return index.getRecords(value);
+    }
+
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        Index index = queryContext.getIndex(indexName);
+        return index.estimateRecords(value);
+    }
+
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        return queryContext.getIndex(indexName) != null;
+    }
+
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        for (Predicate predicate : predicates) {
+            if (!predicate.apply(mapEntry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + indexName + ")=" + value + " " + Arrays.toString(predicates);
+    }
+}
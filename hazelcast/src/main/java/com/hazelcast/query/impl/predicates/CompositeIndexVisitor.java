@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+
+/**
+ * Replaces the conjunction of predicates on the attributes of a composite index with
+ * a single lookup in that index.
+ *
+ * Imagine a composite index on (tenantId, status). Then (tenantId = 1 and status = 'ACTIVE')
+ * is rewritten into a {@link CompositeEqualPredicate} and, if the index is ordered,
+ * (tenantId = 1 and status > 'A') is rewritten into a {@link CompositeRangePredicate}.
+ * A range is allowed only on the attribute following the attributes compared for equality,
+ * the predicates on the other attributes are kept as they are.
+ *
+ * When several composite indexes match, the one replacing the most predicates is used.
+ * Must run after {@link BetweenVisitor}, so ranges with both bounds are already merged.
+ */
+public class CompositeIndexVisitor extends AbstractVisitor {
+
+    private static final int MINIMUM_NUMBER_OF_PREDICATES_TO_REPLACE = 2;
+
+    @Override
+    public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
+        Index[] compositeIndexes = indexes.getCompositeIndexes();
+        Predicate[] originalPredicates = andPredicate.predicates;
+        if (compositeIndexes.length == 0 || originalPredicates.length < MINIMUM_NUMBER_OF_PREDICATES_TO_REPLACE) {
+            return andPredicate;
+        }
+
+        Match bestMatch = findBestMatch(compositeIndexes, originalPredicates);
+        if (bestMatch == null) {
+            return andPredicate;
+        }
+
+        Predicate rewritten = bestMatch.createEquivalentPredicate();
+        int newSize = originalPredicates.length - bestMatch.predicates.size() + 1;
+        if (newSize == 1) {
+            return rewritten;
+        }
+        Predicate[] newPredicates = new Predicate[newSize];
+        newPredicates[0] = rewritten;
+        int position = 1;
+        for (Predicate predicate : originalPredicates) {
+            if (!bestMatch.isReplaced(predicate)) {
+                newPredicates[position++] = predicate;
+            }
+        }
+        return new AndPredicate(newPredicates);
+    }
+
+    private static Match findBestMatch(Index[] compositeIndexes, Predicate[] predicates) {
+        Match bestMatch = null;
+        for (Index index : compositeIndexes) {
+            Match match = match(index, predicates);
+            if (match != null && (bestMatch == null || match.predicates.size() > bestMatch.predicates.size())) {
+                bestMatch = match;
+            }
+        }
+        return bestMatch;
+    }
+
+    /**
+     * @return the predicates which can be evaluated by the given index or {@code null} if it can't replace
+     * at least {@link #MINIMUM_NUMBER_OF_PREDICATES_TO_REPLACE} predicates
+     */
+    private static Match match(Index index, Predicate[] predicates) {
+        String[] components = index.getComponents();
+        Match match = new Match(index.getAttributeName(), components.length);
+        for (String component : components) {
+            EqualPredicate equalPredicate = findEqualPredicate(component, predicates);
+            if (equalPredicate == null) {
+                break;
+            }
+            match.addEqual(equalPredicate);
+        }
+        if (!match.isFullEquality()) {
+            if (!index.isOrdered() || match.equalCount == 0) {
+                return null;
+            }
+            match.setRange(components[match.equalCount], predicates);
+        }
+        return match.predicates.size() < MINIMUM_NUMBER_OF_PREDICATES_TO_REPLACE ? null : match;
+    }
+
+    private static EqualPredicate findEqualPredicate(String attributeName, Predicate[] predicates) {
+        for (Predicate predicate : predicates) {
+            if (predicate instanceof EqualPredicate && !(predicate instanceof NotEqualPredicate)
+                    && attributeName.equals(((EqualPredicate) predicate).attributeName)) {
+                return (EqualPredicate) predicate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Predicates on the attributes of a composite index: equalities on the leading attributes
+     * and optional bounds on the next one.
+     */
+    private static final class Match {
+
+        private final String indexName;
+        private final Comparable[] equalValues;
+        private final List<Predicate> predicates = new ArrayList<Predicate>();
+        private int equalCount;
+
+        private Comparable lowerBound;
+        private boolean lowerInclusive;
+        private Comparable upperBound;
+        private boolean upperInclusive;
+
+        Match(String indexName, int componentCount) {
+            this.indexName = indexName;
+            this.equalValues = new Comparable[componentCount];
+        }
+
+        void addEqual(EqualPredicate predicate) {
+            equalValues[equalCount++] = predicate.value;
+            predicates.add(predicate);
+        }
+
+        boolean isReplaced(Predicate predicate) {
+            for (Predicate replaced : predicates) {
+                if (replaced == predicate) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isFullEquality() {
+            return equalCount == equalValues.length;
+        }
+
+        void setRange(String attributeName, Predicate[] candidates) {
+            for (Predicate candidate : candidates) {
+                if (candidate instanceof BetweenPredicate) {
+                    BetweenPredicate between = (BetweenPredicate) candidate;
+                    if (lowerBound == null && upperBound == null && attributeName.equals(between.attributeName)) {
+                        lowerBound = between.from;
+                        lowerInclusive = true;
+                        upperBound = between.to;
+                        upperInclusive = true;
+                        predicates.add(between);
+                    }
+                } else if (candidate instanceof GreaterLessPredicate) {
+                    GreaterLessPredicate greaterLess = (GreaterLessPredicate) candidate;
+                    if (attributeName.equals(greaterLess.attributeName)) {
+                        setBound(greaterLess);
+                    }
+                }
+            }
+        }
+
+        private void setBound(GreaterLessPredicate predicate) {
+            if (predicate.less && upperBound == null) {
+                upperBound = predicate.value;
+                upperInclusive = predicate.equal;
+                predicates.add(predicate);
+            } else if (!predicate.less && lowerBound == null) {
+                lowerBound = predicate.value;
+                lowerInclusive = predicate.equal;
+                predicates.add(predicate);
+            }
+        }
+
+        Predicate createEquivalentPredicate() {
+            Predicate[] originalPredicates = predicates.toArray(new Predicate[0]);
+            if (isFullEquality()) {
+                return new CompositeEqualPredicate(indexName, new CompositeValue(equalValues), originalPredicates);
+            }
+            CompositeValue from = lowerBound == null
+                    ? bound(null, NEGATIVE_INFINITY) : bound(lowerBound, lowerInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+            CompositeValue to = upperBound == null
+                    ? bound(null, POSITIVE_INFINITY) : bound(upperBound, upperInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+            return new CompositeRangePredicate(indexName, from, to, originalPredicates);
+        }
+
+        /**
+         * Creates a bound made of the equal values, the given range value and the given padding marker.
+         * The padding following the range value decides if the values equal to the range value are
+         * included; when the range is on the last attribute it is added as an extra component.
+         */
+        private CompositeValue bound(Comparable rangeValue, Comparable padding) {
+            int length = rangeValue == null ? equalValues.length : Math.max(equalValues.length, equalCount + 2);
+            Comparable[] components = Arrays.copyOf(equalValues, length);
+            int position = equalCount;
+            if (rangeValue != null) {
+                components[position++] = rangeValue;
+            }
+            Arrays.fill(components, position, length, padding);
+            return new CompositeValue(components);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.nio.serialization.SerializableByConvention;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Equality of the leading attributes of an ordered composite index, optionally followed by a range
+ * on the next attribute, e.g. (tenantId = 1 and created > X) evaluated by a single range lookup in
+ * the composite index (tenantId, created). The bounds are padded with the infinity markers of
+ * {@link CompositeValue}, so the lookup is always inclusive.
+ *
+ * Created by {@link CompositeIndexVisitor} only, it's never sent over the wire. When the index
+ * is not available the original predicates are evaluated.
+ */
+@SerializableByConvention
+public class CompositeRangePredicate implements EstimablePredicate {
+
+    final String indexName;
+    final CompositeValue from;
+    final CompositeValue to;
+    final Predicate[] predicates;
+
+    CompositeRangePredicate(String indexName, CompositeValue from, CompositeValue to, Predicate[] predicates) {
+        this.indexName = indexName;
+        this.from = from;
+        this.to = to;
+        this.predicates = predicates;
+    }
+
+    @Override
+    public Set<QueryableEntry> filter(QueryContext queryContext) {
+        Index index = queryContext.getIndex(indexName);
+        return index.getSubRecordsBetween(from, to);
+    }
+
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        Index index = queryContext.getIndex(indexName);
+        return index.estimateSubRecordsBetween(from, to);
+    }
+
+    @Override
+    public boolean isIndexed(QueryContext queryContext) {
+        return queryContext.getIndex(indexName) != null;
+    }
+
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        for (Predicate predicate : predicates) {
+            if (!predicate.apply(mapEntry)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + indexName + ") between " + from + " and " + to + " " + Arrays.toString(predicates);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryContext;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Orders the predicates of an {@link AndPredicate} by the number of entries they are estimated
+ * to match according to the statistics of their indexes. {@link AndPredicate#filter} materializes
+ * the result sets of all the indexed predicates, so a non-selective one forces building a huge
+ * intermediate result only to intersect it with a small one. The visitor:
+ * <ul>
+ * <li>puts the most selective indexed predicate first, its result set drives the query</li>
+ * <li>keeps the indexed predicates with a result set not much larger than the driving one, their
+ * result sets are intersected with the driving one</li>
+ * <li>turns the other indexed predicates into {@link PostFilterPredicate post-filters} applied to
+ * the entries of the driving result set, the most selective first</li>
+ * </ul>
+ * Predicates whose cardinality can't be estimated are left as they are.
+ */
+public class CostBasedVisitor extends AbstractVisitor {
+
+    /**
+     * Applying a predicate to an entry (deserialization and attribute extraction) is considered
+     * this many times more expensive than a lookup in a materialized index result set.
+     */
+    static final long POST_FILTER_COST_FACTOR = 4;
+
+    private static final Comparator<Estimate> CARDINALITY_COMPARATOR = new CardinalityComparator();
+
+    @Override
+    public Predicate visit(AndPredicate andPredicate, Indexes indexes) {
+        Predicate[] predicates = andPredicate.predicates;
+        QueryContext queryContext = new QueryContext(indexes);
+
+        Estimate[] estimates = new Estimate[predicates.length];
+        int estimateCount = 0;
+        for (Predicate predicate : predicates) {
+            if (predicate instanceof EstimablePredicate) {
+                EstimablePredicate estimablePredicate = (EstimablePredicate) predicate;
+                if (estimablePredicate.isIndexed(queryContext)) {
+                    long cardinality = estimablePredicate.estimateCardinality(queryContext);
+                    if (cardinality != IndexStatistics.UNKNOWN) {
+                        estimates[estimateCount++] = new Estimate(predicate, cardinality);
+                    }
+                }
+            }
+        }
+        if (estimateCount < 2) {
+            return andPredicate;
+        }
+        // the sort is stable, predicates with the same estimate keep their declaration order
+        Arrays.sort(estimates, 0, estimateCount, CARDINALITY_COMPARATOR);
+
+        Predicate[] ordered = order(predicates, estimates, estimateCount);
+        return Arrays.equals(ordered, predicates) ? andPredicate : new AndPredicate(ordered);
+    }
+
+    /**
+     * Orders the predicates as: the intersected indexed predicates starting with the driving one,
+     * the predicates without estimates in declaration order, the post-filters.
+     */
+    private static Predicate[] order(Predicate[] predicates, Estimate[] estimates, int estimateCount) {
+        long driving = estimates[0].cardinality;
+        long threshold = driving > Long.MAX_VALUE / POST_FILTER_COST_FACTOR
+                ? Long.MAX_VALUE : driving * POST_FILTER_COST_FACTOR;
+
+        Predicate[] ordered = new Predicate[predicates.length];
+        int intersected = 0;
+        while (intersected < estimateCount && estimates[intersected].cardinality <= threshold) {
+            ordered[intersected] = estimates[intersected].predicate;
+            intersected++;
+        }
+        int position = intersected;
+        for (Predicate predicate : predicates) {
+            if (!isEstimated(predicate, estimates, estimateCount)) {
+                ordered[position++] = predicate;
+            }
+        }
+        for (int i = intersected; i < estimateCount; i++) {
+            ordered[position++] = new PostFilterPredicate(estimates[i].predicate);
+        }
+        return ordered;
+    }
+
+    private static boolean isEstimated(Predicate predicate, Estimate[] estimates, int estimateCount) {
+        for (int i = 0; i < estimateCount; i++) {
+            if (estimates[i].predicate == predicate) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Estimate {
+        final Predicate predicate;
+        final long cardinality;
+
+        Estimate(Predicate predicate, long cardinality) {
+            this.predicate = predicate;
+            this.cardinality = cardinality;
+        }
+    }
+
+    private static final class CardinalityComparator implements Comparator<Estimate> {
+        @Override
+        public int compare(Estimate left, Estimate right) {
+            return left.cardinality < right.cardinality ? -1 : left.cardinality == right.cardinality ? 0 : 1;
+        }
+    }
+}
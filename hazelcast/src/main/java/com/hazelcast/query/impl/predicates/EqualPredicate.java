@@ -33,7 +33,7 @@ import java.util.Set;
  * Equal Predicate
  */
 @BinaryInterface
-public class EqualPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate {
+public class EqualPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, EstimablePredicate {
 
     protected Comparable value;
 
@@ -55,6 +55,12 @@ public class EqualPredicate extends AbstractIndexAwarePredicate implements Negat
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        Index index = getIndex(queryContext);
+        return index.estimateRecords(value);
+    }
+
     protected boolean applyForSingleAttributeValue(Map.Entry mapEntry, Comparable attributeValue) {
         if (attributeValue == null) {
             return value == null || value == IndexImpl.NULL;
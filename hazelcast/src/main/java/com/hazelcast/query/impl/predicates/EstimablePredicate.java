@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.IndexAwarePredicate;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.QueryContext;
+
+/**
+ * Index aware predicate able to estimate the number of entries its
+ * {@link #filter(QueryContext)} returns from the statistics of the index,
+ * without querying it. Used by {@link CostBasedVisitor} to order the
+ * predicates of an {@link AndPredicate}.
+ *
+ * @param <K> type of the entry key
+ * @param <V> type of the entry value
+ */
+public interface EstimablePredicate<K, V> extends IndexAwarePredicate<K, V> {
+
+    /**
+     * Estimates the number of entries returned by {@link #filter(QueryContext)}.
+     * Called only when the predicate {@link #isIndexed(QueryContext) is indexed}.
+     *
+     * @param queryContext the query context
+     * @return the estimated number of entries or {@link IndexStatistics#UNKNOWN}
+     */
+    long estimateCardinality(QueryContext queryContext);
+}
@@ -33,7 +33,7 @@ import java.util.Set;
  * Greater Less Predicate
  */
 @BinaryInterface
-public final class GreaterLessPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate {
+public final class GreaterLessPredicate extends AbstractIndexAwarePredicate implements NegatablePredicate, EstimablePredicate {
 
     protected Comparable value;
     boolean equal;
@@ -67,13 +67,21 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Index index = getIndex(queryContext);
-        final ComparisonType comparisonType;
+        return index.getSubRecords(getComparisonType(), value);
+    }
+
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        Index index = getIndex(queryContext);
+        return index.estimateSubRecords(getComparisonType(), value);
+    }
+
+    private ComparisonType getComparisonType() {
         if (less) {
-            comparisonType = equal ? ComparisonType.LESSER_EQUAL : ComparisonType.LESSER;
+            return equal ? ComparisonType.LESSER_EQUAL : ComparisonType.LESSER;
         } else {
-            comparisonType = equal ? ComparisonType.GREATER_EQUAL : ComparisonType.GREATER;
+            return equal ? ComparisonType.GREATER_EQUAL : ComparisonType.GREATER;
         }
-        return index.getSubRecords(comparisonType, value);
     }
 
     @Override
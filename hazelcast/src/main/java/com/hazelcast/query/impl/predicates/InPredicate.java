@@ -33,7 +33,7 @@ import static com.hazelcast.util.SetUtil.createHashSet;
  * In Predicate
  */
 @BinaryInterface
-public class InPredicate extends AbstractIndexAwarePredicate {
+public class InPredicate extends AbstractIndexAwarePredicate implements EstimablePredicate {
 
     Comparable[] values;
     private volatile Set<Comparable> convertedInValues;
@@ -76,6 +76,12 @@ public class InPredicate extends AbstractIndexAwarePredicate {
         }
     }
 
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        Index index = getIndex(queryContext);
+        return index.estimateRecords(values);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
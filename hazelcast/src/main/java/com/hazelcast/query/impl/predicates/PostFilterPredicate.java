@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.nio.serialization.SerializableByConvention;
+import com.hazelcast.query.Predicate;
+
+import java.util.Map;
+
+/**
+ * Hides an index aware predicate from {@link AndPredicate#filter}, so it's
+ * applied to the entries matched by the other predicates instead of
+ * materializing its (large) index result set.
+ *
+ * Created by {@link CostBasedVisitor} only, it's never sent over the wire.
+ */
+@SerializableByConvention
+public class PostFilterPredicate implements Predicate {
+
+    final Predicate predicate;
+
+    PostFilterPredicate(Predicate predicate) {
+        this.predicate = predicate;
+    }
+
+    @Override
+    public boolean apply(Map.Entry mapEntry) {
+        return predicate.apply(mapEntry);
+    }
+
+    @Override
+    public String toString() {
+        return "postFilter(" + predicate + ")";
+    }
+}
@@ -91,6 +91,14 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * The name of the executor that stores the entries of write-behind
+     * maps when they are stored by more than one thread.
+     *
+     * @see com.hazelcast.spi.properties.GroupProperty#MAP_WRITE_BEHIND_PARALLELISM
+     */
+    String MAP_WRITE_BEHIND_EXECUTOR = "hz:map-write-behind";
+
     ManagedExecutorService register(String name, int poolSize, int queueCapacity, ExecutorType type);
 
     ManagedExecutorService getExecutor(String name);
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl;
+
+import com.hazelcast.nio.Packet;
+
+/**
+ * A {@link PacketHandler} that can also handle a batch of packets in one go.
+ *
+ * The batch is typically all packets that have been decoded from a single read on a connection. Handing them over
+ * together allows the handler to reduce the cost of passing them to other threads; e.g. to insert all packets for the
+ * same operation thread with a single queue insertion and a single wakeup.
+ */
+public interface PacketBatchHandler extends PacketHandler {
+
+    /**
+     * Signals the PacketBatchHandler that there is a batch of packets to be handled.
+     *
+     * The packets are handled in the order they appear in the array. The handler is allowed to modify the content of
+     * the array, so the caller should not rely on its content after this call returns.
+     *
+     * @param packets the array containing the packets to handle
+     * @param count   the number of packets in the array, starting from index 0
+     */
+    void handle(Packet[] packets, int count) throws Exception;
+}
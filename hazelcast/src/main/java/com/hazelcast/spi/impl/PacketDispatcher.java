@@ -26,8 +26,11 @@ import static com.hazelcast.nio.Packet.FLAG_OP_RESPONSE;
 /**
  * A {@link PacketHandler} that dispatches the {@link Packet} to the right service. So operations are send to the
  * {@link com.hazelcast.spi.OperationService}, events are send to the {@link com.hazelcast.spi.EventService} etc.
+ *
+ * When a batch of packets is dispatched, the operation packets are forwarded as a single batch if the operation
+ * executor is a {@link PacketBatchHandler}; all other packets are dispatched one by one.
  */
-public final class PacketDispatcher implements PacketHandler {
+public final class PacketDispatcher implements PacketBatchHandler {
 
     private final ILogger logger;
     private final PacketHandler eventService;
@@ -53,6 +56,46 @@ public final class PacketDispatcher implements PacketHandler {
         this.jetService = jetService;
     }
 
+    @Override
+    public void handle(Packet[] packets, int count) throws Exception {
+        if (!(operationExecutor instanceof PacketBatchHandler)) {
+            for (int k = 0; k < count; k++) {
+                handle(packets[k]);
+            }
+            return;
+        }
+
+        // the operation packets are moved to the front of the array, so the array can be passed on as the batch
+        int operationCount = 0;
+        for (int k = 0; k < count; k++) {
+            Packet packet = packets[k];
+            if (isOperation(packet)) {
+                packets[operationCount++] = packet;
+            } else {
+                handle(packet);
+            }
+        }
+
+        if (operationCount == 0) {
+            return;
+        }
+
+        try {
+            ((PacketBatchHandler) operationExecutor).handle(packets, operationCount);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            inspectOutOfMemoryError(t);
+            logger.severe("Failed to process a batch of " + operationCount + " operation packets", t);
+        }
+    }
+
+    private static boolean isOperation(Packet packet) {
+        return packet.getPacketType() == Packet.Type.OPERATION
+                && !packet.isFlagRaised(FLAG_OP_RESPONSE)
+                && !packet.isFlagRaised(FLAG_OP_CONTROL);
+    }
+
     @Override
     public void handle(Packet packet) throws Exception {
         try {
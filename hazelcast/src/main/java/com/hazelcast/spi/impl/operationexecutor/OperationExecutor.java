@@ -18,7 +18,7 @@ package com.hazelcast.spi.impl.operationexecutor;
 
 import com.hazelcast.spi.LiveOperationsTracker;
 import com.hazelcast.spi.Operation;
-import com.hazelcast.spi.impl.PacketHandler;
+import com.hazelcast.spi.impl.PacketBatchHandler;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationexecutor.impl.OperationExecutorImpl;
 
@@ -34,7 +34,7 @@ import com.hazelcast.spi.impl.operationexecutor.impl.OperationExecutorImpl;
  * The actual processing of a operation-packet, Operation, or a PartitionSpecificRunnable is forwarded to the
  * {@link OperationRunner}.
  */
-public interface OperationExecutor extends PacketHandler, LiveOperationsTracker {
+public interface OperationExecutor extends PacketBatchHandler, LiveOperationsTracker {
 
     // Will be replaced by metrics
     @Deprecated
@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl.operationexecutor.impl;
 
+import java.util.Collection;
 import java.util.Queue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -70,6 +71,13 @@ public final class DefaultOperationQueue implements OperationQueue {
         }
     }
 
+    @Override
+    public void addAll(Collection<?> tasks) {
+        checkNotNull(tasks, "tasks can't be null");
+
+        normalQueue.addAll(tasks);
+    }
+
     @Override
     public Object take(boolean priorityOnly) throws InterruptedException {
         if (priorityOnly) {
@@ -40,6 +40,8 @@ import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.util.concurrent.IdleStrategy;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 
@@ -368,6 +370,59 @@ public final class OperationExecutorImpl implements OperationExecutor, MetricsPr
         execute(packet, packet.getPartitionId(), packet.isUrgent());
     }
 
+    /**
+     * Hands over the packets to the operation threads.
+     *
+     * Normal partition specific packets are grouped by partition thread, and each group is added to the queue of
+     * its thread in a single step. The order of the packets for a partition thread is preserved. Urgent and generic
+     * packets are handed over one by one.
+     */
+    @Override
+    public void handle(Packet[] packets, int count) {
+        checkNotNull(packets, "packets can't be null");
+
+        if (count == 1) {
+            handle(packets[0]);
+            return;
+        }
+
+        List<Object> batch = null;
+        for (int k = 0; k < count; k++) {
+            Packet packet = packets[k];
+            if (packet == null) {
+                // already handed over as part of the batch of an earlier packet
+                continue;
+            }
+
+            if (!isBatchable(packet)) {
+                handle(packet);
+                continue;
+            }
+
+            if (batch == null) {
+                batch = new ArrayList<Object>(count - k);
+            }
+            int threadIndex = toPartitionThreadIndex(packet.getPartitionId());
+            collectBatch(packets, k, count, threadIndex, batch);
+            partitionThreads[threadIndex].queue.addAll(batch);
+            batch.clear();
+        }
+    }
+
+    private static boolean isBatchable(Packet packet) {
+        return packet.getPartitionId() >= 0 && !packet.isUrgent();
+    }
+
+    private void collectBatch(Packet[] packets, int fromIndex, int count, int threadIndex, List<Object> batch) {
+        for (int k = fromIndex; k < count; k++) {
+            Packet packet = packets[k];
+            if (packet != null && isBatchable(packet) && toPartitionThreadIndex(packet.getPartitionId()) == threadIndex) {
+                batch.add(packet);
+                packets[k] = null;
+            }
+        }
+    }
+
     private void execute(Object task, int partitionId, boolean priority) {
         if (partitionId < 0) {
             genericQueue.add(task, priority);
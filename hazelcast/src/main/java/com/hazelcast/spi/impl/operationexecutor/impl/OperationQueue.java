@@ -16,6 +16,8 @@
 
 package com.hazelcast.spi.impl.operationexecutor.impl;
 
+import java.util.Collection;
+
 /**
  * The OperationQueue is the queue used to schedule operations/tasks on an OperationThread.
  * <p/>
@@ -41,6 +43,19 @@ public interface OperationQueue {
      */
     void add(Object task, boolean priority);
 
+    /**
+     * Adds a batch of normal (non priority) tasks to this queue.
+     * <p/>
+     * The tasks are added in the order of the collection. Depending on the implementation, they are inserted
+     * in a single step so that a waiting consumer only needs to be notified once.
+     * <p/>
+     * This method is thread safe.
+     *
+     * @param tasks the tasks to add
+     * @throws java.lang.NullPointerException if tasks is null or contains a null task
+     */
+    void addAll(Collection<?> tasks);
+
     /**
      * Takes an item from this queue. If no item is available, the call blocks.
      * <p/>
@@ -22,19 +22,21 @@ import com.hazelcast.core.MemberLeftException;
 import com.hazelcast.internal.metrics.MetricsProvider;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
-import com.hazelcast.internal.util.RuntimeAvailableProcessors;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.sequence.CallIdSequence;
 
 import java.util.Iterator;
-import java.util.Map;
-import java.util.Set;
+import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.hazelcast.internal.metrics.ProbeLevel.MANDATORY;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.spi.OperationAccessor.deactivate;
 import static com.hazelcast.spi.OperationAccessor.setCallId;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
 
 /**
  * Responsible for the registration of all pending invocations.
@@ -45,27 +47,28 @@ import static com.hazelcast.spi.OperationAccessor.setCallId;
  * {@link com.hazelcast.spi.impl.operationservice.impl.responses.Response} comes in, the
  * appropriate invocation can be looked up.
  * <p>
- * Some ideas:
- * <ul>
- * <li>Use a ringbuffer to store all invocations instead of a CHM. The call ID can be used as sequence ID for this
- * ringbuffer. It can be that you run in slots that have not been released; if that happens, just keep increasing
- * the sequence (although you now get sequence-gaps).</li>
- * <li>Pre-allocate all invocations. Because the ringbuffer has a fixed capacity, pre-allocation should be easy. Also
- * the PartitionInvocation and TargetInvocation can be folded into Invocation.</li>
- * </ul>
+ * The invocations are stored in a ring of slots indexed by their call ID. Since call IDs are handed out in sequence and
+ * the number of concurrent invocations is bounded by the {@link CallIdSequence}, the slot of a new call ID is nearly
+ * always free, so registering, looking up and deregistering an invocation is a single array access without locking,
+ * boxing of the call ID or allocation. Only when a slot is still taken by an invocation that has been pending for a
+ * whole cycle of call IDs, the new invocation is stored in an overflow map instead.
  */
 public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider {
 
-    private static final int CORE_SIZE_CHECK = 8;
-    private static final int CORE_SIZE_FACTOR = 4;
-    private static final int CONCURRENCY_LEVEL = 16;
+    static final int MIN_SLOT_COUNT = 1024;
+    static final int MAX_SLOT_COUNT = 65536;
+
+    // an odd multiplier maps consecutive call IDs to slots that are far apart, so threads registering at the same time
+    // don't write to the same cache line; it still maps the call IDs of a full cycle to distinct slots
+    private static final int SLOT_SPREAD = 0x9E3779B9;
 
-    private static final int INITIAL_CAPACITY = 1000;
-    private static final float LOAD_FACTOR = 0.75f;
     private static final double HUNDRED_PERCENT = 100d;
 
-    @Probe(name = "invocations.pending", level = MANDATORY)
-    private final ConcurrentMap<Long, Invocation> invocations;
+    private final AtomicReferenceArray<Invocation> slots;
+    private final int slotMask;
+    private final ConcurrentMap<Long, Invocation> overflow = new ConcurrentHashMap<Long, Invocation>();
+    // the number of registered invocations, so the size doesn't require a scan of the slots
+    private final MwCounter pending = newMwCounter();
     private final ILogger logger;
     private final CallIdSequence callIdSequence;
 
@@ -75,11 +78,10 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
         this.logger = logger;
         this.callIdSequence = callIdSequence;
 
-        int coreSize = RuntimeAvailableProcessors.get();
-        boolean reallyMultiCore = coreSize >= CORE_SIZE_CHECK;
-        int concurrencyLevel = reallyMultiCore ? coreSize * CORE_SIZE_FACTOR : CONCURRENCY_LEVEL;
-
-        this.invocations = new ConcurrentHashMap<Long, Invocation>(INITIAL_CAPACITY, LOAD_FACTOR, concurrencyLevel);
+        int maxConcurrentInvocations = callIdSequence.getMaxConcurrentInvocations();
+        int slotCount = nextPowerOfTwo(Math.max(MIN_SLOT_COUNT, Math.min(MAX_SLOT_COUNT, maxConcurrentInvocations)));
+        this.slots = new AtomicReferenceArray<Invocation>(slotCount);
+        this.slotMask = slotCount - 1;
     }
 
     @Override
@@ -87,6 +89,11 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
         registry.scanAndRegister(this, "operation");
     }
 
+    @Probe(name = "invocations.pending", level = MANDATORY)
+    private int pendingInvocations() {
+        return size();
+    }
+
     @Probe(name = "invocations.usedPercentage")
     private double invocationsUsedPercentage() {
         int maxConcurrentInvocations = callIdSequence.getMaxConcurrentInvocations();
@@ -94,7 +101,12 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
             return 0;
         }
 
-        return (HUNDRED_PERCENT * invocations.size()) / maxConcurrentInvocations;
+        return (HUNDRED_PERCENT * size()) / maxConcurrentInvocations;
+    }
+
+    @Probe(name = "invocations.overflow")
+    private int overflowInvocations() {
+        return overflow.size();
     }
 
     @Probe(name = "invocations.lastCallId")
@@ -123,7 +135,11 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
             callIdSequence.complete();
             throw e;
         }
-        invocations.put(callId, invocation);
+        if (!slots.compareAndSet(slotIndex(callId), null, invocation)) {
+            // the slot is still taken by an invocation that has been pending for a whole cycle of call IDs
+            overflow.put(callId, invocation);
+        }
+        pending.inc();
         if (!alive) {
             invocation.notifyError(new HazelcastInstanceNotActiveException());
             return false;
@@ -142,7 +158,11 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
         if (!deactivate(invocation.op)) {
             return false;
         }
-        invocations.remove(invocation.op.getCallId());
+        long callId = invocation.op.getCallId();
+        if (!slots.compareAndSet(slotIndex(callId), invocation, null)) {
+            overflow.remove(callId);
+        }
+        pending.inc(-1);
         callIdSequence.complete();
         return true;
     }
@@ -153,21 +173,17 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
      * @return the number of pending invocations
      */
     public int size() {
-        return invocations.size();
-    }
-
-    @Override
-    public Iterator<Invocation> iterator() {
-        return invocations.values().iterator();
+        return (int) pending.get();
     }
 
     /**
-     * Intention to expose the entry set is to mutate it.
+     * Returns a weakly consistent iterator over the pending invocations.
      *
-     * @return set of invocations in this registry
+     * @return the iterator
      */
-    public Set<Map.Entry<Long, Invocation>> entrySet() {
-        return invocations.entrySet();
+    @Override
+    public Iterator<Invocation> iterator() {
+        return new InvocationIterator();
     }
 
     /**
@@ -177,7 +193,15 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
      * @return the Invocation for the given call ID, or {@code null} if no invocation was found.
      */
     public Invocation get(long callId) {
-        return invocations.get(callId);
+        Invocation invocation = slots.get(slotIndex(callId));
+        if (invocation != null && invocation.op.getCallId() == callId) {
+            return invocation;
+        }
+        return overflow.get(callId);
+    }
+
+    private int slotIndex(long callId) {
+        return ((int) callId * SLOT_SPREAD) & slotMask;
     }
 
     public void reset(Throwable cause) {
@@ -201,4 +225,45 @@ public class InvocationRegistry implements Iterable<Invocation>, MetricsProvider
             }
         }
     }
+
+    private final class InvocationIterator implements Iterator<Invocation> {
+
+        private final Iterator<Invocation> overflowIterator = overflow.values().iterator();
+        private int slotIndex = -1;
+        private Invocation next;
+
+        InvocationIterator() {
+            advance();
+        }
+
+        private void advance() {
+            while (++slotIndex < slots.length()) {
+                next = slots.get(slotIndex);
+                if (next != null) {
+                    return;
+                }
+            }
+            next = overflowIterator.hasNext() ? overflowIterator.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Invocation next() {
+            Invocation invocation = next;
+            if (invocation == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return invocation;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
 }
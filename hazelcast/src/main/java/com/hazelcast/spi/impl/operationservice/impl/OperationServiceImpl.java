@@ -33,6 +33,7 @@ import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.PacketBufferPool;
 import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.InvocationBuilder;
@@ -67,6 +68,7 @@ import static com.hazelcast.spi.InvocationBuilder.DEFAULT_DESERIALIZE_RESULT;
 import static com.hazelcast.spi.InvocationBuilder.DEFAULT_REPLICA_INDEX;
 import static com.hazelcast.spi.impl.operationutil.Operations.isJoinOperation;
 import static com.hazelcast.spi.properties.GroupProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
+import static com.hazelcast.spi.properties.GroupProperty.IO_PACKET_BUFFER_POOLING_ENABLED;
 import static com.hazelcast.spi.properties.GroupProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static com.hazelcast.util.CollectionUtil.toIntegerList;
 import static com.hazelcast.util.MapUtil.createHashMap;
@@ -152,8 +154,11 @@ public final class OperationServiceImpl implements InternalOperationService, Met
         this.backpressureRegulator = new BackpressureRegulator(
                 node.getProperties(), node.getLogger(BackpressureRegulator.class));
 
-        this.outboundResponseHandler = new OutboundResponseHandler(thisAddress, serializationService, node,
-                node.getLogger(OutboundResponseHandler.class));
+        PacketBufferPool packetBufferPool = node.getProperties().getBoolean(IO_PACKET_BUFFER_POOLING_ENABLED)
+                ? new PacketBufferPool() : null;
+
+        this.outboundResponseHandler = new OutboundResponseHandler(thisAddress, serializationService, packetBufferPool,
+                node, node.getLogger(OutboundResponseHandler.class));
 
         this.invocationRegistry = new InvocationRegistry(
                 node.getLogger(OperationServiceImpl.class), backpressureRegulator.newCallIdSequence());
@@ -162,21 +167,21 @@ public final class OperationServiceImpl implements InternalOperationService, Met
                 nodeEngine, thisAddress, node.getProperties(), invocationRegistry,
                 node.getLogger(InvocationMonitor.class), serializationService, nodeEngine.getServiceManager());
 
-        this.outboundOperationHandler = new OutboundOperationHandler(node, thisAddress, serializationService);
+        this.outboundOperationHandler = new OutboundOperationHandler(node, thisAddress, serializationService,
+                packetBufferPool);
 
         this.backupHandler = new OperationBackupHandler(this, outboundOperationHandler);
 
         String hzName = nodeEngine.getHazelcastInstance().getName();
         this.inboundResponseHandler = new InboundResponseHandler(
                 node.getLogger(InboundResponseHandler.class), node.getSerializationService(), invocationRegistry, nodeEngine);
-        ClassLoader configClassLoader = node.getConfigClassLoader();
-        this.asyncInboundResponseHandler = new AsyncInboundResponseHandler(configClassLoader, hzName,
+        this.asyncInboundResponseHandler = new AsyncInboundResponseHandler(node.getConfigClassLoader(), hzName,
                 node.getLogger(AsyncInboundResponseHandler.class),
                 inboundResponseHandler, node.getProperties());
 
         this.operationExecutor = new OperationExecutorImpl(
                 node.getProperties(), node.loggingService, thisAddress, new OperationRunnerFactoryImpl(this),
-                node.getNodeExtension(), hzName, configClassLoader);
+                node.getNodeExtension(), hzName, node.getConfigClassLoader());
 
         this.slowOperationDetector = new SlowOperationDetector(node.loggingService,
                 operationExecutor.getGenericOperationRunners(), operationExecutor.getPartitionOperationRunners(),
@@ -22,8 +22,11 @@ import com.hazelcast.nio.Address;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.ConnectionManager;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.PacketBufferPool;
 import com.hazelcast.spi.Operation;
 
+import java.nio.ByteBuffer;
+
 import static com.hazelcast.nio.Packet.FLAG_URGENT;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
@@ -33,12 +36,22 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
 public class OutboundOperationHandler {
     private final Address thisAddress;
     private final InternalSerializationService serializationService;
+    private final PacketBufferPool packetBufferPool;
     private final Node node;
 
     public OutboundOperationHandler(Node node, Address thisAddress, InternalSerializationService serializationService) {
+        this(node, thisAddress, serializationService, null);
+    }
+
+    /**
+     * @param packetBufferPool the pool operations are serialized into, or {@code null} if packet payloads are not pooled
+     */
+    public OutboundOperationHandler(Node node, Address thisAddress, InternalSerializationService serializationService,
+                                    PacketBufferPool packetBufferPool) {
         this.node = node;
         this.thisAddress = thisAddress;
         this.serializationService = serializationService;
+        this.packetBufferPool = packetBufferPool;
     }
 
     public boolean send(Operation op, Address target) {
@@ -48,9 +61,7 @@ public class OutboundOperationHandler {
             throw new IllegalArgumentException("Target is this node! -> " + target + ", op: " + op);
         }
 
-        byte[] bytes = serializationService.toBytes(op);
-        int partitionId = op.getPartitionId();
-        Packet packet = new Packet(bytes, partitionId).setPacketType(Packet.Type.OPERATION);
+        Packet packet = toPacket(op).setPacketType(Packet.Type.OPERATION);
 
         if (op.isUrgent()) {
             packet.raiseFlags(FLAG_URGENT);
@@ -58,6 +69,21 @@ public class OutboundOperationHandler {
 
         ConnectionManager connectionManager = node.getConnectionManager();
         Connection connection = connectionManager.getOrConnect(target);
-        return connectionManager.transmit(packet, connection);
+        if (connectionManager.transmit(packet, connection)) {
+            return true;
+        }
+        // the packet is not going to be written, so its payload can be reused right away
+        packet.release();
+        return false;
+    }
+
+    private Packet toPacket(Operation op) {
+        int partitionId = op.getPartitionId();
+        if (packetBufferPool == null) {
+            return new Packet(serializationService.toBytes(op), partitionId);
+        }
+
+        ByteBuffer payload = serializationService.toByteBuffer(op, packetBufferPool);
+        return packetBufferPool.newPacket(payload, partitionId);
     }
 }
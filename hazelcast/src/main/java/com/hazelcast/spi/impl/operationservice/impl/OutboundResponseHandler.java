@@ -22,6 +22,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ConnectionManager;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.PacketBufferPool;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationResponseHandler;
@@ -31,6 +32,8 @@ import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 
+import java.nio.ByteBuffer;
+
 import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_DATA_SERIALIZABLE;
 import static com.hazelcast.internal.serialization.impl.SerializationConstants.CONSTANT_TYPE_NULL;
 import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
@@ -66,6 +69,7 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
 
     private final Address thisAddress;
     private final InternalSerializationService serializationService;
+    private final PacketBufferPool packetBufferPool;
     private final boolean useBigEndian;
     private final ILogger logger;
     // it sucks we need to pass in Node as argument; but this is due to the ConnectionManager which is created after
@@ -76,8 +80,21 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
                             InternalSerializationService serializationService,
                             Node node,
                             ILogger logger) {
+        this(thisAddress, serializationService, null, node, logger);
+    }
+
+    /**
+     * @param packetBufferPool the pool larger response values are copied into, or {@code null} if packet payloads
+     *                         are not pooled
+     */
+    OutboundResponseHandler(Address thisAddress,
+                            InternalSerializationService serializationService,
+                            PacketBufferPool packetBufferPool,
+                            Node node,
+                            ILogger logger) {
         this.thisAddress = thisAddress;
         this.serializationService = serializationService;
+        this.packetBufferPool = packetBufferPool;
         this.useBigEndian = serializationService.getByteOrder() == BIG_ENDIAN;
         this.node = node;
         this.logger = logger;
@@ -131,8 +148,13 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
     }
 
     Packet toNormalResponsePacket(long callId, int backupAcks, boolean urgent, Object value) {
-        byte[] bytes;
         boolean isData = value instanceof Data;
+        if (isData && packetBufferPool != null
+                && packetBufferPool.isPooled(OFFSET_DATA_PAYLOAD + ((Data) value).totalSize())) {
+            return toPooledNormalResponsePacket(callId, backupAcks, urgent, (Data) value);
+        }
+
+        byte[] bytes;
         if (isData) {
             Data data = (Data) value;
 
@@ -167,6 +189,27 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
         return newResponsePacket(bytes, urgent);
     }
 
+    /**
+     * Creates a normal response packet with the payload in pooled memory. Only the prologue is assembled in a byte
+     * array; the value is copied straight into the pooled buffer.
+     */
+    private Packet toPooledNormalResponsePacket(long callId, int backupAcks, boolean urgent, Data data) {
+        int dataLengthInBytes = data.totalSize();
+
+        byte[] prologue = new byte[OFFSET_DATA_PAYLOAD];
+        writeResponsePrologueBytes(prologue, NORMAL_RESPONSE, callId, urgent);
+        prologue[OFFSET_BACKUP_ACKS] = (byte) backupAcks;
+        prologue[OFFSET_IS_DATA] = 1;
+        writeInt(prologue, OFFSET_DATA_LENGTH, dataLengthInBytes, useBigEndian);
+
+        ByteBuffer payload = packetBufferPool.allocate(OFFSET_DATA_PAYLOAD + dataLengthInBytes);
+        payload.put(prologue);
+        payload.put(data.toByteArray(), 0, dataLengthInBytes);
+        payload.flip();
+
+        return initResponsePacket(packetBufferPool.newPacket(payload, -1), urgent);
+    }
+
     public void sendBackupAck(Address target, long callId, boolean urgent) {
         checkTarget(target);
 
@@ -201,8 +244,11 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
     }
 
     private Packet newResponsePacket(byte[] bytes, boolean urgent) {
-        Packet packet = new Packet(bytes, -1)
-                .setPacketType(OPERATION)
+        return initResponsePacket(new Packet(bytes, -1), urgent);
+    }
+
+    private static Packet initResponsePacket(Packet packet, boolean urgent) {
+        packet.setPacketType(OPERATION)
                 .raiseFlags(FLAG_OP_RESPONSE);
 
         if (urgent) {
@@ -213,7 +259,12 @@ public final class OutboundResponseHandler implements OperationResponseHandler {
 
     private boolean transmit(Address target, Packet packet) {
         ConnectionManager connectionManager = node.getConnectionManager();
-        return connectionManager.transmit(packet, target);
+        if (connectionManager.transmit(packet, target)) {
+            return true;
+        }
+        // the packet is not going to be written, so its payload can be reused right away
+        packet.release();
+        return false;
     }
 
     private void checkTarget(Address target) {
@@ -197,6 +197,79 @@ public final class GroupProperty {
     public static final HazelcastProperty IO_BALANCER_INTERVAL_SECONDS
             = new HazelcastProperty("hazelcast.io.balancer.interval.seconds", 20, SECONDS);
 
+    /**
+     * Enables gathering writes for member to member connections. Packets are written to the socket in batches
+     * by a single {@link java.nio.channels.GatheringByteChannel} write, and larger payloads are written directly
+     * from the packets instead of being copied to the socket buffer first.
+     * <p/>
+     * Gathering writes bypass any customization of the channel's write method, so they should not be enabled
+     * together with TLS.
+     * <p/>
+     * The default is false.
+     */
+    public static final HazelcastProperty IO_WRITE_GATHERING_ENABLED
+            = new HazelcastProperty("hazelcast.io.write.gathering.enabled", false);
+
+    /**
+     * Enables pooled direct memory for the payload of larger operation and response packets sent to other members.
+     * The payload is serialized straight into a pooled direct buffer and written to the socket from there, instead
+     * of being serialized into a new byte array and copied to the socket buffer.
+     * <p/>
+     * The pool retains up to a few tens of megabytes of direct memory, so the maximum direct memory of the JVM needs
+     * to leave room for it.
+     * <p/>
+     * The default is false.
+     */
+    public static final HazelcastProperty IO_PACKET_BUFFER_POOLING_ENABLED
+            = new HazelcastProperty("hazelcast.io.packet.buffer.pooling.enabled", false);
+
+    /**
+     * Controls if the operation packets decoded from a single read on a member connection are handed over to the
+     * partition threads in batches.
+     * <p/>
+     * The packets for the same partition thread are added to its queue in a single step, so the partition thread
+     * needs to be woken up at most once per read instead of once per packet.
+     * <p/>
+     * The default is true.
+     */
+    public static final HazelcastProperty IO_INBOUND_PACKET_BATCHING_ENABLED
+            = new HazelcastProperty("hazelcast.io.inbound.packet.batching.enabled", true);
+
+    /**
+     * The number of connections between a pair of members.
+     * <p/>
+     * The member that makes the first connection to another member also makes the additional connections. The
+     * partition specific operations to a member are spread over its connections based on the partition id, so the
+     * traffic is handled by multiple IO threads and TCP connections. The order of the operations for a partition
+     * is preserved as long as the connections stay alive. All other packets use the first connection.
+     * <p/>
+     * The default is 1.
+     */
+    public static final HazelcastProperty IO_CONNECTIONS_PER_MEMBER
+            = new HazelcastProperty("hazelcast.io.connections.per.member", 1);
+
+    /**
+     * Controls if large packets are compressed before they are written to another member.
+     * <p/>
+     * Compression is only used on connections to members that announced to be able to decompress packets when the
+     * connection was bound. It trades CPU time for network bandwidth, so it pays off when the network is the
+     * bottleneck, e.g. between data centers.
+     * <p/>
+     * The default is false.
+     */
+    public static final HazelcastProperty IO_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.io.compression.enabled", false);
+
+    /**
+     * The minimum payload size in bytes of a packet to be compressed, see {@link #IO_COMPRESSION_ENABLED}.
+     * <p/>
+     * Compressing small packets costs more than it saves, so they are always written as is.
+     * <p/>
+     * The default is 8192.
+     */
+    public static final HazelcastProperty IO_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.io.compression.threshold", 8192);
+
     @SuppressWarnings("checkstyle:constantname")
     public static final HazelcastProperty PREFER_IPv4_STACK
             = new HazelcastProperty("hazelcast.prefer.ipv4.stack", true);
@@ -638,6 +711,49 @@ public final class GroupProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Number of batches of a write-behind map which are stored in parallel on a member.
+     * Entries are grouped by partition, so the store operations on a key keep their order.
+     * <p/>
+     * The batches are stored on the {@link com.hazelcast.spi.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR} executor.
+     * The default value {@code 1} stores all batches on a single thread.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_PARALLELISM
+            = new HazelcastProperty("hazelcast.map.write.behind.parallelism", 1);
+
+    /**
+     * Target latency of a single {@link com.hazelcast.core.MapStore#storeAll} or
+     * {@link com.hazelcast.core.MapStore#deleteAll} call of a write-behind map.
+     * <p/>
+     * When set, the number of entries in each call is adapted between {@code 1} and
+     * {@link com.hazelcast.config.MapStoreConfig#writeBatchSize}: it is halved when a call takes
+     * longer than the target and doubled when a call takes less than half of it.
+     * The default value {@code 0} always uses the configured write batch size.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS
+            = new HazelcastProperty("hazelcast.map.write.behind.batch.target.latency.millis", 0, MILLISECONDS);
+
+    /**
+     * Size of the write-behind queue of a partition above which writes to that partition are slowed down,
+     * so that the map-store can catch up instead of the queue growing further.
+     * <p/>
+     * The delay of a write grows linearly with the size of the queue beyond this threshold, up to
+     * {@link #MAP_WRITE_BEHIND_BACKPRESSURE_MAX_DELAY_MILLIS} when the queue is twice the threshold.
+     * Every write on the owner replica is delayed, whether it comes from a put, a remove, an entry
+     * processor or a merge, so the queue grows at most by one entry per delay.
+     * The default value {@code 0} disables back-pressure.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_BACKPRESSURE_THRESHOLD
+            = new HazelcastProperty("hazelcast.map.write.behind.backpressure.threshold", 0);
+
+    /**
+     * Maximum delay of a write to a write-behind map when its queue exceeds
+     * {@link #MAP_WRITE_BEHIND_BACKPRESSURE_THRESHOLD}. The write is delayed on the thread running it,
+     * so the delay should stay well below the operation call timeout.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_BACKPRESSURE_MAX_DELAY_MILLIS
+            = new HazelcastProperty("hazelcast.map.write.behind.backpressure.max.delay.millis", 10, MILLISECONDS);
+
     /**
      * Defines cache invalidation event batch sending is enabled or not.
      */
@@ -809,6 +925,8 @@ public final class GroupProperty {
      * Valid Values:
      * <ul>
      * <li>RULES - for optimizations based on static rules</li>
+     * <li>COST - for optimizations based on static rules followed by ordering of the predicates of
+     * conjunctions by their cardinality estimated from index statistics</li>
      * <li>NONE - optimization are disabled</li>
      * </ul>
      * <p/>
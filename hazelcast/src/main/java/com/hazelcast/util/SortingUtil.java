@@ -20,6 +20,7 @@ import com.hazelcast.internal.util.ResultSet;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.PagingPredicateAccessor;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.util.collection.TopKCollector;
 
 import java.util.Collections;
 import java.util.Comparator;
@@ -137,21 +138,36 @@ public final class SortingUtil {
         };
     }
 
+    /**
+     * Returns the entries of the given list which may appear on the page requested by the paging predicate,
+     * i.e. the first {@link #getPagingLimit paging limit} entries, sorted. Only those entries are sorted,
+     * the others are dropped by a bounded heap.
+     */
     public static List<QueryableEntry> getSortedSubList(List<QueryableEntry> list, PagingPredicate pagingPredicate,
                                                         Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
         if (pagingPredicate == null || list.isEmpty()) {
             return list;
         }
         Comparator<Map.Entry> comparator = SortingUtil.newComparator(pagingPredicate);
-        Collections.sort(list, comparator);
-        int nearestPage = nearestAnchorEntry.getKey();
-        int pageSize = pagingPredicate.getPageSize();
-        int page = pagingPredicate.getPage();
-        int totalSize = pageSize * (page - nearestPage);
-        if (list.size() > totalSize) {
-            list = list.subList(0, totalSize);
+        int totalSize = getPagingLimit(pagingPredicate, nearestAnchorEntry);
+        if (list.size() <= totalSize) {
+            Collections.sort(list, comparator);
+            return list;
+        }
+        TopKCollector<QueryableEntry> topEntries = new TopKCollector<QueryableEntry>(totalSize, comparator);
+        for (QueryableEntry entry : list) {
+            topEntries.add(entry);
         }
-        return list;
+        return topEntries.drainSorted();
+    }
+
+    /**
+     * Returns the number of the entries following the nearest anchor which are needed to build the page
+     * requested by the paging predicate. The entries sorted after them can't appear on the page.
+     */
+    public static int getPagingLimit(PagingPredicate pagingPredicate, Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        int nearestPage = nearestAnchorEntry.getKey();
+        return pagingPredicate.getPageSize() * (pagingPredicate.getPage() - nearestPage);
     }
 
     @SuppressWarnings("unchecked")
@@ -161,9 +177,9 @@ public final class SortingUtil {
             return new ResultSet();
         }
         Comparator<Map.Entry> comparator = SortingUtil.newComparator(pagingPredicate.getComparator(), iterationType);
-        Collections.sort(list, comparator);
-
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry(pagingPredicate);
+        list = selectSorted(list, comparator, getPagingLimit(pagingPredicate, nearestAnchorEntry));
+
         int nearestPage = nearestAnchorEntry.getKey();
         int page = pagingPredicate.getPage();
         int pageSize = pagingPredicate.getPageSize();
@@ -181,6 +197,18 @@ public final class SortingUtil {
         return new ResultSet(subList, iterationType);
     }
 
+    private static List<Map.Entry> selectSorted(List<Map.Entry> list, Comparator<Map.Entry> comparator, int limit) {
+        if (list.size() <= limit) {
+            Collections.sort(list, comparator);
+            return list;
+        }
+        TopKCollector<Map.Entry> topEntries = new TopKCollector<Map.Entry>(limit, comparator);
+        for (Map.Entry entry : list) {
+            topEntries.add(entry);
+        }
+        return topEntries.drainSorted();
+    }
+
     public static boolean compareAnchor(PagingPredicate pagingPredicate, QueryableEntry queryEntry,
                                         Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
         if (pagingPredicate == null) {
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.util.collection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+
+/**
+ * Keeps the {@code k} smallest elements, according to a {@link Comparator}, out of the elements
+ * added to it, in a bounded max-heap.
+ * <p>
+ * Selecting the first {@code k} elements of {@code n} costs {@code O(n log k)} time and {@code O(k)}
+ * space, while sorting all the elements and taking the first {@code k} costs {@code O(n log n)}
+ * time and {@code O(n)} space.
+ * <p>
+ * Not thread-safe.
+ *
+ * @param <E> the type of the elements
+ */
+public final class TopKCollector<E> {
+
+    private final int k;
+    private final Comparator<? super E> comparator;
+    private final PriorityQueue<E> heap;
+
+    public TopKCollector(int k, Comparator<? super E> comparator) {
+        this.k = checkNotNegative(k, "k can't be negative");
+        this.comparator = comparator;
+        // the heap keeps the greatest of the collected elements on the top
+        this.heap = new PriorityQueue<E>(Math.max(1, k), Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Adds the element if it is one of the {@code k} smallest elements added so far.
+     *
+     * @return {@code true} if the element was collected
+     */
+    public boolean add(E element) {
+        if (heap.size() < k) {
+            heap.offer(element);
+            return true;
+        }
+        if (k == 0 || comparator.compare(element, heap.peek()) >= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.offer(element);
+        return true;
+    }
+
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Returns the collected elements sorted in the ascending order and empties this collector.
+     */
+    public List<E> drainSorted() {
+        List<E> result = new ArrayList<E>(heap);
+        heap.clear();
+        Collections.sort(result, comparator);
+        return result;
+    }
+}
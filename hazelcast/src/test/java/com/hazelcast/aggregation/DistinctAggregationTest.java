@@ -16,6 +16,8 @@
 
 package com.hazelcast.aggregation;
 
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.spi.serialization.SerializationService;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -32,6 +34,7 @@ import java.util.Set;
 
 import static com.hazelcast.aggregation.TestSamples.createEntryWithValue;
 import static com.hazelcast.aggregation.TestSamples.createExtractableEntryWithValue;
+import static com.hazelcast.aggregation.TestSamples.sampleLongs;
 import static com.hazelcast.aggregation.TestSamples.sampleStrings;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
@@ -116,6 +119,86 @@ public class DistinctAggregationTest {
         assertThat(result, is(equalTo(expectation)));
     }
 
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testDistinctAggregator_withLongs() {
+        List<Long> values = repeatTimes(3, sampleLongs());
+        values.add(Long.MIN_VALUE);
+        values.add(Long.MAX_VALUE);
+        Set<Long> expectation = new HashSet<Long>(values);
+
+        Aggregator<Map.Entry<Long, Long>, Set<Long>> aggregation = Aggregators.distinct();
+        for (Long value : values) {
+            aggregation.accumulate(createEntryWithValue(value));
+        }
+
+        Aggregator<Map.Entry<Long, Long>, Set<Long>> resultAggregation = Aggregators.distinct();
+        resultAggregation.combine(aggregation);
+        Set<Long> result = resultAggregation.aggregate();
+
+        assertThat(result, is(equalTo(expectation)));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testDistinctAggregator_withLongsAndOtherValues() {
+        List<Object> values = new ArrayList<Object>(repeatTimes(3, sampleLongs()));
+        values.add(Long.MIN_VALUE);
+        values.add(1);
+        values.add(null);
+        Set<Object> expectation = new HashSet<Object>(values);
+
+        Aggregator<Map.Entry<Object, Object>, Set<Object>> aggregation = Aggregators.distinct();
+        for (Object value : values) {
+            aggregation.accumulate(createEntryWithValue(value));
+        }
+
+        Set<Object> result = aggregation.aggregate();
+
+        assertThat(result, is(equalTo(expectation)));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testDistinctAggregator_combineLongsWithOtherValues() {
+        List<Long> longs = sampleLongs();
+        List<String> strings = sampleStrings();
+        Set<Object> expectation = new HashSet<Object>(longs);
+        expectation.addAll(strings);
+
+        Aggregator<Map.Entry<Object, Object>, Set<Object>> longAggregation = Aggregators.distinct();
+        for (Long value : longs) {
+            longAggregation.accumulate(createEntryWithValue((Object) value));
+        }
+        Aggregator<Map.Entry<Object, Object>, Set<Object>> stringAggregation = Aggregators.distinct();
+        for (String value : strings) {
+            stringAggregation.accumulate(createEntryWithValue((Object) value));
+        }
+
+        Aggregator<Map.Entry<Object, Object>, Set<Object>> resultAggregation = Aggregators.distinct();
+        resultAggregation.combine(longAggregation);
+        resultAggregation.combine(stringAggregation);
+        Set<Object> result = resultAggregation.aggregate();
+
+        assertThat(result, is(equalTo(expectation)));
+    }
+
+    @Test(timeout = TimeoutInMillis.MINUTE)
+    public void testDistinctAggregator_withLongs_serialization() {
+        List<Long> values = sampleLongs();
+        values.add(Long.MIN_VALUE);
+        Set<Long> expectation = new HashSet<Long>(values);
+
+        Aggregator<Map.Entry<Long, Long>, Set<Long>> aggregation = Aggregators.distinct();
+        for (Long value : values) {
+            aggregation.accumulate(createEntryWithValue(value));
+        }
+
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        Aggregator<Map.Entry<Long, Long>, Set<Long>> deserialized
+                = serializationService.toObject(serializationService.toData(aggregation));
+        Set<Long> result = deserialized.aggregate();
+
+        assertThat(result, is(equalTo(expectation)));
+    }
+
     private <T> List<T> repeatTimes(int times, List<T> values) {
         List<T> repeatedValues = new ArrayList<T>();
         for (int i = 0; i < times; i++) {
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.test.HazelcastParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(Parameterized.class)
+@Parameterized.UseParametersRunnerFactory(HazelcastParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class GroupByAggregationTest extends HazelcastTestSupport {
+
+    private static final String[] DEPARTMENTS = {"sales", "engineering", "support", null};
+    private static final int EMPLOYEE_COUNT = 1000;
+
+    @Parameterized.Parameter(0)
+    public InMemoryFormat inMemoryFormat;
+
+    @Parameterized.Parameter(1)
+    public boolean parallelAccumulation;
+
+    private IMap<Integer, Employee> map;
+
+    @Parameterized.Parameters(name = "{0} parallelAccumulation={1}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {InMemoryFormat.BINARY, false},
+                {InMemoryFormat.OBJECT, false},
+                {InMemoryFormat.BINARY, true},
+                {InMemoryFormat.OBJECT, true},
+        });
+    }
+
+    @Before
+    public void setUp() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+
+        Config config = new Config()
+                .setProperty("hazelcast.partition.count", "7")
+                .setProperty("hazelcast.aggregation.accumulation.parallel.evaluation",
+                        String.valueOf(parallelAccumulation))
+                .addMapConfig(new MapConfig("employees").setInMemoryFormat(inMemoryFormat));
+
+        HazelcastInstance instance = factory.newInstances(config)[0];
+        map = instance.getMap("employees");
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            map.put(i, new Employee(DEPARTMENTS[i % DEPARTMENTS.length], i));
+        }
+    }
+
+    @Test
+    public void testGroupBy_count() {
+        Map<String, Long> result = map.aggregate(
+                Aggregators.<Map.Entry<Integer, Employee>, String, Long>groupBy("department",
+                        Aggregators.<Map.Entry<Integer, Employee>>count()));
+
+        Map<String, Long> expected = new HashMap<String, Long>();
+        for (String department : DEPARTMENTS) {
+            expected.put(department, (long) EMPLOYEE_COUNT / DEPARTMENTS.length);
+        }
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testGroupBy_sumOfAttribute() {
+        Map<String, Long> result = map.aggregate(
+                Aggregators.<Map.Entry<Integer, Employee>, String, Long>groupBy("department",
+                        Aggregators.<Map.Entry<Integer, Employee>>longSum("salary")));
+
+        assertEquals(expectedSalarySums(0), result);
+    }
+
+    @Test
+    public void testGroupBy_withPredicate() {
+        int minSalary = EMPLOYEE_COUNT / 2;
+
+        Map<String, Long> result = map.aggregate(
+                Aggregators.<Map.Entry<Integer, Employee>, String, Long>groupBy("department",
+                        Aggregators.<Map.Entry<Integer, Employee>>longSum("salary")),
+                greaterEqual("salary", minSalary));
+
+        assertEquals(expectedSalarySums(minSalary), result);
+    }
+
+    @Test
+    public void testGroupBy_nested() {
+        Map<String, Map<Long, Long>> result = map.aggregate(
+                Aggregators.<Map.Entry<Integer, Employee>, String, Map<Long, Long>>groupBy("department",
+                        Aggregators.<Map.Entry<Integer, Employee>, Long, Long>groupBy("grade",
+                                Aggregators.<Map.Entry<Integer, Employee>>count())));
+
+        assertEquals(DEPARTMENTS.length, result.size());
+        for (Map<Long, Long> grades : result.values()) {
+            assertEquals(Employee.GRADE_COUNT, grades.size());
+            long count = 0;
+            for (Long gradeCount : grades.values()) {
+                count += gradeCount;
+            }
+            assertEquals(EMPLOYEE_COUNT / DEPARTMENTS.length, count);
+        }
+    }
+
+    private static Map<String, Long> expectedSalarySums(int minSalary) {
+        Map<String, Long> expected = new HashMap<String, Long>();
+        for (int i = minSalary; i < EMPLOYEE_COUNT; i++) {
+            String department = DEPARTMENTS[i % DEPARTMENTS.length];
+            Long sum = expected.get(department);
+            expected.put(department, sum == null ? i : sum + i);
+        }
+        return expected;
+    }
+
+    public static class Employee implements DataSerializable {
+
+        static final int GRADE_COUNT = 3;
+
+        public String department;
+        public long salary;
+        public long grade;
+
+        public Employee() {
+        }
+
+        Employee(String department, long salary) {
+            this.department = department;
+            this.salary = salary;
+            this.grade = salary % GRADE_COUNT;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeUTF(department);
+            out.writeLong(salary);
+            out.writeLong(grade);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            department = in.readUTF();
+            salary = in.readLong();
+            grade = in.readLong();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastTestSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the built-in aggregators on a single member, with sequential and with parallel
+ * accumulation. Complements the {@link MapWordCountAggregationBenchmark}, which exercises a custom aggregator
+ * on a cluster. Run it on a member with many cores to see the parallel accumulation scale.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@SuppressWarnings("unused")
+public class MapAggregationBenchmark extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000000;
+    private static final int DISTINCT_CUSTOMER_COUNT = 10000;
+    private static final int PUT_ALL_BATCH_SIZE = 10000;
+    private static final int WARMUP_ITERATIONS_COUNT = 10;
+    private static final int MEASUREMENT_ITERATIONS_COUNT = 20;
+
+    @Param({"false", "true"})
+    private boolean parallelAccumulation;
+
+    private HazelcastInstance hz;
+    private IMap<Integer, Order> map;
+
+    @Setup
+    public void setup() {
+        Config config = new Config()
+                .addMapConfig(new MapConfig("orders").setInMemoryFormat(InMemoryFormat.OBJECT).setBackupCount(0))
+                .setProperty("hazelcast.aggregation.accumulation.parallel.evaluation",
+                        String.valueOf(parallelAccumulation));
+
+        hz = createHazelcastInstance(config);
+        map = hz.getMap("orders");
+        Map<Integer, Order> batch = new HashMap<Integer, Order>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            batch.put(i, new Order(i % DISTINCT_CUSTOMER_COUNT, i % 1000 / 10.0));
+            if (batch.size() == PUT_ALL_BATCH_SIZE) {
+                map.putAll(batch);
+                batch.clear();
+            }
+        }
+        map.putAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hz.shutdown();
+    }
+
+    @Benchmark
+    public Object count() {
+        return map.aggregate(Aggregators.<Map.Entry<Integer, Order>>count());
+    }
+
+    @Benchmark
+    public Object longSum() {
+        return map.aggregate(Aggregators.<Map.Entry<Integer, Order>>longSum("customerId"));
+    }
+
+    @Benchmark
+    public Object doubleAvg() {
+        return map.aggregate(Aggregators.<Map.Entry<Integer, Order>>doubleAvg("amount"));
+    }
+
+    @Benchmark
+    public Object distinctLongs() {
+        return map.aggregate(Aggregators.<Map.Entry<Integer, Order>, Long>distinct("customerId"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(MapAggregationBenchmark.class.getSimpleName())
+                .warmupIterations(WARMUP_ITERATIONS_COUNT)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+                .measurementTime(TimeValue.seconds(1))
+                .verbosity(VerboseMode.NORMAL)
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+
+    public static class Order implements Serializable {
+
+        private long customerId;
+        private double amount;
+
+        public Order(long customerId, double amount) {
+            this.customerId = customerId;
+            this.amount = amount;
+        }
+    }
+}
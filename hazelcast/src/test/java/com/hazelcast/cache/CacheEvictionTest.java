@@ -18,7 +18,11 @@ package com.hazelcast.cache;
 
 import com.hazelcast.cache.impl.HazelcastServerCachingProvider;
 import com.hazelcast.config.CacheConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.properties.GroupProperty;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.ParallelTest;
@@ -33,6 +37,10 @@ import javax.cache.CacheManager;
 import javax.cache.spi.CachingProvider;
 import java.util.Random;
 
+import static com.hazelcast.cache.impl.maxsize.impl.EntryCountCacheEvictionChecker.calculateMaxPartitionSize;
+import static com.hazelcast.config.EvictionConfig.MaxSizePolicy.ENTRY_COUNT;
+import static org.junit.Assert.assertTrue;
+
 @RunWith(HazelcastSerialClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
 public class CacheEvictionTest extends HazelcastTestSupport {
@@ -41,6 +49,13 @@ public class CacheEvictionTest extends HazelcastTestSupport {
     HazelcastInstance instance;
     Cache<Integer, Integer> cache;
 
+    @Override
+    protected Config getConfig() {
+        // a single partition, so that the per-partition eviction of the caches works with all the entries
+        return super.getConfig()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), "1");
+    }
+
     @Before
     public void setup() {
         instance = createHazelcastInstance();
@@ -71,4 +86,36 @@ public class CacheEvictionTest extends HazelcastTestSupport {
 
     }
 
+    @Test
+    public void testEvictionTinyLFU_frequentlyUsedEntriesSurviveScan() {
+        int size = 1000;
+        int hotCount = 100;
+        CacheManager cacheManager = provider.getCacheManager();
+        CacheConfig<Integer, Integer> cacheConfig = new CacheConfig<Integer, Integer>()
+                .setEvictionConfig(new EvictionConfig(size, ENTRY_COUNT, EvictionPolicy.TINY_LFU));
+        Cache<Integer, Integer> tinyLFUCache = cacheManager.createCache(randomString(), cacheConfig);
+
+        for (int i = 0; i < size; i++) {
+            tinyLFUCache.put(i, i);
+        }
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < hotCount; j++) {
+                tinyLFUCache.get(j);
+            }
+        }
+        for (int i = size; i < 10 * size; i++) {
+            tinyLFUCache.put(i, i);
+            if (i % 20 == 0) {
+                tinyLFUCache.get((i / 20) % hotCount);
+            }
+        }
+
+        int cacheSize = tinyLFUCache.unwrap(ICache.class).size();
+        assertTrue("Eviction did not work, cache size " + cacheSize + " should not exceed allowed max size = " + size,
+                cacheSize <= calculateMaxPartitionSize(size, 1));
+        for (int i = 0; i < hotCount; i++) {
+            assertTrue("Frequently used key " + i + " was evicted", tinyLFUCache.containsKey(i));
+        }
+    }
+
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool.MAX_POOLED_SIZE;
+import static com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool.MIN_POOLED_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientProtocolBufferPoolTest {
+
+    private final ClientProtocolBufferPool pool = new ClientProtocolBufferPool(false);
+
+    @Test
+    public void allocate_whenSmallBuffer_thenExactSize() {
+        ClientProtocolBuffer buffer = pool.allocate(MIN_POOLED_SIZE - 1);
+
+        assertFalse(pool.isPooled(MIN_POOLED_SIZE - 1));
+        assertEquals(MIN_POOLED_SIZE - 1, buffer.capacity());
+    }
+
+    @Test
+    public void allocate_whenHugeBuffer_thenExactSize() {
+        ClientProtocolBuffer buffer = pool.allocate(MAX_POOLED_SIZE + 1);
+
+        assertFalse(pool.isPooled(MAX_POOLED_SIZE + 1));
+        assertEquals(MAX_POOLED_SIZE + 1, buffer.capacity());
+    }
+
+    @Test
+    public void allocate_whenPooledBuffer_thenCapacityOfSizeClass() {
+        ClientProtocolBuffer buffer = pool.allocate(MIN_POOLED_SIZE + 1);
+
+        assertTrue(pool.isPooled(MIN_POOLED_SIZE + 1));
+        assertEquals(2 * MIN_POOLED_SIZE, buffer.capacity());
+    }
+
+    @Test
+    public void allocate_whenUnsafe_thenUnsafeBuffer() {
+        ClientProtocolBufferPool unsafePool = new ClientProtocolBufferPool(true);
+
+        assertTrue(unsafePool.allocate(MIN_POOLED_SIZE) instanceof UnsafeBuffer);
+        assertTrue(pool.allocate(MIN_POOLED_SIZE) instanceof SafeBuffer);
+    }
+
+    @Test
+    public void release_thenBufferReused() {
+        ClientProtocolBuffer buffer = pool.allocate(MIN_POOLED_SIZE + 1);
+
+        pool.release(buffer);
+
+        assertSame(buffer, pool.allocate(2 * MIN_POOLED_SIZE));
+        assertNotSame(buffer, pool.allocate(2 * MIN_POOLED_SIZE));
+    }
+
+    @Test
+    public void release_whenOtherSizeClass_thenBufferNotReused() {
+        ClientProtocolBuffer buffer = pool.allocate(MIN_POOLED_SIZE);
+
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.allocate(2 * MIN_POOLED_SIZE));
+    }
+
+    @Test
+    public void release_whenNotPooledSize_thenIgnored() {
+        ClientProtocolBuffer buffer = pool.allocate(MIN_POOLED_SIZE - 1);
+
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.allocate(MIN_POOLED_SIZE - 1));
+    }
+}
@@ -52,6 +52,8 @@ public class ClientMessageTest {
 
     private static final byte[] BYTE_DATA = VAR_DATA_STR_1.getBytes();
 
+    private static final int POOLED_MESSAGE_SIZE = 4096;
+
     @Before
     public void setUp() {
     }
@@ -405,6 +407,51 @@ public class ClientMessageTest {
 
     }
 
+    @Test
+    public void testCreateForEncode_whenPooled_thenHeaderCleared() {
+        ClientMessage previous = ClientMessage.createForEncode(POOLED_MESSAGE_SIZE);
+        previous.setMessageType(0x1122).setVersion(ClientMessage.VERSION).addFlag(ClientMessage.LISTENER_EVENT_FLAG)
+                .setCorrelationId(0x1234567812345678L).setPartitionId(5);
+        previous.release();
+
+        ClientMessage message = ClientMessage.createForEncode(POOLED_MESSAGE_SIZE);
+
+        assertEquals(0, message.getMessageType());
+        assertEquals(0, message.getVersion());
+        assertEquals(0, message.getFlags());
+        assertEquals(0, message.getCorrelationId());
+        assertEquals(-1, message.getPartitionId());
+        assertEquals(ClientMessage.HEADER_SIZE, message.getFrameLength());
+        assertEquals(ClientMessage.HEADER_SIZE, message.getDataOffset());
+    }
+
+    @Test
+    public void testRelease_whenRetained_thenReleasedTwice() {
+        ClientMessage message = ClientMessage.createForEncode(POOLED_MESSAGE_SIZE);
+
+        message.retain();
+        message.release();
+        message.release();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRelease_whenReleasedTwice_thenIllegalStateException() {
+        ClientMessage message = ClientMessage.createForEncode(POOLED_MESSAGE_SIZE);
+
+        message.release();
+        message.release();
+    }
+
+    @Test
+    public void testRelease_whenNotPooled_thenNoEffect() {
+        ClientMessage message = ClientMessage.createForEncode(new SafeBuffer(new byte[POOLED_MESSAGE_SIZE]), 0);
+
+        message.release();
+        message.release();
+
+        assertEquals(ClientMessage.HEADER_SIZE, message.getFrameLength());
+    }
+
     @Test(expected = MaxMessageSizeExceeded.class)
     public void testMessageSizeOverflow() {
         ClientMessage.findSuitableMessageSize(Integer.MAX_VALUE << 1);
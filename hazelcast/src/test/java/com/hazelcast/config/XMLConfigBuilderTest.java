@@ -1859,6 +1859,44 @@ public class XMLConfigBuilderTest extends HazelcastTestSupport {
         assertIndexEqual("age", true, mapConfig.getMapIndexConfigs().get(1));
     }
 
+    @Test
+    public void testIndexesConfig_withStorageType() {
+        String xml = HAZELCAST_START_TAG
+                + "   <map name=\"people\">\n"
+                + "       <in-memory-format>NATIVE</in-memory-format>\n"
+                + "       <indexes>\n"
+                + "           <index ordered=\"false\">name</index>\n"
+                + "           <index ordered=\"true\" storage-type=\"NATIVE\">age</index>\n"
+                + "       </indexes>"
+                + "   </map>"
+                + HAZELCAST_END_TAG;
+
+        Config config = buildConfig(xml);
+        MapConfig mapConfig = config.getMapConfig("people");
+
+        assertEquals(IndexStorageType.ON_HEAP, mapConfig.getMapIndexConfigs().get(0).getStorageType());
+        assertEquals(IndexStorageType.NATIVE, mapConfig.getMapIndexConfigs().get(1).getStorageType());
+    }
+
+    @Test
+    public void testIndexesConfig_withBitmap() {
+        String xml = HAZELCAST_START_TAG
+                + "   <map name=\"people\">\n"
+                + "       <indexes>\n"
+                + "           <index ordered=\"false\">name</index>\n"
+                + "           <index bitmap=\"true\">status</index>\n"
+                + "       </indexes>"
+                + "   </map>"
+                + HAZELCAST_END_TAG;
+
+        Config config = buildConfig(xml);
+        MapConfig mapConfig = config.getMapConfig("people");
+
+        assertFalse(mapConfig.getMapIndexConfigs().get(0).isBitmap());
+        assertTrue(mapConfig.getMapIndexConfigs().get(1).isBitmap());
+        assertFalse(mapConfig.getMapIndexConfigs().get(1).isOrdered());
+    }
+
     private static void assertIndexEqual(String expectedAttribute, boolean expectedOrdered, MapIndexConfig indexConfig) {
         assertEquals(expectedAttribute, indexConfig.getAttribute());
         assertEquals(expectedOrdered, indexConfig.isOrdered());
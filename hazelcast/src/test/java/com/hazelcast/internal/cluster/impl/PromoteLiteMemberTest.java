@@ -42,7 +42,6 @@ import org.junit.experimental.categories.Category;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
-import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -380,8 +379,8 @@ public class PromoteLiteMemberTest extends HazelcastTestSupport {
         assertTrueEventually(new AssertTask() {
             @Override
             public void run() throws Exception {
-                for (Map.Entry<Long, Invocation> entry : invocationRegistry.entrySet()) {
-                    if (entry.getValue().op instanceof PromoteLiteMemberOp) {
+                for (Invocation invocation : invocationRegistry) {
+                    if (invocation.op instanceof PromoteLiteMemberOp) {
                         return;
                     }
                 }
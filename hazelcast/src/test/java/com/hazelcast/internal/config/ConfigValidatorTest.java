@@ -20,7 +20,9 @@ import com.hazelcast.config.CacheSimpleConfig;
 import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexStorageType;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
 import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.eviction.EvictableEntryView;
@@ -66,13 +68,59 @@ public class ConfigValidatorTest extends HazelcastTestSupport {
     }
 
     /**
-     * Not supported in open source version, so test is expected to throw exception.
+     * Not supported without native memory config, so test is expected to throw exception.
      */
     @Test(expected = IllegalArgumentException.class)
     public void checkMapConfig_NATIVE() {
         checkMapConfig(getMapConfig(NATIVE));
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void checkMapConfig_NATIVE_withDisabledNativeMemoryConfig() {
+        checkMapConfig(getMapConfig(NATIVE), new NativeMemoryConfig().setEnabled(false));
+    }
+
+    @Test
+    public void checkMapConfig_NATIVE_withEnabledNativeMemoryConfig() {
+        checkMapConfig(getMapConfig(NATIVE), new NativeMemoryConfig().setEnabled(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkMapConfig_nativeIndex_onBINARY() {
+        MapConfig mapConfig = getMapConfig(BINARY)
+                .addMapIndexConfig(new MapIndexConfig("age", true).setStorageType(IndexStorageType.NATIVE));
+        checkMapConfig(mapConfig);
+    }
+
+    @Test
+    public void checkMapConfig_nativeIndex_onNATIVE() {
+        MapConfig mapConfig = getMapConfig(NATIVE)
+                .addMapIndexConfig(new MapIndexConfig("age", true).setStorageType(IndexStorageType.NATIVE));
+        checkMapConfig(mapConfig, new NativeMemoryConfig().setEnabled(true));
+    }
+
+    @Test
+    public void checkMapConfig_bitmapIndex() {
+        MapConfig mapConfig = getMapConfig(BINARY)
+                .addMapIndexConfig(new MapIndexConfig("status", false).setBitmap(true));
+        checkMapConfig(mapConfig);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkMapConfig_orderedBitmapIndex() {
+        MapConfig mapConfig = getMapConfig(BINARY)
+                .addMapIndexConfig(new MapIndexConfig("status", true).setBitmap(true));
+        checkMapConfig(mapConfig);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void checkMapConfig_nativeBitmapIndex() {
+        MapConfig mapConfig = getMapConfig(NATIVE)
+                .addMapIndexConfig(new MapIndexConfig("status", false).setBitmap(true)
+                        .setStorageType(IndexStorageType.NATIVE));
+        checkMapConfig(mapConfig, new NativeMemoryConfig().setEnabled(true));
+    }
+
     @Test
     @SuppressWarnings("deprecation")
     public void checkMapConfig_withIgnoredConfigMinEvictionCheckMillis() {
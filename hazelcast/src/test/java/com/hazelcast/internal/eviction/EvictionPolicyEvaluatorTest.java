@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 
 @RunWith(HazelcastSerialClassRunner.class)
@@ -232,4 +233,87 @@ public class EvictionPolicyEvaluatorTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void test_leastFrequentlyUsedEntry_isSelected_when_evictionPolicy_is_TINY_LFU() {
+        final int RECORD_COUNT = 100;
+        final int EXPECTED_EVICTED_RECORD_VALUE = RECORD_COUNT / 2;
+
+        EvictionPolicyEvaluator<Integer, CacheObjectRecord> evictionPolicyEvaluator = createTinyLFUEvictionPolicyEvaluator();
+        List<EvictionCandidate<Integer, CacheObjectRecord>> records =
+                new ArrayList<EvictionCandidate<Integer, CacheObjectRecord>>();
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            CacheObjectRecord record = new CacheObjectRecord(i, now, Long.MAX_VALUE);
+            evictionPolicyEvaluator.onAdd(i, i + 1);
+            records.add(new SimpleEvictionCandidate<Integer, CacheObjectRecord>(i, record));
+        }
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            if (i != EXPECTED_EVICTED_RECORD_VALUE) {
+                // access hits are not what the policy counts, the evaluator is told about the accesses
+                evictionPolicyEvaluator.onAccess(i);
+                evictionPolicyEvaluator.onAccess(i);
+            }
+        }
+
+        EvictionCandidate<Integer, CacheObjectRecord> evictionCandidate = evictionPolicyEvaluator.evaluate(records);
+
+        assertNotNull(evictionCandidate);
+        assertEquals(EXPECTED_EVICTED_RECORD_VALUE, evictionCandidate.getEvictable().getValue());
+    }
+
+    @Test
+    public void test_recentlyAddedEntry_isNotSelected_when_evictionPolicy_is_TINY_LFU() {
+        final int RECORD_COUNT = 100;
+        final int RECENTLY_ADDED_RECORD_VALUE = RECORD_COUNT - 1;
+
+        EvictionPolicyEvaluator<Integer, CacheObjectRecord> evictionPolicyEvaluator = createTinyLFUEvictionPolicyEvaluator();
+        List<EvictionCandidate<Integer, CacheObjectRecord>> records =
+                new ArrayList<EvictionCandidate<Integer, CacheObjectRecord>>();
+
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < RECORD_COUNT; i++) {
+            CacheObjectRecord record = new CacheObjectRecord(i, now, Long.MAX_VALUE);
+            evictionPolicyEvaluator.onAdd(i, i + 1);
+            if (i != RECENTLY_ADDED_RECORD_VALUE) {
+                evictionPolicyEvaluator.onAccess(i);
+            }
+            records.add(new SimpleEvictionCandidate<Integer, CacheObjectRecord>(i, record));
+        }
+
+        EvictionCandidate<Integer, CacheObjectRecord> evictionCandidate = evictionPolicyEvaluator.evaluate(records);
+
+        assertNotNull(evictionCandidate);
+        assertNotEquals(RECENTLY_ADDED_RECORD_VALUE, evictionCandidate.getEvictable().getValue());
+    }
+
+    private static EvictionPolicyEvaluator<Integer, CacheObjectRecord> createTinyLFUEvictionPolicyEvaluator() {
+        EvictionConfiguration evictionConfig = new EvictionConfiguration() {
+            @Override
+            public EvictionStrategyType getEvictionStrategyType() {
+                return null;
+            }
+
+            @Override
+            public EvictionPolicy getEvictionPolicy() {
+                return EvictionPolicy.TINY_LFU;
+            }
+
+            @Override
+            public EvictionPolicyType getEvictionPolicyType() {
+                return null;
+            }
+
+            @Override
+            public String getComparatorClassName() {
+                return null;
+            }
+
+            @Override
+            public EvictionPolicyComparator getComparator() {
+                return null;
+            }
+        };
+        return EvictionPolicyEvaluatorProvider.getEvictionPolicyEvaluator(evictionConfig, null);
+    }
 }
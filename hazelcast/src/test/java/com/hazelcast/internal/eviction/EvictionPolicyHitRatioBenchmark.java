@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction;
+
+import com.hazelcast.cache.impl.record.CacheObjectRecord;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Replays synthetic access traces against a store which evicts like the sampling eviction of maps: when an addition
+ * makes the store exceed its capacity, {@value #SAMPLE_COUNT} random entries other than the added one are sampled and
+ * the {@link EvictionPolicyEvaluator} picks the one to evict. With {@link EvictionPolicy#TINY_LFU} the entry which
+ * left the admission window last is evicted instead if {@link WindowTinyLFU#admit(Object, Object)} rejects it.
+ * Prints the hit ratio of each {@link EvictionPolicy} for each trace.
+ * <p>
+ * The traces are a Zipf distribution, the same distribution interrupted by scans of keys used only once,
+ * and a Zipf distribution whose popular keys change halfway through the trace.
+ */
+public class EvictionPolicyHitRatioBenchmark {
+
+    private static final int SAMPLE_COUNT = 15;
+    private static final int KEY_COUNT = 100000;
+    private static final int CAPACITY = 2000;
+    private static final int TRACE_LENGTH = 2000000;
+    private static final double ZIPF_EXPONENT = 0.9;
+    private static final int SCAN_INTERVAL = 50000;
+    private static final int SCAN_LENGTH = 10000;
+    private static final EvictionPolicy[] POLICIES = {EvictionPolicy.LRU, EvictionPolicy.LFU, EvictionPolicy.TINY_LFU};
+
+    public static void main(String[] args) {
+        Zipf zipf = new Zipf(KEY_COUNT, ZIPF_EXPONENT);
+        run("zipf", zipfTrace(zipf, false, false));
+        run("zipf with scans", zipfTrace(zipf, true, false));
+        run("zipf with shifting popularity", zipfTrace(zipf, false, true));
+    }
+
+    private static void run(String traceName, int[] trace) {
+        System.out.println(traceName + ":");
+        for (EvictionPolicy policy : POLICIES) {
+            double hitRatio = new SampledStore(policy, CAPACITY).replay(trace);
+            System.out.printf("  %-8s hit ratio %5.2f%%%n", policy, 100 * hitRatio);
+        }
+    }
+
+    private static int[] zipfTrace(Zipf zipf, boolean scans, boolean shift) {
+        Random random = new Random(42);
+        int[] trace = new int[TRACE_LENGTH];
+        int nextScanKey = KEY_COUNT;
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            if (scans && i % SCAN_INTERVAL >= SCAN_INTERVAL - SCAN_LENGTH) {
+                trace[i] = nextScanKey++;
+            } else {
+                int rank = zipf.next(random);
+                trace[i] = shift && i >= TRACE_LENGTH / 2 ? KEY_COUNT - 1 - rank : rank;
+            }
+        }
+        return trace;
+    }
+
+    /**
+     * A fixed capacity store evicting one entry per addition when it is full.
+     */
+    private static final class SampledStore {
+
+        private final Random random = new Random(7);
+        private final EvictionPolicyEvaluator<Integer, CacheObjectRecord> evaluator;
+        // the same estimation as the one of the evaluator, for the admission decisions
+        private final WindowTinyLFU tinyLFU;
+        private final int capacity;
+        private final Map<Integer, Integer> indexes = new HashMap<Integer, Integer>();
+        private final List<Candidate> entries = new ArrayList<Candidate>();
+
+        SampledStore(EvictionPolicy policy, int capacity) {
+            EvictionConfig evictionConfig = new EvictionConfig().setEvictionPolicy(policy);
+            this.evaluator = EvictionPolicyEvaluatorProvider.getEvictionPolicyEvaluator(evictionConfig, null);
+            this.tinyLFU = policy == EvictionPolicy.TINY_LFU ? new WindowTinyLFU(0) : null;
+            this.capacity = capacity;
+        }
+
+        double replay(int[] trace) {
+            long hits = 0;
+            for (int time = 0; time < trace.length; time++) {
+                Integer key = trace[time];
+                Integer index = indexes.get(key);
+                if (index != null) {
+                    CacheObjectRecord record = entries.get(index).getEvictable();
+                    record.setAccessTime(time);
+                    record.incrementAccessHit();
+                    evaluator.onAccess(key);
+                    if (tinyLFU != null) {
+                        tinyLFU.onAccess(key);
+                    }
+                    hits++;
+                } else {
+                    indexes.put(key, entries.size());
+                    Candidate added = new Candidate(key, new CacheObjectRecord(key, time, Long.MAX_VALUE));
+                    entries.add(added);
+                    evaluator.onAdd(key, entries.size());
+                    if (tinyLFU != null) {
+                        tinyLFU.onAdd(key, entries.size());
+                    }
+                    if (entries.size() > capacity) {
+                        evict(added);
+                    }
+                }
+            }
+            return (double) hits / trace.length;
+        }
+
+        private void evict(Candidate added) {
+            List<Candidate> samples = new ArrayList<Candidate>(SAMPLE_COUNT);
+            for (int i = 0; i < SAMPLE_COUNT; i++) {
+                Candidate sample = entries.get(random.nextInt(entries.size()));
+                if (sample != added) {
+                    samples.add(sample);
+                }
+            }
+            Candidate evicted = evaluator.evaluate(samples);
+            if (tinyLFU != null) {
+                evicted = admit(evicted, added);
+            }
+            int index = indexes.remove(evicted.getAccessor());
+            Candidate last = entries.remove(entries.size() - 1);
+            if (last != evicted) {
+                entries.set(index, last);
+                indexes.put(last.getAccessor(), index);
+            }
+        }
+
+        /**
+         * Evicts the key which left the admission window last instead of the victim if it is not admitted.
+         */
+        private Candidate admit(Candidate victim, Candidate added) {
+            Object candidateKey = tinyLFU.pollWindowEvictee();
+            if (candidateKey == null || candidateKey.equals(added.getAccessor())
+                    || tinyLFU.admit(candidateKey, victim.getAccessor())) {
+                return victim;
+            }
+            Integer index = indexes.get(candidateKey);
+            return index == null ? victim : entries.get(index);
+        }
+    }
+
+    private static final class Candidate implements EvictionCandidate<Integer, CacheObjectRecord> {
+
+        private final Integer key;
+        private final CacheObjectRecord record;
+
+        Candidate(Integer key, CacheObjectRecord record) {
+            this.key = key;
+            this.record = record;
+        }
+
+        @Override
+        public Integer getAccessor() {
+            return key;
+        }
+
+        @Override
+        public CacheObjectRecord getEvictable() {
+            return record;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return record.getValue();
+        }
+
+        @Override
+        public long getCreationTime() {
+            return record.getCreationTime();
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return record.getLastAccessTime();
+        }
+
+        @Override
+        public long getAccessHit() {
+            return record.getAccessHit();
+        }
+    }
+
+    /**
+     * Draws ranks from {@code 0} to {@code n - 1} with a Zipf distribution, by binary search in the cumulative
+     * distribution.
+     */
+    private static final class Zipf {
+
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, exponent);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            double value = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
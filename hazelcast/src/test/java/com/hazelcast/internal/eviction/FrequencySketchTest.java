@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class FrequencySketchTest {
+
+    @Test
+    public void frequency_isZero_forUnseenKey() {
+        FrequencySketch sketch = new FrequencySketch(512);
+
+        assertEquals(0, sketch.frequency(42));
+    }
+
+    @Test
+    public void frequency_countsIncrements() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(5, sketch.frequency(42));
+    }
+
+    @Test
+    public void frequency_saturatesAtMaximum() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        for (int i = 0; i < 100; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency(42));
+    }
+
+    @Test
+    public void frequency_isNeverUnderestimated() {
+        int capacity = 1024;
+        FrequencySketch sketch = new FrequencySketch(capacity);
+        for (int key = 0; key < capacity; key++) {
+            for (int i = 0; i < key % 4; i++) {
+                sketch.increment(key);
+            }
+        }
+
+        for (int key = 0; key < capacity; key++) {
+            assertTrue(sketch.frequency(key) >= key % 4);
+        }
+    }
+
+    @Test
+    public void frequency_isHalved_afterSampleSizeIncrements() {
+        int capacity = 64;
+        FrequencySketch sketch = new FrequencySketch(capacity);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment(-1);
+        }
+        int frequencyBeforeAging = sketch.frequency(-1);
+
+        for (int key = 0; key < sketch.getSampleSize(); key++) {
+            sketch.increment(key);
+        }
+
+        assertTrue(sketch.frequency(-1) < frequencyBeforeAging);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.eviction;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.eviction.EvictionPolicyComparator.BOTH_OF_ENTRIES_HAVE_SAME_PRIORITY_TO_BE_EVICTED;
+import static com.hazelcast.internal.eviction.EvictionPolicyComparator.FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+import static com.hazelcast.internal.eviction.EvictionPolicyComparator.SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class WindowTinyLFUTest {
+
+    private static final int CAPACITY = 1000;
+
+    private final WindowTinyLFU tinyLFU = new WindowTinyLFU(CAPACITY);
+
+    @Test
+    public void compare_evictsLessFrequentKey() {
+        fill();
+        tinyLFU.onAccess(1);
+
+        assertEquals(SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED, tinyLFU.compare(1, 0, 2, 0));
+        assertEquals(FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED, tinyLFU.compare(2, 0, 1, 0));
+    }
+
+    @Test
+    public void compare_evictsLeastRecentlyUsedKey_whenFrequenciesAreEqual() {
+        fill();
+
+        assertEquals(FIRST_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED, tinyLFU.compare(1, 5, 2, 10));
+        assertEquals(SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED, tinyLFU.compare(1, 10, 2, 5));
+        assertEquals(BOTH_OF_ENTRIES_HAVE_SAME_PRIORITY_TO_BE_EVICTED, tinyLFU.compare(1, 5, 2, 5));
+    }
+
+    @Test
+    public void compare_protectsKeyInWindow() {
+        fill();
+        for (int i = 0; i < 3; i++) {
+            tinyLFU.onAccess(1);
+        }
+        int newKey = CAPACITY;
+        tinyLFU.onAdd(newKey, CAPACITY);
+
+        assertTrue(tinyLFU.isInWindow(newKey));
+        assertEquals(SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED, tinyLFU.compare(newKey, 0, 1, 0));
+    }
+
+    @Test
+    public void isInWindow_falseForKeyPushedOutByLaterAdditions() {
+        fill();
+
+        assertFalse(tinyLFU.isInWindow(0));
+        assertTrue(tinyLFU.isInWindow(CAPACITY - 1));
+    }
+
+    @Test
+    public void admit_true_whenCandidateIsMoreFrequentThanVictim() {
+        fill();
+        tinyLFU.onAccess(2);
+
+        assertTrue(tinyLFU.admit(2, 1));
+    }
+
+    @Test
+    public void admit_false_whenCandidateIsNotMoreFrequentThanVictim() {
+        fill();
+
+        assertFalse(tinyLFU.admit(2, 1));
+    }
+
+    @Test
+    public void pollWindowEvictee_returnsKeyWhichLeftWindow_once() {
+        // the window holds 1% of the capacity
+        int windowLength = CAPACITY / 100;
+        for (int key = 0; key < windowLength; key++) {
+            tinyLFU.onAdd(key, key + 1);
+        }
+        assertNull(tinyLFU.pollWindowEvictee());
+
+        tinyLFU.onAdd(windowLength, windowLength + 1);
+
+        assertEquals(0, tinyLFU.pollWindowEvictee());
+        assertNull(tinyLFU.pollWindowEvictee());
+    }
+
+    @Test
+    public void frequency_countsAdditionsAndAccesses() {
+        tinyLFU.onAdd(1, 1);
+        tinyLFU.onAccess(1);
+        tinyLFU.onAccess(1);
+
+        assertEquals(3, tinyLFU.frequency(1));
+    }
+
+    @Test
+    public void onAdd_keepsFrequencies_whenGrowing() {
+        fill();
+        for (int i = 0; i < 3; i++) {
+            tinyLFU.onAccess(1);
+        }
+
+        tinyLFU.onAdd(CAPACITY, CAPACITY + 1);
+
+        assertEquals(4, tinyLFU.frequency(1));
+        assertEquals(SECOND_ENTRY_HAS_HIGHER_PRIORITY_TO_BE_EVICTED, tinyLFU.compare(1, 0, 2, 0));
+    }
+
+    @Test
+    public void onAdd_keepsWindow_whenGrowing() {
+        fill();
+
+        tinyLFU.onAdd(CAPACITY, CAPACITY + 1);
+
+        assertTrue(tinyLFU.isInWindow(CAPACITY - 1));
+        assertTrue(tinyLFU.isInWindow(CAPACITY));
+    }
+
+    @Test
+    public void onAdd_growsBeyondInitialCapacity() {
+        WindowTinyLFU tinyLFU = new WindowTinyLFU(0);
+        for (int key = 0; key < 100 * CAPACITY; key++) {
+            tinyLFU.onAdd(key, key + 1);
+        }
+        tinyLFU.onAccess(1);
+
+        assertTrue(tinyLFU.frequency(1) > tinyLFU.frequency(2));
+    }
+
+    private void fill() {
+        for (int key = 0; key < CAPACITY; key++) {
+            tinyLFU.onAdd(key, key + 1);
+        }
+    }
+}
@@ -141,6 +141,11 @@ public class NearCacheRecordStoreTest extends NearCacheRecordStoreTestSupport {
         doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, EvictionPolicy.RANDOM);
     }
 
+    @Test
+    public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicyAndTinyLFUEvictionPolicy() {
+        doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, EvictionPolicy.TINY_LFU);
+    }
+
     @Test
     public void evictionTriggeredAndHandledSuccessfullyWithEntryCountMaxSizePolicyAndDefaultEvictionPolicy() {
         doEvictionWithEntryCountMaxSizePolicy(inMemoryFormat, null);
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.GatheringChannelOutboundHandler;
+import com.hazelcast.internal.networking.OutboundFrame;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class GatheringOutputBufferTest {
+
+    private final ByteArrayOutputStream socket = new ByteArrayOutputStream();
+
+    private final OutboundFrame frame = mock(OutboundFrame.class);
+
+    private Channel channel;
+    private GatheringChannelOutboundHandler handler;
+    private ByteBuffer outputBuffer;
+    private GatheringOutputBuffer buffer;
+    // the maximum number of bytes accepted by a single write
+    private int writeLimit = Integer.MAX_VALUE;
+
+    @Before
+    public void setUp() throws Exception {
+        channel = mock(Channel.class);
+        when(channel.write(any(ByteBuffer[].class), anyInt(), anyInt())).thenAnswer(new Answer<Long>() {
+            @Override
+            public Long answer(InvocationOnMock invocation) {
+                Object[] arguments = invocation.getArguments();
+                return write((ByteBuffer[]) arguments[0], (Integer) arguments[1], (Integer) arguments[2]);
+            }
+        });
+        outputBuffer = ByteBuffer.allocate(64);
+        handler = mock(GatheringChannelOutboundHandler.class);
+        buffer = new GatheringOutputBuffer(outputBuffer, handler);
+    }
+
+    private long write(ByteBuffer[] srcs, int offset, int length) {
+        long written = 0;
+        for (int i = offset; i < offset + length && written < writeLimit; i++) {
+            while (srcs[i].hasRemaining() && written < writeLimit) {
+                socket.write(srcs[i].get());
+                written++;
+            }
+        }
+        return written;
+    }
+
+    @Test
+    public void testWrite_keepsOrderOfOutputAndPayloads() throws Exception {
+        outputBuffer.put(bytes(1, 2));
+        buffer.addPayload(frame, ByteBuffer.wrap(bytes(3, 4, 5)));
+        outputBuffer.put(bytes(6));
+        buffer.addPayload(frame, ByteBuffer.wrap(bytes(7)));
+        buffer.addPayload(frame, ByteBuffer.wrap(bytes(8, 9)));
+        outputBuffer.put(bytes(10));
+        assertTrue(buffer.isDirty());
+
+        long written = buffer.writeTo(channel);
+
+        assertEquals(10, written);
+        assertArrayEquals(bytes(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), socket.toByteArray());
+        assertFalse(buffer.isDirty());
+        assertEquals(0, outputBuffer.position());
+    }
+
+    @Test
+    public void testWrite_whenPartiallyWritten_thenRemainderWrittenNext() throws Exception {
+        outputBuffer.put(bytes(1, 2));
+        buffer.addPayload(frame, ByteBuffer.wrap(bytes(3, 4, 5)));
+        outputBuffer.put(bytes(6));
+
+        writeLimit = 3;
+        assertEquals(3, buffer.writeTo(channel));
+        assertTrue(buffer.isDirty());
+        // the output buffer is not cleared while pending, new content is appended after it
+        outputBuffer.put(bytes(7));
+        buffer.addPayload(frame, ByteBuffer.wrap(bytes(8)));
+
+        writeLimit = Integer.MAX_VALUE;
+        assertEquals(5, buffer.writeTo(channel));
+
+        assertArrayEquals(bytes(1, 2, 3, 4, 5, 6, 7, 8), socket.toByteArray());
+        assertFalse(buffer.isDirty());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testWrite_handlerNotifiedWhenPayloadWrittenCompletely() throws Exception {
+        OutboundFrame otherFrame = mock(OutboundFrame.class);
+        outputBuffer.put(bytes(1));
+        buffer.addPayload(frame, ByteBuffer.wrap(bytes(2, 3)));
+        buffer.addPayload(otherFrame, ByteBuffer.wrap(bytes(4)));
+
+        writeLimit = 2;
+        buffer.writeTo(channel);
+        verify(handler, never()).onGatheredPayloadWritten(frame);
+
+        writeLimit = 1;
+        buffer.writeTo(channel);
+        verify(handler).onGatheredPayloadWritten(frame);
+        verify(handler, never()).onGatheredPayloadWritten(otherFrame);
+
+        buffer.writeTo(channel);
+        verify(handler).onGatheredPayloadWritten(otherFrame);
+    }
+
+    @Test
+    public void testIsFull() {
+        int payloads = 0;
+        while (!buffer.isFull()) {
+            outputBuffer.put((byte) payloads);
+            buffer.addPayload(frame, ByteBuffer.wrap(bytes(payloads)));
+            payloads++;
+        }
+
+        assertEquals((GatheringOutputBuffer.MAX_BUFFERS - 1) / 2, payloads);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
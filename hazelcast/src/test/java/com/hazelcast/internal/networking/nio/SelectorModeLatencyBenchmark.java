@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastTestSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the latency of a remote call over the loopback interface for the blocking and the busy polling
+ * {@link SelectorMode selector modes} of the IO threads. The sample time mode reports the percentiles, so the p99
+ * can be compared. The busy polling modes use a single input and output IO thread, since each of them keeps a core
+ * busy; both members run in this JVM, so run it on a machine with at least 4 spare cores, otherwise the spinning
+ * threads compete with each other and busy polling is slower than blocking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@SuppressWarnings("unused")
+public class SelectorModeLatencyBenchmark extends HazelcastTestSupport {
+
+    private static final String SELECTOR_MODE_PROPERTY = "hazelcast.io.selectorMode";
+    private static final int WARMUP_ITERATIONS_COUNT = 10;
+    private static final int MEASUREMENT_ITERATIONS_COUNT = 20;
+
+    @Param({"select", "selectnow", "selectnow,1000,100,1000,100000"})
+    private String selectorMode;
+
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+    private IMap<String, String> map;
+    private String remoteKey;
+
+    @Setup
+    public void setup() {
+        System.setProperty(SELECTOR_MODE_PROPERTY, selectorMode);
+        Config config = new Config();
+        if (!selectorMode.equals(SelectorMode.SELECT_STRING)) {
+            config.setProperty(GroupProperty.IO_INPUT_THREAD_COUNT.getName(), "1")
+                    .setProperty(GroupProperty.IO_OUTPUT_THREAD_COUNT.getName(), "1");
+        }
+
+        local = Hazelcast.newHazelcastInstance(config);
+        remote = Hazelcast.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, local, remote);
+
+        map = local.getMap("map");
+        remoteKey = generateKeyOwnedBy(remote);
+        map.put(remoteKey, "value");
+    }
+
+    @TearDown
+    public void tearDown() {
+        HazelcastInstanceFactory.terminateAll();
+        System.clearProperty(SELECTOR_MODE_PROPERTY);
+    }
+
+    @Benchmark
+    public Object remoteGet() {
+        return map.get(remoteKey);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SelectorModeLatencyBenchmark.class.getSimpleName())
+                .warmupIterations(WARMUP_ITERATIONS_COUNT)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+                .measurementTime(TimeValue.seconds(1))
+                .verbosity(VerboseMode.NORMAL)
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+}
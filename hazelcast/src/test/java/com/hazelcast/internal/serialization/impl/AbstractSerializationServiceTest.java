@@ -17,6 +17,7 @@
 package com.hazelcast.internal.serialization.impl;
 
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.internal.serialization.ByteBufferAllocator;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.BufferObjectDataOutput;
@@ -45,7 +46,9 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
@@ -85,6 +88,33 @@ public class AbstractSerializationServiceTest {
         }
     }
 
+    @Test
+    public void toByteBuffer_sameContentAsToBytes() {
+        String payload = "somepayload";
+
+        ByteBuffer buffer = abstractSerializationService.toByteBuffer(payload, new ByteBufferAllocator() {
+            @Override
+            public ByteBuffer allocate(int size) {
+                return ByteBuffer.allocateDirect(size * 2);
+            }
+        });
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        assertArrayEquals(abstractSerializationService.toBytes(payload), bytes);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void toByteBuffer_handleThrowable() {
+        abstractSerializationService.register(StringBuffer.class, new StringBufferSerializer(true));
+        abstractSerializationService.toByteBuffer(new StringBuffer(), new ByteBufferAllocator() {
+            @Override
+            public ByteBuffer allocate(int size) {
+                return ByteBuffer.allocate(size);
+            }
+        });
+    }
+
     @Test
     public void testExternalizable() {
         ExternalizableValue original = new ExternalizableValue(100);
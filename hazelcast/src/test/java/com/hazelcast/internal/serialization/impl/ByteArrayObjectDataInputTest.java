@@ -621,6 +621,74 @@ public class ByteArrayObjectDataInputTest extends HazelcastTestSupport {
         assertArrayEquals(new byte[]{-1, -1, -1, -1, 0, 0, 0, 0}, data.toByteArray());
     }
 
+    @Test
+    public void testReadData_whenInitializedFromData_thenCopy() throws Exception {
+        byte[] nested = {0, 0, 0, 0, 0, 0, 0, 1, 10, 11, 12};
+        in.init(new HeapData(payloadWithNestedData(nested)));
+
+        Data data = in.readData();
+
+        assertTrue(data instanceof HeapData);
+        assertArrayEquals(nested, data.toByteArray());
+    }
+
+    @Test
+    public void testReadDataSlice_whenInitializedFromData_thenSlice() throws Exception {
+        byte[] nested = {0, 0, 0, 0, 0, 0, 0, 1, 10, 11, 12};
+        in.init(new HeapData(payloadWithNestedData(nested)));
+
+        Data data = in.readDataSlice();
+
+        assertTrue(data instanceof HeapDataSlice);
+        assertEquals(new HeapData(nested), data);
+        assertArrayEquals(nested, data.toByteArray());
+    }
+
+    @Test
+    public void testReadDataSlice_whenInitializedFromSlice_thenSlice() throws Exception {
+        byte[] nested = {0, 0, 0, 0, 0, 0, 0, 1, 10, 11, 12};
+        byte[] payload = payloadWithNestedData(nested);
+        byte[] buffer = new byte[payload.length + 10];
+        System.arraycopy(payload, 0, buffer, 5, payload.length);
+        in.init(new HeapDataSlice(buffer, 5, payload.length));
+
+        Data data = in.readDataSlice();
+
+        assertTrue(data instanceof HeapDataSlice);
+        assertEquals(new HeapData(nested), data);
+        assertEquals(0, in.available());
+    }
+
+    @Test(expected = EOFException.class)
+    public void testReadDataSlice_whenNestedDataExceedsData() throws Exception {
+        byte[] nested = {0, 0, 0, 0, 0, 0, 0, 1, 10, 11, 12};
+        byte[] payload = payloadWithNestedData(nested);
+        in.init(new HeapData(Arrays.copyOf(payload, payload.length - 1)));
+
+        in.readDataSlice();
+    }
+
+    @Test
+    public void testReadDataSlice_whenClearedAfterInitializedFromData_thenCopy() throws Exception {
+        byte[] nested = {0, 0, 0, 0, 0, 0, 0, 1, 10, 11, 12};
+        byte[] payload = payloadWithNestedData(nested);
+        in.init(new HeapData(payload));
+        in.clear();
+        in.init(payload, HeapData.DATA_OFFSET);
+
+        Data data = in.readDataSlice();
+
+        assertTrue(data instanceof HeapData);
+        assertArrayEquals(nested, data.toByteArray());
+    }
+
+    private byte[] payloadWithNestedData(byte[] nested) {
+        byte[] payload = new byte[HeapData.DATA_OFFSET + Bits.INT_SIZE_IN_BYTES + nested.length];
+        Bits.writeInt(payload, HeapData.DATA_OFFSET, nested.length, byteOrder == BIG_ENDIAN);
+        System.arraycopy(nested, 0, payload, HeapData.DATA_OFFSET + Bits.INT_SIZE_IN_BYTES, nested.length);
+        return payload;
+    }
+
     @Test
     public void testSkip() {
         long s1 = in.skip(-1);
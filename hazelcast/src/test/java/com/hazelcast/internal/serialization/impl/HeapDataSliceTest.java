@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class HeapDataSliceTest {
+
+    private static final byte[] PAYLOAD = {0, 0, 0, 5, 0, 0, 0, -11, 1, 2, 3, 4, 5};
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_whenTooShort() {
+        new HeapDataSlice(new byte[10], 0, 5);
+    }
+
+    @Test
+    public void totalSize_whenEmpty() {
+        HeapDataSlice slice = new HeapDataSlice(new byte[10], 3, 0);
+
+        assertEquals(0, slice.totalSize());
+        assertEquals(0, slice.dataSize());
+        assertEquals(SerializationConstants.CONSTANT_TYPE_NULL, slice.getType());
+        assertEquals(new HeapData(new byte[0]), slice);
+    }
+
+    @Test
+    public void sameAsHeapData() {
+        HeapDataSlice slice = slice(PAYLOAD);
+        HeapData heapData = new HeapData(PAYLOAD);
+
+        assertEquals(heapData.totalSize(), slice.totalSize());
+        assertEquals(heapData.dataSize(), slice.dataSize());
+        assertEquals(heapData.getType(), slice.getType());
+        assertEquals(heapData.getPartitionHash(), slice.getPartitionHash());
+        assertEquals(heapData.hasPartitionHash(), slice.hasPartitionHash());
+        assertEquals(heapData.hashCode(), slice.hashCode());
+        assertEquals(heapData.hash64(), slice.hash64());
+        assertEquals(heapData.getHeapCost(), slice.getHeapCost());
+        assertEquals(heapData.isPortable(), slice.isPortable());
+    }
+
+    @Test
+    public void equals() {
+        HeapDataSlice slice = slice(PAYLOAD);
+
+        assertEquals(new HeapData(PAYLOAD), slice);
+        assertEquals(slice, new HeapData(PAYLOAD));
+        assertEquals(slice(PAYLOAD), slice);
+    }
+
+    @Test
+    public void equals_whenDifferentContent() {
+        byte[] other = Arrays.copyOf(PAYLOAD, PAYLOAD.length);
+        other[other.length - 1]++;
+
+        assertNotEquals(new HeapData(other), slice(PAYLOAD));
+        assertNotEquals(slice(PAYLOAD), new HeapData(other));
+        assertNotEquals(slice(other), slice(PAYLOAD));
+    }
+
+    @Test
+    public void copyTo() {
+        byte[] bytes = new byte[PAYLOAD.length + 2];
+
+        slice(PAYLOAD).copyTo(bytes, 2);
+
+        assertArrayEquals(PAYLOAD, Arrays.copyOfRange(bytes, 2, bytes.length));
+    }
+
+    @Test
+    public void toByteArray_thenCopyCreatedOnce() {
+        HeapDataSlice slice = slice(PAYLOAD);
+
+        byte[] bytes = slice.toByteArray();
+
+        assertArrayEquals(PAYLOAD, bytes);
+        assertSame(bytes, slice.toByteArray());
+    }
+
+    @Test
+    public void toObject() {
+        Data data = serializationService.toData("some value");
+        byte[] buffer = new byte[data.totalSize() + 3];
+        data.copyTo(buffer, 3);
+
+        String value = serializationService.toObject(new HeapDataSlice(buffer, 3, data.totalSize()));
+
+        assertEquals("some value", value);
+    }
+
+    @Test
+    public void toObject_whenNestedData_thenCopies() {
+        MapEntries entries = newMapEntries();
+
+        MapEntries result = serializationService.toObject(serializationService.toData(entries));
+
+        assertEquals(entries.size(), result.size());
+        for (int k = 0; k < entries.size(); k++) {
+            assertTrue(result.getKey(k) instanceof HeapData);
+            assertTrue(result.getValue(k) instanceof HeapData);
+            assertEquals(entries.getKey(k), result.getKey(k));
+            assertEquals(entries.getValue(k), result.getValue(k));
+        }
+    }
+
+    @Test
+    public void readDataSlices_whenInputInitializedFromData_thenSlices() throws Exception {
+        MapEntries entries = newMapEntries();
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeInt(0);
+        out.writeInt(0);
+        entries.writeData(out);
+        ByteArrayObjectDataInput in = new ByteArrayObjectDataInput(null, serializationService, BIG_ENDIAN);
+        in.init(new HeapData(out.toByteArray()));
+
+        MapEntries result = new MapEntries();
+        result.readDataSlices(in);
+
+        assertEquals(entries.size(), result.size());
+        for (int k = 0; k < entries.size(); k++) {
+            assertTrue(result.getKey(k) instanceof HeapDataSlice);
+            assertTrue(result.getValue(k) instanceof HeapDataSlice);
+            assertEquals(entries.getKey(k), result.getKey(k));
+            assertEquals(entries.getValue(k), result.getValue(k));
+            assertEquals("value" + k, serializationService.toObject(result.getValue(k)));
+        }
+        assertFalse(result.getKey(0).equals(result.getKey(1)));
+    }
+
+    private MapEntries newMapEntries() {
+        MapEntries entries = new MapEntries();
+        for (int k = 0; k < 10; k++) {
+            entries.add(serializationService.toData("key" + k), serializationService.toData("value" + k));
+        }
+        return entries;
+    }
+
+    private static HeapDataSlice slice(byte[] payload) {
+        byte[] buffer = new byte[payload.length + 7];
+        System.arraycopy(payload, 0, buffer, 4, payload.length);
+        return new HeapDataSlice(buffer, 4, payload.length);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.test.HazelcastTestSupport.assertUtilityConstructor;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class LZ4BlockCodecTest {
+
+    @Test
+    public void testConstructor() {
+        assertUtilityConstructor(LZ4BlockCodec.class);
+    }
+
+    @Test
+    public void roundTrip_whenEmpty() {
+        assertRoundTrip(new byte[0]);
+    }
+
+    @Test
+    public void roundTrip_whenShorterThanMinimumMatchDistance() {
+        assertRoundTrip(new byte[]{1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1});
+    }
+
+    @Test
+    public void roundTrip_whenRepeatedByte() {
+        byte[] bytes = new byte[10000];
+        Arrays.fill(bytes, (byte) 7);
+
+        int compressedLength = assertRoundTrip(bytes);
+
+        assertTrue("compressed length: " + compressedLength, compressedLength < 100);
+    }
+
+    @Test
+    public void roundTrip_whenRepeatedText() {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < 1000; k++) {
+            sb.append("key-").append(k).append(", value-").append(k % 10).append(';');
+        }
+        byte[] bytes = sb.toString().getBytes();
+
+        int compressedLength = assertRoundTrip(bytes);
+
+        assertTrue("compressed length: " + compressedLength, compressedLength < bytes.length / 2);
+    }
+
+    @Test
+    public void roundTrip_whenRandom() {
+        byte[] bytes = new byte[100000];
+        new Random(1).nextBytes(bytes);
+
+        int compressedLength = assertRoundTrip(bytes);
+
+        assertTrue("compressed length: " + compressedLength, compressedLength <= LZ4BlockCodec.maxCompressedLength(bytes.length));
+    }
+
+    @Test
+    public void roundTrip_whenMatchesFurtherThanMaxDistance() {
+        byte[] pattern = new byte[1000];
+        new Random(2).nextBytes(pattern);
+        byte[] bytes = new byte[200000];
+        new Random(3).nextBytes(bytes);
+        System.arraycopy(pattern, 0, bytes, 0, pattern.length);
+        System.arraycopy(pattern, 0, bytes, 100000, pattern.length);
+        System.arraycopy(pattern, 0, bytes, 101000, pattern.length);
+
+        assertRoundTrip(bytes);
+    }
+
+    @Test
+    public void roundTrip_withOffsets() {
+        byte[] bytes = "abcabcabcabcabcabcabcabcabcabcabcabc-the-end".getBytes();
+        byte[] src = new byte[bytes.length + 10];
+        System.arraycopy(bytes, 0, src, 3, bytes.length);
+        byte[] compressed = new byte[LZ4BlockCodec.maxCompressedLength(bytes.length) + 5];
+
+        int compressedLength = LZ4BlockCodec.compress(src, 3, bytes.length, compressed, 5);
+        byte[] decompressed = new byte[bytes.length + 7];
+        int decompressedLength = LZ4BlockCodec.decompress(compressed, 5, compressedLength, decompressed, 7, bytes.length);
+
+        assertEquals(bytes.length, decompressedLength);
+        assertArrayEquals(bytes, Arrays.copyOfRange(decompressed, 7, decompressed.length));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenDestinationTooSmall() {
+        byte[] bytes = new byte[1000];
+        byte[] compressed = new byte[LZ4BlockCodec.maxCompressedLength(bytes.length)];
+        int compressedLength = LZ4BlockCodec.compress(bytes, 0, bytes.length, compressed, 0);
+
+        LZ4BlockCodec.decompress(compressed, 0, compressedLength, new byte[999], 0, 999);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenTruncated() {
+        byte[] bytes = new byte[1000];
+        new Random(4).nextBytes(bytes);
+        byte[] compressed = new byte[LZ4BlockCodec.maxCompressedLength(bytes.length)];
+        int compressedLength = LZ4BlockCodec.compress(bytes, 0, bytes.length, compressed, 0);
+
+        LZ4BlockCodec.decompress(compressed, 0, compressedLength - 10, new byte[1000], 0, 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenOffsetBeforeStartOfOutput() {
+        // a token with a single literal and a match, followed by an offset of 2
+        byte[] compressed = new byte[]{0x10, 42, 2, 0};
+
+        LZ4BlockCodec.decompress(compressed, 0, compressed.length, new byte[100], 0, 100);
+    }
+
+    private static int assertRoundTrip(byte[] bytes) {
+        byte[] compressed = new byte[LZ4BlockCodec.maxCompressedLength(bytes.length)];
+        int compressedLength = LZ4BlockCodec.compress(bytes, 0, bytes.length, compressed, 0);
+
+        byte[] decompressed = new byte[bytes.length];
+        int decompressedLength = LZ4BlockCodec.decompress(compressed, 0, compressedLength, decompressed, 0, bytes.length);
+
+        assertEquals(bytes.length, decompressedLength);
+        assertArrayEquals(bytes, decompressed);
+        return compressedLength;
+    }
+}
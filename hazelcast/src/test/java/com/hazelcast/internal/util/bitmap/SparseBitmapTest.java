@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.bitmap;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class SparseBitmapTest {
+
+    private final Random random = new Random();
+
+    @Test
+    public void testEmpty() {
+        SparseBitmap bitmap = new SparseBitmap();
+
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.cardinality());
+        assertEquals(-1, bitmap.next(0));
+        assertFalse(bitmap.contains(0));
+    }
+
+    @Test
+    public void testAddRemove_sparse() {
+        testAddRemove(1000, Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void testAddRemove_denseContainers() {
+        // a few containers crossing the array container size
+        testAddRemove(50000, 3 * Container.CAPACITY);
+    }
+
+    @Test
+    public void testRemove_turnsBitmapContainerIntoArray() {
+        SparseBitmap bitmap = new SparseBitmap();
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        for (int i = 0; i < 2 * ArrayContainer.MAX_SIZE; i++) {
+            bitmap.add(i * 2);
+            expected.add(i * 2);
+        }
+        for (int i = 0; i < 2 * ArrayContainer.MAX_SIZE - 10; i++) {
+            bitmap.remove(i * 2);
+            expected.remove(i * 2);
+        }
+        assertBitmap(expected, bitmap);
+
+        for (int value : expected) {
+            bitmap.remove(value);
+        }
+        assertTrue(bitmap.isEmpty());
+    }
+
+    @Test
+    public void testOperations_sparse() {
+        testOperations(1000, 10 * Container.CAPACITY);
+    }
+
+    @Test
+    public void testOperations_dense() {
+        testOperations(30000, 2 * Container.CAPACITY);
+    }
+
+    @Test
+    public void testOperations_mixed() {
+        SparseBitmap sparse = new SparseBitmap();
+        SparseBitmap dense = new SparseBitmap();
+        TreeSet<Integer> sparseValues = new TreeSet<Integer>();
+        TreeSet<Integer> denseValues = new TreeSet<Integer>();
+        fill(sparse, sparseValues, 100, 2 * Container.CAPACITY);
+        fill(dense, denseValues, 50000, 2 * Container.CAPACITY);
+
+        assertOperations(sparse, sparseValues, dense, denseValues);
+        assertOperations(dense, denseValues, sparse, sparseValues);
+    }
+
+    @Test
+    public void testOperations_doNotShareState() {
+        SparseBitmap left = new SparseBitmap();
+        SparseBitmap right = new SparseBitmap();
+        left.add(1);
+        right.add(Container.CAPACITY + 1);
+
+        SparseBitmap union = left.or(right);
+        SparseBitmap difference = left.andNot(right);
+        left.add(2);
+        right.add(Container.CAPACITY + 2);
+
+        assertEquals(2, union.cardinality());
+        assertEquals(1, difference.cardinality());
+    }
+
+    private void testAddRemove(int count, int bound) {
+        SparseBitmap bitmap = new SparseBitmap();
+        TreeSet<Integer> expected = new TreeSet<Integer>();
+        fill(bitmap, expected, count, bound);
+        assertBitmap(expected, bitmap);
+
+        for (int i = 0; i < count / 2; i++) {
+            int value = random.nextInt(bound);
+            bitmap.remove(value);
+            expected.remove(value);
+        }
+        assertBitmap(expected, bitmap);
+    }
+
+    private void testOperations(int count, int bound) {
+        SparseBitmap left = new SparseBitmap();
+        SparseBitmap right = new SparseBitmap();
+        TreeSet<Integer> leftValues = new TreeSet<Integer>();
+        TreeSet<Integer> rightValues = new TreeSet<Integer>();
+        fill(left, leftValues, count, bound);
+        fill(right, rightValues, count, bound);
+
+        assertOperations(left, leftValues, right, rightValues);
+    }
+
+    private void fill(SparseBitmap bitmap, TreeSet<Integer> values, int count, int bound) {
+        for (int i = 0; i < count; i++) {
+            int value = random.nextInt(bound);
+            bitmap.add(value);
+            values.add(value);
+        }
+    }
+
+    private static void assertOperations(SparseBitmap left, TreeSet<Integer> leftValues,
+                                         SparseBitmap right, TreeSet<Integer> rightValues) {
+        TreeSet<Integer> and = new TreeSet<Integer>(leftValues);
+        and.retainAll(rightValues);
+        TreeSet<Integer> or = new TreeSet<Integer>(leftValues);
+        or.addAll(rightValues);
+        TreeSet<Integer> andNot = new TreeSet<Integer>(leftValues);
+        andNot.removeAll(rightValues);
+
+        assertBitmap(and, left.and(right));
+        assertBitmap(or, left.or(right));
+        assertBitmap(andNot, left.andNot(right));
+        assertBitmap(leftValues, left.copy());
+        // operands are left intact
+        assertBitmap(leftValues, left);
+        assertBitmap(rightValues, right);
+    }
+
+    private static void assertBitmap(TreeSet<Integer> expected, SparseBitmap bitmap) {
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertEquals(expected.isEmpty(), bitmap.isEmpty());
+        TreeSet<Integer> actual = new TreeSet<Integer>();
+        for (int value = bitmap.next(0); value >= 0; value = bitmap.next(value + 1)) {
+            actual.add(value);
+            assertTrue(bitmap.contains(value));
+        }
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.internal.util.bplustree;
+
+import com.hazelcast.internal.memory.impl.StandardNativeMemoryManager;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BPlusTreeTest {
+
+    private static final int NODE_CAPACITY = 4;
+
+    private final Random random = new Random();
+    private StandardNativeMemoryManager memoryManager;
+    private BPlusTree tree;
+
+    @Before
+    public void setUp() {
+        memoryManager = new StandardNativeMemoryManager(Long.MAX_VALUE);
+        tree = new BPlusTree(memoryManager, NODE_CAPACITY);
+    }
+
+    @After
+    public void tearDown() {
+        tree.dispose();
+        memoryManager.dispose();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertTrue(tree.put(key(1), 10));
+        assertTrue(tree.put(key(2), 20));
+
+        assertEquals(10, tree.get(key(1)));
+        assertEquals(20, tree.get(key(2)));
+        assertEquals(NULL_ADDRESS, tree.get(key(3)));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    public void testPut_replacesValue() {
+        tree.put(key(1), 10);
+
+        assertFalse(tree.put(key(1), 11));
+        assertEquals(11, tree.get(key(1)));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    public void testRemove() {
+        tree.put(key(1), 10);
+
+        assertTrue(tree.remove(key(1)));
+        assertFalse(tree.remove(key(1)));
+        assertEquals(NULL_ADDRESS, tree.get(key(1)));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    public void testKeysOfDifferentLength() {
+        tree.put(new byte[]{1, 2}, 12);
+        tree.put(new byte[]{1}, 1);
+        tree.put(new byte[]{1, 2, 3}, 123);
+        tree.put(new byte[]{(byte) 0xFF}, 255);
+
+        BPlusTree.Cursor cursor = tree.cursor(null);
+        assertTrue(cursor.advance());
+        assertArrayEquals(new byte[]{1}, cursor.key());
+        assertTrue(cursor.advance());
+        assertArrayEquals(new byte[]{1, 2}, cursor.key());
+        assertTrue(cursor.keyStartsWith(new byte[]{1}));
+        assertTrue(cursor.advance());
+        assertArrayEquals(new byte[]{1, 2, 3}, cursor.key());
+        assertTrue(cursor.advance());
+        assertEquals(255, cursor.value());
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testCursor_fromKey() {
+        for (int i = 0; i < 100; i += 2) {
+            tree.put(key(i), i);
+        }
+
+        BPlusTree.Cursor cursor = tree.cursor(key(51));
+        for (int i = 52; i < 100; i += 2) {
+            assertTrue(cursor.advance());
+            assertEquals(i, cursor.value());
+            assertEquals(0, cursor.compareKeyTo(key(i)));
+        }
+        assertFalse(cursor.advance());
+    }
+
+    @Test
+    public void testCursor_onEmptyTree() {
+        assertFalse(tree.cursor(null).advance());
+        assertFalse(tree.cursor(key(1)).advance());
+    }
+
+    @Test
+    public void testRandomUpdates_matchSortedMap() {
+        SortedMap<Integer, Long> expected = new TreeMap<Integer, Long>();
+        for (int i = 0; i < 20000; i++) {
+            int k = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(k) != null, tree.remove(key(k)));
+            } else {
+                long value = random.nextInt(Integer.MAX_VALUE) + 1L;
+                assertEquals(expected.put(k, value) == null, tree.put(key(k), value));
+            }
+        }
+
+        assertEquals(expected.size(), tree.size());
+        assertContent(expected, tree.cursor(null));
+        int from = random.nextInt(2000);
+        assertContent(expected.tailMap(from), tree.cursor(key(from)));
+    }
+
+    @Test
+    public void testClear_releasesMemory() {
+        long usedBefore = memoryManager.getUsedNative();
+        for (int i = 0; i < 1000; i++) {
+            tree.put(key(i), i + 1);
+        }
+
+        tree.clear();
+
+        assertEquals(0, tree.size());
+        assertFalse(tree.cursor(null).advance());
+        assertEquals(usedBefore, memoryManager.getUsedNative());
+        tree.put(key(1), 1);
+        assertEquals(1, tree.get(key(1)));
+    }
+
+    @Test
+    public void testDispose_releasesMemory() {
+        for (int i = 0; i < 1000; i++) {
+            tree.put(key(i), i + 1);
+        }
+
+        tree.dispose();
+
+        assertEquals(0, memoryManager.getUsedNative());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_withTooLowNodeCapacity() {
+        new BPlusTree(memoryManager, 2);
+    }
+
+    private static void assertContent(SortedMap<Integer, Long> expected, BPlusTree.Cursor cursor) {
+        for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+            assertTrue(cursor.advance());
+            assertArrayEquals(key(entry.getKey()), cursor.key());
+            assertEquals((long) entry.getValue(), cursor.value());
+        }
+        assertFalse(cursor.advance());
+    }
+
+    /**
+     * Big-endian bytes of a non-negative int, so the byte order matches the numeric order.
+     */
+    private static byte[] key(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+}
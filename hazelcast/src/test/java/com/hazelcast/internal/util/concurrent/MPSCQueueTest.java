@@ -26,15 +26,18 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.concurrent.TimeUnit;
 
+import static java.util.Arrays.asList;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -265,6 +268,66 @@ public class MPSCQueueTest extends HazelcastTestSupport {
         assertEquals(3, queue.size());
     }
 
+    // ============= addAll ====================================
+
+    @Test
+    public void addAll() throws InterruptedException {
+        queue.setConsumerThread(Thread.currentThread());
+        queue.offer("1");
+
+        assertTrue(queue.addAll(asList("2", "3", "4")));
+        queue.offer("5");
+
+        assertEquals(5, queue.size());
+        assertEquals("1", queue.take());
+        assertEquals("2", queue.take());
+        assertEquals("3", queue.take());
+        assertEquals("4", queue.take());
+        assertEquals("5", queue.take());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void addAll_whenEmptyCollection() {
+        assertFalse(queue.addAll(Collections.<String>emptyList()));
+
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void addAll_whenNullItem_thenNothingAdded() {
+        try {
+            queue.addAll(asList("1", null));
+            fail();
+        } catch (NullPointerException expected) {
+            ignore(expected);
+        }
+
+        assertEquals(0, queue.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addAll_whenSelf() {
+        queue.addAll(queue);
+    }
+
+    @Test
+    public void addAll_whenConsumerBlocked() throws Exception {
+        final MPSCQueue<String> queue = new MPSCQueue<String>(null);
+        queue.setConsumerThread(Thread.currentThread());
+
+        spawn(new Runnable() {
+            @Override
+            public void run() {
+                sleepSeconds(3);
+                queue.addAll(asList("1", "2"));
+            }
+        });
+
+        assertEquals("1", queue.take());
+        assertEquals("2", queue.take());
+    }
+
     // ============= drain ====================================
 
 
@@ -58,6 +58,7 @@ import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hazelcast.config.EvictionPolicy.LFU;
 import static com.hazelcast.config.EvictionPolicy.RANDOM;
+import static com.hazelcast.config.EvictionPolicy.TINY_LFU;
 import static com.hazelcast.config.MaxSizeConfig.MaxSizePolicy.FREE_HEAP_PERCENTAGE;
 import static com.hazelcast.config.MaxSizeConfig.MaxSizePolicy.PER_NODE;
 import static com.hazelcast.config.MaxSizeConfig.MaxSizePolicy.PER_PARTITION;
@@ -523,6 +524,77 @@ public class EvictionTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testEvictionTinyLFU_frequentlyUsedEntriesSurviveScan() {
+        int size = 1000;
+        int hotCount = 100;
+        String mapName = randomMapName();
+
+        MaxSizeConfig maxSizeConfig = new MaxSizeConfig()
+                .setMaxSizePolicy(PER_NODE)
+                .setSize(size);
+        MapConfig mapConfig = new MapConfig(mapName)
+                .setEvictionPolicy(TINY_LFU)
+                .setMinEvictionCheckMillis(0)
+                .setMaxSizeConfig(maxSizeConfig);
+        Config config = getConfig()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), "1")
+                .addMapConfig(mapConfig);
+
+        HazelcastInstance node = createHazelcastInstance(config);
+        IMap<Object, Object> map = node.getMap(mapName);
+        for (int i = 0; i < size; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < hotCount; j++) {
+                map.get(j);
+            }
+        }
+        // a scan of entries used only once must not evict the frequently used ones,
+        // even though each of them is read again only after more puts than the map can hold
+        for (int i = size; i < 10 * size; i++) {
+            map.put(i, i);
+            if (i % 20 == 0) {
+                map.get((i / 20) % hotCount);
+            }
+        }
+
+        int mapSize = map.size();
+        assertTrue("Eviction did not work, map size " + mapSize + " should not exceed allowed max size = " + size,
+                mapSize <= size);
+        for (int i = 0; i < hotCount; i++) {
+            assertTrue("Frequently used key " + i + " was evicted", map.containsKey(i));
+        }
+    }
+
+    @Test
+    public void testEvictionTinyLFU_newEntryIsKept_whenMapIsFull() {
+        int size = 1000;
+        String mapName = randomMapName();
+
+        MaxSizeConfig maxSizeConfig = new MaxSizeConfig()
+                .setMaxSizePolicy(PER_NODE)
+                .setSize(size);
+        MapConfig mapConfig = new MapConfig(mapName)
+                .setEvictionPolicy(TINY_LFU)
+                .setMinEvictionCheckMillis(0)
+                .setMaxSizeConfig(maxSizeConfig);
+        Config config = getConfig()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), "1")
+                .addMapConfig(mapConfig);
+
+        IMap<Object, Object> map = createHazelcastInstance(config).getMap(mapName);
+        for (int i = 0; i < size; i++) {
+            map.put(i, i);
+        }
+        // new keys are admitted to the window, they are only filtered once they leave it
+        for (int i = size; i < 3 * size; i++) {
+            map.put(i, i);
+            assertTrue("New key " + i + " was evicted right after its put", map.containsKey(i));
+        }
+    }
+
     @Test
     public void testMapRecordEviction() {
         String mapName = randomMapName();
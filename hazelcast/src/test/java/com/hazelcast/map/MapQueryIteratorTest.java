@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapQueryIteratorTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private MapProxyImpl<Integer, Integer> proxy;
+
+    @Before
+    public void init() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = getConfig().setProperty(GroupProperty.PARTITION_COUNT.getName(), "11");
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        proxy = (MapProxyImpl<Integer, Integer>) instance.<Integer, Integer>getMap(randomMapName());
+    }
+
+    @Test
+    public void test_HasNext_Returns_False_On_EmptyMap() {
+        Iterator<Integer> iterator = proxy.queryIterator(10, 2, new ValueProjection(), truePredicate());
+
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void test_next_Throws_Exception_On_EmptyMap() {
+        proxy.queryIterator(10, 2, new ValueProjection(), truePredicate()).next();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_projection_throws_exception() {
+        proxy.queryIterator(10, 2, null, truePredicate());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_predicate_throws_exception() {
+        proxy.queryIterator(10, 2, new ValueProjection(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_paging_predicate_throws_exception() {
+        proxy.queryIterator(10, 2, new ValueProjection(), new PagingPredicate<Integer, Integer>(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_non_positive_fetch_size_throws_exception() {
+        proxy.queryIterator(0, 2, new ValueProjection(), truePredicate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_non_positive_in_flight_pages_throws_exception() {
+        proxy.queryIterator(10, 0, new ValueProjection(), truePredicate());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_remove_Throws_Exception() {
+        fillMap();
+        Iterator<Integer> iterator = proxy.queryIterator(10, 2, new ValueProjection(), truePredicate());
+        iterator.next();
+
+        iterator.remove();
+    }
+
+    @Test
+    public void test_with_true_predicate() {
+        fillMap();
+
+        assertResult(ENTRY_COUNT, proxy.queryIterator(7, 1, new ValueProjection(), truePredicate()));
+        assertResult(ENTRY_COUNT, proxy.queryIterator(7, 3, new ValueProjection(), truePredicate()));
+        assertResult(ENTRY_COUNT, proxy.queryIterator(ENTRY_COUNT, 100, new ValueProjection(), truePredicate()));
+    }
+
+    @Test
+    public void test_with_predicate() {
+        fillMap();
+
+        List<Integer> result = collectAll(proxy.queryIterator(5, 4, new ValueProjection(), new EvenPredicate()));
+
+        assertEquals(ENTRY_COUNT / 2, result.size());
+        Collections.sort(result);
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(2 * i, (int) result.get(i));
+        }
+    }
+
+    private void fillMap() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            proxy.put(i, i);
+        }
+    }
+
+    private static void assertResult(int count, Iterator<Integer> iterator) {
+        List<Integer> result = collectAll(iterator);
+        Collections.sort(result);
+        assertEquals(count, result.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, (int) result.get(i));
+        }
+    }
+
+    private static <T> List<T> collectAll(Iterator<T> iterator) {
+        List<T> result = new ArrayList<T>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private static Predicate<Integer, Integer> truePredicate() {
+        return TruePredicate.truePredicate();
+    }
+
+    private static class EvenPredicate implements Predicate<Integer, Integer> {
+        @Override
+        public boolean apply(Map.Entry<Integer, Integer> mapEntry) {
+            return mapEntry.getValue() % 2 == 0;
+        }
+    }
+
+    private static class ValueProjection extends Projection<Map.Entry<Integer, Integer>, Integer> {
+        @Override
+        public Integer transform(Map.Entry<Integer, Integer> input) {
+            return input.getValue();
+        }
+    }
+}
@@ -129,7 +129,7 @@ public class MapRemoveFailingBackupTest extends HazelcastTestSupport {
         }
 
         @Override
-        public void afterRun() {
+        public void afterRun() throws Exception {
             if (successful) {
                 super.afterRun();
             }
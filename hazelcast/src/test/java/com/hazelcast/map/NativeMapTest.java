@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexStorageType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static com.hazelcast.config.EvictionPolicy.LRU;
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.config.MaxSizeConfig.MaxSizePolicy.USED_NATIVE_MEMORY_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeMapTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testBasicOperations() {
+        IMap<Integer, String> map = createHazelcastInstance(getNativeConfig()).getMap("native");
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+        assertEquals(ENTRY_COUNT, map.size());
+        assertEquals("value-1", map.get(1));
+
+        assertEquals("value-1", map.put(1, "new-value"));
+        assertEquals("new-value", map.get(1));
+
+        assertEquals("new-value", map.remove(1));
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(1));
+
+        assertTrue(map.evict(2));
+        assertEquals(ENTRY_COUNT - 2, map.size());
+        assertEquals(ENTRY_COUNT - 2, map.keySet().size());
+        assertEquals(ENTRY_COUNT - 2, map.entrySet().size());
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testIteration() {
+        IMap<Integer, Integer> map = createHazelcastInstance(getNativeConfig()).getMap("native");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        int count = 0;
+        for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+            assertEquals(entry.getKey(), entry.getValue());
+            count++;
+        }
+        assertEquals(ENTRY_COUNT, count);
+    }
+
+    @Test
+    public void testQuery_withIndex() {
+        Config config = getNativeConfig();
+        config.getMapConfig("native").addMapIndexConfig(new MapIndexConfig("age", true));
+        IMap<Integer, Employee> map = createHazelcastInstance(config).getMap("native");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i, "name-" + i, i % 100, true, i));
+        }
+
+        assertEquals(ENTRY_COUNT / 100, map.values(new SqlPredicate("age = 42")).size());
+        assertEquals(ENTRY_COUNT, map.keySet(new SqlPredicate("active = true")).size());
+    }
+
+    @Test
+    public void testQuery_withNativeIndex() {
+        Config config = getNativeConfig();
+        config.getMapConfig("native")
+                .addMapIndexConfig(new MapIndexConfig("age", true).setStorageType(IndexStorageType.NATIVE))
+                .addMapIndexConfig(new MapIndexConfig("name", false).setStorageType(IndexStorageType.NATIVE));
+        IMap<Integer, Employee> map = createHazelcastInstance(config).getMap("native");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i, "name-" + i, i % 100, true, i));
+        }
+
+        assertEquals(ENTRY_COUNT / 100, map.values(new SqlPredicate("age = 42")).size());
+        assertEquals(ENTRY_COUNT / 10, map.values(new SqlPredicate("age < 10")).size());
+        assertEquals(ENTRY_COUNT / 10, map.values(new SqlPredicate("age >= 90")).size());
+        assertEquals(3 * ENTRY_COUNT / 100, map.values(new SqlPredicate("age between 10 and 12")).size());
+        assertEquals(ENTRY_COUNT - ENTRY_COUNT / 100, map.values(new SqlPredicate("age != 42")).size());
+        assertEquals(1, map.values(new SqlPredicate("name = 'name-7'")).size());
+
+        map.put(42, new Employee(42, "name-42", 7, true, 42));
+        map.remove(142);
+        map.delete(242);
+
+        assertEquals(ENTRY_COUNT / 100 - 3, map.values(new SqlPredicate("age = 42")).size());
+        assertEquals(ENTRY_COUNT / 100 + 1, map.values(new SqlPredicate("age = 7")).size());
+        assertEquals(0, map.values(new SqlPredicate("name = 'name-142'")).size());
+
+        map.clear();
+        assertEquals(0, map.values(new SqlPredicate("age < 100")).size());
+    }
+
+    @Test
+    public void testQuery_withNativeCompositeIndex() {
+        Config config = getNativeConfig();
+        config.getMapConfig("native")
+                .addMapIndexConfig(new MapIndexConfig("active, age", true).setStorageType(IndexStorageType.NATIVE));
+        IMap<Integer, Employee> map = createHazelcastInstance(config).getMap("native");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Employee(i, "name-" + i, i % 100, i % 2 == 0, i));
+        }
+
+        assertEquals(ENTRY_COUNT / 100, map.values(new SqlPredicate("active = true and age = 42")).size());
+        assertEquals(0, map.values(new SqlPredicate("active = false and age = 42")).size());
+        assertEquals(ENTRY_COUNT / 20, map.values(new SqlPredicate("active = true and age < 10")).size());
+        assertEquals(ENTRY_COUNT / 20, map.values(new SqlPredicate("active = true and age >= 90")).size());
+        assertEquals(ENTRY_COUNT / 20 - ENTRY_COUNT / 100, map.values(new SqlPredicate("active = true and age > 90")).size());
+        assertEquals(ENTRY_COUNT / 50, map.values(new SqlPredicate("active = false and age between 10 and 13")).size());
+    }
+
+    @Test
+    public void testEviction_withUsedNativeMemorySize() {
+        Config config = getNativeConfig();
+        config.getMapConfig("native")
+                .setEvictionPolicy(LRU)
+                .setMaxSizeConfig(new MaxSizeConfig(1, USED_NATIVE_MEMORY_SIZE));
+        IMap<Integer, byte[]> map = createHazelcastInstance(config).getMap("native");
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, new byte[10 * 1024]);
+        }
+
+        assertTrue(map.size() < 1000);
+    }
+
+    @Test
+    public void testMigration() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        Config config = getNativeConfig();
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance1.getMap("native");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+
+        IMap<Integer, Integer> map2 = instance2.getMap("native");
+        assertEquals(ENTRY_COUNT, map2.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) map2.get(i));
+        }
+
+        instance1.shutdown();
+        waitAllForSafeState(instance2);
+        assertEquals(ENTRY_COUNT, map2.size());
+    }
+
+    private Config getNativeConfig() {
+        Config config = getConfig();
+        config.setNativeMemoryConfig(new NativeMemoryConfig()
+                .setEnabled(true)
+                .setSize(new MemorySize(64, MemoryUnit.MEGABYTES)));
+        config.addMapConfig(new MapConfig("native").setInMemoryFormat(NATIVE));
+        return config;
+    }
+}
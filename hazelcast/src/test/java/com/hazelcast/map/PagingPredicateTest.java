@@ -189,6 +189,25 @@ public class PagingPredicateTest extends HazelcastTestSupport {
         assertEquals(0, values.size());
     }
 
+    @Test
+    public void testDeepPagingWithFilteringAndComparator() {
+        for (int i = size; i < 20 * size; i++) {
+            map.put(i, i);
+        }
+        Predicate<Integer, Integer> greaterEqual = Predicates.greaterEqual("this", 100);
+        TestComparator comparator = new TestComparator(false, IterationType.VALUE);
+        PagingPredicate<Integer, Integer> predicate = new PagingPredicate<Integer, Integer>(greaterEqual, comparator, pageSize);
+
+        // jump to a deep page without anchors, then go on page by page
+        predicate.setPage(30);
+        for (int page = 30; page < 35; page++) {
+            Collection<Integer> values = map.values(predicate);
+            int first = 20 * size - 1 - page * pageSize;
+            assertIterableEquals(values, first, first - 1, first - 2, first - 3, first - 4);
+            predicate.nextPage();
+        }
+    }
+
     @Test
     public void testKeyPaging() {
         map.clear();
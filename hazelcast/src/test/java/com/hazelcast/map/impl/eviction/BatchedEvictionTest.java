@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static com.hazelcast.config.EvictionPolicy.LRU;
+import static com.hazelcast.config.MaxSizeConfig.MaxSizePolicy.PER_PARTITION;
+import static com.hazelcast.map.impl.eviction.Evictor.PROP_BATCH_PERCENTAGE;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BatchedEvictionTest extends HazelcastTestSupport {
+
+    private static final int MAX_SIZE = 100;
+
+    private final String mapName = "default";
+
+    @Test
+    public void testEvictsDownToLowWaterMark() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(0));
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        for (int i = 0; i < MAX_SIZE; i++) {
+            map.put(i, i);
+        }
+        assertEquals(MAX_SIZE, map.size());
+
+        // exceeding the limit evicts 10% of the max size at once
+        map.put(MAX_SIZE, MAX_SIZE);
+        assertEquals(90, map.size());
+
+        // no more eviction until the limit is exceeded again
+        for (int i = MAX_SIZE + 1; i <= MAX_SIZE + 10; i++) {
+            map.put(i, i);
+        }
+        assertEquals(MAX_SIZE, map.size());
+    }
+
+    @Test
+    public void testEvictedKeysAreRemovedFromBackups() {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(newConfig(1));
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+
+        for (int i = 0; i < 10 * MAX_SIZE; i++) {
+            map.put(i, i);
+        }
+        assertTrue("Map size " + map.size() + " should not exceed max size " + MAX_SIZE, map.size() <= MAX_SIZE);
+
+        final RecordStore first = getRecordStore(instances[0]);
+        final RecordStore second = getRecordStore(instances[1]);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(getKeys(first), getKeys(second));
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBatchPercentage() {
+        new EvictorImpl(null, null, null, 100);
+    }
+
+    private Config newConfig(int backupCount) {
+        Config config = getConfig();
+        config.setProperty(PARTITION_COUNT.getName(), "1");
+        config.setProperty(PROP_BATCH_PERCENTAGE, "10");
+        config.getMapConfig(mapName)
+                .setBackupCount(backupCount)
+                .setEvictionPolicy(LRU)
+                .getMaxSizeConfig()
+                .setMaxSizePolicy(PER_PARTITION).setSize(MAX_SIZE);
+        return config;
+    }
+
+    private RecordStore getRecordStore(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getPartitionContainer(0).getExistingRecordStore(mapName);
+    }
+
+    private static Set<Data> getKeys(RecordStore recordStore) {
+        Set<Data> keys = new HashSet<Data>();
+        Iterator<Record> iterator = recordStore.iterator();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next().getKey());
+        }
+        return keys;
+    }
+}
@@ -48,6 +48,7 @@ import static com.hazelcast.core.LifecycleEvent.LifecycleState.SHUTTING_DOWN;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.eviction.ExpirationManager.PROP_CLEANUP_OPERATION_COUNT;
 import static com.hazelcast.map.impl.eviction.ExpirationManager.PROP_CLEANUP_PERCENTAGE;
+import static com.hazelcast.map.impl.eviction.ExpirationManager.PROP_INDEX_ENABLED;
 import static com.hazelcast.map.impl.eviction.ExpirationManager.PROP_PRIMARY_DRIVES_BACKUP;
 import static com.hazelcast.map.impl.eviction.ExpirationManager.PROP_TASK_PERIOD_SECONDS;
 import static com.hazelcast.map.impl.eviction.ExpirationManagerStressTest.getExpirationManager;
@@ -214,6 +215,62 @@ public class ExpirationManagerTest extends HazelcastTestSupport {
         assertEquals(parseInt(cleanupOperationCount), expirationManager.getCleanupOperationCount());
     }
 
+    @Test
+    public void gets_indexEnabled_from_config() {
+        Config config = new Config();
+        config.setProperty(PROP_INDEX_ENABLED, "true");
+        HazelcastInstance node = createHazelcastInstance(config);
+        ExpirationManager expirationManager = newExpirationManager(node);
+
+        assertTrue(expirationManager.isIndexEnabled());
+    }
+
+    @Test
+    public void clears_expired_entries_through_index() {
+        Config config = new Config();
+        config.setProperty(PROP_TASK_PERIOD_SECONDS, "1");
+        config.setProperty(PROP_INDEX_ENABLED, "true");
+        HazelcastInstance node = createHazelcastInstance(config);
+
+        final IMap<Integer, Integer> map = node.getMap("test");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i, 2, SECONDS);
+            map.put(-i - 1, i);
+        }
+
+        final ExpirationManager expirationManager = getExpirationManager(node);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(100, expirationManager.getIndexExpiredCount());
+                assertEquals(100, map.size());
+            }
+        });
+    }
+
+    @Test
+    public void clears_expired_entries_through_index_when_ttl_shortened() {
+        Config config = new Config();
+        config.setProperty(PROP_TASK_PERIOD_SECONDS, "1");
+        config.setProperty(PROP_INDEX_ENABLED, "true");
+        HazelcastInstance node = createHazelcastInstance(config);
+
+        final IMap<Integer, Integer> map = node.getMap("test");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i, 1, TimeUnit.HOURS);
+            map.put(i, i, 2, SECONDS);
+        }
+
+        final ExpirationManager expirationManager = getExpirationManager(node);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(100, expirationManager.getIndexExpiredCount());
+                assertEquals(0, map.size());
+            }
+        });
+    }
+
     @Test
     public void stops_running_when_clusterState_turns_passive() {
         Config config = new Config();
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.executor.CompletedFuture;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class AbstractMapQueryIteratorTest {
+
+    private static final int PARTITION_COUNT = 10;
+    private static final int PAGE_COUNT = 3;
+    private static final int PAGE_SIZE = 5;
+
+    @Test
+    public void testAllRowsReturned() {
+        for (int maxInFlightPages = 1; maxInFlightPages <= PARTITION_COUNT + 1; maxInFlightPages++) {
+            TestIterator iterator = new TestIterator(maxInFlightPages);
+            Set<Integer> rows = new HashSet<Integer>();
+            while (iterator.hasNext()) {
+                assertTrue(rows.add(iterator.next()));
+            }
+
+            // every third partition is empty
+            int nonEmptyPartitions = PARTITION_COUNT - PARTITION_COUNT / 3;
+            assertEquals(nonEmptyPartitions * PAGE_COUNT * PAGE_SIZE, rows.size());
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void testInFlightPagesBounded() {
+        for (int maxInFlightPages = 1; maxInFlightPages <= PARTITION_COUNT + 1; maxInFlightPages++) {
+            TestIterator iterator = new TestIterator(maxInFlightPages);
+            while (iterator.hasNext()) {
+                iterator.next();
+                assertTrue(iterator.inFlight <= maxInFlightPages);
+            }
+            assertEquals(Math.min(maxInFlightPages, PARTITION_COUNT), iterator.maxInFlight);
+            assertEquals(0, iterator.inFlight);
+        }
+    }
+
+    @Test
+    public void testPagesRequestedLazily() {
+        TestIterator iterator = new TestIterator(2);
+        assertEquals(0, iterator.fetched);
+
+        iterator.next();
+        // the first page of the partitions 0 and 1, then the next page of the partition 0
+        assertEquals(3, iterator.fetched);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNext_whenExhausted() {
+        TestIterator iterator = new TestIterator(1);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        iterator.next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemove() {
+        new TestIterator(1).remove();
+    }
+
+    private static class TestIterator extends AbstractMapQueryIterator<Integer, Integer, Integer, int[]> {
+
+        private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        int fetched;
+        int inFlight;
+        int maxInFlight;
+
+        TestIterator(int maxInFlightPages) {
+            super(mockMap(), PARTITION_COUNT, PAGE_SIZE, maxInFlightPages, TruePredicate.<Integer, Integer>truePredicate(),
+                    Projections.<Map.Entry<Integer, Integer>, Integer>singleAttribute("this"));
+        }
+
+        @Override
+        protected Future<int[]> fetchPage(int partitionId, int tableIndex) {
+            fetched++;
+            inFlight++;
+            maxInFlight = Math.max(maxInFlight, inFlight);
+            int page = tableIndex == Integer.MAX_VALUE ? 0 : tableIndex;
+            return new CompletedFuture<int[]>(null, new int[]{partitionId, page}, null);
+        }
+
+        @Override
+        protected Page toPage(int[] response) {
+            inFlight--;
+            int partitionId = response[0];
+            int page = response[1];
+            List<Data> rows = new ArrayList<Data>();
+            if (partitionId % 3 == 2) {
+                return new Page(rows, -1);
+            }
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                rows.add(serializationService.toData((partitionId * PAGE_COUNT + page) * PAGE_SIZE + i));
+            }
+            return new Page(rows, page + 1 < PAGE_COUNT ? page + 1 : -1);
+        }
+
+        @Override
+        protected SerializationService getSerializationService() {
+            return serializationService;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static IMap<Integer, Integer> mockMap() {
+            IMap<Integer, Integer> map = mock(IMap.class);
+            when(map.getName()).thenReturn("map");
+            return map;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.PartitionService;
+import com.hazelcast.core.PartitionedMapLoader;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.PartitionedKeyLoadStats;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PartitionedMapLoaderTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 11;
+    private static final int KEY_COUNT = 1000;
+
+    @Test
+    public void testInitialLoad_loadsKeysPerOwnedPartition() {
+        PartitionKeyLoader loader = new PartitionKeyLoader(false);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(getConfig(loader));
+        loader.groupKeysByPartition(instances[0].getPartitionService());
+
+        IMap<Integer, Integer> map = instances[0].getMap(randomMapName());
+
+        assertSizeEventually(KEY_COUNT, map);
+        assertEquals(0, loader.globalLoadAllKeysCalls.get());
+        assertEquals(PARTITION_COUNT, loader.requestedPartitions.size());
+        for (AtomicInteger requests : loader.requestedPartitions.values()) {
+            assertEquals(1, requests.get());
+        }
+        assertStatsEventually(instances, PARTITION_COUNT, 0, KEY_COUNT);
+    }
+
+    @Test
+    public void testInitialLoad_sendsKeysOfOtherPartitionsToTheirOwners() {
+        PartitionKeyLoader loader = new PartitionKeyLoader(true);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(getConfig(loader));
+        loader.groupKeysByPartition(instances[0].getPartitionService());
+
+        IMap<Integer, Integer> map = instances[0].getMap(randomMapName());
+
+        assertSizeEventually(KEY_COUNT, map);
+        for (int key = 0; key < KEY_COUNT; key++) {
+            assertEquals(key, (int) map.get(key));
+        }
+        assertEquals(0, loader.globalLoadAllKeysCalls.get());
+        assertStatsEventually(instances, PARTITION_COUNT, 0, KEY_COUNT);
+    }
+
+    @Test
+    public void testLoadAll_usesAllKeys() {
+        PartitionKeyLoader loader = new PartitionKeyLoader(false);
+        HazelcastInstance instance = createHazelcastInstance(getConfig(loader));
+        loader.groupKeysByPartition(instance.getPartitionService());
+
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        assertSizeEventually(KEY_COUNT, map);
+
+        map.evictAll();
+        map.loadAll(true);
+
+        assertEquals(KEY_COUNT, map.size());
+        assertEquals(1, loader.globalLoadAllKeysCalls.get());
+    }
+
+    private Config getConfig(PartitionKeyLoader loader) {
+        MapStoreConfig mapStoreConfig = new MapStoreConfig()
+                .setEnabled(true)
+                .setImplementation(loader);
+
+        Config config = getConfig()
+                .setProperty(GroupProperty.PARTITION_COUNT.getName(), String.valueOf(PARTITION_COUNT));
+        config.getMapConfig("default").setMapStoreConfig(mapStoreConfig);
+        return config;
+    }
+
+    private static void assertStatsEventually(final HazelcastInstance[] instances, final long partitionsCompleted,
+                                              final long partitionsFailed, final long keysLoaded) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                long completed = 0;
+                long failed = 0;
+                long keys = 0;
+                for (HazelcastInstance instance : instances) {
+                    PartitionedKeyLoadStats stats = getPartitionedKeyLoadStats(instance);
+                    completed += stats.getPartitionsCompleted();
+                    failed += stats.getPartitionsFailed();
+                    keys += stats.getKeysLoaded();
+                }
+                assertEquals(partitionsCompleted, completed);
+                assertEquals(partitionsFailed, failed);
+                assertEquals(keysLoaded, keys);
+            }
+        });
+    }
+
+    private static PartitionedKeyLoadStats getPartitionedKeyLoadStats(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getPartitionedKeyLoadStats();
+    }
+
+    private static class PartitionKeyLoader implements PartitionedMapLoader<Integer, Integer> {
+
+        private final AtomicInteger globalLoadAllKeysCalls = new AtomicInteger();
+        private final ConcurrentMap<Integer, AtomicInteger> requestedPartitions
+                = new ConcurrentHashMap<Integer, AtomicInteger>();
+        private final boolean shiftPartitions;
+
+        private volatile Map<Integer, List<Integer>> keysByPartition;
+
+        /**
+         * @param shiftPartitions if {@code true}, returns the keys of the next partition
+         *                        for each partition
+         */
+        PartitionKeyLoader(boolean shiftPartitions) {
+            this.shiftPartitions = shiftPartitions;
+        }
+
+        void groupKeysByPartition(PartitionService partitionService) {
+            Map<Integer, List<Integer>> keysByPartition = new HashMap<Integer, List<Integer>>();
+            for (int key = 0; key < KEY_COUNT; key++) {
+                int partitionId = partitionService.getPartition(key).getPartitionId();
+                List<Integer> keys = keysByPartition.get(partitionId);
+                if (keys == null) {
+                    keys = new ArrayList<Integer>();
+                    keysByPartition.put(partitionId, keys);
+                }
+                keys.add(key);
+            }
+            this.keysByPartition = keysByPartition;
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys(int partitionId) {
+            AtomicInteger requests = new AtomicInteger();
+            AtomicInteger existing = requestedPartitions.putIfAbsent(partitionId, requests);
+            (existing == null ? requests : existing).incrementAndGet();
+
+            int keysPartitionId = shiftPartitions ? (partitionId + 1) % PARTITION_COUNT : partitionId;
+            List<Integer> keys = keysByPartition.get(keysPartitionId);
+            return keys == null ? Collections.<Integer>emptyList() : keys;
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys() {
+            globalLoadAllKeysCalls.incrementAndGet();
+            List<Integer> keys = new ArrayList<Integer>(KEY_COUNT);
+            for (int key = 0; key < KEY_COUNT; key++) {
+                keys.add(key);
+            }
+            return keys;
+        }
+
+        @Override
+        public Integer load(Integer key) {
+            return key;
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            Map<Integer, Integer> result = new HashMap<Integer, Integer>();
+            for (Integer key : keys) {
+                result.put(key, key);
+            }
+            return result;
+        }
+    }
+}
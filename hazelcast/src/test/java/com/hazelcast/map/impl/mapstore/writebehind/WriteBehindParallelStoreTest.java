@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.AbstractEntryProcessor;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.GroupProperty.MAP_WRITE_BEHIND_BACKPRESSURE_MAX_DELAY_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_WRITE_BEHIND_BACKPRESSURE_THRESHOLD;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS;
+import static com.hazelcast.spi.properties.GroupProperty.MAP_WRITE_BEHIND_PARALLELISM;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_COUNT;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class WriteBehindParallelStoreTest extends HazelcastTestSupport {
+
+    private final String mapName = "default";
+
+    @Test
+    public void testStoreAllIsUsed_whenWriteCoalescingIsOff() {
+        final MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>();
+        Config config = newConfig(mapStore, 1);
+        config.getMapConfig(mapName).getMapStoreConfig().setWriteCoalescing(false);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        final int keyCount = 100;
+        for (int i = 0; i < keyCount; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < keyCount; i++) {
+            map.put(i, -i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                // all updates are stored, the last one of each key wins
+                assertEquals(2 * keyCount, mapStore.getStoreOpCount());
+                for (int i = 0; i < keyCount; i++) {
+                    assertEquals(-i, (int) mapStore.store.get(i));
+                }
+                assertTrue(mapStore.getBatchOpCountMap().size() > 0);
+            }
+        });
+    }
+
+    @Test
+    public void testBatchesAreStoredInParallel() {
+        final ConcurrencyTrackingMapStore mapStore = new ConcurrencyTrackingMapStore(100);
+        Config config = newConfig(mapStore, 1);
+        config.setProperty(MAP_WRITE_BEHIND_PARALLELISM.getName(), "4");
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        final int keyCount = 1000;
+        for (int i = 0; i < keyCount; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(keyCount, mapStore.size());
+            }
+        });
+        assertTrue("Max concurrent store calls: " + mapStore.maxConcurrency.get(), mapStore.maxConcurrency.get() > 1);
+    }
+
+    @Test
+    public void testBatchSizeAdaptsToLatency() {
+        final ConcurrencyTrackingMapStore mapStore = new ConcurrencyTrackingMapStore(50);
+        Config config = newConfig(mapStore, 1);
+        config.setProperty(PARTITION_COUNT.getName(), "1");
+        config.setProperty(MAP_WRITE_BEHIND_BATCH_TARGET_LATENCY_MILLIS.getName(), "10");
+        config.getMapConfig(mapName).getMapStoreConfig().setWriteBatchSize(64);
+        IMap<Integer, Integer> map = createHazelcastInstance(config).getMap(mapName);
+
+        final int keyCount = 200;
+        for (int i = 0; i < keyCount; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(keyCount, mapStore.size());
+            }
+        });
+        // each batch takes longer than the target latency, so the batch size is halved each time
+        assertEquals(64, (int) mapStore.batchSizes.poll());
+        assertEquals(32, (int) mapStore.batchSizes.poll());
+        assertEquals(16, (int) mapStore.batchSizes.poll());
+    }
+
+    @Test
+    public void testBackpressureDelay_growsLinearlyAboveThreshold_andIsBounded() {
+        assertEquals(0, WriteBehindStore.getBackpressureDelayNanos(100, 0, 1000));
+        assertEquals(0, WriteBehindStore.getBackpressureDelayNanos(10, 10, 1000));
+        assertEquals(100, WriteBehindStore.getBackpressureDelayNanos(11, 10, 1000));
+        assertEquals(500, WriteBehindStore.getBackpressureDelayNanos(15, 10, 1000));
+        assertEquals(1000, WriteBehindStore.getBackpressureDelayNanos(20, 10, 1000));
+        assertEquals(1000, WriteBehindStore.getBackpressureDelayNanos(1000, 10, 1000));
+    }
+
+    @Test
+    public void testEveryWriteIsThrottled_whenQueueIsAboveBackpressureThreshold() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>();
+        // the write delay keeps the entries in the queue for the whole test
+        Config config = newConfig(mapStore, 100);
+        config.setProperty(PARTITION_COUNT.getName(), "1");
+        config.setProperty(MAP_WRITE_BEHIND_BACKPRESSURE_THRESHOLD.getName(), "10");
+        config.setProperty(MAP_WRITE_BEHIND_BACKPRESSURE_MAX_DELAY_MILLIS.getName(), "1");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        for (int i = 0; i < 20; i++) {
+            map.put(i, i);
+        }
+        WriteBehindStore store = getWriteBehindStore(instance);
+        assertEquals(9, store.getThrottledWriteCount());
+
+        map.executeOnKey(20, new IncrementingEntryProcessor());
+        assertEquals(10, store.getThrottledWriteCount());
+
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+        entries.put(21, 21);
+        entries.put(22, 22);
+        map.putAll(entries);
+        assertEquals(12, store.getThrottledWriteCount());
+
+        map.delete(0);
+        assertEquals(13, store.getThrottledWriteCount());
+
+        assertEquals(22, map.size());
+        assertEquals(1, (int) map.get(20));
+        assertEquals(0, mapStore.getStoreOpCount());
+    }
+
+    private WriteBehindStore getWriteBehindStore(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        RecordStore recordStore = mapService.getMapServiceContext().getPartitionContainer(0).getExistingRecordStore(mapName);
+        return (WriteBehindStore) recordStore.getMapDataStore();
+    }
+
+    private Config newConfig(Object mapStore, int writeDelaySeconds) {
+        Config config = getConfig();
+        MapStoreConfig mapStoreConfig = new MapStoreConfig()
+                .setEnabled(true)
+                .setImplementation(mapStore)
+                .setWriteDelaySeconds(writeDelaySeconds);
+        config.getMapConfig(mapName).setMapStoreConfig(mapStoreConfig);
+        return config;
+    }
+
+    private static class IncrementingEntryProcessor extends AbstractEntryProcessor<Integer, Integer> {
+
+        @Override
+        public Object process(Map.Entry<Integer, Integer> entry) {
+            Integer value = entry.getValue();
+            entry.setValue(value == null ? 1 : value + 1);
+            return null;
+        }
+    }
+
+    private static class ConcurrencyTrackingMapStore extends MapStoreWithCounter<Integer, Integer> {
+
+        final AtomicInteger concurrency = new AtomicInteger();
+        final AtomicInteger maxConcurrency = new AtomicInteger();
+        final Queue<Integer> batchSizes = new ConcurrentLinkedQueue<Integer>();
+
+        private final long latencyMillis;
+
+        ConcurrencyTrackingMapStore(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public void store(Integer key, Integer value) {
+            storeAll(singletonMap(key, value));
+        }
+
+        @Override
+        public void storeAll(Map<Integer, Integer> map) {
+            batchSizes.add(map.size());
+            int current = concurrency.incrementAndGet();
+            for (int max = maxConcurrency.get(); current > max; max = maxConcurrency.get()) {
+                if (maxConcurrency.compareAndSet(max, current)) {
+                    break;
+                }
+            }
+            sleepMillis((int) latencyMillis);
+            super.storeAll(map);
+            concurrency.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.executor.NamedThreadPoolExecutor;
+import com.hazelcast.util.executor.PoolExecutorThreadFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Thread.currentThread;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ParallelAccumulationExecutorTest {
+
+    private static final int POOL_SIZE = 12;
+
+    private InternalSerializationService serializationService;
+    private NamedThreadPoolExecutor pool;
+    private ParallelAccumulationExecutor executor;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        PoolExecutorThreadFactory threadFactory
+                = new PoolExecutorThreadFactory(UUID.randomUUID().toString(), currentThread().getContextClassLoader());
+        pool = new NamedThreadPoolExecutor(UUID.randomUUID().toString(), POOL_SIZE, POOL_SIZE,
+                100, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(100),
+                threadFactory
+        );
+        executor = new ParallelAccumulationExecutor(pool, serializationService, 60000);
+    }
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void execute_whenFewEntries_thenAccumulatedInSingleChunk() {
+        List<QueryableEntry> entries = entries(5);
+
+        Collection<Aggregator> chunkAggregators = executor.accumulateParallel(Aggregators.count(), entries);
+
+        assertEquals(1, chunkAggregators.size());
+        assertEquals(5L, chunkAggregators.iterator().next().aggregate());
+    }
+
+    @Test
+    public void execute_whenManyEntries_thenSplitIntoChunkPerThread() {
+        List<QueryableEntry> entries = entries(1001);
+
+        Collection<Aggregator> chunkAggregators = executor.accumulateParallel(Aggregators.count(), entries);
+
+        assertEquals(POOL_SIZE, chunkAggregators.size());
+        for (Aggregator chunkAggregator : chunkAggregators) {
+            long count = (Long) chunkAggregator.aggregate();
+            assertEquals(1001 / POOL_SIZE, count, 1);
+        }
+    }
+
+    @Test
+    public void execute_accumulatesEveryEntryOnce() {
+        List<QueryableEntry> entries = entries(1001);
+
+        AggregationResult result = executor.execute(Aggregators.longSum(), entries, asList(1, 2, 3));
+
+        assertEquals(1000L * 1001 / 2, result.getAggregator().aggregate());
+        assertEquals(asList(1, 2, 3), result.getPartitionIds());
+    }
+
+    private List<QueryableEntry> entries(int count) {
+        List<QueryableEntry> entries = new ArrayList<QueryableEntry>(count);
+        for (long i = 0; i < count; i++) {
+            entries.add(new LazyMapEntry(serializationService.toData(i), i, serializationService));
+        }
+        return entries;
+    }
+}
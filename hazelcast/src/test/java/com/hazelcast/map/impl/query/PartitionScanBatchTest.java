@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.LazyMapEntry;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.lessThan;
+import static com.hazelcast.query.Predicates.or;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PartitionScanBatchTest {
+
+    private static final String THIS = THIS_ATTRIBUTE_NAME.value();
+    private static final int COUNT = 3 * PartitionScanBatch.BATCH_SIZE + 7;
+
+    private InternalSerializationService serializationService;
+    private PartitionScanBatch batch;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        batch = new PartitionScanBatch(serializationService, Extractors.empty());
+    }
+
+    @Test
+    public void testEmpty() {
+        assertTrue(batch.isEmpty());
+        batch.add(serializationService.toData(1), 1);
+        assertFalse(batch.isEmpty());
+
+        batch.evaluate(equal(THIS, 1), new ArrayList<QueryableEntry>());
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void testSinglePredicate() {
+        assertScan(equal(THIS, 42), true);
+        assertScan(equal(THIS, 42), false);
+    }
+
+    @Test
+    public void testAndPredicate() {
+        Predicate predicate = and(greaterEqual(THIS, 10), lessThan(THIS, 300),
+                or(equal(THIS, 20), equal(THIS, 299), equal(THIS, 300)));
+
+        assertScan(predicate, true);
+        assertScan(predicate, false);
+    }
+
+    @Test
+    public void testAndPredicate_nothingMatches() {
+        assertScan(and(lessThan(THIS, 0), equal(THIS, 1)), true);
+    }
+
+    private void assertScan(Predicate predicate, boolean binary) {
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        Set<Integer> expected = new HashSet<Integer>();
+        for (int i = 0; i < COUNT; i++) {
+            Object value = binary ? serializationService.toData(i) : i;
+            if (batch.add(serializationService.toData(i), value)) {
+                batch.evaluate(predicate, result);
+            }
+            if (predicate.apply(new LazyMapEntry(serializationService.toData(i), i, serializationService))) {
+                expected.add(i);
+            }
+        }
+        batch.evaluate(predicate, result);
+
+        Set<Integer> actual = new HashSet<Integer>();
+        for (QueryableEntry entry : result) {
+            // the matching entries must not be overwritten by the following batches
+            assertEquals(entry.getKey(), entry.getValue());
+            actual.add((Integer) entry.getKey());
+        }
+        assertEquals(expected.size(), result.size());
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.map.impl.eviction.ExpirationManager.PROP_INDEX_ENABLED;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ExpirationIndexTest extends HazelcastTestSupport {
+
+    @Test
+    public void removedEntries_areUnscheduled() {
+        Config config = getConfig().setProperty(PROP_INDEX_ENABLED, "true");
+        HazelcastInstance node = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = node.getMap("test");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i, 1, HOURS);
+        }
+
+        for (int i = 0; i < 40; i++) {
+            map.remove(i);
+        }
+        for (int i = 40; i < 60; i++) {
+            map.delete(i);
+        }
+        for (int i = 60; i < 80; i++) {
+            map.evict(i);
+        }
+
+        assertEquals(20, getExpirationIndexSize(node, "test"));
+
+        map.clear();
+
+        assertEquals(0, getExpirationIndexSize(node, "test"));
+    }
+
+    private static int getExpirationIndexSize(HazelcastInstance node, String mapName) {
+        MapService mapService = getNodeEngineImpl(node).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        int size = 0;
+        for (int i = 0; i < getPartitionService(node).getPartitionCount(); i++) {
+            RecordStore recordStore = mapServiceContext.getPartitionContainer(i).getExistingRecordStore(mapName);
+            if (recordStore != null) {
+                size += ((AbstractEvictableRecordStore) recordStore).expirationWheel.size();
+            }
+        }
+        return size;
+    }
+}
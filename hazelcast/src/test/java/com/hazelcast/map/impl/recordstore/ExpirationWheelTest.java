@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ExpirationWheelTest {
+
+    private static final long TICK_MILLIS = 100;
+    private static final int SLOT_COUNT = 16;
+    private static final long START = 1000000;
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    private ExpirationWheel wheel;
+
+    @Before
+    public void setup() {
+        wheel = new ExpirationWheel(TICK_MILLIS, SLOT_COUNT, START);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenSlotCountNotPowerOfTwo() {
+        new ExpirationWheel(TICK_MILLIS, 10, START);
+    }
+
+    @Test
+    public void schedule_whenNeverExpires_thenNotIndexed() {
+        wheel.schedule(key(1), Long.MAX_VALUE);
+
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void pollDue_whenNotDue() {
+        wheel.schedule(key(1), START + 250);
+
+        assertEquals(0, pollDue(START + 249, 100).size());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void pollDue_whenDue() {
+        wheel.schedule(key(1), START + 250);
+        wheel.schedule(key(2), START + 550);
+
+        List<ExpirationWheel.Entry> due = pollDue(START + 300, 100);
+
+        assertEquals(1, due.size());
+        assertEquals(key(1), due.get(0).key);
+        assertEquals(START + 250, due.get(0).deadline);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void pollDue_whenDueWithinCurrentTick_thenPolledOnNextCall() {
+        wheel.schedule(key(1), START + 250);
+        wheel.schedule(key(2), START + 280);
+
+        assertEquals(1, pollDue(START + 260, 100).size());
+        assertEquals(1, pollDue(START + 290, 100).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void pollDue_whenDeadlineBeyondRound() {
+        long round = TICK_MILLIS * SLOT_COUNT;
+        wheel.schedule(key(1), START + round + 50);
+
+        assertEquals(0, pollDue(START + 100, 100).size());
+        assertEquals(0, pollDue(START + round, 100).size());
+        assertEquals(1, pollDue(START + round + 50, 100).size());
+    }
+
+    @Test
+    public void pollDue_whenDeadlinesOnHigherLevels_thenPolledWhenDue() {
+        long round = TICK_MILLIS * SLOT_COUNT;
+        long[] deadlines = {START + 3 * round + 50, START + SLOT_COUNT * round + 50, START + SLOT_COUNT * SLOT_COUNT * round};
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(key(i), deadlines[i]);
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            assertEquals(0, pollDue(deadlines[i] - 1, 100).size());
+            List<ExpirationWheel.Entry> due = pollDue(deadlines[i], 100);
+            assertEquals(1, due.size());
+            assertEquals(key(i), due.get(0).key);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void pollDue_whenDeadlineBeyondHighestLevel_thenPolledWhenDue() {
+        // four levels of 16 slots cover 16^4 ticks
+        long deadline = START + 5 * SLOT_COUNT * SLOT_COUNT * SLOT_COUNT * SLOT_COUNT * TICK_MILLIS;
+        wheel.schedule(key(1), deadline);
+
+        assertEquals(0, pollDue(deadline - 1, 100).size());
+        assertEquals(1, pollDue(deadline, 100).size());
+    }
+
+    @Test
+    public void unschedule_whenOnHigherLevel() {
+        wheel.schedule(key(1), START + 5 * TICK_MILLIS * SLOT_COUNT);
+
+        wheel.unschedule(key(1));
+
+        assertEquals(0, wheel.size());
+        assertEquals(0, pollDue(START + 10 * TICK_MILLIS * SLOT_COUNT, 100).size());
+    }
+
+    @Test
+    public void pollDue_whenMoreThanOneRoundPassed() {
+        for (int i = 0; i < SLOT_COUNT * 2; i++) {
+            wheel.schedule(key(i), START + i * TICK_MILLIS);
+        }
+
+        assertEquals(SLOT_COUNT * 2, pollDue(START + 10 * SLOT_COUNT * TICK_MILLIS, 1000).size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void pollDue_whenMaxCountReached_thenRestPolledOnNextCall() {
+        for (int i = 0; i < 10; i++) {
+            wheel.schedule(key(i), START + 50 + i * TICK_MILLIS);
+        }
+
+        Set<Data> polled = new HashSet<Data>();
+        for (ExpirationWheel.Entry entry : pollDue(START + 1000, 4)) {
+            polled.add(entry.key);
+        }
+        assertEquals(4, polled.size());
+        for (ExpirationWheel.Entry entry : pollDue(START + 1000, 100)) {
+            assertTrue(polled.add(entry.key));
+        }
+        assertEquals(10, polled.size());
+    }
+
+    @Test
+    public void schedule_whenOverdue_thenPolledOnNextCall() {
+        pollDue(START + 500, 100);
+
+        wheel.schedule(key(1), START);
+
+        assertEquals(1, pollDue(START + 500, 100).size());
+    }
+
+    @Test
+    public void schedule_whenEarlierDeadline_thenMoved() {
+        wheel.schedule(key(1), START + 1000);
+        wheel.schedule(key(1), START + 200);
+
+        List<ExpirationWheel.Entry> due = pollDue(START + 300, 100);
+        assertEquals(1, due.size());
+        assertEquals(START + 200, due.get(0).deadline);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void schedule_whenLaterDeadline_thenKeptAtEarlierDeadline() {
+        wheel.schedule(key(1), START + 200);
+        wheel.schedule(key(1), START + 1000);
+
+        List<ExpirationWheel.Entry> due = pollDue(START + 300, 100);
+        assertEquals(1, due.size());
+        assertEquals(START + 200, due.get(0).deadline);
+    }
+
+    @Test
+    public void unschedule() {
+        wheel.schedule(key(1), START + 200);
+
+        wheel.unschedule(key(1));
+
+        assertEquals(0, wheel.size());
+        assertEquals(0, pollDue(START + 1000, 100).size());
+    }
+
+    @Test
+    public void unschedule_whenOtherKeysInSlot_thenOtherKeysKept() {
+        wheel.schedule(key(1), START + 210);
+        wheel.schedule(key(2), START + 220);
+        wheel.schedule(key(3), START + 230);
+
+        wheel.unschedule(key(2));
+
+        Set<Data> polled = new HashSet<Data>();
+        for (ExpirationWheel.Entry entry : pollDue(START + 1000, 100)) {
+            polled.add(entry.key);
+        }
+        assertEquals(2, polled.size());
+        assertTrue(polled.contains(key(1)));
+        assertTrue(polled.contains(key(3)));
+    }
+
+    @Test
+    public void unschedule_whenNotScheduled_thenNoEffect() {
+        wheel.schedule(key(1), START + 200);
+
+        wheel.unschedule(key(2));
+
+        assertEquals(1, wheel.size());
+        assertEquals(1, pollDue(START + 1000, 100).size());
+    }
+
+    @Test
+    public void clear() {
+        wheel.schedule(key(1), START + 200);
+        wheel.schedule(key(2), START + 300);
+
+        wheel.clear();
+
+        assertEquals(0, wheel.size());
+        assertEquals(0, pollDue(START + 1000, 100).size());
+    }
+
+    private List<ExpirationWheel.Entry> pollDue(long now, int maxCount) {
+        List<ExpirationWheel.Entry> due = new ArrayList<ExpirationWheel.Entry>();
+        int count = wheel.pollDue(now, maxCount, due);
+        assertEquals(due.size(), count);
+        return due;
+    }
+
+    private Data key(int i) {
+        return serializationService.toData(i);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.memory.impl.StandardNativeMemoryManager;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.serialization.SerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeStorageImplTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private SerializationService serializationService;
+    private StandardNativeMemoryManager memoryManager;
+    private NativeRecordFactory recordFactory;
+    private NativeStorageImpl storage;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        memoryManager = new StandardNativeMemoryManager(new MemorySize(32, MemoryUnit.MEGABYTES).bytes());
+        recordFactory = new NativeRecordFactory(new MapConfig(), serializationService, null, memoryManager);
+        storage = new NativeStorageImpl(recordFactory, serializationService);
+    }
+
+    @After
+    public void tearDown() {
+        storage.destroy(false);
+        assertEquals(0, recordFactory.getUsedMemory());
+        assertEquals(0, memoryManager.getUsedNative());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+
+        assertEquals(ENTRY_COUNT, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Record record = storage.get(toData(i));
+            assertEquals(toData(i), record.getKey());
+            assertEquals("value-" + i, serializationService.toObject(record.getValue()));
+        }
+        assertNull(storage.get(toData(ENTRY_COUNT)));
+        assertTrue(recordFactory.getUsedMemory() > 0);
+        assertEquals(recordFactory.getUsedMemory(), storage.getEntryCostEstimator().getEstimate());
+    }
+
+    @Test
+    public void testPut_replacesExistingRecord() {
+        put(1, "value-1");
+        put(1, "value-2");
+        storage.disposeDeferredBlocks();
+
+        assertEquals(1, storage.size());
+        assertEquals("value-2", serializationService.toObject(storage.get(toData(1)).getValue()));
+    }
+
+    @Test
+    public void testUpdateRecordValue() {
+        put(1, "value-1");
+        Data key = toData(1);
+
+        storage.updateRecordValue(key, storage.get(key), "value-2");
+
+        assertEquals("value-2", serializationService.toObject(storage.get(key).getValue()));
+    }
+
+    @Test
+    public void testRemoveRecord() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, "value-" + i);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            Record record = storage.get(toData(i));
+            storage.removeRecord(record);
+            // removed records stay readable until the deferred blocks are disposed
+            assertEquals(toData(i), record.getKey());
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT / 2, storage.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i % 2 != 0, storage.containsKey(toData(i)));
+        }
+    }
+
+    @Test
+    public void testValues() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, i);
+        }
+
+        Set<Object> values = new HashSet<Object>();
+        for (Record record : storage.values()) {
+            values.add(serializationService.toObject(record.getValue()));
+        }
+        assertEquals(ENTRY_COUNT, values.size());
+    }
+
+    @Test
+    public void testMutationTolerantIterator_whenRecordsRemoved() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, i);
+        }
+
+        int count = 0;
+        Iterator<Record> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            storage.removeRecord(iterator.next());
+            count++;
+        }
+        storage.disposeDeferredBlocks();
+
+        assertEquals(ENTRY_COUNT, count);
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void testFetchKeys() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, i);
+        }
+
+        Set<Data> keys = new HashSet<Data>();
+        int tableIndex = Integer.MAX_VALUE;
+        do {
+            MapKeysWithCursor batch = storage.fetchKeys(tableIndex, 100);
+            keys.addAll(batch.getBatch());
+            tableIndex = batch.getNextTableIndexToReadFrom();
+        } while (tableIndex >= 0);
+
+        assertEquals(ENTRY_COUNT, keys.size());
+    }
+
+    @Test
+    public void testGetRandomSamples() {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, i);
+        }
+
+        int count = 0;
+        for (LazyEntryViewFromRecord ignored : storage.getRandomSamples(15)) {
+            count++;
+        }
+        assertEquals(15, count);
+    }
+
+    @Test
+    public void testClear_freesAllRecords() {
+        long usedMemoryOfEmptyStorage = recordFactory.getUsedMemory();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, i);
+        }
+
+        storage.clear(false);
+
+        assertTrue(storage.isEmpty());
+        assertFalse(storage.containsKey(toData(0)));
+        assertEquals(usedMemoryOfEmptyStorage, recordFactory.getUsedMemory());
+
+        put(1, 1);
+        assertEquals(1, storage.size());
+    }
+
+    private void put(int key, Object value) {
+        Data dataKey = toData(key);
+        storage.put(dataKey, recordFactory.newRecord(value));
+    }
+
+    private Data toData(Object o) {
+        return serializationService.toData(o);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.nio.PacketBufferPool.MAX_POOLED_SIZE;
+import static com.hazelcast.nio.PacketBufferPool.MIN_POOLED_SIZE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PacketBufferPoolTest {
+
+    private final PacketBufferPool pool = new PacketBufferPool();
+
+    @Test
+    public void allocate_whenSmallPayload_thenHeapBuffer() {
+        ByteBuffer buffer = pool.allocate(MIN_POOLED_SIZE - 1);
+
+        assertFalse(buffer.isDirect());
+        assertEquals(MIN_POOLED_SIZE - 1, buffer.array().length);
+    }
+
+    @Test
+    public void allocate_whenHugePayload_thenHeapBuffer() {
+        ByteBuffer buffer = pool.allocate(MAX_POOLED_SIZE + 1);
+
+        assertFalse(buffer.isDirect());
+        assertEquals(MAX_POOLED_SIZE + 1, buffer.array().length);
+    }
+
+    @Test
+    public void allocate_whenPooledPayload_thenDirectBufferOfSizeClass() {
+        ByteBuffer buffer = pool.allocate(MIN_POOLED_SIZE + 1);
+
+        assertTrue(buffer.isDirect());
+        assertEquals(2 * MIN_POOLED_SIZE, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(MIN_POOLED_SIZE + 1, buffer.limit());
+    }
+
+    @Test
+    public void newPacket_whenHeapPayload_thenRegularPacket() {
+        ByteBuffer payload = pool.allocate(16);
+        payload.put(new byte[16]).flip();
+
+        Packet packet = pool.newPacket(payload, 5);
+
+        assertNull(packet.getPayloadBuffer());
+        assertSame(payload.array(), packet.toByteArray());
+        assertEquals(5, packet.getPartitionId());
+    }
+
+    @Test
+    public void newPacket_whenPooledPayload() {
+        byte[] bytes = bytes(MIN_POOLED_SIZE + 10);
+        Packet packet = newPooledPacket(bytes);
+
+        ByteBuffer payloadBuffer = packet.getPayloadBuffer();
+        assertNotNull(payloadBuffer);
+        assertEquals(bytes.length, payloadBuffer.remaining());
+        assertEquals(bytes.length, packet.totalSize());
+        assertArrayEquals(bytes, packet.toByteArray());
+    }
+
+    @Test
+    public void release_thenPayloadReused() {
+        Packet packet = newPooledPacket(bytes(MIN_POOLED_SIZE));
+        ByteBuffer payloadBuffer = packet.getPayloadBuffer();
+
+        packet.release();
+
+        ByteBuffer reused = pool.allocate(MIN_POOLED_SIZE);
+        reused.put(0, (byte) 0);
+        assertEquals(0, payloadBuffer.get(0));
+    }
+
+    @Test
+    public void release_whenRetained_thenPayloadReusedAfterLastRelease() {
+        Packet packet = newPooledPacket(bytes(MIN_POOLED_SIZE));
+        ByteBuffer payloadBuffer = packet.getPayloadBuffer();
+        packet.retain();
+
+        packet.release();
+        ByteBuffer other = pool.allocate(MIN_POOLED_SIZE);
+        other.put(0, (byte) 0);
+        assertEquals(1, payloadBuffer.get(0));
+
+        packet.release();
+        ByteBuffer reused = pool.allocate(MIN_POOLED_SIZE);
+        assertNotSame(other, reused);
+        reused.put(0, (byte) 0);
+        assertEquals(0, payloadBuffer.get(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void release_whenReleasedTwice_thenIllegalStateException() {
+        Packet packet = newPooledPacket(bytes(MIN_POOLED_SIZE));
+
+        packet.release();
+        packet.release();
+    }
+
+    @Test
+    public void release_whenNotPooled_thenNoEffect() {
+        Packet packet = new Packet(bytes(MIN_POOLED_SIZE));
+
+        packet.release();
+        packet.release();
+
+        assertEquals(MIN_POOLED_SIZE, packet.totalSize());
+    }
+
+    private Packet newPooledPacket(byte[] bytes) {
+        ByteBuffer payload = pool.allocate(bytes.length);
+        payload.put(bytes).flip();
+        return pool.newPacket(payload, -1);
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        for (int k = 0; k < size; k++) {
+            // never 0, so a payload can be told apart from a zeroed buffer
+            bytes[k] = (byte) (k % 100 + 1);
+        }
+        return bytes;
+    }
+}
@@ -139,6 +139,29 @@ public class PacketIOHelperTest extends HazelcastTestSupport {
         assertPacketEquals(originalPacket, clonedPacket);
     }
 
+    @Test
+    public void largeValue_whenPooledPayload() {
+        byte[] bytes = generateRandomString(100000).getBytes();
+        PacketBufferPool pool = new PacketBufferPool();
+        ByteBuffer payload = pool.allocate(bytes.length);
+        payload.put(bytes).flip();
+        Packet originalPacket = pool.newPacket(payload, 1);
+
+        Packet clonedPacket;
+        ByteBuffer bb = ByteBuffer.allocate(20);
+        boolean writeCompleted;
+        do {
+            writeCompleted = packetWriter.writeTo(originalPacket, bb);
+            bb.flip();
+            clonedPacket = packetReader.readFrom(bb);
+            bb.clear();
+        } while (!writeCompleted);
+
+        assertNotNull(clonedPacket);
+        assertEquals(1, clonedPacket.getPartitionId());
+        assertArrayEquals(bytes, clonedPacket.toByteArray());
+    }
+
     @Test
     public void lotsOfPackets() {
         List<Packet> originalPackets = new LinkedList<Packet>();
@@ -375,7 +375,7 @@ public class MockIOService implements IOService {
 
     @Override
     public ChannelOutboundHandler createOutboundHandler(TcpIpConnection connection) {
-        return new PacketEncoder();
+        return new PacketEncoder(connection);
     }
 
 }
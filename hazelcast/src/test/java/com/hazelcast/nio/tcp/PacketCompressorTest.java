@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.nio.Packet.FLAG_OP_RESPONSE;
+import static com.hazelcast.nio.Packet.FLAG_URGENT;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PacketCompressorTest {
+
+    private static final int THRESHOLD = 1024;
+
+    private PacketCompressor compressor = new PacketCompressor(true, THRESHOLD);
+
+    @Test
+    public void compress_whenBelowThreshold_thenSamePacket() {
+        Packet packet = new Packet(new byte[THRESHOLD - 1]);
+
+        assertSame(packet, compressor.compress(packet));
+    }
+
+    @Test
+    public void compress_whenIncompressible_thenSamePacket() {
+        byte[] payload = new byte[THRESHOLD * 4];
+        new Random(1).nextBytes(payload);
+        Packet packet = new Packet(payload);
+
+        assertSame(packet, compressor.compress(packet));
+    }
+
+    @Test
+    public void compress_thenFlagsAndPartitionIdPreserved() {
+        Packet packet = new Packet(new byte[THRESHOLD * 4], 12)
+                .setPacketType(Packet.Type.OPERATION)
+                .raiseFlags(FLAG_URGENT | FLAG_OP_RESPONSE);
+
+        Packet compressed = compressor.compress(packet);
+
+        assertNotSame(packet, compressed);
+        assertTrue(compressed.totalSize() < packet.totalSize());
+        assertTrue(compressed.isFlagRaised(FLAG_COMPRESSED));
+        assertTrue(compressed.isUrgent());
+        assertTrue(compressed.isFlagRaised(FLAG_OP_RESPONSE));
+        assertEquals(Packet.Type.OPERATION, compressed.getPacketType());
+        assertEquals(12, compressed.getPartitionId());
+    }
+
+    @Test
+    public void compress_whenAlreadyCompressed_thenSamePacket() {
+        Packet compressed = compressor.compress(new Packet(new byte[THRESHOLD * 4]));
+
+        assertSame(compressed, compressor.compress(compressed));
+    }
+
+    @Test
+    public void decompress() {
+        byte[] payload = new byte[THRESHOLD * 4];
+        for (int k = 0; k < payload.length; k++) {
+            payload[k] = (byte) (k % 100);
+        }
+        Packet packet = new Packet(payload, 5).setPacketType(Packet.Type.OPERATION).raiseFlags(FLAG_URGENT);
+
+        Packet decompressed = compressor.decompress(compressor.compress(packet));
+
+        assertFalse(decompressed.isFlagRaised(FLAG_COMPRESSED));
+        assertArrayEquals(payload, decompressed.toByteArray());
+        assertEquals(packet, decompressed);
+    }
+
+    @Test
+    public void decompress_whenCompressionDisabled() {
+        Packet packet = new Packet(new byte[THRESHOLD * 4]);
+        Packet compressed = compressor.compress(packet);
+
+        Packet decompressed = new PacketCompressor(false, THRESHOLD).decompress(compressed);
+
+        assertEquals(packet, decompressed);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decompress_whenLengthDoesNotMatch() {
+        Packet compressed = compressor.compress(new Packet(new byte[THRESHOLD * 4]));
+        byte[] payload = Arrays.copyOf(compressed.toByteArray(), compressed.totalSize());
+        // the length of the original payload is stored in the first 4 bytes
+        payload[2]++;
+
+        compressor.decompress(new Packet(payload).raiseFlags(FLAG_COMPRESSED));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.PacketIOHelper;
+import com.hazelcast.spi.impl.PacketBatchHandler;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PacketDecoder_BatchingTest extends HazelcastTestSupport {
+
+    private final RecordingPacketBatchHandler handler = new RecordingPacketBatchHandler();
+
+    @Test
+    public void whenBatching_thenPacketsOfSingleReadHandledAsBatches() throws Exception {
+        PacketDecoder decoder = newDecoder(true);
+        List<Packet> packets = newPackets(PacketDecoder.MAX_BATCH_SIZE + 6);
+
+        decoder.onRead(toBuffer(packets));
+
+        assertEquals(0, handler.packets.size());
+        assertEquals(2, handler.batches.size());
+        assertArrayEquals(packets.subList(0, PacketDecoder.MAX_BATCH_SIZE).toArray(), handler.batches.get(0));
+        assertArrayEquals(packets.subList(PacketDecoder.MAX_BATCH_SIZE, packets.size()).toArray(), handler.batches.get(1));
+    }
+
+    @Test
+    public void whenBatching_andPartialPacket_thenCompletedPacketsHandled() throws Exception {
+        PacketDecoder decoder = newDecoder(true);
+        List<Packet> packets = newPackets(3);
+        ByteBuffer src = toBuffer(packets);
+        int limit = src.limit();
+        src.limit(limit - 1);
+
+        decoder.onRead(src);
+
+        assertEquals(1, handler.batches.size());
+        assertArrayEquals(packets.subList(0, 2).toArray(), handler.batches.get(0));
+
+        src.limit(limit);
+        decoder.onRead(src);
+
+        assertEquals(2, handler.batches.size());
+        assertArrayEquals(packets.subList(2, 3).toArray(), handler.batches.get(1));
+    }
+
+    @Test
+    public void whenNotBatching_thenPacketsHandledOneByOne() throws Exception {
+        PacketDecoder decoder = newDecoder(false);
+        List<Packet> packets = newPackets(3);
+
+        decoder.onRead(toBuffer(packets));
+
+        assertEquals(0, handler.batches.size());
+        assertEquals(packets, handler.packets);
+    }
+
+    private PacketDecoder newDecoder(boolean batching) {
+        PacketDecoder decoder = new PacketDecoder(null, handler, batching);
+        decoder.setNormalPacketsRead(newSwCounter());
+        decoder.setPriorityPacketsRead(newSwCounter());
+        return decoder;
+    }
+
+    private static List<Packet> newPackets(int count) {
+        List<Packet> packets = new ArrayList<Packet>(count);
+        for (int k = 0; k < count; k++) {
+            packets.add(new Packet(("payload-of-packet-" + k).getBytes(), k).setPacketType(Packet.Type.OPERATION));
+        }
+        return packets;
+    }
+
+    private static ByteBuffer toBuffer(List<Packet> packets) {
+        ByteBuffer buffer = ByteBuffer.allocate(packets.size() * 100);
+        PacketIOHelper writer = new PacketIOHelper();
+        for (Packet packet : packets) {
+            writer.writeTo(packet, buffer);
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static class RecordingPacketBatchHandler implements PacketBatchHandler {
+        private final List<Packet> packets = new LinkedList<Packet>();
+        private final List<Packet[]> batches = new LinkedList<Packet[]>();
+
+        @Override
+        public void handle(Packet packet) {
+            packets.add(packet);
+        }
+
+        @Override
+        public void handle(Packet[] packets, int count) {
+            batches.add(Arrays.copyOf(packets, count));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.internal.metrics.ProbeLevel;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.diagnostics.Diagnostics.METRICS_LEVEL;
+import static com.hazelcast.spi.properties.GroupProperty.IO_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.IO_COMPRESSION_THRESHOLD;
+import static com.hazelcast.spi.properties.GroupProperty.IO_WRITE_GATHERING_ENABLED;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs operations with large payloads between members that compress the packets they write to each other.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TcpIpConnectionManager_Compression_ClusterTest extends HazelcastTestSupport {
+
+    private static final int VALUE_SIZE = 64 * 1024;
+
+    @After
+    public void tearDown() {
+        HazelcastInstanceFactory.terminateAll();
+    }
+
+    @Test
+    public void testPutAndGet_whenBothMembersCompress() {
+        HazelcastInstance local = Hazelcast.newHazelcastInstance(newConfig(true));
+        HazelcastInstance remote = Hazelcast.newHazelcastInstance(newConfig(true));
+        assertClusterSizeEventually(2, local, remote);
+
+        assertCompressionEnabledEventually(local, true);
+        assertCompressionEnabledEventually(remote, true);
+        assertPutAndGet(local, remote);
+        assertTrue(compressedCount(local) > 0);
+        assertTrue(compressedCount(remote) > 0);
+    }
+
+    @Test
+    public void testPutAndGet_whenOnlyOneMemberCompresses() {
+        HazelcastInstance local = Hazelcast.newHazelcastInstance(newConfig(true));
+        HazelcastInstance remote = Hazelcast.newHazelcastInstance(newConfig(false));
+        assertClusterSizeEventually(2, local, remote);
+
+        assertCompressionEnabledEventually(local, true);
+        assertCompressionEnabledEventually(remote, false);
+        assertPutAndGet(local, remote);
+        assertPutAndGet(remote, local);
+        assertTrue(compressedCount(local) > 0);
+        assertEquals(0, compressedCount(remote));
+    }
+
+    @Test
+    public void testPutAndGet_whenGatheringWrites() {
+        Config config = newConfig(true).setProperty(IO_WRITE_GATHERING_ENABLED.getName(), "true");
+        HazelcastInstance local = Hazelcast.newHazelcastInstance(config);
+        HazelcastInstance remote = Hazelcast.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, local, remote);
+
+        assertCompressionEnabledEventually(local, true);
+        assertCompressionEnabledEventually(remote, true);
+        assertPutAndGet(local, remote);
+        assertPutAndGet(remote, local);
+        assertTrue(compressedCount(local) > 0);
+        assertTrue(compressedCount(remote) > 0);
+    }
+
+    private static Config newConfig(boolean compression) {
+        return new Config()
+                .setProperty(IO_COMPRESSION_ENABLED.getName(), String.valueOf(compression))
+                .setProperty(IO_COMPRESSION_THRESHOLD.getName(), "1024")
+                .setProperty(METRICS_LEVEL.getName(), ProbeLevel.INFO.name());
+    }
+
+    private static long compressedCount(HazelcastInstance instance) {
+        return getNode(instance).nodeEngine.getMetricsRegistry().newLongGauge("tcp.compression.compressedCount").read();
+    }
+
+    private static void assertCompressionEnabledEventually(final HazelcastInstance instance, final boolean expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                TcpIpConnectionManager connectionManager = (TcpIpConnectionManager) getConnectionManager(instance);
+                assertEquals(1, connectionManager.getActiveConnectionCount());
+                for (TcpIpConnection connection : connectionManager.getActiveConnections()) {
+                    if (expected) {
+                        assertTrue(connection.isCompressionEnabled());
+                    } else {
+                        assertFalse(connection.isCompressionEnabled());
+                    }
+                }
+            }
+        });
+    }
+
+    private static void assertPutAndGet(HazelcastInstance writer, HazelcastInstance reader) {
+        IMap<Integer, byte[]> map = writer.getMap(randomMapName());
+        for (int k = 0; k < 100; k++) {
+            map.put(k, newValue(k));
+        }
+
+        IMap<Integer, byte[]> readerMap = reader.getMap(map.getName());
+        for (int k = 0; k < 100; k++) {
+            assertArrayEquals(newValue(k), readerMap.get(k));
+        }
+    }
+
+    private static byte[] newValue(int k) {
+        byte[] value = new byte[VALUE_SIZE];
+        Arrays.fill(value, (byte) k);
+        return value;
+    }
+}
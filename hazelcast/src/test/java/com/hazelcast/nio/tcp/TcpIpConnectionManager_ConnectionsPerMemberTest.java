@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.ConnectionListener;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.impl.PacketHandler;
+import com.hazelcast.spi.properties.GroupProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TcpIpConnectionManager_ConnectionsPerMemberTest extends TcpIpConnection_AbstractTest {
+
+    private static final int CONNECTIONS_PER_MEMBER = 3;
+
+    private final Map<Packet, Connection> receivedByB = new ConcurrentHashMap<Packet, Connection>();
+
+    @Override
+    @Before
+    public void setup() throws Exception {
+        super.setup();
+        connManagerA.start();
+        connManagerB.start();
+
+        ioServiceB.packetHandler = new PacketHandler() {
+            @Override
+            public void handle(Packet packet) {
+                receivedByB.put(packet, packet.getConn());
+            }
+        };
+    }
+
+    @Override
+    protected TcpIpConnectionManager newConnectionManager(int port, MetricsRegistry metricsRegistry) throws Exception {
+        MockIOService ioService = new MockIOService(port, eventLoopGroupFactory.createChannelFactory());
+        Config config = new Config()
+                .setProperty(GroupProperty.IO_CONNECTIONS_PER_MEMBER.getName(), "" + CONNECTIONS_PER_MEMBER);
+
+        return new TcpIpConnectionManager(
+                ioService,
+                ioService.serverSocketChannel,
+                ioService.loggingService,
+                metricsRegistry,
+                eventLoopGroupFactory.create(ioService, metricsRegistry),
+                new HazelcastProperties(config));
+    }
+
+    @Test
+    public void whenConnected_thenAdditionalConnectionsMade() {
+        connect(connManagerA, addressB);
+
+        assertActiveConnectionCountEventually(connManagerA, CONNECTIONS_PER_MEMBER);
+        assertActiveConnectionCountEventually(connManagerB, CONNECTIONS_PER_MEMBER);
+    }
+
+    @Test
+    public void whenPartitionSpecificOperations_thenSpreadOverConnections() {
+        TcpIpConnection connection = connect(connManagerA, addressB);
+        assertActiveConnectionCountEventually(connManagerA, CONNECTIONS_PER_MEMBER);
+        assertActiveConnectionCountEventually(connManagerB, CONNECTIONS_PER_MEMBER);
+
+        int partitionCount = CONNECTIONS_PER_MEMBER * 2;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            assertTrue(connManagerA.transmit(newOperationPacket(partitionId), connection));
+        }
+        assertTrue(connManagerA.transmit(newOperationPacket(-1), connection));
+        assertReceivedEventually(partitionCount + 1);
+
+        Set<Connection> usedConnections = new HashSet<Connection>();
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            Connection used = receivedByB.get(newOperationPacket(partitionId));
+            usedConnections.add(used);
+            assertSame(used, receivedByB.get(newOperationPacket(partitionId % CONNECTIONS_PER_MEMBER)));
+        }
+        assertEquals(CONNECTIONS_PER_MEMBER, usedConnections.size());
+        assertSame(receivedByB.get(newOperationPacket(0)), receivedByB.get(newOperationPacket(-1)));
+    }
+
+    @Test
+    public void whenUrgentOperation_thenFirstConnectionUsed() {
+        TcpIpConnection connection = connect(connManagerA, addressB);
+        assertActiveConnectionCountEventually(connManagerA, CONNECTIONS_PER_MEMBER);
+
+        Packet urgentPacket = newOperationPacket(1).raiseFlags(Packet.FLAG_URGENT);
+        assertTrue(connManagerA.transmit(newOperationPacket(0), connection));
+        assertTrue(connManagerA.transmit(urgentPacket, connection));
+        assertTrue(connManagerA.transmit(newOperationPacket(1), connection));
+        assertReceivedEventually(3);
+
+        assertSame(receivedByB.get(newOperationPacket(0)), receivedByB.get(urgentPacket));
+        assertNotSame(receivedByB.get(newOperationPacket(0)), receivedByB.get(newOperationPacket(1)));
+    }
+
+    @Test
+    public void whenAdditionalConnectionClosed_thenFirstConnectionUsed() {
+        TcpIpConnection connection = connect(connManagerA, addressB);
+        assertActiveConnectionCountEventually(connManagerA, CONNECTIONS_PER_MEMBER);
+
+        for (TcpIpConnection activeConnection : connManagerA.getActiveConnections()) {
+            if (activeConnection != connection) {
+                activeConnection.close("test", null);
+                break;
+            }
+        }
+        assertActiveConnectionCountEventually(connManagerA, CONNECTIONS_PER_MEMBER - 1);
+
+        int partitionCount = CONNECTIONS_PER_MEMBER * 2;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            assertTrue(connManagerA.transmit(newOperationPacket(partitionId), connection));
+        }
+        assertTrue(connManagerA.transmit(newOperationPacket(-1), connection));
+        assertReceivedEventually(partitionCount + 1);
+
+        Connection firstConnection = receivedByB.get(newOperationPacket(-1));
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            assertSame(firstConnection, receivedByB.get(newOperationPacket(partitionId)));
+        }
+    }
+
+    @Test
+    public void whenDuplicateConnectionMade_thenClosed() {
+        connect(connManagerA, addressB);
+        assertActiveConnectionCountEventually(connManagerA, CONNECTIONS_PER_MEMBER);
+        assertActiveConnectionCountEventually(connManagerB, CONNECTIONS_PER_MEMBER);
+
+        final AtomicInteger removedFromB = new AtomicInteger();
+        connManagerB.addConnectionListener(new ConnectionListener() {
+            @Override
+            public void connectionAdded(Connection connection) {
+            }
+
+            @Override
+            public void connectionRemoved(Connection connection) {
+                removedFromB.incrementAndGet();
+            }
+        });
+
+        new TcpIpConnector(connManagerA).asyncConnect(addressB, true);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(1, removedFromB.get());
+            }
+        });
+        assertActiveConnectionCountEventually(connManagerA, CONNECTIONS_PER_MEMBER);
+        assertActiveConnectionCountEventually(connManagerB, CONNECTIONS_PER_MEMBER);
+    }
+
+    @Test
+    public void whenFirstConnectionClosed_thenAdditionalConnectionsClosed() {
+        TcpIpConnection connection = connect(connManagerA, addressB);
+        assertActiveConnectionCountEventually(connManagerA, CONNECTIONS_PER_MEMBER);
+        assertActiveConnectionCountEventually(connManagerB, CONNECTIONS_PER_MEMBER);
+
+        connection.close("test", null);
+
+        assertActiveConnectionCountEventually(connManagerA, 0);
+        assertActiveConnectionCountEventually(connManagerB, 0);
+    }
+
+    private Packet newOperationPacket(int partitionId) {
+        return new Packet(serializationService.toBytes("payload"), partitionId).setPacketType(Packet.Type.OPERATION);
+    }
+
+    private void assertReceivedEventually(final int expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(expected, receivedByB.size());
+            }
+        });
+    }
+
+    private static void assertActiveConnectionCountEventually(final TcpIpConnectionManager connectionManager,
+                                                              final int expected) {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(expected, connectionManager.getActiveConnectionCount());
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.nio.tcp;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.spi.properties.GroupProperty.IO_CONNECTIONS_PER_MEMBER;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs partition operations between members that have multiple connections to each other.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TcpIpConnectionManager_ConnectionsPerMember_ClusterTest extends HazelcastTestSupport {
+
+    private static final int CONNECTIONS_PER_MEMBER = 4;
+
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+
+    @Before
+    public void setup() {
+        Config config = new Config()
+                .setProperty(IO_CONNECTIONS_PER_MEMBER.getName(), String.valueOf(CONNECTIONS_PER_MEMBER));
+        local = Hazelcast.newHazelcastInstance(config);
+        remote = Hazelcast.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, local, remote);
+    }
+
+    @After
+    public void tearDown() {
+        HazelcastInstanceFactory.terminateAll();
+    }
+
+    @Test
+    public void testPutAndGet() {
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(CONNECTIONS_PER_MEMBER, getConnectionManager(local).getActiveConnectionCount());
+                assertEquals(CONNECTIONS_PER_MEMBER, getConnectionManager(remote).getActiveConnectionCount());
+            }
+        });
+
+        IMap<Integer, Integer> map = local.getMap(randomMapName());
+        for (int k = 0; k < 1000; k++) {
+            map.put(k, k);
+        }
+
+        IMap<Integer, Integer> remoteMap = remote.getMap(map.getName());
+        for (int k = 0; k < 1000; k++) {
+            assertEquals(k, (int) remoteMap.get(k));
+        }
+    }
+}
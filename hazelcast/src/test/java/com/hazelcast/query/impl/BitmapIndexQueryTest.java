@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.predicates.BitmapPredicate;
+import com.hazelcast.query.impl.predicates.RuleBasedQueryOptimizer;
+import com.hazelcast.test.HazelcastParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BitmapIndexQueryTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 2000;
+
+    @Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    @Parameters(name = "inMemoryFormat: {0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{
+                {InMemoryFormat.BINARY},
+                {InMemoryFormat.OBJECT},
+        });
+    }
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Employee> indexedMap;
+    private IMap<Integer, Employee> map;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        MapConfig indexedConfig = config.getMapConfig("indexed*").setInMemoryFormat(inMemoryFormat);
+        indexedConfig.addMapIndexConfig(new MapIndexConfig("active", false).setBitmap(true));
+        indexedConfig.addMapIndexConfig(new MapIndexConfig("city", false).setBitmap(true));
+        indexedConfig.addMapIndexConfig(new MapIndexConfig("age", false).setBitmap(true));
+        indexedConfig.addMapIndexConfig(new MapIndexConfig("name", false));
+        config.getMapConfig("plain*").setInMemoryFormat(inMemoryFormat);
+        instance = createHazelcastInstance(config);
+
+        indexedMap = instance.getMap("indexed");
+        map = instance.getMap("plain");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            put(i, new Employee(i, "name-" + i % 500, i % 10 == 0 ? null : "city-" + i % 3, i % 20, i % 2 == 0, i));
+        }
+    }
+
+    @Test
+    public void testBitmapPredicateIsUsed() {
+        Predicate optimized = optimize(new SqlPredicate("active = true and city = 'city-1'"));
+
+        assertTrue(optimized.toString(), optimized instanceof BitmapPredicate);
+        assertNotNull(getIndexes().query(optimized));
+    }
+
+    @Test
+    public void testQueries() {
+        assertQuery("active = true and city = 'city-1'");
+        assertQuery("active = false and age in (1, 3, 5) and city != 'city-1'");
+        assertQuery("city = 'city-0' or city = 'city-2'");
+        assertQuery("not(city = 'city-0') and active = true");
+        assertQuery("not(city = 'city-0' or age = 3)");
+        assertQuery("active = true and city != 'city-2' and name = 'name-4'");
+        assertQuery("active = true and age > 10 and city = 'city-2'");
+        assertQuery("active = true and city = 'unknown'");
+        assertQuery(Predicates.and(Predicates.equal("active", true), Predicates.equal("city", null)));
+        assertQuery(Predicates.and(Predicates.equal("age", 4), Predicates.notEqual("city", null)));
+    }
+
+    @Test
+    public void testQueries_afterUpdatesAndRemoves() {
+        for (int i = 0; i < ENTRY_COUNT; i += 3) {
+            put(i, new Employee(i, "name-1", "city-0", 1, false, i));
+        }
+        for (int i = 1; i < ENTRY_COUNT; i += 7) {
+            indexedMap.remove(i);
+            map.remove(i);
+        }
+        for (int i = ENTRY_COUNT; i < ENTRY_COUNT + 100; i++) {
+            put(i, new Employee(i, "name-" + i, "city-1", i % 20, true, i));
+        }
+
+        assertQuery("active = false and city = 'city-0' and age = 1");
+        assertQuery("active = true and city != 'city-0'");
+        assertQuery("not(active = true) or city = 'city-1'");
+        assertQuery("not(age in (1, 2))");
+    }
+
+    @Test
+    public void testQueries_afterClear() {
+        indexedMap.clear();
+        map.clear();
+        put(1, new Employee(1, "name-1", "city-1", 1, true, 1));
+
+        assertQuery("active = true and city = 'city-1'");
+        assertQuery("not(active = true)");
+    }
+
+    private void put(int key, Employee employee) {
+        indexedMap.put(key, employee);
+        map.put(key, employee);
+    }
+
+    private void assertQuery(String sql) {
+        assertQuery(new SqlPredicate(sql));
+    }
+
+    private void assertQuery(Predicate predicate) {
+        String message = predicate + " optimized to " + optimize(predicate);
+        assertEquals(message, map.keySet(predicate), indexedMap.keySet(predicate));
+        assertEquals(message, map.values(predicate).size(), indexedMap.values(predicate).size());
+    }
+
+    private Predicate optimize(Predicate predicate) {
+        return new RuleBasedQueryOptimizer().optimize(predicate, getIndexes());
+    }
+
+    private Indexes getIndexes() {
+        MapService service = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return service.getMapServiceContext().getMapContainer("indexed").getIndexes();
+    }
+}
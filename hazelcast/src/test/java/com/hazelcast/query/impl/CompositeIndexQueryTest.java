@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.predicates.RuleBasedQueryOptimizer;
+import com.hazelcast.test.HazelcastParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.equal;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompositeIndexQueryTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Parameter(0)
+    public InMemoryFormat inMemoryFormat;
+
+    @Parameter(1)
+    public boolean ordered;
+
+    @Parameters(name = "inMemoryFormat: {0}, ordered: {1}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{
+                {InMemoryFormat.BINARY, true},
+                {InMemoryFormat.BINARY, false},
+                {InMemoryFormat.OBJECT, true},
+                {InMemoryFormat.OBJECT, false},
+        });
+    }
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Employee> indexedMap;
+    private IMap<Integer, Employee> map;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.getMapConfig("indexed*").setInMemoryFormat(inMemoryFormat);
+        config.getMapConfig("plain*").setInMemoryFormat(inMemoryFormat);
+        instance = createHazelcastInstance(config);
+
+        indexedMap = instance.getMap("indexed");
+        indexedMap.addIndex("active, age", ordered);
+        indexedMap.addIndex("name,city,age", ordered);
+        map = instance.getMap("plain");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Employee employee = new Employee(i, "name-" + i % 10, i % 7 == 0 ? null : "city-" + i % 3, i % 50,
+                    i % 2 == 0, i);
+            indexedMap.put(i, employee);
+            map.put(i, employee);
+        }
+    }
+
+    @Test
+    public void testEquality() {
+        assertQuery("active = true and age = 10");
+        assertQuery("age = 11 and active = true");
+        assertQuery("active = true and age = 10 and salary < 500");
+        assertQuery("name = 'name-1' and city = 'city-2' and age = 21");
+        assertQuery(and(equal("name", "name-1"), equal("city", null), equal("age", 21)), true);
+    }
+
+    @Test
+    public void testRanges() {
+        assertRangeQuery("active = true and age > 10");
+        assertRangeQuery("active = true and age >= 10");
+        assertRangeQuery("active = false and age < 10");
+        assertRangeQuery("active = false and age <= 10");
+        assertRangeQuery("active = false and age between 10 and 20");
+        assertRangeQuery("active = true and age > 10 and age <= 20");
+        assertRangeQuery("active = true and age > 10 and age < 10");
+        assertRangeQuery("name = 'name-3' and city = 'city-1' and age > 20");
+        assertRangeQuery("name = 'name-3' and city > 'city-0' and age > 20");
+        assertNotIndexedQuery("name = 'name-3' and age > 20");
+    }
+
+    @Test
+    public void testUpdates() {
+        for (int i = 0; i < ENTRY_COUNT; i += 3) {
+            Employee employee = new Employee(i, "name-" + i % 10, "city-0", (i + 1) % 50, i % 2 != 0, i);
+            indexedMap.put(i, employee);
+            map.put(i, employee);
+        }
+        for (int i = 1; i < ENTRY_COUNT; i += 5) {
+            indexedMap.remove(i);
+            map.remove(i);
+        }
+
+        assertQuery("active = true and age = 10");
+        assertRangeQuery("active = false and age > 40");
+        assertRangeQuery("name = 'name-1' and city = 'city-0' and age < 30");
+    }
+
+    private void assertQuery(String sql) {
+        assertQuery(new SqlPredicate(sql), true);
+    }
+
+    private void assertRangeQuery(String sql) {
+        assertQuery(new SqlPredicate(sql), ordered);
+    }
+
+    private void assertNotIndexedQuery(String sql) {
+        assertQuery(new SqlPredicate(sql), false);
+    }
+
+    private void assertQuery(Predicate predicate, boolean indexed) {
+        Set<Integer> expected = map.keySet(predicate);
+        assertEquals(predicate.toString(), expected, indexedMap.keySet(predicate));
+
+        Indexes indexes = getIndexes();
+        Predicate optimized = new RuleBasedQueryOptimizer().optimize(predicate, indexes);
+        Set<QueryableEntry> result = indexes.query(optimized);
+        if (!indexed) {
+            assertNull(optimized.toString(), result);
+            return;
+        }
+        // the query must be answered by the composite index
+        assertNotNull(optimized.toString(), result);
+        Set<Integer> keys = new HashSet<Integer>();
+        for (QueryableEntry entry : result) {
+            keys.add((Integer) entry.getKey());
+        }
+        assertEquals(optimized.toString(), expected, keys);
+    }
+
+    private Indexes getIndexes() {
+        MapService service = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return service.getMapServiceContext().getMapContainer("indexed").getIndexes();
+    }
+}
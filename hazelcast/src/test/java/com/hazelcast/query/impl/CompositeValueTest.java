@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompositeValueTest {
+
+    @Test
+    public void testLexicographicOrder() {
+        assertTrue(value(1, 2).compareTo(value(1, 3)) < 0);
+        assertTrue(value(1, 3).compareTo(value(2, 0)) < 0);
+        assertEquals(0, value(1, "a").compareTo(value(1, "a")));
+        assertEquals(value(1, "a"), value(1, "a"));
+        assertEquals(value(1, "a").hashCode(), value(1, "a").hashCode());
+    }
+
+    @Test
+    public void testNullComponents() {
+        assertTrue(value(1, IndexImpl.NULL).compareTo(value(1, Integer.MIN_VALUE)) < 0);
+        assertTrue(value(1, 2).compareTo(value(1, IndexImpl.NULL)) > 0);
+        assertEquals(0, value(IndexImpl.NULL, 1).compareTo(value(IndexImpl.NULL, 1)));
+    }
+
+    @Test
+    public void testInfinityMarkers() {
+        assertTrue(value(1, NEGATIVE_INFINITY).compareTo(value(1, IndexImpl.NULL)) < 0);
+        assertTrue(value(1, POSITIVE_INFINITY).compareTo(value(1, Integer.MAX_VALUE)) > 0);
+        assertTrue(value(1, POSITIVE_INFINITY).compareTo(value(2, Integer.MIN_VALUE)) < 0);
+        assertTrue(value(1, NEGATIVE_INFINITY).compareTo(value(0, Integer.MAX_VALUE)) > 0);
+    }
+
+    @Test
+    public void testExtraComponent() {
+        assertTrue(value(1, 5, POSITIVE_INFINITY).compareTo(value(1, 5)) > 0);
+        assertTrue(value(1, 5).compareTo(value(1, 5, POSITIVE_INFINITY)) < 0);
+        assertTrue(value(1, 5, POSITIVE_INFINITY).compareTo(value(1, 6)) < 0);
+        assertTrue(value(1, 5, NEGATIVE_INFINITY).compareTo(value(1, 5)) < 0);
+        assertTrue(value(1, 5, NEGATIVE_INFINITY).compareTo(value(1, 4)) > 0);
+    }
+
+    private static CompositeValue value(Comparable... components) {
+        return new CompositeValue(components);
+    }
+}
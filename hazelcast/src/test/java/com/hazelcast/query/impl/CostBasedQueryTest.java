@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SampleTestObjects.Employee;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.CostBasedQueryOptimizer;
+import com.hazelcast.query.impl.predicates.PostFilterPredicate;
+import com.hazelcast.test.HazelcastParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.hazelcast.spi.properties.GroupProperty.QUERY_OPTIMIZER_TYPE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CostBasedQueryTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 2000;
+
+    @Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    @Parameters(name = "inMemoryFormat: {0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{
+                {InMemoryFormat.BINARY},
+                {InMemoryFormat.OBJECT},
+        });
+    }
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Employee> indexedMap;
+    private IMap<Integer, Employee> map;
+
+    @Before
+    public void setUp() {
+        Config config = getConfig();
+        config.setProperty(QUERY_OPTIMIZER_TYPE.getName(), "COST");
+        config.getMapConfig("indexed*").setInMemoryFormat(inMemoryFormat);
+        config.getMapConfig("plain*").setInMemoryFormat(inMemoryFormat);
+        instance = createHazelcastInstance(config);
+
+        indexedMap = instance.getMap("indexed");
+        indexedMap.addIndex("active", false);
+        indexedMap.addIndex("age", true);
+        indexedMap.addIndex("name", false);
+        map = instance.getMap("plain");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Employee employee = new Employee(i, "name-" + i % 500, "city-" + i % 3, i % 50, i % 2 == 0, i);
+            indexedMap.put(i, employee);
+            map.put(i, employee);
+        }
+    }
+
+    @Test
+    public void testSelectivePredicateDrivesTheQuery() {
+        Predicate optimized = assertQuery("active = true and age > 5 and name = 'name-10'");
+
+        AndPredicate and = (AndPredicate) optimized;
+        assertEquals("name=name-10", and.getPredicates()[0].toString());
+        for (int i = 1; i < and.getPredicates().length; i++) {
+            assertTrue(optimized.toString(), and.getPredicates()[i] instanceof PostFilterPredicate);
+        }
+    }
+
+    @Test
+    public void testQueries() {
+        assertQuery("active = false and age between 10 and 12");
+        assertQuery("age < 3 and active = true and city = 'city-1'");
+        assertQuery("name in ('name-1', 'name-2') and age >= 1 and active = false");
+        assertQuery("active = true and name = 'unknown'");
+    }
+
+    @Test
+    public void testQueries_afterUpdates() {
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            Employee employee = new Employee(i, "name-1", "city-0", 1, false, i);
+            indexedMap.put(i, employee);
+            map.put(i, employee);
+        }
+
+        assertQuery("active = false and name = 'name-1' and age = 1");
+        assertQuery("active = true and age > 10");
+    }
+
+    private Predicate assertQuery(String sql) {
+        Predicate predicate = new SqlPredicate(sql);
+        assertEquals(sql, map.keySet(predicate), indexedMap.keySet(predicate));
+        assertEquals(sql, map.values(predicate).size(), indexedMap.values(predicate).size());
+
+        MapService service = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        Indexes indexes = service.getMapServiceContext().getMapContainer("indexed").getIndexes();
+        return new CostBasedQueryOptimizer().optimize(predicate, indexes);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static com.hazelcast.query.impl.IndexKeyEncoder.NON_NULL_LOWER_BOUND;
+import static com.hazelcast.query.impl.IndexKeyEncoder.encode;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class IndexKeyEncoderTest {
+
+    private final Random random = new Random();
+
+    @Test
+    public void testLongOrder() {
+        List<Comparable> values = new ArrayList<Comparable>(asList(Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE));
+        for (int i = 0; i < 100; i++) {
+            values.add(random.nextLong());
+        }
+        assertOrderPreserved(values);
+    }
+
+    @Test
+    public void testIntegerOrder() {
+        List<Comparable> values = new ArrayList<Comparable>(asList(Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE));
+        for (int i = 0; i < 100; i++) {
+            values.add(random.nextInt());
+        }
+        assertOrderPreserved(values);
+    }
+
+    @Test
+    public void testDoubleOrder() {
+        List<Comparable> values = new ArrayList<Comparable>(asList(Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1.5, -0.0,
+                0.0, Double.MIN_VALUE, 1.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN));
+        for (int i = 0; i < 100; i++) {
+            values.add((random.nextDouble() - 0.5) * random.nextInt());
+        }
+        assertOrderPreserved(values);
+    }
+
+    @Test
+    public void testStringOrder() {
+        List<Comparable> values = new ArrayList<Comparable>(asList("", "\u0000", "\u0000\u0000", "\u0001", "a", "a\u0000",
+                "a\u0000b", "ab", "b", "\u00ff", "\u0100", "\uffff", "\uffff\uffff"));
+        for (int i = 0; i < 100; i++) {
+            char[] chars = new char[random.nextInt(5)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) (random.nextBoolean() ? random.nextInt(3) : random.nextInt(Character.MAX_VALUE + 1));
+            }
+            values.add(new String(chars));
+        }
+        assertOrderPreserved(values);
+    }
+
+    @Test
+    public void testDateOrder() {
+        Timestamp timestamp = new Timestamp(1000);
+        timestamp.setNanos(1);
+        assertOrderPreserved(new ArrayList<Comparable>(asList(new Date(-1000), new Date(0), new Date(999), new Date(1000),
+                new Date(Long.MAX_VALUE))));
+        assertTrue(compare(encode(new Timestamp(1000)), encode(timestamp)) < 0);
+    }
+
+    @Test
+    public void testMiscOrder() {
+        assertOrderPreserved(new ArrayList<Comparable>(asList(false, true)));
+        assertOrderPreserved(new ArrayList<Comparable>(asList('a', 'b', '\uffff')));
+        List<Comparable> uuids = new ArrayList<Comparable>();
+        for (int i = 0; i < 100; i++) {
+            uuids.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        assertOrderPreserved(uuids);
+    }
+
+    @Test
+    public void testNullIsLowest() {
+        byte[] nullKey = encode(IndexImpl.NULL);
+
+        assertTrue(compare(nullKey, NON_NULL_LOWER_BOUND) < 0);
+        for (Comparable value : asList(Long.MIN_VALUE, Double.NEGATIVE_INFINITY, false, "", '\u0000', new Date(Long.MIN_VALUE),
+                new UUID(Long.MIN_VALUE, Long.MIN_VALUE))) {
+            assertTrue(compare(NON_NULL_LOWER_BOUND, encode((Comparable) value)) <= 0);
+        }
+    }
+
+    @Test
+    public void testEncodingIsPrefixFree() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        Data key = ss.toData("key");
+
+        assertFalse(startsWith(encode("ab", key), encode("a")));
+        assertFalse(startsWith(encode("a\u0000", key), encode("a")));
+        assertTrue(startsWith(encode("a", key), encode("a")));
+        assertTrue(startsWith(encode(1L, key), encode(1L)));
+    }
+
+    @Test
+    public void testEqualValuesOfDifferentWidth_haveSameEncoding() {
+        assertEquals(0, compare(encode(1), encode(1L)));
+        assertEquals(0, compare(encode(1.5f), encode(1.5d)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedType() {
+        encode(BigDecimal.ONE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void assertOrderPreserved(List<Comparable> values) {
+        for (Comparable left : values) {
+            for (Comparable right : values) {
+                int expected = Integer.signum(left.compareTo(right));
+                int actual = Integer.signum(compare(encode(left), encode(right)));
+                assertEquals("Comparing " + left + " with " + right, expected, actual);
+            }
+        }
+    }
+
+    private static int compare(byte[] left, byte[] right) {
+        int length = Math.min(left.length, right.length);
+        for (int i = 0; i < length; i++) {
+            int diff = (left[i] & 0xFF) - (right[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return left.length - right.length;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        return bytes.length >= prefix.length && compare(Arrays.copyOf(bytes, prefix.length), prefix) == 0;
+    }
+}
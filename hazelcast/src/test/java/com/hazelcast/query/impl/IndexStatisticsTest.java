@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+import static com.hazelcast.query.impl.ComparisonType.GREATER;
+import static com.hazelcast.query.impl.ComparisonType.GREATER_EQUAL;
+import static com.hazelcast.query.impl.ComparisonType.LESSER;
+import static com.hazelcast.query.impl.ComparisonType.LESSER_EQUAL;
+import static com.hazelcast.query.impl.ComparisonType.NOT_EQUAL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class IndexStatisticsTest {
+
+    private IndexStatistics statistics;
+
+    @Before
+    public void setUp() {
+        statistics = new IndexStatistics(new Random(42));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, statistics.getValueCount());
+        assertEquals(0, statistics.estimateRecords(1));
+        assertEquals(0, statistics.estimateSubRecordsBetween(1, 10));
+        assertEquals(0, statistics.estimateSubRecords(GREATER, 1));
+    }
+
+    @Test
+    public void testExactEstimates_whenAllValuesSampled() {
+        // 0..99, each value twice
+        for (int i = 0; i < 2 * 50; i++) {
+            statistics.onAdd(i % 50);
+        }
+
+        assertEquals(100, statistics.getValueCount());
+        assertEquals(2, statistics.estimateRecords(10));
+        assertEquals(22, statistics.estimateSubRecordsBetween(10, 20));
+        assertEquals(20, statistics.estimateSubRecords(LESSER, 10));
+        assertEquals(22, statistics.estimateSubRecords(LESSER_EQUAL, 10));
+        assertEquals(78, statistics.estimateSubRecords(GREATER, 10));
+        assertEquals(80, statistics.estimateSubRecords(GREATER_EQUAL, 10));
+        assertEquals(98, statistics.estimateSubRecords(NOT_EQUAL, 10));
+    }
+
+    @Test
+    public void testMissingValue_isEstimatedAsRare() {
+        for (int i = 0; i < 100; i++) {
+            statistics.onAdd(i);
+        }
+
+        assertEquals(1, statistics.estimateRecords(1000));
+        assertEquals(1, statistics.estimateSubRecordsBetween(20, 10));
+    }
+
+    @Test
+    public void testSampledEstimates() {
+        int count = 100000;
+        for (int i = 0; i < count; i++) {
+            statistics.onAdd(i % 10);
+        }
+
+        assertEquals(count, statistics.getValueCount());
+        // a single value is 10% of the values, a sample of 128 values is not going to be far off
+        assertEstimate(count / 10, statistics.estimateRecords(5));
+        assertEstimate(count / 2, statistics.estimateSubRecords(LESSER, 5));
+    }
+
+    @Test
+    public void testSample_followsRemovalsAndAdditions() {
+        int count = 10000;
+        for (int i = 0; i < count; i++) {
+            statistics.onAdd(1);
+        }
+        for (int i = 0; i < count; i++) {
+            statistics.onRemove();
+            statistics.onAdd(2);
+        }
+
+        assertEquals(count, statistics.getValueCount());
+        assertEstimate(count, statistics.estimateRecords(2));
+        assertTrue(statistics.estimateRecords(1) < count / 2);
+    }
+
+    @Test
+    public void testNulls() {
+        for (int i = 0; i < 10; i++) {
+            statistics.onAdd(i % 2 == 0 ? IndexImpl.NULL : i);
+        }
+
+        assertEquals(5, statistics.estimateRecords(IndexImpl.NULL));
+        assertEquals(5, statistics.estimateSubRecords(GREATER, IndexImpl.NULL));
+        assertEquals(2, statistics.estimateSubRecords(LESSER, 5));
+    }
+
+    @Test
+    public void testIncomparableValues_thenUnknown() {
+        statistics.onAdd(1);
+        statistics.onAdd("a");
+
+        assertEquals(IndexStatistics.UNKNOWN, statistics.estimateRecords(1));
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 10; i++) {
+            statistics.onAdd(i);
+        }
+        statistics.clear();
+
+        assertEquals(0, statistics.getValueCount());
+        assertEquals(0, statistics.estimateRecords(1));
+        statistics.onAdd(1);
+        assertEquals(1, statistics.estimateRecords(1));
+    }
+
+    @Test
+    public void testIndexedStore() {
+        InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+        Index index = new IndexImpl("this", true, ss, Extractors.empty(), IndexCopyBehavior.NEVER);
+        for (int i = 0; i < 100; i++) {
+            index.saveEntryIndex(new QueryEntry(ss, ss.toData(i), i, Extractors.empty()), null);
+        }
+        index.removeEntryIndex(ss.toData(0), 0);
+
+        assertEquals(99, index.estimateSubRecords(GREATER, 0));
+        assertEquals(10, index.estimateSubRecordsBetween("10", "19"));
+        assertEquals(3, index.estimateRecords(new Comparable[]{1, 2, 3}));
+    }
+
+    private static void assertEstimate(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual,
+                actual > expected * 0.5 && actual < expected * 1.5);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.memory.impl.StandardNativeMemoryManager;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.query.impl.ComparisonType.GREATER;
+import static com.hazelcast.query.impl.ComparisonType.GREATER_EQUAL;
+import static com.hazelcast.query.impl.ComparisonType.LESSER;
+import static com.hazelcast.query.impl.ComparisonType.LESSER_EQUAL;
+import static com.hazelcast.query.impl.ComparisonType.NOT_EQUAL;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeSortedIndexStoreTest {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final TestRecordAddressResolver resolver = new TestRecordAddressResolver();
+
+    private StandardNativeMemoryManager memoryManager;
+    private NativeSortedIndexStore store;
+
+    @Before
+    public void setUp() {
+        memoryManager = new StandardNativeMemoryManager(Long.MAX_VALUE);
+        store = new NativeSortedIndexStore(memoryManager, resolver);
+        for (int i = 0; i < 10; i++) {
+            store.newIndex(i, entry(i, i));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        store.destroy();
+        memoryManager.dispose();
+    }
+
+    @Test
+    public void testGetRecords() {
+        assertKeys(store.getRecords(5), 5);
+        assertKeys(store.getRecords(10));
+        assertKeys(store.getRecords(new HashSet<Comparable>(asList(1, 3, 11))), 1, 3);
+    }
+
+    @Test
+    public void testGetRecords_withDuplicateValues() {
+        store.newIndex(5, entry(15, 5));
+        store.newIndex(5, entry(25, 5));
+
+        assertKeys(store.getRecords(5), 5, 15, 25);
+        assertKeys(store.getRecords(4), 4);
+        assertKeys(store.getRecords(6), 6);
+    }
+
+    @Test
+    public void testGetSubRecordsBetween() {
+        assertKeys(store.getSubRecordsBetween(3, 5), 3, 4, 5);
+        assertKeys(store.getSubRecordsBetween(8, 20), 8, 9);
+        assertKeys(store.getSubRecordsBetween(5, 3));
+    }
+
+    @Test
+    public void testGetSubRecords() {
+        assertKeys(store.getSubRecords(LESSER, 2), 0, 1);
+        assertKeys(store.getSubRecords(LESSER_EQUAL, 2), 0, 1, 2);
+        assertKeys(store.getSubRecords(GREATER, 7), 8, 9);
+        assertKeys(store.getSubRecords(GREATER_EQUAL, 7), 7, 8, 9);
+        assertKeys(store.getSubRecords(NOT_EQUAL, 7), 0, 1, 2, 3, 4, 5, 6, 8, 9);
+    }
+
+    @Test
+    public void testNullValues() {
+        store.newIndex(null, entry(10, null));
+
+        assertKeys(store.getRecords(IndexImpl.NULL), 10);
+        assertKeys(store.getSubRecords(LESSER, 1), 0);
+        assertKeys(store.getSubRecords(NOT_EQUAL, 1), 0, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void testUpdateIndex() {
+        store.updateIndex(5, 50, entry(5, 50));
+
+        assertKeys(store.getRecords(5));
+        assertKeys(store.getRecords(50), 5);
+        assertKeys(store.getSubRecords(GREATER, 8), 5, 9);
+    }
+
+    @Test
+    public void testRemoveIndex() {
+        store.removeIndex(5, ss.toData(5));
+
+        assertKeys(store.getRecords(5));
+        assertKeys(store.getSubRecordsBetween(4, 6), 4, 6);
+    }
+
+    @Test
+    public void testClear() {
+        store.clear();
+
+        assertKeys(store.getSubRecords(GREATER_EQUAL, 0));
+        store.newIndex(1, entry(1, 1));
+        assertKeys(store.getRecords(1), 1);
+    }
+
+    @Test
+    public void testDestroy_releasesMemory() {
+        store.destroy();
+
+        assertEquals(0, memoryManager.getUsedNative());
+    }
+
+    @Test
+    public void testStringValues() {
+        store.clear();
+        store.newIndex("b", entry(1, "b"));
+        store.newIndex("ba", entry(2, "ba"));
+        store.newIndex("c", entry(3, "c"));
+
+        assertKeys(store.getRecords("b"), 1);
+        assertKeys(store.getSubRecords(GREATER, "b"), 2, 3);
+        assertKeys(store.getSubRecords(LESSER, "c"), 1, 2);
+    }
+
+    private QueryableEntry entry(int key, Object value) {
+        Data keyData = ss.toData(key);
+        QueryEntry entry = new QueryEntry(ss, keyData, value, Extractors.empty());
+        resolver.register(keyData, entry);
+        return entry;
+    }
+
+    private void assertKeys(Set<QueryableEntry> result, Integer... expectedKeys) {
+        Set<Object> actualKeys = new HashSet<Object>();
+        for (QueryableEntry entry : result) {
+            actualKeys.add(ss.toObject(entry.getKeyData()));
+        }
+        assertEquals(new HashSet<Object>(asList(expectedKeys)), actualKeys);
+        assertEquals(expectedKeys.length, result.size());
+    }
+
+    /**
+     * Assigns fake record addresses to the registered entries.
+     */
+    private static class TestRecordAddressResolver implements RecordAddressResolver {
+
+        private final Map<Data, Long> addresses = new HashMap<Data, Long>();
+        private final Map<Long, QueryableEntry> entries = new HashMap<Long, QueryableEntry>();
+
+        void register(Data key, QueryableEntry entry) {
+            Long address = addresses.get(key);
+            if (address == null) {
+                address = addresses.size() + 1L;
+                addresses.put(key, address);
+            }
+            entries.put(address, entry);
+        }
+
+        @Override
+        public long getRecordAddress(Data key) {
+            Long address = addresses.get(key);
+            return address == null ? NULL_ADDRESS : address;
+        }
+
+        @Override
+        public QueryableEntry getEntry(long recordAddress) {
+            return entries.get(recordAddress);
+        }
+    }
+}
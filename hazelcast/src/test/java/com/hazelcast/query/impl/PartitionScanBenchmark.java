@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableFactory;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastTestSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures full partition scans, i.e. queries on attributes without indexes, of
+ * {@link Portable}, {@link IdentifiedDataSerializable} and on-heap object values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@SuppressWarnings("unused")
+public class PartitionScanBenchmark extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100000;
+    private static final int FACTORY_ID = 1;
+    private static final int CLASS_ID = 1;
+    private static final int WARMUP_ITERATIONS_COUNT = 10;
+    private static final int MEASUREMENT_ITERATIONS_COUNT = 20;
+
+    private static final Predicate SELECTIVE = new SqlPredicate("tradeId = 42");
+    private static final Predicate CONJUNCTION = new SqlPredicate("quantity > 50 and price < 10.0 and tradeId > 1000");
+
+    private HazelcastInstance hz;
+    private IMap<Integer, PortableTrade> portableMap;
+    private IMap<Integer, IdentifiedTrade> identifiedMap;
+    private IMap<Integer, IdentifiedTrade> objectMap;
+
+    @Setup
+    public void setup() {
+        Config config = new Config()
+                .addMapConfig(new MapConfig("objectMap").setInMemoryFormat(InMemoryFormat.OBJECT));
+        config.getSerializationConfig()
+                .addPortableFactory(FACTORY_ID, new PortableTradeFactory())
+                .addDataSerializableFactory(FACTORY_ID, new IdentifiedTradeFactory());
+
+        hz = createHazelcastInstance(config);
+        portableMap = hz.getMap("portableMap");
+        identifiedMap = hz.getMap("identifiedMap");
+        objectMap = hz.getMap("objectMap");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            int quantity = i % 100;
+            double price = i % 20;
+            portableMap.put(i, new PortableTrade(i, quantity, price));
+            identifiedMap.put(i, new IdentifiedTrade(i, quantity, price));
+            objectMap.put(i, new IdentifiedTrade(i, quantity, price));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        hz.shutdown();
+    }
+
+    @Benchmark
+    public Object scan_portable_selective() {
+        return portableMap.keySet(SELECTIVE);
+    }
+
+    @Benchmark
+    public Object scan_portable_conjunction() {
+        return portableMap.keySet(CONJUNCTION);
+    }
+
+    @Benchmark
+    public Object scan_identified_selective() {
+        return identifiedMap.keySet(SELECTIVE);
+    }
+
+    @Benchmark
+    public Object scan_identified_conjunction() {
+        return identifiedMap.keySet(CONJUNCTION);
+    }
+
+    @Benchmark
+    public Object scan_object_selective() {
+        return objectMap.keySet(SELECTIVE);
+    }
+
+    @Benchmark
+    public Object scan_object_conjunction() {
+        return objectMap.keySet(CONJUNCTION);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(PartitionScanBenchmark.class.getSimpleName())
+                .warmupIterations(WARMUP_ITERATIONS_COUNT)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+                .measurementTime(TimeValue.seconds(1))
+                .verbosity(VerboseMode.NORMAL)
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+
+    public static class PortableTradeFactory implements PortableFactory {
+
+        @Override
+        public Portable create(int classId) {
+            return new PortableTrade();
+        }
+    }
+
+    public static class IdentifiedTradeFactory implements DataSerializableFactory {
+
+        @Override
+        public IdentifiedDataSerializable create(int typeId) {
+            return new IdentifiedTrade();
+        }
+    }
+
+    public static class PortableTrade implements Portable {
+
+        private int tradeId;
+        private int quantity;
+        private double price;
+
+        public PortableTrade() {
+        }
+
+        PortableTrade(int tradeId, int quantity, double price) {
+            this.tradeId = tradeId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeInt("tradeId", tradeId);
+            writer.writeInt("quantity", quantity);
+            writer.writeDouble("price", price);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            tradeId = reader.readInt("tradeId");
+            quantity = reader.readInt("quantity");
+            price = reader.readDouble("price");
+        }
+    }
+
+    public static class IdentifiedTrade implements IdentifiedDataSerializable {
+
+        private int tradeId;
+        private int quantity;
+        private double price;
+
+        public IdentifiedTrade() {
+        }
+
+        IdentifiedTrade(int tradeId, int quantity, double price) {
+            this.tradeId = tradeId;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        public int getTradeId() {
+            return tradeId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(tradeId);
+            out.writeInt(quantity);
+            out.writeDouble(price);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            tradeId = in.readInt();
+            quantity = in.readInt();
+            price = in.readDouble();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.BitmapIndex;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.in;
+import static com.hazelcast.query.Predicates.not;
+import static com.hazelcast.query.Predicates.notEqual;
+import static com.hazelcast.query.Predicates.or;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BitmapVisitorTest {
+
+    private BitmapVisitor visitor;
+    private Indexes mockIndexes;
+
+    @Before
+    public void setUp() {
+        mockIndexes = mock(Indexes.class);
+        when(mockIndexes.getIndex(anyString())).thenReturn(mock(Index.class));
+        when(mockIndexes.getIndex("a")).thenReturn(mock(BitmapIndex.class));
+        when(mockIndexes.getIndex("b")).thenReturn(mock(BitmapIndex.class));
+        visitor = new BitmapVisitor();
+    }
+
+    @Test
+    public void whenSingleEqual_thenNotRewritten() {
+        AndPredicate and = (AndPredicate) and(equal("a", 1), greaterThan("c", 1));
+
+        assertSame(and, visitor.visit(and, mockIndexes));
+    }
+
+    @Test
+    public void whenNoBitmapIndex_thenNotRewritten() {
+        AndPredicate and = (AndPredicate) and(equal("c", 1), equal("d", 2));
+        OrPredicate or = (OrPredicate) or(equal("c", 1), equal("d", 2));
+        NotPredicate notPredicate = (NotPredicate) not(equal("c", 1));
+
+        assertSame(and, visitor.visit(and, mockIndexes));
+        assertSame(or, visitor.visit(or, mockIndexes));
+        assertSame(notPredicate, visitor.visit(notPredicate, mockIndexes));
+    }
+
+    @Test
+    public void whenAllEvaluable_thenAndRewrittenToBitmap() {
+        AndPredicate and = (AndPredicate) and(equal("a", 1), in("b", 1, 2));
+
+        BitmapPredicate result = (BitmapPredicate) visitor.visit(and, mockIndexes);
+
+        AndPredicate inner = (AndPredicate) result.predicate;
+        assertEquals(2, inner.predicates.length);
+        assertSame(and.predicates[0], inner.predicates[0]);
+        assertSame(and.predicates[1], inner.predicates[1]);
+    }
+
+    @Test
+    public void whenOtherPredicatesExist_thenTheyAreKept() {
+        Predicate other = greaterThan("c", 1);
+        AndPredicate and = (AndPredicate) and(equal("a", 1), other, equal("b", 2));
+
+        AndPredicate result = (AndPredicate) visitor.visit(and, mockIndexes);
+
+        assertEquals(2, result.predicates.length);
+        assertTrue(result.predicates[0] instanceof BitmapPredicate);
+        assertSame(other, result.predicates[1]);
+    }
+
+    @Test
+    public void whenSingleNotEqual_thenRewritten() {
+        Predicate other = greaterThan("c", 1);
+        AndPredicate and = (AndPredicate) and(notEqual("a", 1), other);
+
+        AndPredicate result = (AndPredicate) visitor.visit(and, mockIndexes);
+
+        BitmapPredicate bitmap = (BitmapPredicate) result.predicates[0];
+        assertSame(and.predicates[0], bitmap.predicate);
+        assertSame(other, result.predicates[1]);
+    }
+
+    @Test
+    public void whenOrPartiallyEvaluable_thenNotRewritten() {
+        OrPredicate or = (OrPredicate) or(equal("a", 1), equal("c", 2));
+
+        assertSame(or, visitor.visit(or, mockIndexes));
+    }
+
+    @Test
+    public void whenOrEvaluable_thenRewritten() {
+        OrPredicate or = (OrPredicate) or(equal("a", 1), equal("b", 2));
+
+        BitmapPredicate result = (BitmapPredicate) visitor.visit(or, mockIndexes);
+
+        assertTrue(result.predicate instanceof OrPredicate);
+    }
+
+    @Test
+    public void whenNotEvaluable_thenRewritten() {
+        NotPredicate notPredicate = (NotPredicate) not(equal("a", 1));
+
+        BitmapPredicate result = (BitmapPredicate) visitor.visit(notPredicate, mockIndexes);
+
+        assertSame(notPredicate, result.predicate);
+    }
+
+    @Test
+    public void whenInnerBitmapPredicates_thenMerged() {
+        Predicate or = new BitmapPredicate(or(equal("a", 1), equal("a", 2)));
+        Predicate notPredicate = new BitmapPredicate(not(equal("b", 1)));
+        AndPredicate and = (AndPredicate) and(or, notPredicate);
+
+        BitmapPredicate result = (BitmapPredicate) visitor.visit(and, mockIndexes);
+
+        AndPredicate inner = (AndPredicate) result.predicate;
+        assertTrue(inner.predicates[0] instanceof OrPredicate);
+        assertTrue(inner.predicates[1] instanceof NotPredicate);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CompositeValue;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static com.hazelcast.query.Predicates.notEqual;
+import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CompositeIndexVisitorTest {
+
+    private CompositeIndexVisitor visitor;
+    private Indexes mockIndexes;
+
+    @Before
+    public void setUp() {
+        mockIndexes = mock(Indexes.class);
+        visitor = new CompositeIndexVisitor();
+    }
+
+    @Test
+    public void whenNoCompositeIndex_thenNotRewritten() {
+        useIndexes();
+        AndPredicate and = (AndPredicate) and(equal("a", 1), equal("b", 2));
+
+        assertSame(and, visitor.visit(and, mockIndexes));
+    }
+
+    @Test
+    public void whenAllComponentsEqual_thenRewriteToCompositeEqual() {
+        useIndexes(index("a, b", false));
+        AndPredicate and = (AndPredicate) and(equal("b", 2), equal("a", 1));
+
+        CompositeEqualPredicate result = (CompositeEqualPredicate) visitor.visit(and, mockIndexes);
+
+        assertEquals("a, b", result.indexName);
+        assertEquals(value(1, 2), result.value);
+    }
+
+    @Test
+    public void whenOtherPredicatesExist_thenTheyAreKept() {
+        useIndexes(index("a, b", false));
+        Predicate other = equal("c", 3);
+        AndPredicate and = (AndPredicate) and(equal("a", 1), other, equal("b", 2));
+
+        AndPredicate result = (AndPredicate) visitor.visit(and, mockIndexes);
+
+        assertEquals(2, result.predicates.length);
+        assertTrue(result.predicates[0] instanceof CompositeEqualPredicate);
+        assertSame(other, result.predicates[1]);
+    }
+
+    @Test
+    public void whenPrefixIsMissing_thenNotRewritten() {
+        useIndexes(index("a, b", true));
+        AndPredicate and = (AndPredicate) and(equal("b", 2), greaterThan("c", 1));
+
+        assertSame(and, visitor.visit(and, mockIndexes));
+    }
+
+    @Test
+    public void whenNotEqual_thenNotRewritten() {
+        useIndexes(index("a, b", false));
+        AndPredicate and = (AndPredicate) and(equal("a", 1), notEqual("b", 2));
+
+        assertSame(and, visitor.visit(and, mockIndexes));
+    }
+
+    @Test
+    public void whenRangeOnUnorderedIndex_thenNotRewritten() {
+        useIndexes(index("a, b", false));
+        AndPredicate and = (AndPredicate) and(equal("a", 1), greaterThan("b", 2));
+
+        assertSame(and, visitor.visit(and, mockIndexes));
+    }
+
+    @Test
+    public void whenExclusiveLowerBoundOnLastComponent_thenBoundHasExtraComponent() {
+        useIndexes(index("a, b", true));
+        AndPredicate and = (AndPredicate) and(equal("a", 1), greaterThan("b", 2));
+
+        CompositeRangePredicate result = (CompositeRangePredicate) visitor.visit(and, mockIndexes);
+
+        assertEquals(value(1, 2, POSITIVE_INFINITY), result.from);
+        assertEquals(value(1, POSITIVE_INFINITY), result.to);
+    }
+
+    @Test
+    public void whenBothBounds_thenRewriteToCompositeRange() {
+        useIndexes(index("a, b", true));
+        AndPredicate and = (AndPredicate) and(lessEqual("b", 5), equal("a", 1), greaterThan("b", 2));
+
+        CompositeRangePredicate result = (CompositeRangePredicate) visitor.visit(and, mockIndexes);
+
+        assertEquals(value(1, 2, POSITIVE_INFINITY), result.from);
+        assertEquals(value(1, 5, POSITIVE_INFINITY), result.to);
+        assertEquals(3, result.predicates.length);
+    }
+
+    @Test
+    public void whenRangeInTheMiddle_thenPaddedToAllComponents() {
+        useIndexes(index("a, b, c", true));
+        AndPredicate and = (AndPredicate) and(equal("a", 1), between("b", 2, 4), equal("c", 3));
+
+        AndPredicate result = (AndPredicate) visitor.visit(and, mockIndexes);
+
+        CompositeRangePredicate range = (CompositeRangePredicate) result.predicates[0];
+        assertEquals(value(1, 2, NEGATIVE_INFINITY), range.from);
+        assertEquals(value(1, 4, POSITIVE_INFINITY), range.to);
+        assertEquals("c", ((EqualPredicate) result.predicates[1]).attributeName);
+    }
+
+    @Test
+    public void whenSeveralIndexesMatch_thenTheOneReplacingMostPredicatesIsUsed() {
+        useIndexes(index("a, b", false), index("a, b, c", false));
+        AndPredicate and = (AndPredicate) and(equal("a", 1), equal("b", 2), equal("c", 3));
+
+        CompositeEqualPredicate result = (CompositeEqualPredicate) visitor.visit(and, mockIndexes);
+
+        assertEquals("a, b, c", result.indexName);
+        assertArrayEquals(new Comparable[]{1, 2, 3}, result.value.getComponents());
+    }
+
+    private void useIndexes(Index... indexes) {
+        when(mockIndexes.getCompositeIndexes()).thenReturn(indexes);
+    }
+
+    private static Index index(String name, boolean ordered) {
+        Index index = mock(Index.class);
+        when(index.getAttributeName()).thenReturn(name);
+        when(index.getComponents()).thenReturn(Indexes.getComponents(name));
+        when(index.isOrdered()).thenReturn(ordered);
+        return index;
+    }
+
+    private static CompositeValue value(Comparable... components) {
+        return new CompositeValue(components);
+    }
+}
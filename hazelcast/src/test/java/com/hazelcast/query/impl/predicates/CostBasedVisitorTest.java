@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.ComparisonType;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.IndexStatistics;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.like;
+import static com.hazelcast.query.impl.predicates.PredicateTestUtils.entry;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class CostBasedVisitorTest {
+
+    private CostBasedVisitor visitor;
+    private Indexes mockIndexes;
+
+    @Before
+    public void setUp() {
+        mockIndexes = mock(Indexes.class);
+        visitor = new CostBasedVisitor();
+    }
+
+    @Test
+    public void whenSingleIndexedPredicate_thenNotRewritten() {
+        useIndex("a", 1000);
+        AndPredicate and = (AndPredicate) and(equal("a", 1), equal("b", 2));
+
+        assertSame(and, visitor.visit(and, mockIndexes));
+    }
+
+    @Test
+    public void whenAlreadyOrdered_thenNotRewritten() {
+        useIndex("a", 10);
+        useIndex("b", 20);
+        AndPredicate and = (AndPredicate) and(equal("a", 1), equal("b", 2));
+
+        assertSame(and, visitor.visit(and, mockIndexes));
+    }
+
+    @Test
+    public void whenSimilarCardinality_thenMostSelectiveFirstAndBothIntersected() {
+        useIndex("a", 20);
+        useIndex("b", 10);
+        Predicate a = equal("a", 1);
+        Predicate b = equal("b", 2);
+
+        AndPredicate result = (AndPredicate) visitor.visit((AndPredicate) and(a, b), mockIndexes);
+
+        assertArrayEquals(new Predicate[]{b, a}, result.predicates);
+    }
+
+    @Test
+    public void whenMuchLargerCardinality_thenPostFiltered() {
+        useIndex("a", 100000);
+        useIndex("b", 10);
+        useIndex("c", 5000);
+        Predicate a = greaterThan("a", 1);
+        Predicate b = equal("b", 2);
+        Predicate c = equal("c", 3);
+        Predicate unindexed = like("d", "x%");
+
+        AndPredicate result = (AndPredicate) visitor.visit((AndPredicate) and(a, unindexed, b, c), mockIndexes);
+
+        assertEquals(4, result.predicates.length);
+        assertSame(b, result.predicates[0]);
+        assertSame(unindexed, result.predicates[1]);
+        assertPostFilter(c, result.predicates[2]);
+        assertPostFilter(a, result.predicates[3]);
+        assertEquals("postFilter(" + c + ")", result.predicates[2].toString());
+    }
+
+    @Test
+    public void whenCardinalityUnknown_thenPredicateLeftAsIs() {
+        useIndex("a", IndexStatistics.UNKNOWN);
+        useIndex("b", 10);
+        useIndex("c", 10000);
+        Predicate a = equal("a", 1);
+        Predicate b = equal("b", 2);
+        Predicate c = equal("c", 3);
+
+        AndPredicate result = (AndPredicate) visitor.visit((AndPredicate) and(a, b, c), mockIndexes);
+
+        assertSame(b, result.predicates[0]);
+        assertSame(a, result.predicates[1]);
+        assertPostFilter(c, result.predicates[2]);
+    }
+
+    @Test
+    public void postFilter_appliesWrappedPredicate() {
+        PostFilterPredicate postFilter = new PostFilterPredicate(equal("this", 1));
+
+        assertTrue(postFilter.apply(entry(1)));
+        assertFalse(postFilter.apply(entry(2)));
+    }
+
+    private static void assertPostFilter(Predicate expected, Predicate actual) {
+        assertTrue(actual.toString(), actual instanceof PostFilterPredicate);
+        assertSame(expected, ((PostFilterPredicate) actual).predicate);
+    }
+
+    private void useIndex(String attribute, long cardinality) {
+        Index index = mock(Index.class);
+        when(index.getAttributeName()).thenReturn(attribute);
+        when(index.estimateRecords(any(Comparable.class))).thenReturn(cardinality);
+        when(index.estimateSubRecords(any(ComparisonType.class), any(Comparable.class))).thenReturn(cardinality);
+        when(mockIndexes.getIndex(eq(attribute))).thenReturn(index);
+    }
+}
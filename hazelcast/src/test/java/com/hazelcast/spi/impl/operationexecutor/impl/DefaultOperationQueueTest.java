@@ -82,6 +82,31 @@ public class DefaultOperationQueueTest extends HazelcastTestSupport {
         assertEquals(1, operationQueue.size());
     }
 
+    // ================== addAll =====================
+
+    @Test(expected = NullPointerException.class)
+    public void addAll_whenNull() {
+        operationQueue.addAll(null);
+    }
+
+    @Test
+    public void addAll() throws InterruptedException {
+        Object task1 = "task1";
+        Object task2 = "task2";
+        Object task3 = "task3";
+
+        operationQueue.add(task1, false);
+        operationQueue.addAll(Arrays.asList(task2, task3));
+
+        assertContent(normalQueue, task1, task2, task3);
+        assertEmpty(priorityQueue);
+        assertEquals(3, operationQueue.normalSize());
+
+        assertSame(task1, operationQueue.take(false));
+        assertSame(task2, operationQueue.take(false));
+        assertSame(task3, operationQueue.take(false));
+    }
+
     // ================== take =====================
 
     @Test
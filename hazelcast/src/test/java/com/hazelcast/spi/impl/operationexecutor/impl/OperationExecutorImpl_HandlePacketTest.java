@@ -27,11 +27,15 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.List;
+
 import static com.hazelcast.nio.Packet.FLAG_OP_RESPONSE;
+import static com.hazelcast.nio.Packet.FLAG_URGENT;
+import static com.hazelcast.spi.properties.GroupProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static org.junit.Assert.assertTrue;
 
 /**
- * Tests {@link OperationExecutorImpl#handle(Packet)}.
+ * Tests {@link OperationExecutorImpl#handle(Packet)} and {@link OperationExecutorImpl#handle(Packet[], int)}.
  */
 @RunWith(HazelcastSerialClassRunner.class)
 @Category(QuickTest.class)
@@ -109,4 +113,60 @@ public class OperationExecutorImpl_HandlePacketTest extends OperationExecutorImp
             }
         });
     }
+
+    @Test
+    public void test_whenBatchOfPackets() {
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "2");
+        initExecutor();
+
+        final Packet partition0Packet1 = newOperationPacket(0);
+        final Packet partition1Packet = newOperationPacket(1);
+        final Packet genericPacket = newOperationPacket(Operation.GENERIC_PARTITION_ID);
+        final Packet partition2Packet = newOperationPacket(2);
+        final Packet urgentPacket = newOperationPacket(0).raiseFlags(FLAG_URGENT);
+        final Packet partition0Packet2 = newOperationPacket(0);
+
+        Packet[] packets = {partition0Packet1, partition1Packet, genericPacket, partition2Packet, urgentPacket,
+                partition0Packet2, null};
+        executor.handle(packets, 6);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                OperationRunner[] partitionHandlers = executor.getPartitionOperationRunners();
+                List<Packet> partition0Packets = ((DummyOperationRunner) partitionHandlers[0]).packets;
+                assertContains(partition0Packets, urgentPacket);
+                // the packets of partition 0 are equal, so their order is checked by identity
+                int index1 = indexOfSame(partition0Packets, partition0Packet1);
+                int index2 = indexOfSame(partition0Packets, partition0Packet2);
+                assertTrue(index1 >= 0);
+                assertTrue(index1 < index2);
+                assertContains(((DummyOperationRunner) partitionHandlers[1]).packets, partition1Packet);
+                assertContains(((DummyOperationRunner) partitionHandlers[2]).packets, partition2Packet);
+
+                boolean found = false;
+                for (OperationRunner h : executor.getGenericOperationRunners()) {
+                    found |= ((DummyOperationRunner) h).packets.contains(genericPacket);
+                }
+                assertTrue("Packet is not found on any of the generic handlers", found);
+            }
+        });
+    }
+
+    private static int indexOfSame(List<Packet> packets, Packet packet) {
+        synchronized (packets) {
+            for (int k = 0; k < packets.size(); k++) {
+                if (packets.get(k) == packet) {
+                    return k;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private Packet newOperationPacket(int partitionId) {
+        DummyOperation operation = new DummyOperation(partitionId);
+        return new Packet(serializationService.toBytes(operation), partitionId)
+                .setPacketType(Packet.Type.OPERATION);
+    }
 }
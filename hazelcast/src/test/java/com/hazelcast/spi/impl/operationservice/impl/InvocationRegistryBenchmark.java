@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.spi.impl.operationservice.impl.Invocation.Context;
+import com.hazelcast.spi.impl.sequence.CallIdSequence;
+import com.hazelcast.spi.impl.sequence.CallIdSequenceWithoutBackpressure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.spi.OperationAccessor.deactivate;
+import static com.hazelcast.spi.OperationAccessor.setCallId;
+
+/**
+ * Compares registering, looking up and deregistering an invocation in the {@link InvocationRegistry} with the same
+ * cycle on a {@link ConcurrentHashMap} keyed by the call ID, which is how the registry used to store the invocations.
+ * Run it with a thread count close to the number of cores to see the effect of contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvocationRegistryBenchmark {
+
+    private static final int WARMUP_ITERATIONS_COUNT = 5;
+    private static final int MEASUREMENT_ITERATIONS_COUNT = 10;
+
+    private final ILogger logger = Logger.getLogger(InvocationRegistryBenchmark.class);
+    private final CallIdSequence mapCallIdSequence = new CallIdSequenceWithoutBackpressure();
+    private final ConcurrentMap<Long, Invocation> map = new ConcurrentHashMap<Long, Invocation>();
+
+    private InvocationRegistry registry;
+
+    @Setup
+    public void setup() {
+        registry = new InvocationRegistry(logger, new CallIdSequenceWithoutBackpressure());
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private Invocation invocation;
+
+        @Setup
+        public void setup(InvocationRegistryBenchmark benchmark) {
+            Context context = new Context(null, null, null, null, null,
+                    1000, benchmark.registry, null, benchmark.logger, null, null, null, null, null, null, null, null, null);
+            invocation = new PartitionInvocation(context, new DummyOperation(), 0, 0, 0, false, false);
+        }
+    }
+
+    @Benchmark
+    public Object invocationRegistry(ThreadState state) {
+        Invocation invocation = state.invocation;
+        registry.register(invocation);
+        Invocation found = registry.get(invocation.op.getCallId());
+        registry.deregister(invocation);
+        return found;
+    }
+
+    @Benchmark
+    public Object concurrentHashMap(ThreadState state) {
+        Invocation invocation = state.invocation;
+        long callId = mapCallIdSequence.next();
+        setCallId(invocation.op, callId);
+        map.put(callId, invocation);
+        Invocation found = map.get(callId);
+        deactivate(invocation.op);
+        map.remove(callId);
+        mapCallIdSequence.complete();
+        return found;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(InvocationRegistryBenchmark.class.getSimpleName())
+                .warmupIterations(WARMUP_ITERATIONS_COUNT)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(MEASUREMENT_ITERATIONS_COUNT)
+                .measurementTime(TimeValue.seconds(1))
+                .threads(Runtime.getRuntime().availableProcessors())
+                .verbosity(VerboseMode.NORMAL)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
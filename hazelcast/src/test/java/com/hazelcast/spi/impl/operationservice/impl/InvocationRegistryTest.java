@@ -22,6 +22,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.impl.operationservice.impl.Invocation.Context;
 import com.hazelcast.spi.impl.sequence.CallIdSequenceWithBackpressure;
+import com.hazelcast.spi.impl.sequence.CallIdSequenceWithoutBackpressure;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
 import com.hazelcast.test.annotation.QuickTest;
@@ -31,6 +32,10 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.Assert.assertEquals;
@@ -150,6 +155,45 @@ public class InvocationRegistryTest extends HazelcastTestSupport {
     }
 
 
+    // ===================== slot overflow ============================
+
+    @Test
+    public void register_whenSlotsTakenByLongRunningInvocations_thenOverflow() {
+        invocationRegistry = new InvocationRegistry(logger, new CallIdSequenceWithoutBackpressure());
+        int count = InvocationRegistry.MIN_SLOT_COUNT + 100;
+        List<Invocation> invocations = new ArrayList<Invocation>(count);
+        for (int k = 0; k < count; k++) {
+            Invocation invocation = newInvocation();
+            invocationRegistry.register(invocation);
+            invocations.add(invocation);
+        }
+
+        assertEquals(count, invocationRegistry.size());
+        Set<Invocation> iterated = new HashSet<Invocation>();
+        for (Invocation invocation : invocationRegistry) {
+            iterated.add(invocation);
+        }
+        assertEquals(new HashSet<Invocation>(invocations), iterated);
+
+        for (Invocation invocation : invocations) {
+            long callId = invocation.op.getCallId();
+            assertSame(invocation, invocationRegistry.get(callId));
+            invocationRegistry.deregister(invocation);
+            assertNull(invocationRegistry.get(callId));
+        }
+        assertEquals(0, invocationRegistry.size());
+        assertFalse(invocationRegistry.iterator().hasNext());
+    }
+
+    @Test
+    public void get_whenSlotTakenByOtherCallId_thenNull() {
+        Invocation invocation = newInvocation();
+        invocationRegistry.register(invocation);
+        long callId = invocation.op.getCallId();
+
+        assertNull(invocationRegistry.get(callId + InvocationRegistry.MIN_SLOT_COUNT));
+    }
+
     // ===================== reset ============================
 
     @Test
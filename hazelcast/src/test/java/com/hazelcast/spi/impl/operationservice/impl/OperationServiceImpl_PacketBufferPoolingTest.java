@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.HazelcastInstanceFactory;
+import com.hazelcast.test.HazelcastSerialParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import static com.hazelcast.spi.properties.GroupProperty.IO_PACKET_BUFFER_POOLING_ENABLED;
+import static com.hazelcast.spi.properties.GroupProperty.IO_WRITE_GATHERING_ENABLED;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Sends operations and responses with pooled packet payloads over real member connections.
+ */
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastSerialParametersRunnerFactory.class)
+@Category(QuickTest.class)
+public class OperationServiceImpl_PacketBufferPoolingTest extends HazelcastTestSupport {
+
+    @Parameter
+    public boolean gatheringWrites;
+
+    private HazelcastInstance local;
+    private HazelcastInstance remote;
+
+    @Parameters(name = "gatheringWrites:{0}")
+    public static Collection<Object> parameters() {
+        return Arrays.<Object>asList(false, true);
+    }
+
+    @Before
+    public void setup() {
+        Config config = new Config()
+                .setProperty(IO_PACKET_BUFFER_POOLING_ENABLED.getName(), "true")
+                .setProperty(IO_WRITE_GATHERING_ENABLED.getName(), String.valueOf(gatheringWrites));
+        local = Hazelcast.newHazelcastInstance(config);
+        remote = Hazelcast.newHazelcastInstance(config);
+        assertClusterSizeEventually(2, local, remote);
+    }
+
+    @After
+    public void tearDown() {
+        HazelcastInstanceFactory.terminateAll();
+    }
+
+    @Test
+    public void testPutAndGet_whenValuesOfAllSizes() {
+        IMap<Integer, String> map = local.getMap(randomMapName());
+        // from unpooled over every pooled size class to beyond the largest one
+        int[] sizes = {10, 1000, 1500, 5000, 20000, 100000, 500000, 2000000};
+        for (int k = 0; k < 100; k++) {
+            map.put(k, generateRandomString(sizes[k % sizes.length]));
+        }
+
+        IMap<Integer, String> remoteMap = remote.getMap(map.getName());
+        for (int round = 0; round < 3; round++) {
+            for (int k = 0; k < 100; k++) {
+                String value = remoteMap.get(k);
+                assertEquals(sizes[k % sizes.length], value.length());
+                assertEquals(value, map.get(k));
+            }
+        }
+    }
+}
@@ -25,6 +25,8 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.ConnectionManager;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.PacketBufferPool;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.nio.serialization.PortableReader;
 import com.hazelcast.nio.serialization.PortableWriter;
@@ -49,11 +51,15 @@ import org.mockito.ArgumentCaptor;
 import java.io.IOException;
 import java.nio.ByteOrder;
 
+import static com.hazelcast.nio.Packet.FLAG_OP_RESPONSE;
 import static com.hazelcast.spi.OperationAccessor.setCallId;
 import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
+import static com.hazelcast.test.HazelcastTestSupport.generateRandomString;
 import static java.nio.ByteOrder.BIG_ENDIAN;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -69,6 +75,7 @@ public class OutboundResponseHandlerTest {
     private OutboundResponseHandler handler;
     private InternalSerializationService serializationService;
     private ILogger logger = Logger.getLogger(OutboundResponseHandlerTest.class);
+    private Address thisAddress;
     private Address thatAddress;
     private ConnectionManager connectionManager;
 
@@ -82,7 +89,7 @@ public class OutboundResponseHandlerTest {
 
     @Before
     public void setup() throws Exception {
-        Address thisAddress = new Address("127.0.0.1", 5701);
+        thisAddress = new Address("127.0.0.1", 5701);
         thatAddress = new Address("127.0.0.1", 5702);
         serializationService = new DefaultSerializationServiceBuilder().setByteOrder(byteOrder).build();
         Node node = mock(Node.class);
@@ -245,6 +252,21 @@ public class OutboundResponseHandlerTest {
         testToNormalResponsePacket(serializationService.toBytes("foobar"), 1, 2, false);
     }
 
+    @Test
+    public void toNormalResponsePacket_whenPooledDataValue() {
+        Node node = mock(Node.class);
+        handler = new OutboundResponseHandler(thisAddress, serializationService, new PacketBufferPool(), node, logger);
+        Data value = serializationService.toData(generateRandomString(10000));
+
+        Packet packet = handler.toNormalResponsePacket(1, 2, true, value);
+
+        assertNotNull(packet.getPayloadBuffer());
+        assertTrue(packet.isUrgent());
+        assertTrue(packet.isFlagRaised(FLAG_OP_RESPONSE));
+        HeapData expected = serializationService.toData(new NormalResponse(value, 1, 2, true));
+        assertEquals(expected, new HeapData(packet.toByteArray()));
+    }
+
     private void testToNormalResponsePacket(Object value, int callId, int backupAcks, boolean urgent) {
         Packet packet = handler.toNormalResponsePacket(callId, backupAcks, urgent, value);
         HeapData expected = serializationService.toData(new NormalResponse(value, callId, backupAcks, urgent));
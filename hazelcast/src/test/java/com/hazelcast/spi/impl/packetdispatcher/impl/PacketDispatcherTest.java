@@ -19,6 +19,7 @@ package com.hazelcast.spi.impl.packetdispatcher.impl;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.spi.impl.PacketBatchHandler;
 import com.hazelcast.spi.impl.PacketDispatcher;
 import com.hazelcast.spi.impl.PacketHandler;
 import com.hazelcast.test.ExpectedRuntimeException;
@@ -29,12 +30,17 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import static com.hazelcast.nio.Packet.FLAG_OP_CONTROL;
 import static com.hazelcast.nio.Packet.FLAG_OP_RESPONSE;
 import static com.hazelcast.nio.Packet.FLAG_URGENT;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 
@@ -175,4 +181,69 @@ public class PacketDispatcherTest extends HazelcastTestSupport {
 
         dispatcher.handle(packet);
     }
+
+    @Test
+    public void whenBatch_andOperationExecutorNotBatching_thenPacketsHandledOneByOne() throws Exception {
+        Packet operationPacket1 = new Packet(new byte[0], 1).setPacketType(Packet.Type.OPERATION);
+        Packet eventPacket = new Packet().setPacketType(Packet.Type.EVENT);
+        Packet operationPacket2 = new Packet(new byte[0], 2).setPacketType(Packet.Type.OPERATION);
+
+        dispatcher.handle(new Packet[]{operationPacket1, eventPacket, operationPacket2}, 3);
+
+        InOrder inOrder = inOrder(operationExecutor);
+        inOrder.verify(operationExecutor).handle(operationPacket1);
+        inOrder.verify(operationExecutor).handle(operationPacket2);
+        verify(eventService).handle(eventPacket);
+        verifyZeroInteractions(responseHandler, connectionManager, invocationMonitor, jetService);
+    }
+
+    @Test
+    public void whenBatch_andOperationExecutorBatching_thenOperationPacketsHandledAsBatch() throws Exception {
+        PacketBatchHandler batchingOperationExecutor = mock(PacketBatchHandler.class);
+        dispatcher = new PacketDispatcher(Logger.getLogger(getClass()), batchingOperationExecutor, responseHandler,
+                invocationMonitor, eventService, connectionManager, jetService);
+
+        Packet operationPacket1 = new Packet().setPacketType(Packet.Type.OPERATION);
+        Packet responsePacket = new Packet().setPacketType(Packet.Type.OPERATION).raiseFlags(FLAG_OP_RESPONSE);
+        Packet eventPacket = new Packet().setPacketType(Packet.Type.EVENT);
+        Packet operationPacket2 = new Packet().setPacketType(Packet.Type.OPERATION).raiseFlags(FLAG_URGENT);
+        Packet[] packets = {operationPacket1, responsePacket, eventPacket, operationPacket2};
+
+        dispatcher.handle(packets, packets.length);
+
+        verify(batchingOperationExecutor).handle(packets, 2);
+        verify(batchingOperationExecutor, never()).handle(any(Packet.class));
+        assertSame(operationPacket1, packets[0]);
+        assertSame(operationPacket2, packets[1]);
+        verify(responseHandler).handle(responsePacket);
+        verify(eventService).handle(eventPacket);
+        verifyZeroInteractions(connectionManager, invocationMonitor, jetService);
+    }
+
+    @Test
+    public void whenBatchWithoutOperationPackets_thenOperationExecutorNotCalled() throws Exception {
+        PacketBatchHandler batchingOperationExecutor = mock(PacketBatchHandler.class);
+        dispatcher = new PacketDispatcher(Logger.getLogger(getClass()), batchingOperationExecutor, responseHandler,
+                invocationMonitor, eventService, connectionManager, jetService);
+
+        Packet eventPacket = new Packet().setPacketType(Packet.Type.EVENT);
+
+        dispatcher.handle(new Packet[]{eventPacket}, 1);
+
+        verify(eventService).handle(eventPacket);
+        verifyZeroInteractions(batchingOperationExecutor);
+    }
+
+    // when the operation executor throws an exception while handling a batch, the exception is logged but not rethrown
+    @Test
+    public void whenProblemHandlingBatch_thenSwallowed() throws Exception {
+        PacketBatchHandler batchingOperationExecutor = mock(PacketBatchHandler.class);
+        dispatcher = new PacketDispatcher(Logger.getLogger(getClass()), batchingOperationExecutor, responseHandler,
+                invocationMonitor, eventService, connectionManager, jetService);
+        Packet[] packets = {new Packet().setPacketType(Packet.Type.OPERATION)};
+
+        Mockito.doThrow(new ExpectedRuntimeException()).when(batchingOperationExecutor).handle(packets, 1);
+
+        dispatcher.handle(packets, 1);
+    }
 }
@@ -18,6 +18,7 @@ package com.hazelcast.test.compatibility;
 
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.serialization.ByteBufferAllocator;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.PortableContext;
 import com.hazelcast.nio.BufferObjectDataInput;
@@ -30,6 +31,7 @@ import com.hazelcast.nio.serialization.PortableReader;
 import com.hazelcast.test.TestEnvironment;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.List;
 import java.util.Set;
@@ -118,6 +120,15 @@ public class SamplingSerializationService implements InternalSerializationServic
         return bytes;
     }
 
+    @Override
+    public ByteBuffer toByteBuffer(Object obj, ByteBufferAllocator allocator) {
+        ByteBuffer buffer = delegate.toByteBuffer(obj, allocator);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        sampleObject(obj, bytes);
+        return buffer;
+    }
+
     @Override
     public <B extends Data> B toData(Object obj, DataType type) {
         return toData(obj);
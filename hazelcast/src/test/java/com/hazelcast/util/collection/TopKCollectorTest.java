@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2018, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.util.collection;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class TopKCollectorTest {
+
+    private static final Comparator<Integer> NATURAL_ORDER = new Comparator<Integer>() {
+        @Override
+        public int compare(Integer o1, Integer o2) {
+            return o1.compareTo(o2);
+        }
+    };
+
+    private final Random random = new Random();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeK() {
+        new TopKCollector<Integer>(-1, NATURAL_ORDER);
+    }
+
+    @Test
+    public void testZeroK() {
+        TopKCollector<Integer> collector = new TopKCollector<Integer>(0, NATURAL_ORDER);
+
+        assertFalse(collector.add(1));
+        assertEquals(0, collector.size());
+        assertTrue(collector.drainSorted().isEmpty());
+    }
+
+    @Test
+    public void testLessElementsThanK() {
+        TopKCollector<Integer> collector = new TopKCollector<Integer>(10, NATURAL_ORDER);
+        collector.add(3);
+        collector.add(1);
+        collector.add(2);
+
+        assertEquals(asList(1, 2, 3), collector.drainSorted());
+        assertEquals(0, collector.size());
+    }
+
+    @Test
+    public void testGreaterElementsRejectedWhenFull() {
+        TopKCollector<Integer> collector = new TopKCollector<Integer>(2, NATURAL_ORDER);
+        assertTrue(collector.add(5));
+        assertTrue(collector.add(3));
+
+        assertFalse(collector.add(7));
+        assertFalse(collector.add(5));
+        assertTrue(collector.add(1));
+
+        assertEquals(asList(1, 3), collector.drainSorted());
+    }
+
+    @Test
+    public void testRandom() {
+        for (int k = 1; k < 100; k += 7) {
+            List<Integer> values = new ArrayList<Integer>();
+            TopKCollector<Integer> collector = new TopKCollector<Integer>(k, Collections.reverseOrder(NATURAL_ORDER));
+            for (int i = 0; i < 500; i++) {
+                int value = random.nextInt(300);
+                values.add(value);
+                collector.add(value);
+            }
+
+            Collections.sort(values, Collections.reverseOrder(NATURAL_ORDER));
+            assertEquals(values.subList(0, k), collector.drainSorted());
+        }
+    }
+
+    private static List<Integer> asList(Integer... values) {
+        List<Integer> list = new ArrayList<Integer>();
+        Collections.addAll(list, values);
+        return list;
+    }
+}